@@ -0,0 +1,154 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Benchmark;
+import nl.tudelft.graphalytics.domain.BenchmarkResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Properties;
+
+/**
+ * Runtimes of benchmarks measured in previous executions of the benchmark suite, used to order benchmarks by their
+ * expected cost. The history is stored as a properties file mapping "&lt;graph&gt;.&lt;ALGORITHM&gt;" to the median
+ * runtime of the benchmark in seconds, and is updated after every completed benchmark. Updates are written to a
+ * temporary file that then replaces the history, so an interrupted update never leaves a truncated history behind.
+ *
+ * @author Tim Hegeman
+ */
+final class BenchmarkCostHistory {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private final Path historyFile;
+	private final Properties costs = new Properties();
+
+	private BenchmarkCostHistory(Path historyFile) {
+		this.historyFile = historyFile;
+	}
+
+	/**
+	 * @return an empty history that is not persisted
+	 */
+	static BenchmarkCostHistory empty() {
+		return new BenchmarkCostHistory(null);
+	}
+
+	/**
+	 * Reads the history from a file, if it exists.
+	 *
+	 * @param historyFile the file containing the history
+	 * @return the history read from the file, or an empty history backed by the file if it does not exist
+	 */
+	static BenchmarkCostHistory readFrom(Path historyFile) {
+		BenchmarkCostHistory history = new BenchmarkCostHistory(historyFile);
+		if (Files.isRegularFile(historyFile)) {
+			try (InputStream in = Files.newInputStream(historyFile)) {
+				history.costs.load(in);
+			} catch (IOException ex) {
+				LOG.warn("Failed to read benchmark cost history from \"" + historyFile + "\".", ex);
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * @param benchmark a benchmark
+	 * @return the runtime of the benchmark in a previous execution in seconds, or a negative value if unknown
+	 */
+	double getCostInSeconds(Benchmark benchmark) {
+		String cost = costs.getProperty(getKey(benchmark));
+		if (cost == null) {
+			return -1.0;
+		}
+		try {
+			return Double.parseDouble(cost);
+		} catch (NumberFormatException ex) {
+			return -1.0;
+		}
+	}
+
+	/**
+	 * Records the runtime of a completed benchmark and writes the updated history to disk.
+	 *
+	 * @param result the result of a benchmark
+	 */
+	void record(BenchmarkResult result) {
+		if (!result.isCompletedSuccessfully()) {
+			return;
+		}
+		costs.setProperty(getKey(result.getBenchmark()),
+				Double.toString(result.getRuntimeStatistics().getMedian()));
+		if (historyFile == null) {
+			return;
+		}
+		try {
+			write();
+		} catch (IOException ex) {
+			LOG.warn("Failed to write benchmark cost history to \"" + historyFile + "\".", ex);
+		}
+	}
+
+	private void write() throws IOException {
+		Path absoluteHistoryFile = historyFile.toAbsolutePath();
+		Path temporaryFile = createTemporaryFile(absoluteHistoryFile);
+		try {
+			try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+				costs.store(out, "Median runtimes in seconds of Graphalytics benchmarks");
+			}
+			try {
+				Files.move(temporaryFile, absoluteHistoryFile, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temporaryFile, absoluteHistoryFile, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	/**
+	 * Creates a temporary file next to the history with the permissions of the existing history, or with the default
+	 * permissions for new files if there is no history yet.
+	 */
+	private static Path createTemporaryFile(Path historyFile) throws IOException {
+		Path directory = historyFile.getParent();
+		String prefix = historyFile.getFileName().toString();
+		if (Files.getFileAttributeView(directory, PosixFileAttributeView.class) == null) {
+			return Files.createTempFile(directory, prefix, ".tmp");
+		}
+		Path temporaryFile = Files.createTempFile(directory, prefix, ".tmp",
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-rw-rw-")));
+		if (Files.isRegularFile(historyFile)) {
+			Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(historyFile));
+		}
+		return temporaryFile;
+	}
+
+	private static String getKey(Benchmark benchmark) {
+		return benchmark.getGraph().getName() + "." + benchmark.getAlgorithm().getAcronym();
+	}
+
+}
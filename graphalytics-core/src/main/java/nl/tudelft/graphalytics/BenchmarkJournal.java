@@ -0,0 +1,170 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of the results of a benchmark suite, stored in the report directory. Every result is appended
+ * and synced to disk as soon as it is recorded, so the results of completed benchmarks survive a crash of the benchmark
+ * driver and can be used to resume the benchmark suite. Each record consists of its length followed by a Java
+ * serialized object (a BenchmarkResult or GraphIngestResult). A record that was only partially written when the driver
+ * crashed is discarded when the journal is read. Complete records that cannot be deserialized (e.g., because they were
+ * written by an incompatible version of the benchmark driver) are skipped, but kept in the journal.
+ *
+ * @author Tim Hegeman
+ */
+final class BenchmarkJournal {
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * The name of the journal file in the report directory.
+	 */
+	static final String FILE_NAME = "results.journal";
+
+	private final Path journalFile;
+
+	/**
+	 * @param journalFile the path of the journal file, which is created when the first record is appended
+	 */
+	BenchmarkJournal(Path journalFile) {
+		this.journalFile = journalFile;
+	}
+
+	/**
+	 * @param directory the report directory
+	 * @return the journal stored in the given directory
+	 */
+	static BenchmarkJournal inDirectory(Path directory) {
+		return new BenchmarkJournal(directory.resolve(FILE_NAME));
+	}
+
+	/**
+	 * @return the path of the journal file
+	 */
+	Path getJournalFile() {
+		return journalFile;
+	}
+
+	/**
+	 * Reads all complete records from the journal. If the journal ends with an incomplete record, the journal is
+	 * truncated to the last complete record so that new records can be appended. Complete records that cannot be
+	 * deserialized are skipped.
+	 *
+	 * @return the records in the order in which they were appended, or an empty list if the journal does not exist
+	 * @throws IOException iff the journal could not be read, or is corrupt before its last record
+	 */
+	List<Serializable> read() throws IOException {
+		List<Serializable> records = new ArrayList<>();
+		if (!Files.exists(journalFile)) {
+			return records;
+		}
+
+		long journalSize = Files.size(journalFile);
+		long validLength = 0L;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+			while (true) {
+				int length;
+				try {
+					length = in.readInt();
+				} catch (EOFException ex) {
+					break;
+				}
+				if (length < 0) {
+					throw new IOException("Corrupt record length " + length + " at offset " + validLength +
+							" of journal \"" + journalFile + "\".");
+				}
+				if (length > journalSize - validLength - 4) {
+					break;
+				}
+				byte[] data = new byte[length];
+				in.readFully(data);
+				try (ObjectInputStream recordIn = new ObjectInputStream(new ByteArrayInputStream(data))) {
+					records.add((Serializable)recordIn.readObject());
+				} catch (ObjectStreamException | ClassNotFoundException | ClassCastException ex) {
+					LOG.warn("Skipping invalid record at offset " + validLength + " of journal \"" + journalFile +
+							"\".", ex);
+				}
+				validLength += 4 + length;
+			}
+		}
+
+		if (validLength < journalSize) {
+			LOG.warn("Discarding " + (journalSize - validLength) + " bytes of an incomplete record at the end of " +
+					"journal \"" + journalFile + "\".");
+			try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+				channel.truncate(validLength);
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Moves an unreadable journal aside, so that its contents are preserved while a new journal is started.
+	 *
+	 * @return the new path of the journal file
+	 * @throws IOException iff the journal could not be moved
+	 */
+	Path moveAside() throws IOException {
+		Path target = journalFile.resolveSibling(journalFile.getFileName() + ".unreadable");
+		for (int i = 1; Files.exists(target); i++) {
+			target = journalFile.resolveSibling(journalFile.getFileName() + ".unreadable." + i);
+		}
+		return Files.move(journalFile, target);
+	}
+
+	/**
+	 * Appends a record to the journal and syncs it to disk.
+	 *
+	 * @param record the record to append
+	 * @throws IOException iff the record could not be written
+	 */
+	synchronized void append(Serializable record) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream recordOut = new ObjectOutputStream(buffer)) {
+			recordOut.writeObject(record);
+		}
+
+		try (FileOutputStream fileOut = new FileOutputStream(journalFile.toFile(), true)) {
+			DataOutputStream out = new DataOutputStream(fileOut);
+			out.writeInt(buffer.size());
+			buffer.writeTo(out);
+			out.flush();
+			fileOut.getFD().sync();
+		}
+	}
+
+}
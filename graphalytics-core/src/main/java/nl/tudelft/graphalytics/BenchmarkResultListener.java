@@ -0,0 +1,40 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.BenchmarkResult;
+import nl.tudelft.graphalytics.domain.GraphIngestResult;
+
+/**
+ * Receives the results gathered by a {@link BenchmarkSuiteRunner} as soon as they become available, i.e., before the
+ * complete benchmark suite has been executed.
+ *
+ * @author Tim Hegeman
+ */
+interface BenchmarkResultListener {
+
+	/**
+	 * @param benchmarkResult the result of a benchmark that has just been executed
+	 */
+	void benchmarkCompleted(BenchmarkResult benchmarkResult);
+
+	/**
+	 * @param graphIngestResult the result of uploading and deleting a graph, after all benchmarks for the graph have
+	 *                          been executed
+	 */
+	void graphCompleted(GraphIngestResult graphIngestResult);
+
+}
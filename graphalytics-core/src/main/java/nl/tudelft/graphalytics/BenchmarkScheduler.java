@@ -0,0 +1,259 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Algorithm;
+import nl.tudelft.graphalytics.domain.Benchmark;
+import nl.tudelft.graphalytics.domain.BenchmarkResult;
+import nl.tudelft.graphalytics.domain.BenchmarkSuite;
+import nl.tudelft.graphalytics.domain.Graph;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Determines the order in which the benchmarks of a suite are executed. Benchmarks are always grouped by graph, so
+ * each graph is uploaded once; the scheduling policy determines the order of the graphs and the order of the
+ * algorithms per graph. Optionally, the scheduler fails fast: once a benchmark of an algorithm fails or times out,
+ * the algorithm is skipped on all larger graphs. The scheduler may be queried and updated from multiple threads.
+ *
+ * @author Tim Hegeman
+ */
+final class BenchmarkScheduler {
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * Rough ranking of the algorithms by their cost relative to the size of the graph, cheapest first.
+	 */
+	private static final List<Algorithm> ALGORITHMS_BY_COST = Arrays.asList(Algorithm.BFS, Algorithm.CONN,
+			Algorithm.CD, Algorithm.EVO, Algorithm.STATS);
+
+	private static final Comparator<Graph> GRAPH_SIZE_ORDER = new Comparator<Graph>() {
+		@Override
+		public int compare(Graph a, Graph b) {
+			if (a.getNumberOfEdges() != b.getNumberOfEdges()) {
+				return Long.compare(a.getNumberOfEdges(), b.getNumberOfEdges());
+			}
+			if (a.getNumberOfVertices() != b.getNumberOfVertices()) {
+				return Long.compare(a.getNumberOfVertices(), b.getNumberOfVertices());
+			}
+			return a.getName().compareTo(b.getName());
+		}
+	};
+
+	private static final Comparator<Benchmark> ALGORITHM_COST_ORDER = new Comparator<Benchmark>() {
+		@Override
+		public int compare(Benchmark a, Benchmark b) {
+			return Integer.compare(ALGORITHMS_BY_COST.indexOf(a.getAlgorithm()),
+					ALGORITHMS_BY_COST.indexOf(b.getAlgorithm()));
+		}
+	};
+
+	/**
+	 * Policies for ordering the benchmarks of a suite.
+	 */
+	enum Policy {
+		/**
+		 * Executes graphs and algorithms in the order in which they were configured.
+		 */
+		SUITE("suite"),
+		/**
+		 * Executes graphs in increasing order of their number of edges, algorithms in the configured order.
+		 */
+		SMALLEST_GRAPH_FIRST("smallest-graph-first"),
+		/**
+		 * Executes graphs in increasing order of their number of edges, and algorithms in increasing order of their
+		 * typical cost.
+		 */
+		CHEAPEST_ALGORITHM_FIRST("cheapest-algorithm-first"),
+		/**
+		 * Executes graphs and algorithms in increasing order of their runtime in a previous execution. Benchmarks
+		 * without history are executed last, ordered as for CHEAPEST_ALGORITHM_FIRST.
+		 */
+		HISTORICAL_COST("historical-cost");
+
+		private final String name;
+
+		Policy(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @param name the name of a policy as used in the benchmark configuration
+		 * @return the corresponding policy, or null if it does not exist
+		 */
+		static Policy fromName(String name) {
+			for (Policy policy : values()) {
+				if (policy.name.equalsIgnoreCase(name.trim())) {
+					return policy;
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @return the name of the policy as used in the benchmark configuration
+		 */
+		String getName() {
+			return name;
+		}
+	}
+
+	private final BenchmarkSuite benchmarkSuite;
+	private final Policy policy;
+	private final BenchmarkCostHistory history;
+	private final boolean failFast;
+	private final Map<Algorithm, Graph> smallestFailedGraph = new EnumMap<>(Algorithm.class);
+
+	/**
+	 * @param benchmarkSuite the suite of benchmarks to schedule
+	 * @param policy         the policy for ordering the benchmarks
+	 * @param history        the runtimes of previously executed benchmarks
+	 * @param failFast       true iff an algorithm should be skipped on larger graphs after failing on a smaller one
+	 */
+	BenchmarkScheduler(BenchmarkSuite benchmarkSuite, Policy policy, BenchmarkCostHistory history, boolean failFast) {
+		this.benchmarkSuite = benchmarkSuite;
+		this.policy = policy;
+		this.history = history;
+		this.failFast = failFast;
+	}
+
+	/**
+	 * @return the graphs of the benchmark suite in the order in which they should be processed
+	 */
+	List<Graph> getGraphOrder() {
+		List<Graph> graphs = new ArrayList<>(benchmarkSuite.getGraphs());
+		switch (policy) {
+			case SMALLEST_GRAPH_FIRST:
+			case CHEAPEST_ALGORITHM_FIRST:
+				Collections.sort(graphs, GRAPH_SIZE_ORDER);
+				break;
+			case HISTORICAL_COST:
+				Collections.sort(graphs, GRAPH_SIZE_ORDER);
+				Collections.sort(graphs, new Comparator<Graph>() {
+					@Override
+					public int compare(Graph a, Graph b) {
+						return compareCosts(getHistoricalCost(a), getHistoricalCost(b));
+					}
+				});
+				break;
+			default:
+				break;
+		}
+		return graphs;
+	}
+
+	/**
+	 * @param graph a graph of the benchmark suite
+	 * @return the benchmarks for the graph in the order in which they should be executed
+	 */
+	List<Benchmark> getBenchmarkOrder(Graph graph) {
+		List<Benchmark> benchmarks = new ArrayList<>(benchmarkSuite.getBenchmarksForGraph(graph));
+		switch (policy) {
+			case CHEAPEST_ALGORITHM_FIRST:
+				Collections.sort(benchmarks, ALGORITHM_COST_ORDER);
+				break;
+			case HISTORICAL_COST:
+				Collections.sort(benchmarks, ALGORITHM_COST_ORDER);
+				Collections.sort(benchmarks, new Comparator<Benchmark>() {
+					@Override
+					public int compare(Benchmark a, Benchmark b) {
+						return compareCosts(history.getCostInSeconds(a), history.getCostInSeconds(b));
+					}
+				});
+				break;
+			default:
+				break;
+		}
+		return benchmarks;
+	}
+
+	/**
+	 * @param benchmark a benchmark of the suite
+	 * @return true iff the benchmark should be skipped because its algorithm failed on a smaller graph
+	 */
+	synchronized boolean shouldSkip(Benchmark benchmark) {
+		Graph failedGraph = smallestFailedGraph.get(benchmark.getAlgorithm());
+		if (failedGraph == null || GRAPH_SIZE_ORDER.compare(benchmark.getGraph(), failedGraph) <= 0) {
+			return false;
+		}
+		LOG.warn("Skipping algorithm \"" + benchmark.getAlgorithm().getName() + "\" on graph \"" +
+				benchmark.getGraph().getName() + "\", because it did not complete on the smaller graph \"" +
+				failedGraph.getName() + "\".");
+		return true;
+	}
+
+	/**
+	 * @param graph a graph of the benchmark suite
+	 * @return true iff all benchmarks for the graph should be skipped
+	 */
+	synchronized boolean shouldSkip(Graph graph) {
+		for (Benchmark benchmark : benchmarkSuite.getBenchmarksForGraph(graph)) {
+			Graph failedGraph = smallestFailedGraph.get(benchmark.getAlgorithm());
+			if (failedGraph == null || GRAPH_SIZE_ORDER.compare(graph, failedGraph) <= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Records the result of an executed benchmark, to update the cost history and to apply the fail-fast rule.
+	 *
+	 * @param result the result of the benchmark
+	 */
+	synchronized void recordResult(BenchmarkResult result) {
+		history.record(result);
+		if (failFast && !result.isCompletedSuccessfully()) {
+			Algorithm algorithm = result.getBenchmark().getAlgorithm();
+			Graph graph = result.getBenchmark().getGraph();
+			Graph failedGraph = smallestFailedGraph.get(algorithm);
+			if (failedGraph == null || GRAPH_SIZE_ORDER.compare(graph, failedGraph) < 0) {
+				smallestFailedGraph.put(algorithm, graph);
+			}
+		}
+	}
+
+	private double getHistoricalCost(Graph graph) {
+		double totalCost = 0.0;
+		for (Benchmark benchmark : benchmarkSuite.getBenchmarksForGraph(graph)) {
+			double cost = history.getCostInSeconds(benchmark);
+			if (cost < 0) {
+				return -1.0;
+			}
+			totalCost += cost;
+		}
+		return totalCost;
+	}
+
+	/**
+	 * Compares two costs, ordering unknown (negative) costs last.
+	 */
+	private static int compareCosts(double a, double b) {
+		if (a < 0 || b < 0) {
+			return (a < 0 ? 1 : 0) - (b < 0 ? 1 : 0);
+		}
+		return Double.compare(a, b);
+	}
+
+}
@@ -18,6 +18,14 @@ package nl.tudelft.graphalytics;
 import nl.tudelft.graphalytics.configuration.ConfigurationUtil;
 import nl.tudelft.graphalytics.configuration.InvalidConfigurationException;
 import nl.tudelft.graphalytics.domain.*;
+import nl.tudelft.graphalytics.domain.algorithms.BreadthFirstSearchParameters;
+import nl.tudelft.graphalytics.preprocessing.BinaryGraphConverter;
+import nl.tudelft.graphalytics.preprocessing.ExternalSortGraphConverter;
+import nl.tudelft.graphalytics.preprocessing.GraphMetadata;
+import nl.tudelft.graphalytics.preprocessing.GraphMetadataDiscovery;
+import nl.tudelft.graphalytics.preprocessing.VertexIdMap;
+import nl.tudelft.graphalytics.preprocessing.VertexIdRelabeler;
+import nl.tudelft.graphalytics.preprocessing.VertexSampler;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
@@ -25,9 +33,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,10 +55,26 @@ public final class BenchmarkSuiteLoader {
 	private static final String BENCHMARK_PROPERTIES_FILE = "benchmark.properties";
 	private static final String BENCHMARK_RUN_GRAPHS_KEY = "benchmark.run.graphs";
 	private static final String BENCHMARK_RUN_ALGORITHMS_KEY = "benchmark.run.algorithms";
+	private static final String BENCHMARK_RUN_TIMEOUT_KEY = "benchmark.run.timeout";
 	private static final String GRAPHS_ROOT_DIRECTORY_KEY = "graphs.root-directory";
 	private static final String GRAPHS_NAMES_KEY = "graphs.names";
+	private static final String GRAPHS_CONVERT_TO_BINARY_KEY = "graphs.convert-to-binary";
+	private static final String GRAPHS_BINARY_DIRECTORY_KEY = "graphs.binary-directory";
+	private static final String GRAPHS_RELABEL_VERTICES_KEY = "graphs.relabel-vertices";
+	private static final String GRAPHS_RELABEL_DIRECTORY_KEY = "graphs.relabel-directory";
+	private static final String GRAPHS_CONVERT_TO_VERTEX_BASED_KEY = "graphs.convert-to-vertex-based";
+	private static final String GRAPHS_VERTEX_BASED_DIRECTORY_KEY = "graphs.vertex-based-directory";
+	private static final String GRAPHS_CONVERSION_MEMORY_BUDGET_KEY = "graphs.conversion.memory-budget";
+	private static final String GRAPHS_CONVERSION_TEMPORARY_DIRECTORY_KEY = "graphs.conversion.temporary-directory";
+	private static final String GRAPHS_CONVERSION_SYMMETRIZE_KEY = "graphs.conversion.symmetrize";
+	private static final String GRAPHS_CONVERSION_DEDUPLICATE_KEY = "graphs.conversion.deduplicate";
+	private static final String GRAPHS_VERIFY_METADATA_KEY = "graphs.verify-metadata";
+	private static final long UNKNOWN_METADATA_VALUE = -1L;
 
 	private Configuration benchmarkConfiguration;
+	private Set<String> relabeledGraphNames = new HashSet<>();
+	private String relabelDirectory;
+	private ExternalSortGraphConverter externalConverter;
 
 	private BenchmarkSuiteLoader(Configuration benchmarkConfiguration) {
 		this.benchmarkConfiguration = benchmarkConfiguration;
@@ -67,24 +96,69 @@ public final class BenchmarkSuiteLoader {
 
 	private BenchmarkSuite parse() throws InvalidConfigurationException {
 		String rootDirectory = ConfigurationUtil.getString(benchmarkConfiguration, GRAPHS_ROOT_DIRECTORY_KEY);
-		Map<String, Graph> graphs = parseGraphs(rootDirectory);
-		Set<Benchmark> benchmarks = parseBenchmarks(graphs);
-		Set<Graph> graphSelection = parseGraphSelection(graphs);
 		Set<Algorithm> algorithmSelection = parseAlgorithmSelection();
+		Map<String, Graph> graphs = parseGraphs(rootDirectory, algorithmSelection);
+		Set<Benchmark> benchmarks = parseBenchmarks(graphs, algorithmSelection);
+		Set<Graph> graphSelection = parseGraphSelection(graphs);
 
 		return BenchmarkSuite.fromBenchmarks(benchmarks).getSubset(algorithmSelection, graphSelection);
 	}
 
-	private Map<String, Graph> parseGraphs(String rootDirectory) throws InvalidConfigurationException {
-		Map<String, Graph> graphs = new HashMap<>();
+	/**
+	 * Parses the graphs selected for the benchmark run, and preprocesses (i.e., relabels, converts, and discovers the
+	 * metadata of) their graph files. Graphs that are not selected, or that support none of the selected algorithms,
+	 * are skipped without touching their files.
+	 */
+	private Map<String, Graph> parseGraphs(String rootDirectory, Set<Algorithm> algorithmSelection)
+			throws InvalidConfigurationException {
+		Map<String, Graph> graphs = new LinkedHashMap<>();
 
-		// Get list of available graphs
+		// Get list of available graphs, and the names of the selected graphs
 		String[] graphNames = ConfigurationUtil.getStringArray(benchmarkConfiguration, GRAPHS_NAMES_KEY);
+		Set<String> graphSelectionNames = parseGraphSelectionNames(graphNames);
+
+		// Determine if configured graph metadata should be verified against the graph files
+		boolean verifyMetadata = benchmarkConfiguration.getBoolean(GRAPHS_VERIFY_METADATA_KEY, false);
+
+		// Determine if graphs should be relabeled to dense vertex ids
+		boolean relabelVertices = benchmarkConfiguration.getBoolean(GRAPHS_RELABEL_VERTICES_KEY, false);
+		relabelDirectory = benchmarkConfiguration.getString(GRAPHS_RELABEL_DIRECTORY_KEY, rootDirectory);
+
+		// Configure the external sort used to convert graphs that do not fit in memory
+		long memoryBudget = benchmarkConfiguration.containsKey(GRAPHS_CONVERSION_MEMORY_BUDGET_KEY) ?
+				benchmarkConfiguration.getLong(GRAPHS_CONVERSION_MEMORY_BUDGET_KEY) * 1024L * 1024L :
+				ExternalSortGraphConverter.defaultMemoryBudget();
+		String temporaryDirectory = benchmarkConfiguration.getString(GRAPHS_CONVERSION_TEMPORARY_DIRECTORY_KEY,
+				System.getProperty("java.io.tmpdir"));
+		externalConverter = new ExternalSortGraphConverter(memoryBudget, Paths.get(temporaryDirectory));
+
+		// Determine if edge-based graphs should be converted to the vertex-based format
+		boolean convertToVertexBased = benchmarkConfiguration.getBoolean(GRAPHS_CONVERT_TO_VERTEX_BASED_KEY, false);
+		String vertexBasedDirectory = benchmarkConfiguration.getString(GRAPHS_VERTEX_BASED_DIRECTORY_KEY,
+				rootDirectory);
+
+		// Determine if graphs should be converted to the binary CSR format
+		boolean convertToBinary = benchmarkConfiguration.getBoolean(GRAPHS_CONVERT_TO_BINARY_KEY, false);
+		String binaryDirectory = benchmarkConfiguration.getString(GRAPHS_BINARY_DIRECTORY_KEY, rootDirectory);
 
 		// Parse each graph individually
 		for (String graphName : graphNames) {
+			if (!isSelected(graphName, graphSelectionNames, algorithmSelection)) {
+				LOG.debug("Skipping graph \"" + graphName + "\", because it is not selected for the benchmark run.");
+				continue;
+			}
 			Graph graph = parseGraph(graphName, rootDirectory);
 			if (graphExists(graph)) {
+				graph = discoverMetadataIfNeeded(graph, verifyMetadata);
+				if (relabelVertices) {
+					graph = relabelGraph(graph);
+				}
+				if (convertToVertexBased) {
+					graph = convertGraphToVertexBased(graph, vertexBasedDirectory);
+				}
+				if (convertToBinary) {
+					graph = convertGraphToBinary(graph, binaryDirectory);
+				}
 				graphs.put(graphName, graph);
 			} else {
 				LOG.warn("Could not find file for graph \"" + graphName + "\" at path \"" + graph.getFilePath() +
@@ -94,45 +168,162 @@ public final class BenchmarkSuiteLoader {
 		return graphs;
 	}
 
+	/**
+	 * @return the names of the available graphs selected for the benchmark run, or null to select all graphs
+	 */
+	private Set<String> parseGraphSelectionNames(String[] graphNames) {
+		Set<String> availableGraphNames = new HashSet<>(Arrays.asList(graphNames));
+		Set<String> graphSelectionNames = new HashSet<>();
+		for (String graphSelectionName : benchmarkConfiguration.getStringArray(BENCHMARK_RUN_GRAPHS_KEY)) {
+			if (availableGraphNames.contains(graphSelectionName)) {
+				graphSelectionNames.add(graphSelectionName);
+			}
+		}
+		return graphSelectionNames.isEmpty() ? null : graphSelectionNames;
+	}
+
+	private boolean isSelected(String graphName, Set<String> graphSelectionNames, Set<Algorithm> algorithmSelection) {
+		if (graphSelectionNames != null && !graphSelectionNames.contains(graphName)) {
+			return false;
+		}
+		if (algorithmSelection == null) {
+			return true;
+		}
+		for (String algorithmName : benchmarkConfiguration.getStringArray("graph." + graphName + ".algorithms")) {
+			if (algorithmSelection.contains(Algorithm.fromAcronym(algorithmName))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private Graph parseGraph(String graphName, String rootDirectory) throws InvalidConfigurationException {
 		String relativeFileName = ConfigurationUtil.getString(benchmarkConfiguration, "graph." + graphName + ".file");
 		String fileName = Paths.get(rootDirectory, relativeFileName).toString();
 		boolean isDirected = ConfigurationUtil.getBoolean(benchmarkConfiguration, "graph." + graphName + ".directed");
 		boolean isEdgeBased = ConfigurationUtil.getBoolean(benchmarkConfiguration, "graph." + graphName + ".edge-based");
-		long vertexCount = ConfigurationUtil.getLongOrWarn(benchmarkConfiguration,
-				"graph." + graphName + ".meta.vertices", 1L);
-		long edgeCount = ConfigurationUtil.getLongOrWarn(benchmarkConfiguration,
-				"graph." + graphName + ".meta.edges", 1L);
+		long vertexCount = parseOptionalMetadata("graph." + graphName + ".meta.vertices");
+		long edgeCount = parseOptionalMetadata("graph." + graphName + ".meta.edges");
 		return new Graph(graphName, fileName, new GraphFormat(isDirected, isEdgeBased), vertexCount, edgeCount);
 	}
 
+	private long parseOptionalMetadata(String property) {
+		if (!benchmarkConfiguration.containsKey(property)) {
+			return UNKNOWN_METADATA_VALUE;
+		}
+		return ConfigurationUtil.getLongOrWarn(benchmarkConfiguration, property, UNKNOWN_METADATA_VALUE);
+	}
+
+	private Graph discoverMetadataIfNeeded(Graph graph, boolean verifyMetadata) {
+		boolean metadataMissing = graph.getNumberOfVertices() == UNKNOWN_METADATA_VALUE ||
+				graph.getNumberOfEdges() == UNKNOWN_METADATA_VALUE;
+		if (!metadataMissing && !verifyMetadata) {
+			return graph;
+		}
+
+		GraphMetadata metadata;
+		try {
+			metadata = GraphMetadataDiscovery.discoverIfNeeded(Paths.get(graph.getFilePath()), graph.getGraphFormat());
+		} catch (IOException ex) {
+			LOG.error("Failed to discover metadata of graph \"" + graph.getName() + "\".", ex);
+			if (!metadataMissing) {
+				return graph;
+			}
+			LOG.warn("Defaulting missing metadata of graph \"" + graph.getName() + "\" to 1.");
+			return new Graph(graph.getName(), graph.getFilePath(), graph.getGraphFormat(),
+					Math.max(graph.getNumberOfVertices(), 1L), Math.max(graph.getNumberOfEdges(), 1L));
+		}
+
+		if (!metadataMissing && (graph.getNumberOfVertices() != metadata.getNumberOfVertices() ||
+				graph.getNumberOfEdges() != metadata.getNumberOfEdges())) {
+			LOG.warn("Configured metadata of graph \"" + graph.getName() + "\" (" + graph.getNumberOfVertices() +
+					" vertices, " + graph.getNumberOfEdges() + " edges) does not match the graph file, using the " +
+					"discovered metadata instead.");
+		}
+		if (Boolean.FALSE.equals(metadata.isDeduplicated())) {
+			LOG.warn("Graph \"" + graph.getName() + "\" contains duplicate edges.");
+		}
+		return new Graph(graph.getName(), graph.getFilePath(), graph.getGraphFormat(),
+				metadata.getNumberOfVertices(), metadata.getNumberOfEdges());
+	}
+
 	private boolean graphExists(Graph graph) {
 		return new File(graph.getFilePath()).isFile();
 	}
 
-	private Set<Benchmark> parseBenchmarks(Map<String, Graph> graphs) throws InvalidConfigurationException {
-		Set<Benchmark> benchmarks = new HashSet<>();
+	private Graph relabelGraph(Graph graph) {
+		try {
+			Graph relabeledGraph = VertexIdRelabeler.relabelIfNeeded(graph, relabelDirectory);
+			relabeledGraphNames.add(graph.getName());
+			return relabeledGraph;
+		} catch (IOException ex) {
+			LOG.error("Failed to relabel graph \"" + graph.getName() + "\", using the original file instead.", ex);
+			return graph;
+		}
+	}
+
+	private Graph convertGraphToVertexBased(Graph graph, String vertexBasedDirectory) {
+		boolean symmetrize = benchmarkConfiguration.getBoolean(GRAPHS_CONVERSION_SYMMETRIZE_KEY, false);
+		boolean deduplicate = benchmarkConfiguration.getBoolean(GRAPHS_CONVERSION_DEDUPLICATE_KEY, true);
+		try {
+			return externalConverter.convertToVertexBasedIfNeeded(graph, vertexBasedDirectory, symmetrize,
+					deduplicate);
+		} catch (IOException ex) {
+			LOG.error("Failed to convert graph \"" + graph.getName() + "\" to vertex-based format, using the " +
+					"original file instead.", ex);
+			return graph;
+		}
+	}
+
+	private Graph convertGraphToBinary(Graph graph, String binaryDirectory) {
+		try {
+			return BinaryGraphConverter.convertIfNeeded(graph, binaryDirectory, externalConverter);
+		} catch (IOException ex) {
+			LOG.error("Failed to convert graph \"" + graph.getName() + "\" to binary format, using the original " +
+					"file instead.", ex);
+			return graph;
+		}
+	}
+
+	private Set<Benchmark> parseBenchmarks(Map<String, Graph> graphs, Set<Algorithm> algorithmSelection)
+			throws InvalidConfigurationException {
+		Set<Benchmark> benchmarks = new LinkedHashSet<>();
 
 		// For each graph: parse per-algorithm parameters
 		for (Map.Entry<String, Graph> graphEntry : graphs.entrySet()) {
-			benchmarks.addAll(parseBenchmarksForGraph(graphEntry.getValue()));
+			benchmarks.addAll(parseBenchmarksForGraph(graphEntry.getValue(), algorithmSelection));
 		}
 
 		return benchmarks;
 	}
 
-	private Set<Benchmark> parseBenchmarksForGraph(Graph graph) throws InvalidConfigurationException {
-		Set<Benchmark> benchmarks = new HashSet<>();
+	/**
+	 * Parses the benchmarks of the selected algorithms on a graph. Algorithms that are not selected are skipped, so
+	 * that no work is spent on their parameters (e.g., sampling the sources of BFS queries).
+	 */
+	private Set<Benchmark> parseBenchmarksForGraph(Graph graph, Set<Algorithm> algorithmSelection)
+			throws InvalidConfigurationException {
+		Set<Benchmark> benchmarks = new LinkedHashSet<>();
 
 		// Get list of supported algorithms
 		String graphAlgorithmsKey = "graph." + graph.getName() + ".algorithms";
 		String[] algorithmNames = ConfigurationUtil.getStringArray(benchmarkConfiguration, graphAlgorithmsKey);
+		VertexIdMap idMap = readVertexIdMap(graph);
 		for (String algorithmName : algorithmNames) {
 			Algorithm algorithm = Algorithm.fromAcronym(algorithmName);
-			if (algorithm != null) {
+			if (algorithm != null && algorithmSelection != null && !algorithmSelection.contains(algorithm)) {
+				continue;
+			} else if (algorithm != null) {
+				String benchmarkKey = "graph." + graph.getName() + "." + algorithm.getAcronym().toLowerCase();
 				Object parameters = algorithm.getParameterFactory().fromConfiguration(
-						benchmarkConfiguration, "graph." + graph.getName() + "." + algorithm.getAcronym().toLowerCase());
-				benchmarks.add(new Benchmark(algorithm, graph, parameters));
+						benchmarkConfiguration, benchmarkKey);
+				if (idMap != null) {
+					parameters = translateParameters(parameters, idMap, graph, algorithm);
+				}
+				if (parameters instanceof BreadthFirstSearchParameters) {
+					parameters = sampleQuerySources(graph, (BreadthFirstSearchParameters)parameters);
+				}
+				benchmarks.add(new Benchmark(algorithm, graph, parameters, parseTimeout(benchmarkKey + ".timeout")));
 			} else {
 				LOG.warn("Found unknown algorithm name \"" + algorithmName + "\" in property \"" +
 						graphAlgorithmsKey + "\".");
@@ -142,8 +333,79 @@ public final class BenchmarkSuiteLoader {
 		return benchmarks;
 	}
 
+	/**
+	 * Samples the sources of the BFS queries on a graph, if the parameters request a number of sampled sources. The
+	 * sources are sampled from the graph file used by the benchmark, so no translation of vertex ids is needed.
+	 */
+	private BreadthFirstSearchParameters sampleQuerySources(Graph graph, BreadthFirstSearchParameters parameters) {
+		if (parameters.getQuerySampleSize() == 0) {
+			return parameters;
+		}
+		try {
+			List<Long> querySourceVertices = VertexSampler.sample(Paths.get(graph.getFilePath()),
+					graph.getGraphFormat(), parameters.getQuerySampleSize(), parameters.getQuerySeed());
+			LOG.info("Sampled " + querySourceVertices.size() + " BFS query sources from graph \"" + graph.getName() +
+					"\".");
+			return parameters.withQuerySourceVertices(querySourceVertices);
+		} catch (IOException ex) {
+			LOG.error("Failed to sample BFS query sources from graph \"" + graph.getName() + "\", skipping the " +
+					"BFS queries.", ex);
+			return parameters.withQuerySourceVertices(Collections.<Long>emptyList());
+		}
+	}
+
+	/**
+	 * Parses the timeout of a benchmark in seconds. A benchmark-specific timeout takes precedence over the default
+	 * timeout for all benchmarks; a timeout of 0 disables the timeout.
+	 */
+	private long parseTimeout(String timeoutKey) throws InvalidConfigurationException {
+		String key = benchmarkConfiguration.containsKey(timeoutKey) ? timeoutKey : BENCHMARK_RUN_TIMEOUT_KEY;
+		if (!benchmarkConfiguration.containsKey(key)) {
+			return 0L;
+		}
+		long timeout = ConfigurationUtil.getLong(benchmarkConfiguration, key);
+		if (timeout < 0) {
+			throw new InvalidConfigurationException("Property \"" + key + "\" must not be negative.");
+		}
+		return timeout;
+	}
+
+	private VertexIdMap readVertexIdMap(Graph graph) throws InvalidConfigurationException {
+		if (!relabeledGraphNames.contains(graph.getName())) {
+			return null;
+		}
+		try {
+			return VertexIdMap.readFrom(VertexIdRelabeler.getIdMapPath(relabelDirectory, graph.getName()));
+		} catch (IOException ex) {
+			throw new InvalidConfigurationException("Failed to read vertex id map of graph \"" + graph.getName() +
+					"\".", ex);
+		}
+	}
+
+	/**
+	 * Translates the parameters of an algorithm to dense vertex ids. If the algorithm numbers new vertices after a
+	 * configured maximum id (i.e., the forest fire model), that id is persisted in the vertex id map of the graph so
+	 * the new vertices in the output can be translated back to the original ids.
+	 */
+	private Object translateParameters(Object parameters, VertexIdMap idMap, Graph graph, Algorithm algorithm)
+			throws InvalidConfigurationException {
+		try {
+			VertexIdMap parameterIdMap = VertexIdRelabeler.getIdMapForParameters(parameters, idMap);
+			if (parameterIdMap.getMaxId() != idMap.getMaxId()) {
+				parameterIdMap.writeTo(VertexIdRelabeler.getIdMapPath(relabelDirectory, graph.getName()));
+			}
+			return VertexIdRelabeler.translateParameters(parameters, parameterIdMap, true);
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidConfigurationException("Invalid parameters for algorithm " + algorithm.getAcronym() +
+					" on graph \"" + graph.getName() + "\": " + ex.getMessage(), ex);
+		} catch (IOException ex) {
+			throw new InvalidConfigurationException("Failed to write vertex id map of graph \"" + graph.getName() +
+					"\".", ex);
+		}
+	}
+
 	private Set<Graph> parseGraphSelection(Map<String, Graph> graphs) {
-		Set<Graph> graphSelection = new HashSet<>();
+		Set<Graph> graphSelection = new LinkedHashSet<>();
 
 		// Get list of selected graphs
 		String[] graphSelectionNames = benchmarkConfiguration.getStringArray(BENCHMARK_RUN_GRAPHS_KEY);
@@ -166,7 +428,7 @@ public final class BenchmarkSuiteLoader {
 	}
 
 	private Set<Algorithm> parseAlgorithmSelection() {
-		Set<Algorithm> algorithmSelection = new HashSet<>();
+		Set<Algorithm> algorithmSelection = new LinkedHashSet<>();
 
 		// Get list of selected algorithms
 		String[] algorithmSelectionNames = benchmarkConfiguration.getStringArray(BENCHMARK_RUN_ALGORITHMS_KEY);
@@ -18,15 +18,36 @@ package nl.tudelft.graphalytics;
 import nl.tudelft.graphalytics.domain.*;
 import nl.tudelft.graphalytics.domain.BenchmarkResult.BenchmarkResultBuilder;
 import nl.tudelft.graphalytics.domain.BenchmarkSuiteResult.BenchmarkSuiteResultBuilder;
+import nl.tudelft.graphalytics.domain.algorithms.BreadthFirstSearchParameters;
+import nl.tudelft.graphalytics.monitoring.FlightRecorderProfiler;
+import nl.tudelft.graphalytics.monitoring.JvmMonitor;
+import nl.tudelft.graphalytics.monitoring.ResourceSampler;
+import nl.tudelft.graphalytics.monitoring.SystemInformation;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Helper class for executing all benchmarks in a BenchmarkSuite on a specific Platform.
@@ -36,85 +57,730 @@ import java.util.Map;
 public class BenchmarkSuiteRunner {
 	private static final Logger LOG = LogManager.getLogger();
 
+	private static final String BENCHMARK_PROPERTIES_FILE = "benchmark.properties";
+	private static final String WARMUP_REPETITIONS_KEY = "benchmark.run.warmup-repetitions";
+	private static final String REPETITIONS_KEY = "benchmark.run.repetitions";
+	private static final String ORDER_KEY = "benchmark.run.order";
+	private static final String FAIL_FAST_KEY = "benchmark.run.fail-fast";
+	private static final String COST_HISTORY_KEY = "benchmark.run.cost-history";
+	private static final String PREFETCH_GRAPHS_KEY = "benchmark.run.prefetch-graphs";
+	private static final String CANCELLATION_GRACE_PERIOD_KEY = "benchmark.run.cancellation-grace-period";
+	private static final String RESOURCE_SAMPLING_INTERVAL_KEY = "benchmark.run.resource-sampling-interval";
+	private static final String JVM_MONITORING_KEY = "benchmark.run.jvm-monitoring";
+	private static final String FLIGHT_RECORDER_KEY = "benchmark.run.flight-recorder";
+	private static final String FLIGHT_RECORDER_SETTINGS_KEY = "benchmark.run.flight-recorder.settings";
+	private static final String CONCURRENCY_KEY = "benchmark.run.concurrency";
+	private static final String QUERY_CONCURRENCY_KEY = "benchmark.run.query-concurrency";
+	private static final String ISOLATION_KEY = "benchmark.run.isolation";
+	private static final String ISOLATION_JVM_OPTIONS_KEY = "benchmark.run.isolation.jvm-options";
+
+	/**
+	 * Levels of isolation between the benchmark driver and the executed benchmarks.
+	 */
+	private enum Isolation {
+		/**
+		 * All benchmarks are executed in the JVM of the benchmark driver.
+		 */
+		NONE,
+		/**
+		 * The benchmarks for each graph are executed in a new child JVM.
+		 */
+		GRAPH,
+		/**
+		 * Each benchmark is executed in a new child JVM.
+		 */
+		BENCHMARK
+	}
+
 	private final BenchmarkSuite benchmarkSuite;
 	private final Platform platform;
+	private final Configuration benchmarkConfiguration;
+	private final String outputDirectory;
+	private final BenchmarkJournal journal;
+	private final BenchmarkResultListener listener;
 
 	/**
 	 * @param benchmarkSuite the suite of benchmarks to run
 	 * @param platform the platform instance to run the benchmarks on
 	 */
 	public BenchmarkSuiteRunner(BenchmarkSuite benchmarkSuite, Platform platform) {
+		this(benchmarkSuite, platform, null);
+	}
+
+	/**
+	 * Creates a runner that journals every result in the output directory as soon as it is available. If the output
+	 * directory already contains a journal (i.e., when resuming an interrupted run), benchmarks that already have a
+	 * result in the journal are not executed again.
+	 *
+	 * @param benchmarkSuite  the suite of benchmarks to run
+	 * @param platform        the platform instance to run the benchmarks on
+	 * @param outputDirectory the directory to write the journal and benchmark artifacts (e.g., flight recordings) to,
+	 *                        or null to disable both
+	 */
+	public BenchmarkSuiteRunner(BenchmarkSuite benchmarkSuite, Platform platform, String outputDirectory) {
+		this(benchmarkSuite, platform, loadBenchmarkConfiguration(), outputDirectory,
+				outputDirectory != null ? BenchmarkJournal.inDirectory(Paths.get(outputDirectory)) : null, null);
+	}
+
+	/**
+	 * @param benchmarkSuite         the suite of benchmarks to run
+	 * @param platform               the platform instance to run the benchmarks on
+	 * @param benchmarkConfiguration the benchmark configuration
+	 * @param outputDirectory        the directory to write benchmark artifacts to, or null
+	 * @param journal                the journal to record results in and resume from, or null
+	 * @param listener               a listener to notify of every result, or null
+	 */
+	BenchmarkSuiteRunner(BenchmarkSuite benchmarkSuite, Platform platform, Configuration benchmarkConfiguration,
+			String outputDirectory, BenchmarkJournal journal, BenchmarkResultListener listener) {
 		this.benchmarkSuite = benchmarkSuite;
 		this.platform = platform;
+		this.benchmarkConfiguration = benchmarkConfiguration;
+		this.outputDirectory = outputDirectory;
+		this.journal = journal;
+		this.listener = listener;
+	}
+
+	private static Configuration loadBenchmarkConfiguration() {
+		try {
+			return new PropertiesConfiguration(BENCHMARK_PROPERTIES_FILE);
+		} catch (ConfigurationException e) {
+			// Already reported during loading of benchmark
+			return new PropertiesConfiguration();
+		}
+	}
+
+	/**
+	 * @return the benchmark configuration for a child JVM, which executes the benchmarks it receives in order and
+	 * leaves scheduling and isolation to the benchmark driver
+	 */
+	static Configuration loadForkedConfiguration() {
+		Configuration configuration = loadBenchmarkConfiguration();
+		configuration.setProperty(ISOLATION_KEY, "none");
+		configuration.setProperty(ORDER_KEY, BenchmarkScheduler.Policy.SUITE.getName());
+		configuration.setProperty(FAIL_FAST_KEY, "false");
+		configuration.setProperty(PREFETCH_GRAPHS_KEY, "false");
+		configuration.clearProperty(COST_HISTORY_KEY);
+		return configuration;
 	}
 
 	/**
 	 * Executes the Graphalytics benchmark suite on the given platform. The benchmarks are grouped by graph so that each
 	 * graph is uploaded to the platform exactly once. After executing all benchmarks for a specific graph, the graph
-	 * is deleted from the platform.
+	 * is deleted from the platform. Each benchmark is executed a configurable number of times to warm up the platform
+	 * (e.g., JIT compilation and caches), followed by a configurable number of measured repetitions. Benchmarks with a
+	 * timeout are cancelled by a watchdog when a run exceeds the timeout, and recorded as timed out. If enabled and
+	 * supported by the platform, the next graph is uploaded in the background while the benchmarks for the current
+	 * graph are executed. The order of the graphs and benchmarks is determined by a configurable scheduling policy.
+	 * Optionally, the benchmarks for each graph, or each individual benchmark, are executed in a new child JVM, or
+	 * multiple instances of the platform process different graphs concurrently. Every result is appended to a journal
+	 * as soon as it is available; benchmarks with a result in the journal of a previous, interrupted run are not
+	 * executed again.
 	 *
 	 * @return a BenchmarkSuiteResult object containing the gathered benchmark results and details
 	 */
 	public BenchmarkSuiteResult execute() {
 		// TODO: Retrieve configuration for system, platform, and platform per benchmark
 
+		int warmupRepetitions = benchmarkConfiguration.getInt(WARMUP_REPETITIONS_KEY, 0);
+		if (warmupRepetitions < 0) {
+			LOG.warn("Property \"" + WARMUP_REPETITIONS_KEY + "\" must not be negative, skipping warm-up runs.");
+			warmupRepetitions = 0;
+		}
+		int repetitions = benchmarkConfiguration.getInt(REPETITIONS_KEY, 1);
+		if (repetitions < 1) {
+			LOG.warn("Property \"" + REPETITIONS_KEY + "\" must be positive, executing each benchmark once.");
+			repetitions = 1;
+		}
+		long gracePeriod = benchmarkConfiguration.getLong(CANCELLATION_GRACE_PERIOD_KEY, 60L);
+		if (gracePeriod < 0) {
+			LOG.warn("Property \"" + CANCELLATION_GRACE_PERIOD_KEY + "\" must not be negative, using 0 seconds.");
+			gracePeriod = 0;
+		}
+
 		// Use a BenchmarkSuiteResultBuilder to track the benchmark results gathered throughout execution
 		BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder = new BenchmarkSuiteResultBuilder(benchmarkSuite);
 
-		for (Graph graph : benchmarkSuite.getGraphs()) {
-			// Upload the graph
+		// Restore the results of a previous run and schedule the remaining benchmarks
+		Map<Benchmark, BenchmarkResult> resumedResults = resumeFromJournal(benchmarkSuiteResultBuilder);
+		List<Benchmark> remainingBenchmarks = new ArrayList<>();
+		for (Benchmark benchmark : benchmarkSuite.getBenchmarks()) {
+			if (!resumedResults.containsKey(benchmark)) {
+				remainingBenchmarks.add(benchmark);
+			}
+		}
+		BenchmarkScheduler scheduler = createScheduler(BenchmarkSuite.fromBenchmarks(remainingBenchmarks));
+		for (BenchmarkResult resumedResult : resumedResults.values()) {
+			scheduler.recordResult(resumedResult);
+		}
+
+		Isolation isolation = parseIsolation();
+		int concurrency = benchmarkConfiguration.getInt(CONCURRENCY_KEY, 1);
+		if (concurrency < 1) {
+			LOG.warn("Property \"" + CONCURRENCY_KEY + "\" must be positive, executing one benchmark at a time.");
+			concurrency = 1;
+		} else if (concurrency > 1 && isolation != Isolation.NONE) {
+			LOG.warn("Property \"" + CONCURRENCY_KEY + "\" is not supported in combination with property \"" +
+					ISOLATION_KEY + "\", executing one benchmark at a time.");
+			concurrency = 1;
+		}
+		if (isolation == Isolation.NONE && concurrency > 1) {
+			if (benchmarkConfiguration.getLong(RESOURCE_SAMPLING_INTERVAL_KEY, 1000L) > 0 ||
+					benchmarkConfiguration.getBoolean(JVM_MONITORING_KEY, true) ||
+					benchmarkConfiguration.getBoolean(FLIGHT_RECORDER_KEY, false)) {
+				LOG.warn("Resource sampling, JVM monitoring, and flight recordings cover all concurrently executing " +
+						"platform instances and are disabled when property \"" + CONCURRENCY_KEY +
+						"\" is larger than 1.");
+			}
+			executeConcurrently(scheduler, benchmarkSuiteResultBuilder, warmupRepetitions, repetitions, gracePeriod,
+					concurrency);
+		} else if (isolation == Isolation.NONE) {
+			executeInProcess(scheduler, benchmarkSuiteResultBuilder, warmupRepetitions, repetitions, gracePeriod);
+		} else {
+			executeInChildProcesses(scheduler, benchmarkSuiteResultBuilder, isolation);
+		}
+
+		// Dump the used configuration
+		NestedConfiguration benchmarkConfigurationDump = NestedConfiguration.fromExternalConfiguration(
+				benchmarkConfiguration, BENCHMARK_PROPERTIES_FILE);
+
+		// Construct the BenchmarkSuiteResult
+		return benchmarkSuiteResultBuilder.buildFromConfiguration(SystemInformation.collect(),
+				benchmarkConfigurationDump,
+				platform.getPlatformConfiguration());
+	}
+
+	/**
+	 * Executes the benchmarks in the JVM of the benchmark driver.
+	 */
+	private void executeInProcess(BenchmarkScheduler scheduler,
+			BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder, int warmupRepetitions, int repetitions,
+			long gracePeriod) {
+		WatchdogExecutor executor = new WatchdogExecutor(platform, gracePeriod * 1000L);
+		boolean prefetchGraphs = benchmarkConfiguration.getBoolean(PREFETCH_GRAPHS_KEY, false);
+		GraphUploadScheduler uploads = new GraphUploadScheduler(platform, scheduler.getGraphOrder(), prefetchGraphs);
+		while (uploads.hasNext()) {
+			// Skip graphs for which all algorithms failed on a smaller graph
+			if (scheduler.shouldSkip(uploads.peekNext())) {
+				LOG.warn("Skipping graph \"" + uploads.peekNext().getName() + "\", because all of its algorithms " +
+						"failed on smaller graphs.");
+				uploads.skipNext();
+				continue;
+			}
+
+			// Upload the graph, or wait for it to be uploaded in the background
+			GraphUploadScheduler.GraphUpload upload = uploads.next();
+			if (!checkUpload(benchmarkSuiteResultBuilder, upload)) {
+				continue;
+			}
+
+			// Start uploading the next graph while the benchmarks for this graph are executed
+			uploads.prefetchNext();
+
+			executeBenchmarksOnGraph(platform, executor, scheduler, benchmarkSuiteResultBuilder, upload,
+					warmupRepetitions, repetitions, 1);
+		}
+		uploads.shutdown();
+		executor.shutdown();
+	}
+
+	/**
+	 * Executes the benchmarks in the JVM of the benchmark driver on multiple instances of the platform concurrently.
+	 * Each instance repeatedly takes the next graph from a shared queue, in the order determined by the scheduler, and
+	 * executes all benchmarks for that graph, so no two instances work on the same graph. Instances implementing
+	 * {@link CoreAllocationPlatform} are assigned a disjoint subset of the available CPUs.
+	 */
+	private void executeConcurrently(final BenchmarkScheduler scheduler,
+			final BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder, final int warmupRepetitions,
+			final int repetitions, final long gracePeriod, final int concurrency) {
+		final Queue<Graph> graphQueue = new ConcurrentLinkedQueue<>(scheduler.getGraphOrder());
+		List<CoreAllocation> coreAllocations = CoreAllocation.partition(SystemInformation.getAvailableCpus(),
+				concurrency);
+
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency, new ThreadFactory() {
+			private final AtomicInteger workerCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				return new Thread(runnable, "graphalytics-worker-" + workerCount.incrementAndGet());
+			}
+		});
+		List<Future<?>> workerResults = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			final Platform workerPlatform = i == 0 ? platform : createPlatformInstance();
+			if (workerPlatform == null) {
+				continue;
+			}
+			if (workerPlatform instanceof CoreAllocationPlatform) {
+				((CoreAllocationPlatform)workerPlatform).setCoreAllocation(coreAllocations.get(i));
+			}
+			LOG.info("Starting platform instance " + (i + 1) + "/" + concurrency + " on CPUs " +
+					coreAllocations.get(i) + ".");
+			workerResults.add(workers.submit(new Runnable() {
+				@Override
+				public void run() {
+					WatchdogExecutor executor = new WatchdogExecutor(workerPlatform, gracePeriod * 1000L);
+					Graph graph;
+					while ((graph = graphQueue.poll()) != null) {
+						if (scheduler.shouldSkip(graph)) {
+							LOG.warn("Skipping graph \"" + graph.getName() + "\", because all of its algorithms " +
+									"failed on smaller graphs.");
+							continue;
+						}
+						GraphUploadScheduler uploads = new GraphUploadScheduler(workerPlatform,
+								Collections.singletonList(graph), false);
+						GraphUploadScheduler.GraphUpload upload = uploads.next();
+						uploads.shutdown();
+						if (checkUpload(benchmarkSuiteResultBuilder, upload)) {
+							executeBenchmarksOnGraph(workerPlatform, executor, scheduler,
+									benchmarkSuiteResultBuilder, upload, warmupRepetitions, repetitions,
+									concurrency);
+						}
+					}
+					executor.shutdown();
+				}
+			}));
+		}
+
+		for (Future<?> workerResult : workerResults) {
 			try {
-				platform.uploadGraph(graph, graph.getFilePath());
-			} catch (Exception ex) {
-				LOG.error("Failed to upload graph \"" + graph.getName() + "\", skipping.", ex);
+				workerResult.get();
+			} catch (ExecutionException ex) {
+				LOG.error("A platform instance failed to execute its benchmarks.", ex.getCause());
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		workers.shutdownNow();
+	}
+
+	/**
+	 * @return a new instance of the platform class, or null if it could not be instantiated
+	 */
+	private Platform createPlatformInstance() {
+		try {
+			return platform.getClass().newInstance();
+		} catch (InstantiationException | IllegalAccessException ex) {
+			LOG.error("Failed to instantiate platform class \"" + platform.getClass().getName() + "\", running " +
+					"fewer benchmarks concurrently.", ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Records the result of uploading a graph if the upload failed.
+	 *
+	 * @return true iff the graph was uploaded successfully
+	 */
+	private boolean checkUpload(BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder,
+			GraphUploadScheduler.GraphUpload upload) {
+		Graph graph = upload.getGraph();
+		if (!upload.isUploadedSuccessfully()) {
+			LOG.error("Failed to upload graph \"" + graph.getName() + "\", skipping.", upload.getFailure());
+			recordGraphIngestResult(benchmarkSuiteResultBuilder, new GraphIngestResult(graph,
+					upload.getUploadTimeInNanos(), 0L, upload.getBytesIngested(), false));
+			return false;
+		}
+		LOG.info("Uploaded graph \"" + graph.getName() + "\" in " + (upload.getUploadTimeInNanos() / 1000000L) +
+				" ms.");
+		return true;
+	}
+
+	/**
+	 * Executes all benchmarks for an uploaded graph on a platform instance, and deletes the graph afterwards.
+	 */
+	private void executeBenchmarksOnGraph(Platform platform, WatchdogExecutor executor, BenchmarkScheduler scheduler,
+			BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder, GraphUploadScheduler.GraphUpload upload,
+			int warmupRepetitions, int repetitions, int concurrency) {
+		Graph graph = upload.getGraph();
+
+		// Execute all benchmarks for this graph
+		for (Benchmark benchmark : scheduler.getBenchmarkOrder(graph)) {
+			if (scheduler.shouldSkip(benchmark)) {
 				continue;
 			}
+			BenchmarkResult benchmarkResult = executeBenchmark(platform, benchmark, warmupRepetitions, repetitions,
+					executor, concurrency);
+			recordBenchmarkResult(scheduler, benchmarkSuiteResultBuilder, benchmarkResult);
+		}
 
-			// Execute all benchmarks for this graph
-			for (Benchmark benchmark : benchmarkSuite.getBenchmarksForGraph(graph)) {
-				// Use a BenchmarkResultBuilder to create the BenchmarkResult for this Benchmark
-				BenchmarkResultBuilder benchmarkResultBuilder = new BenchmarkResultBuilder(benchmark);
-				// Start the timer
-				benchmarkResultBuilder.markStartOfBenchmark();
+		// Delete the graph
+		long deleteStartTime = System.nanoTime();
+		platform.deleteGraph(graph.getName());
+		long deleteTime = System.nanoTime() - deleteStartTime;
+		recordGraphIngestResult(benchmarkSuiteResultBuilder, new GraphIngestResult(graph,
+				upload.getUploadTimeInNanos(), deleteTime, upload.getBytesIngested(), true));
+	}
+
+	/**
+	 * Executes the benchmarks in child JVMs, one per graph or one per benchmark.
+	 */
+	private void executeInChildProcesses(BenchmarkScheduler scheduler,
+			BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder, Isolation isolation) {
+		// Options are split on whitespace; rejoin any values that were split on commas by the configuration parser
+		StringBuilder jvmOptions = new StringBuilder();
+		for (String value : benchmarkConfiguration.getStringArray(ISOLATION_JVM_OPTIONS_KEY)) {
+			jvmOptions.append(jvmOptions.length() > 0 ? "," : "").append(value);
+		}
+		ForkedBenchmarkExecutor forkedExecutor = new ForkedBenchmarkExecutor(platform.getClass().getName(),
+				outputDirectory, ForkedBenchmarkExecutor.parseJvmOptions(jvmOptions.toString()));
+
+		for (Graph graph : scheduler.getGraphOrder()) {
+			if (scheduler.shouldSkip(graph)) {
+				LOG.warn("Skipping graph \"" + graph.getName() + "\", because all of its algorithms failed on " +
+						"smaller graphs.");
+				continue;
+			}
 
-				// Execute the benchmark and collect the result
-				PlatformBenchmarkResult platformBenchmarkResult =
-						new PlatformBenchmarkResult(NestedConfiguration.empty());
-				boolean completedSuccessfully = false;
-				try {
-					platformBenchmarkResult = platform.executeAlgorithmOnGraph(benchmark.getAlgorithm(),
-							benchmark.getGraph(), benchmark.getAlgorithmParameters());
-					completedSuccessfully = true;
-				} catch (PlatformExecutionException ex) {
-					LOG.error("Algorithm \"" + benchmark.getAlgorithm().getName() + "\" on graph \"" +
-							graph.getName() + " failed to complete:", ex);
+			List<Benchmark> benchmarks = new ArrayList<>();
+			for (Benchmark benchmark : scheduler.getBenchmarkOrder(graph)) {
+				if (isolation == Isolation.BENCHMARK) {
+					if (!scheduler.shouldSkip(benchmark)) {
+						LOG.info("Executing " + describe(benchmark) + " in a child JVM.");
+						forkedExecutor.execute(graph, Collections.singletonList(benchmark),
+								recordingListener(scheduler, benchmarkSuiteResultBuilder));
+					}
+				} else if (!scheduler.shouldSkip(benchmark)) {
+					benchmarks.add(benchmark);
 				}
+			}
+			if (!benchmarks.isEmpty()) {
+				LOG.info("Executing benchmarks for graph \"" + graph.getName() + "\" in a child JVM.");
+				forkedExecutor.execute(graph, benchmarks, recordingListener(scheduler, benchmarkSuiteResultBuilder));
+			}
+		}
+	}
 
-				// Stop the timer
-				benchmarkResultBuilder.markEndOfBenchmark(completedSuccessfully);
-				// Construct the BenchmarkResult and register it
-				BenchmarkResult benchmarkResult = benchmarkResultBuilder.buildFromResult(platformBenchmarkResult);
-				benchmarkSuiteResultBuilder.withBenchmarkResult(benchmarkResult);
+	/**
+	 * @return a listener recording every result of a child JVM as soon as it is received, so that the results are
+	 * journaled even if the benchmark driver crashes while the child is executing further benchmarks
+	 */
+	private BenchmarkResultListener recordingListener(final BenchmarkScheduler scheduler,
+			final BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder) {
+		return new BenchmarkResultListener() {
+			@Override
+			public void benchmarkCompleted(BenchmarkResult benchmarkResult) {
+				recordBenchmarkResult(scheduler, benchmarkSuiteResultBuilder, benchmarkResult);
 			}
 
-			// Delete the graph
-			platform.deleteGraph(graph.getName());
+			@Override
+			public void graphCompleted(GraphIngestResult graphIngestResult) {
+				recordGraphIngestResult(benchmarkSuiteResultBuilder, graphIngestResult);
+			}
+		};
+	}
+
+	private synchronized void recordBenchmarkResult(BenchmarkScheduler scheduler,
+			BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder, BenchmarkResult benchmarkResult) {
+		scheduler.recordResult(benchmarkResult);
+		benchmarkSuiteResultBuilder.withBenchmarkResult(benchmarkResult);
+		appendToJournal(benchmarkResult);
+		if (listener != null) {
+			listener.benchmarkCompleted(benchmarkResult);
 		}
+	}
 
-		// Dump the used configuration
-		NestedConfiguration benchmarkConfiguration = NestedConfiguration.empty();
+	private synchronized void recordGraphIngestResult(BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder,
+			GraphIngestResult graphIngestResult) {
+		benchmarkSuiteResultBuilder.withGraphIngestResult(graphIngestResult);
+		appendToJournal(graphIngestResult);
+		if (listener != null) {
+			listener.graphCompleted(graphIngestResult);
+		}
+	}
+
+	private void appendToJournal(Serializable result) {
+		if (journal == null) {
+			return;
+		}
 		try {
-			Configuration configuration = new PropertiesConfiguration("benchmark.properties");
-			benchmarkConfiguration = NestedConfiguration.fromExternalConfiguration(configuration,
-					"benchmark.properties");
-		} catch (ConfigurationException e) {
-			// Already reported during loading of benchmark
+			journal.append(result);
+		} catch (IOException ex) {
+			LOG.error("Failed to append result to journal \"" + journal.getJournalFile() + "\".", ex);
 		}
+	}
 
-		// Construct the BenchmarkSuiteResult
-		return benchmarkSuiteResultBuilder.buildFromConfiguration(SystemDetails.empty(),
-				benchmarkConfiguration,
-				platform.getPlatformConfiguration());
+	/**
+	 * Reads the journal of a previous run, if any, and adds the results it contains to the results of this run.
+	 * Results for benchmarks or graphs that are no longer part of the benchmark suite, or for benchmarks whose
+	 * algorithm parameters have changed, are ignored.
+	 *
+	 * @param benchmarkSuiteResultBuilder the builder to add the previous results to
+	 * @return the previous results per benchmark
+	 */
+	private Map<Benchmark, BenchmarkResult> resumeFromJournal(BenchmarkSuiteResultBuilder benchmarkSuiteResultBuilder) {
+		Map<Benchmark, BenchmarkResult> resumedResults = new LinkedHashMap<>();
+		if (journal == null) {
+			return resumedResults;
+		}
+
+		List<Serializable> records;
+		try {
+			records = journal.read();
+		} catch (IOException ex) {
+			LOG.error("Failed to read journal \"" + journal.getJournalFile() + "\", executing all benchmarks.", ex);
+			try {
+				LOG.error("Moved the unreadable journal to \"" + journal.moveAside() + "\".");
+			} catch (IOException moveEx) {
+				LOG.error("Failed to move the unreadable journal aside, new results are appended to it.", moveEx);
+			}
+			return resumedResults;
+		}
+		for (Serializable record : records) {
+			if (record instanceof BenchmarkResult) {
+				BenchmarkResult result = (BenchmarkResult)record;
+				Benchmark benchmark = findBenchmark(result.getBenchmark());
+				if (benchmark != null) {
+					result = result.withBenchmark(benchmark);
+					benchmarkSuiteResultBuilder.withBenchmarkResult(result);
+					resumedResults.put(benchmark, result);
+				}
+			} else if (record instanceof GraphIngestResult) {
+				GraphIngestResult result = (GraphIngestResult)record;
+				Graph graph = findGraph(result.getGraph().getName());
+				if (graph != null) {
+					benchmarkSuiteResultBuilder.withGraphIngestResult(new GraphIngestResult(graph,
+							result.getUploadTimeInNanos(), result.getDeleteTimeInNanos(), result.getBytesIngested(),
+							result.isUploadedSuccessfully()));
+				}
+			}
+		}
+
+		if (!resumedResults.isEmpty()) {
+			LOG.info("Resuming from journal \"" + journal.getJournalFile() + "\", skipping " +
+					resumedResults.size() + " of " + benchmarkSuite.getBenchmarks().size() +
+					" benchmarks that already have a result.");
+		}
+		return resumedResults;
+	}
+
+	/**
+	 * @return the benchmark in the suite equivalent to a deserialized copy, i.e., with the same graph, algorithm, and
+	 * algorithm parameters
+	 */
+	private Benchmark findBenchmark(Benchmark copy) {
+		for (Benchmark benchmark : benchmarkSuite.getBenchmarks()) {
+			if (benchmark.getAlgorithm() == copy.getAlgorithm() &&
+					benchmark.getGraph().getName().equals(copy.getGraph().getName())) {
+				if (!Objects.equals(benchmark.getAlgorithmParameters(), copy.getAlgorithmParameters())) {
+					LOG.info("The parameters of " + describe(benchmark) + " changed since it was journaled (" +
+							copy.getAlgorithmParameters() + "), executing it again.");
+					return null;
+				}
+				return benchmark;
+			}
+		}
+		return null;
+	}
+
+	private Graph findGraph(String name) {
+		for (Graph graph : benchmarkSuite.getGraphs()) {
+			if (graph.getName().equals(name)) {
+				return graph;
+			}
+		}
+		return null;
+	}
+
+	private Isolation parseIsolation() {
+		String isolation = benchmarkConfiguration.getString(ISOLATION_KEY, "none");
+		try {
+			return Isolation.valueOf(isolation.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			LOG.warn("Unknown value \"" + isolation + "\" for property \"" + ISOLATION_KEY + "\", executing all " +
+					"benchmarks in the benchmark driver.");
+			return Isolation.NONE;
+		}
+	}
+
+	/**
+	 * @param benchmarks the benchmarks to schedule
+	 * @return a scheduler for the given benchmarks, configured by the benchmark configuration
+	 */
+	private BenchmarkScheduler createScheduler(BenchmarkSuite benchmarks) {
+		String policyName = benchmarkConfiguration.getString(ORDER_KEY,
+				BenchmarkScheduler.Policy.SMALLEST_GRAPH_FIRST.getName());
+		BenchmarkScheduler.Policy policy = BenchmarkScheduler.Policy.fromName(policyName);
+		if (policy == null) {
+			LOG.warn("Unknown value \"" + policyName + "\" for property \"" + ORDER_KEY + "\", executing the " +
+					"smallest graphs first.");
+			policy = BenchmarkScheduler.Policy.SMALLEST_GRAPH_FIRST;
+		}
+
+		String historyFile = benchmarkConfiguration.getString(COST_HISTORY_KEY, null);
+		BenchmarkCostHistory history;
+		if (historyFile != null) {
+			history = BenchmarkCostHistory.readFrom(Paths.get(historyFile));
+		} else {
+			if (policy == BenchmarkScheduler.Policy.HISTORICAL_COST) {
+				LOG.warn("Property \"" + COST_HISTORY_KEY + "\" is not set, benchmarks cannot be ordered by their " +
+						"historical cost.");
+			}
+			history = BenchmarkCostHistory.empty();
+		}
+
+		return new BenchmarkScheduler(benchmarks, policy, history,
+				benchmarkConfiguration.getBoolean(FAIL_FAST_KEY, false));
+	}
+
+	/**
+	 * Executes the warm-up runs and measured repetitions of a single benchmark. The benchmark is considered to be
+	 * completed successfully only if every run succeeds; the first failure or timeout ends the benchmark. If the
+	 * benchmark is a breadth-first search with query source vertices, a stream of queries from those vertices is
+	 * executed after the measured repetitions of a successful benchmark.
+	 *
+	 * @param platform          the platform to execute the query stream on
+	 * @param benchmark         the benchmark to execute
+	 * @param warmupRepetitions the number of unmeasured runs to execute first
+	 * @param repetitions       the number of measured runs
+	 * @param executor          the executor enforcing the timeout of the benchmark
+	 * @param concurrency       the number of platform instances executing benchmarks concurrently
+	 * @return the result of the benchmark
+	 */
+	private BenchmarkResult executeBenchmark(Platform platform, Benchmark benchmark, int warmupRepetitions,
+			int repetitions, WatchdogExecutor executor, int concurrency) {
+		// Use a BenchmarkResultBuilder to create the BenchmarkResult for this Benchmark
+		BenchmarkResultBuilder benchmarkResultBuilder = new BenchmarkResultBuilder(benchmark);
+		benchmarkResultBuilder.setConcurrency(concurrency);
+		PlatformBenchmarkResult platformBenchmarkResult = new PlatformBenchmarkResult(NestedConfiguration.empty());
+
+		// Warm up the platform, discarding the results
+		for (int run = 0; run < warmupRepetitions; run++) {
+			LOG.info("Warm-up run " + (run + 1) + "/" + warmupRepetitions + " of " + describe(benchmark) + ".");
+			BenchmarkStatus status = executor.execute(benchmark).getStatus();
+			if (status != BenchmarkStatus.COMPLETED) {
+				benchmarkResultBuilder.markStartOfBenchmark();
+				benchmarkResultBuilder.markEndOfBenchmark(status);
+				return benchmarkResultBuilder.buildFromResult(platformBenchmarkResult);
+			}
+		}
+
+		// Start the timer and the monitors; these measure the whole JVM or machine, so they cannot be attributed to a
+		// single benchmark while multiple platform instances execute benchmarks concurrently
+		benchmarkResultBuilder.markStartOfBenchmark();
+		boolean monitored = concurrency == 1;
+		ResourceSampler resourceSampler = monitored ? startResourceSampler() : null;
+		JvmMonitor jvmMonitor = monitored && benchmarkConfiguration.getBoolean(JVM_MONITORING_KEY, true) ?
+				new JvmMonitor() : null;
+		FlightRecorderProfiler profiler = monitored ? startProfiler(benchmark) : null;
+
+		// Execute the measured repetitions and collect the results
+		BenchmarkStatus status = BenchmarkStatus.COMPLETED;
+		for (int run = 0; run < repetitions && status == BenchmarkStatus.COMPLETED; run++) {
+			LOG.info("Measured run " + (run + 1) + "/" + repetitions + " of " + describe(benchmark) + ".");
+			if (jvmMonitor != null) {
+				jvmMonitor.beginMeasurement();
+			}
+			WatchdogExecutor.Execution execution = executor.execute(benchmark);
+			if (jvmMonitor != null) {
+				jvmMonitor.endMeasurement();
+			}
+			status = execution.getStatus();
+			if (status == BenchmarkStatus.COMPLETED) {
+				benchmarkResultBuilder.addRuntimeSample(execution.getRuntimeInNanos());
+				platformBenchmarkResult = execution.getResult();
+			}
+		}
+
+		// Stop the timer and the monitors
+		benchmarkResultBuilder.markEndOfBenchmark(status);
+		if (resourceSampler != null) {
+			benchmarkResultBuilder.setResourceUsage(resourceSampler.stop());
+		}
+		if (jvmMonitor != null) {
+			benchmarkResultBuilder.setJvmUsage(jvmMonitor.getUsage());
+		}
+		if (profiler != null) {
+			benchmarkResultBuilder.setProfileSummary(profiler.stop());
+		}
+
+		// Execute the query stream, if any, outside of the measured interval
+		if (status == BenchmarkStatus.COMPLETED &&
+				benchmark.getAlgorithmParameters() instanceof BreadthFirstSearchParameters) {
+			List<Long> sourceVertices =
+					((BreadthFirstSearchParameters)benchmark.getAlgorithmParameters()).getQuerySourceVertices();
+			if (!sourceVertices.isEmpty()) {
+				benchmarkResultBuilder.setQueryLatency(executeQueryStream(platform, benchmark, sourceVertices,
+						executor.getGracePeriodInMillis()));
+			}
+		}
+		// Construct the BenchmarkResult
+		return benchmarkResultBuilder.buildFromResult(platformBenchmarkResult);
+	}
+
+	/**
+	 * @param platform            the platform to execute the queries on
+	 * @param benchmark           the breadth-first search benchmark the queries belong to, whose timeout applies to
+	 *                            each query
+	 * @param sourceVertices      the source vertices of the queries
+	 * @param gracePeriodInMillis the time to wait for cancelled queries to stop
+	 * @return the latency distribution and throughput of the queries, or an empty distribution if the platform does
+	 * not support queries
+	 */
+	private QueryLatency executeQueryStream(Platform platform, Benchmark benchmark, List<Long> sourceVertices,
+			long gracePeriodInMillis) {
+		if (!(platform instanceof QueryPlatform)) {
+			LOG.warn("The platform does not support queries, skipping the query stream of " + describe(benchmark) +
+					".");
+			return QueryLatency.empty();
+		}
+		int queryConcurrency = benchmarkConfiguration.getInt(QUERY_CONCURRENCY_KEY, 1);
+		if (queryConcurrency < 1) {
+			LOG.warn("Property \"" + QUERY_CONCURRENCY_KEY + "\" must be positive, executing one query at a time.");
+			queryConcurrency = 1;
+		}
+		LOG.info("Executing " + sourceVertices.size() + " queries with " + queryConcurrency + " client(s) for " +
+				describe(benchmark) + ".");
+		QueryLatency queryLatency = new QueryStreamExecutor((QueryPlatform)platform, queryConcurrency,
+				benchmark.getTimeoutInSeconds(), gracePeriodInMillis).execute(benchmark.getGraph(), sourceVertices);
+		LOG.info(String.format("Executed %d queries (%d failed) at %.1f queries/s, p50 %.3f ms, p99 %.3f ms.",
+				queryLatency.getNumberOfQueries(), queryLatency.getNumberOfFailedQueries(),
+				queryLatency.getQueriesPerSecond(), queryLatency.getP50() / 1e6, queryLatency.getP99() / 1e6));
+		return queryLatency;
+	}
+
+	/**
+	 * @return a running resource sampler, or null if resource sampling is disabled
+	 */
+	private ResourceSampler startResourceSampler() {
+		long samplingInterval = benchmarkConfiguration.getLong(RESOURCE_SAMPLING_INTERVAL_KEY, 1000L);
+		if (samplingInterval <= 0) {
+			return null;
+		}
+		ResourceSampler resourceSampler = new ResourceSampler(samplingInterval);
+		resourceSampler.start();
+		return resourceSampler;
+	}
+
+	/**
+	 * @param benchmark the benchmark to profile
+	 * @return a running flight recording of the benchmark, or null if profiling is disabled or unavailable
+	 */
+	private FlightRecorderProfiler startProfiler(Benchmark benchmark) {
+		if (!benchmarkConfiguration.getBoolean(FLIGHT_RECORDER_KEY, false)) {
+			return null;
+		}
+		if (outputDirectory == null) {
+			LOG.warn("No report directory is available, " + describe(benchmark) + " will not be profiled.");
+			return null;
+		}
+		if (!FlightRecorderProfiler.isAvailable()) {
+			LOG.warn("The Java Flight Recorder is not available in this JVM, " + describe(benchmark) +
+					" will not be profiled.");
+			return null;
+		}
+		String name = (benchmark.getGraph().getName() + "-" + benchmark.getAlgorithm().getAcronym())
+				.replaceAll("[^A-Za-z0-9._-]", "_");
+		FlightRecorderProfiler profiler = new FlightRecorderProfiler(
+				benchmarkConfiguration.getString(FLIGHT_RECORDER_SETTINGS_KEY, "profile"),
+				Paths.get(outputDirectory), name);
+		profiler.start();
+		return profiler;
+	}
+
+	private static String describe(Benchmark benchmark) {
+		return "algorithm \"" + benchmark.getAlgorithm().getName() + "\" on graph \"" +
+				benchmark.getGraph().getName() + "\"";
 	}
 
 }
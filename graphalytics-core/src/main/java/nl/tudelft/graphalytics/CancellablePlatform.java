@@ -0,0 +1,45 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Algorithm;
+import nl.tudelft.graphalytics.domain.Graph;
+
+/**
+ * Extension of the Platform interface for platforms that support cancelling a running algorithm. When a benchmark
+ * exceeds its configured timeout, the benchmark driver calls {@link #cancelAlgorithmOnGraph(Algorithm, Graph)
+ * cancelAlgorithmOnGraph} from a watchdog thread and interrupts the thread executing the algorithm. Platforms that
+ * do not implement this interface are only interrupted, which may not be sufficient to stop jobs running on an
+ * external system.
+ *
+ * @author Tim Hegeman
+ */
+public interface CancellablePlatform extends Platform {
+
+	/**
+	 * Requests the cancellation of the algorithm currently being executed by
+	 * {@link #executeAlgorithmOnGraph(Algorithm, Graph, Object) executeAlgorithmOnGraph}. This method is called
+	 * concurrently with executeAlgorithmOnGraph, and should return quickly. The platform should release any resources
+	 * held by the algorithm (e.g., kill submitted jobs), and executeAlgorithmOnGraph should return as soon as
+	 * possible by throwing a {@link PlatformExecutionException}. Afterwards, the platform must be able to execute
+	 * further algorithms on the uploaded graphs.
+	 *
+	 * @param algorithm the algorithm to cancel
+	 * @param graph     the graph the algorithm is executed on
+	 */
+	void cancelAlgorithmOnGraph(Algorithm algorithm, Graph graph);
+
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Graph;
+
+/**
+ * Extension of the Platform interface for platforms that can upload a graph while algorithms are being executed on a
+ * previously uploaded graph. If enabled in the benchmark configuration, the benchmark driver uses this to upload the
+ * next graph in the background, reducing the makespan of the benchmark suite. The platform must then accept concurrent
+ * calls to {@link #uploadGraph(Graph, String) uploadGraph} and
+ * {@link #executeAlgorithmOnGraph(nl.tudelft.graphalytics.domain.Algorithm, Graph, Object) executeAlgorithmOnGraph}.
+ *
+ * @author Tim Hegeman
+ */
+public interface ConcurrentUploadPlatform extends Platform {
+
+	/**
+	 * @return true iff the platform, in its current configuration, supports uploading a graph while executing
+	 * algorithms on another graph
+	 */
+	boolean supportsConcurrentUpload();
+
+	/**
+	 * Returns the amount of graph data the platform can hold at once. The benchmark driver only uploads the next graph
+	 * in the background if the combined size of the graph data (as stored by the benchmark driver) of the current and
+	 * the next graph does not exceed this budget.
+	 *
+	 * @return the maximum combined size in bytes of the graphs uploaded to the platform at any time
+	 */
+	long getUploadStorageBudgetInBytes();
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.CoreAllocation;
+
+/**
+ * Extension of the Platform interface for platforms that can limit the CPU cores they use. When benchmarks are
+ * executed concurrently on multiple instances of a platform, the benchmark driver assigns a disjoint set of cores to
+ * each instance by calling {@link #setCoreAllocation(CoreAllocation) setCoreAllocation} before the first graph is
+ * uploaded. Platforms that do not implement this interface are expected to share the machine's cores.
+ *
+ * @author Tim Hegeman
+ */
+public interface CoreAllocationPlatform extends Platform {
+
+	/**
+	 * Limits the platform to the given CPU cores, e.g., by sizing its thread pools to the number of cores or by
+	 * pinning its threads or processes to the listed CPUs. This is a hint; platforms with an explicitly configured
+	 * degree of parallelism may ignore it.
+	 *
+	 * @param coreAllocation the CPU cores assigned to this platform instance
+	 */
+	void setCoreAllocation(CoreAllocation coreAllocation);
+
+}
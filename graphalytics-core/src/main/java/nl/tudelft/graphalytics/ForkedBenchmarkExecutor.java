@@ -0,0 +1,242 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Benchmark;
+import nl.tudelft.graphalytics.domain.BenchmarkResult;
+import nl.tudelft.graphalytics.domain.BenchmarkResult.BenchmarkResultBuilder;
+import nl.tudelft.graphalytics.domain.BenchmarkStatus;
+import nl.tudelft.graphalytics.domain.BenchmarkSuite;
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.GraphIngestResult;
+import nl.tudelft.graphalytics.domain.NestedConfiguration;
+import nl.tudelft.graphalytics.domain.PlatformBenchmarkResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executes benchmarks in a child JVM, isolating them from the benchmark driver and from each other (e.g., heap
+ * fragmentation, JIT profiles, and leaked threads). The parent sends a subset of the benchmark suite for a single graph
+ * to the child ({@link ForkedBenchmarkRunner}) over its standard input using Java serialization. The child uploads the
+ * graph, executes the benchmarks, deletes the graph, and streams each result back over its standard output as soon
+ * as it is available, so the results of completed benchmarks are retained if the child crashes.
+ *
+ * @author Tim Hegeman
+ */
+final class ForkedBenchmarkExecutor {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private final String platformClassName;
+	private final String outputDirectory;
+	private final List<String> jvmOptions;
+
+	/**
+	 * @param platformClassName the name of the Platform class to instantiate in each child JVM
+	 * @param outputDirectory   the directory the children write benchmark artifacts to, or null
+	 * @param jvmOptions        additional options for the child JVMs (e.g., heap size)
+	 */
+	ForkedBenchmarkExecutor(String platformClassName, String outputDirectory, List<String> jvmOptions) {
+		this.platformClassName = platformClassName;
+		this.outputDirectory = outputDirectory;
+		this.jvmOptions = new ArrayList<>(jvmOptions);
+	}
+
+	/**
+	 * Executes a list of benchmarks for the same graph in a new child JVM, and waits for the child to terminate. Each
+	 * result is passed to the listener as soon as it is received from the child.
+	 *
+	 * @param graph      the graph to execute the benchmarks on
+	 * @param benchmarks the benchmarks to execute, in order
+	 * @param listener   the listener to notify of every result reported by the child, and of a failed result for
+	 *                   every benchmark not reported by a crashed child
+	 */
+	void execute(Graph graph, List<Benchmark> benchmarks, BenchmarkResultListener listener) {
+		Set<Benchmark> reportedBenchmarks = new HashSet<>();
+		boolean childCompleted = false;
+
+		Process child = null;
+		try {
+			child = startChild();
+			try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(child.getOutputStream()))) {
+				out.writeObject(BenchmarkSuite.fromBenchmarks(benchmarks));
+			}
+			try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(child.getInputStream()))) {
+				readResults(in, graph, benchmarks, reportedBenchmarks, listener);
+			}
+			int exitCode = child.waitFor();
+			if (exitCode == 0) {
+				childCompleted = true;
+			} else {
+				LOG.error("Child JVM for graph \"" + graph.getName() + "\" exited with code " + exitCode + ".");
+			}
+		} catch (IOException | ClassNotFoundException ex) {
+			LOG.error("Failed to communicate with child JVM for graph \"" + graph.getName() + "\".", ex);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (child != null) {
+				child.destroy();
+			}
+		}
+
+		// Benchmarks that were not reported by a crashed child are considered failed; if the child completed, missing
+		// benchmarks were not run (e.g., because the graph could not be uploaded)
+		if (!childCompleted) {
+			for (Benchmark benchmark : benchmarks) {
+				if (!reportedBenchmarks.contains(benchmark)) {
+					listener.benchmarkCompleted(failedResult(benchmark));
+				}
+			}
+		}
+	}
+
+	private Process startChild() throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmOptions);
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(ForkedBenchmarkRunner.class.getName());
+		command.add(platformClassName);
+		if (outputDirectory != null) {
+			command.add(outputDirectory);
+		}
+
+		LOG.debug("Starting child JVM: " + command);
+		return new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+	}
+
+	private static void readResults(ObjectInputStream in, Graph graph, List<Benchmark> benchmarks,
+			Set<Benchmark> reportedBenchmarks, BenchmarkResultListener listener)
+			throws IOException, ClassNotFoundException {
+		while (true) {
+			Object message;
+			try {
+				message = in.readObject();
+			} catch (EOFException ex) {
+				return;
+			}
+
+			if (message instanceof BenchmarkResult) {
+				BenchmarkResult result = (BenchmarkResult)message;
+				Benchmark benchmark = findBenchmark(benchmarks, result.getBenchmark());
+				if (benchmark != null && reportedBenchmarks.add(benchmark)) {
+					listener.benchmarkCompleted(result.withBenchmark(benchmark));
+				}
+			} else if (message instanceof GraphIngestResult) {
+				GraphIngestResult result = (GraphIngestResult)message;
+				listener.graphCompleted(new GraphIngestResult(graph, result.getUploadTimeInNanos(),
+						result.getDeleteTimeInNanos(), result.getBytesIngested(), result.isUploadedSuccessfully()));
+			}
+		}
+	}
+
+	/**
+	 * @return the benchmark in the list equivalent to a deserialized copy, i.e., with the same algorithm
+	 */
+	private static Benchmark findBenchmark(List<Benchmark> benchmarks, Benchmark copy) {
+		for (Benchmark benchmark : benchmarks) {
+			if (benchmark.getAlgorithm() == copy.getAlgorithm()) {
+				return benchmark;
+			}
+		}
+		return null;
+	}
+
+	private static BenchmarkResult failedResult(Benchmark benchmark) {
+		BenchmarkResultBuilder benchmarkResultBuilder = new BenchmarkResultBuilder(benchmark);
+		benchmarkResultBuilder.markEndOfBenchmark(BenchmarkStatus.FAILED);
+		return benchmarkResultBuilder.buildFromResult(new PlatformBenchmarkResult(NestedConfiguration.empty()));
+	}
+
+	/**
+	 * Executes the benchmarks received from the parent process. Called by {@link ForkedBenchmarkRunner} in the child.
+	 *
+	 * @param platformClassName the name of the Platform class to instantiate
+	 * @param outputDirectory   the directory to write benchmark artifacts to, or null
+	 * @param requestStream     the stream to read the benchmarks from
+	 * @param resultStream      the stream to write the results to
+	 * @return the exit code of the child JVM
+	 */
+	static int executeInChild(String platformClassName, String outputDirectory, InputStream requestStream,
+			OutputStream resultStream) {
+		try {
+			BenchmarkSuite benchmarkSuite;
+			try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(requestStream))) {
+				benchmarkSuite = (BenchmarkSuite)in.readObject();
+			}
+			Platform platform = Class.forName(platformClassName).asSubclass(Platform.class).newInstance();
+
+			try (final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(resultStream))) {
+				new BenchmarkSuiteRunner(benchmarkSuite, platform, BenchmarkSuiteRunner.loadForkedConfiguration(),
+						outputDirectory, null, new BenchmarkResultListener() {
+							@Override
+							public void benchmarkCompleted(BenchmarkResult benchmarkResult) {
+								send(out, benchmarkResult);
+							}
+
+							@Override
+							public void graphCompleted(GraphIngestResult graphIngestResult) {
+								send(out, graphIngestResult);
+							}
+						}).execute();
+			}
+			return 0;
+		} catch (Exception ex) {
+			LOG.error("Failed to execute benchmarks in child JVM.", ex);
+			return 1;
+		}
+	}
+
+	private static void send(ObjectOutputStream out, Object message) {
+		try {
+			out.writeObject(message);
+			out.flush();
+		} catch (IOException ex) {
+			throw new IllegalStateException("Failed to send result to the benchmark driver.", ex);
+		}
+	}
+
+	/**
+	 * @param jvmOptions a whitespace-separated list of JVM options
+	 * @return the list of JVM options
+	 */
+	static List<String> parseJvmOptions(String jvmOptions) {
+		List<String> options = new ArrayList<>();
+		for (String option : Arrays.asList(jvmOptions.trim().split("\\s+"))) {
+			if (!option.isEmpty()) {
+				options.add(option);
+			}
+		}
+		return options;
+	}
+
+}
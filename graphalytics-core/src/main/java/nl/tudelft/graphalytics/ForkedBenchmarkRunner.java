@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Entry point of the child JVMs forked by the benchmark driver when benchmarks are executed in isolation. The child
+ * reads a subset of the benchmark suite from its standard input, executes it on a fresh platform instance, and streams
+ * the results back to the parent over its standard output. Anything the platform or logging framework writes to
+ * standard output is redirected to standard error.
+ * <p/>
+ * This class is intentionally free of static state (e.g., a logger): the standard output stream must be redirected
+ * before the logging framework is initialized.
+ *
+ * @author Tim Hegeman
+ * @see ForkedBenchmarkExecutor
+ */
+public final class ForkedBenchmarkRunner {
+
+	private ForkedBenchmarkRunner() {
+	}
+
+	/**
+	 * @param args the name of the Platform class to instantiate, optionally followed by the directory to write
+	 *             benchmark artifacts to
+	 */
+	public static void main(String[] args) {
+		OutputStream resultStream = new FileOutputStream(FileDescriptor.out);
+		System.setOut(System.err);
+
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: ForkedBenchmarkRunner <platform class> [<output directory>]");
+			System.exit(2);
+		}
+		String outputDirectory = args.length > 1 ? args[1] : null;
+		System.exit(ForkedBenchmarkExecutor.executeInChild(args[0], outputDirectory, System.in, resultStream));
+	}
+
+}
@@ -0,0 +1,277 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Graph;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Uploads the graphs of a benchmark suite to a platform in order. If prefetching is enabled, the next graph can be
+ * uploaded on a background thread while the benchmarks for the current graph are executed, provided the platform
+ * supports concurrent uploads and the combined size of both graphs fits in the storage budget of the platform.
+ *
+ * @author Tim Hegeman
+ */
+final class GraphUploadScheduler {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private final Platform platform;
+	private final List<Graph> graphs;
+	private final long storageBudget;
+	private ExecutorService uploader;
+
+	private int nextGraphIndex = 0;
+	private GraphUpload currentUpload = null;
+	private Future<GraphUpload> prefetchedUpload = null;
+
+	/**
+	 * @param platform the platform to upload graphs to
+	 * @param graphs   the graphs to upload, in order
+	 * @param prefetch true iff the next graph should be uploaded in the background when possible
+	 */
+	GraphUploadScheduler(Platform platform, List<Graph> graphs, boolean prefetch) {
+		this.platform = platform;
+		this.graphs = new ArrayList<>(graphs);
+		this.storageBudget = prefetch ? getStorageBudget(platform) : -1L;
+	}
+
+	private static long getStorageBudget(Platform platform) {
+		if (!(platform instanceof ConcurrentUploadPlatform) ||
+				!((ConcurrentUploadPlatform)platform).supportsConcurrentUpload()) {
+			LOG.warn("Platform \"" + platform.getName() + "\" does not support concurrent uploads, " +
+					"graphs will not be prefetched.");
+			return -1L;
+		}
+		return ((ConcurrentUploadPlatform)platform).getUploadStorageBudgetInBytes();
+	}
+
+	/**
+	 * @return true iff there are graphs left to upload
+	 */
+	boolean hasNext() {
+		return nextGraphIndex < graphs.size();
+	}
+
+	/**
+	 * Uploads the next graph, or waits for the upload of the next graph to complete if it is being prefetched.
+	 *
+	 * @return the outcome of the upload
+	 */
+	GraphUpload next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Graph graph = graphs.get(nextGraphIndex++);
+		if (prefetchedUpload != null) {
+			currentUpload = awaitPrefetchedUpload(graph);
+			prefetchedUpload = null;
+		} else {
+			currentUpload = upload(graph);
+		}
+		return currentUpload;
+	}
+
+	/**
+	 * @return the next graph to upload
+	 */
+	Graph peekNext() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return graphs.get(nextGraphIndex);
+	}
+
+	/**
+	 * Skips the next graph. If the graph is being prefetched, waits for the upload to complete and deletes the graph.
+	 */
+	void skipNext() {
+		Graph graph = peekNext();
+		nextGraphIndex++;
+		if (prefetchedUpload != null) {
+			if (awaitPrefetchedUpload(graph).isUploadedSuccessfully()) {
+				platform.deleteGraph(graph.getName());
+			}
+			prefetchedUpload = null;
+		}
+	}
+
+	/**
+	 * Starts uploading the graph following the last uploaded graph on a background thread, if prefetching is enabled
+	 * and both graphs fit in the storage budget of the platform.
+	 */
+	void prefetchNext() {
+		if (storageBudget < 0 || !hasNext() || prefetchedUpload != null) {
+			return;
+		}
+		final Graph graph = graphs.get(nextGraphIndex);
+		long currentSize = currentUpload.getBytesIngested();
+		long nextSize = getSizeOfGraphData(graph.getFilePath());
+		if (currentSize < 0 || nextSize < 0 || currentSize + nextSize > storageBudget) {
+			LOG.info("Graphs \"" + currentUpload.getGraph().getName() + "\" and \"" + graph.getName() +
+					"\" do not fit in the storage budget of the platform, graph \"" + graph.getName() +
+					"\" will not be prefetched.");
+			return;
+		}
+
+		LOG.info("Prefetching graph \"" + graph.getName() + "\" in the background.");
+		prefetchedUpload = getUploader().submit(new Callable<GraphUpload>() {
+			@Override
+			public GraphUpload call() {
+				return upload(graph);
+			}
+		});
+	}
+
+	private GraphUpload awaitPrefetchedUpload(Graph graph) {
+		try {
+			return prefetchedUpload.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return new GraphUpload(graph, 0L, -1L, ex);
+		} catch (ExecutionException ex) {
+			return new GraphUpload(graph, 0L, -1L, ex.getCause());
+		}
+	}
+
+	private GraphUpload upload(Graph graph) {
+		long bytesIngested = getSizeOfGraphData(graph.getFilePath());
+		long startTime = System.nanoTime();
+		try {
+			platform.uploadGraph(graph, graph.getFilePath());
+		} catch (Exception ex) {
+			return new GraphUpload(graph, System.nanoTime() - startTime, bytesIngested, ex);
+		}
+		return new GraphUpload(graph, System.nanoTime() - startTime, bytesIngested, null);
+	}
+
+	private ExecutorService getUploader() {
+		if (uploader == null) {
+			uploader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "graphalytics-upload");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return uploader;
+	}
+
+	/**
+	 * Stops the background upload thread, if any.
+	 */
+	void shutdown() {
+		if (uploader != null) {
+			uploader.shutdown();
+			uploader = null;
+		}
+	}
+
+	/**
+	 * @param graphFilePath the path of a graph file, or a directory containing the graph data
+	 * @return the total size of the graph data in bytes, or -1 if it could not be determined
+	 */
+	private static long getSizeOfGraphData(String graphFilePath) {
+		final long[] size = {0L};
+		try {
+			Files.walkFileTree(Paths.get(graphFilePath), new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					size[0] += attributes.size();
+					return FileVisitResult.CONTINUE;
+				}
+			});
+			return size[0];
+		} catch (IOException ex) {
+			LOG.warn("Could not determine the size of graph data at \"" + graphFilePath + "\".", ex);
+			return -1L;
+		}
+	}
+
+	/**
+	 * Outcome of the upload of a single graph.
+	 */
+	static final class GraphUpload {
+
+		private final Graph graph;
+		private final long uploadTimeInNanos;
+		private final long bytesIngested;
+		private final Throwable failure;
+
+		private GraphUpload(Graph graph, long uploadTimeInNanos, long bytesIngested, Throwable failure) {
+			this.graph = graph;
+			this.uploadTimeInNanos = uploadTimeInNanos;
+			this.bytesIngested = bytesIngested;
+			this.failure = failure;
+		}
+
+		/**
+		 * @return the uploaded graph
+		 */
+		Graph getGraph() {
+			return graph;
+		}
+
+		/**
+		 * @return the time taken by the platform to upload the graph in nanoseconds
+		 */
+		long getUploadTimeInNanos() {
+			return uploadTimeInNanos;
+		}
+
+		/**
+		 * @return the size of the graph data in bytes, or -1 if unknown
+		 */
+		long getBytesIngested() {
+			return bytesIngested;
+		}
+
+		/**
+		 * @return true iff the graph was uploaded successfully
+		 */
+		boolean isUploadedSuccessfully() {
+			return failure == null;
+		}
+
+		/**
+		 * @return the cause of the failed upload, or null if the upload succeeded
+		 */
+		Throwable getFailure() {
+			return failure;
+		}
+
+	}
+
+}
@@ -18,10 +18,12 @@ package nl.tudelft.graphalytics;
 import nl.tudelft.graphalytics.configuration.InvalidConfigurationException;
 import nl.tudelft.graphalytics.domain.BenchmarkSuite;
 import nl.tudelft.graphalytics.domain.BenchmarkSuiteResult;
+import nl.tudelft.graphalytics.domain.ScalingResult;
 import nl.tudelft.graphalytics.reporting.BenchmarkReport;
 import nl.tudelft.graphalytics.reporting.BenchmarkReportWriter;
 import nl.tudelft.graphalytics.reporting.html.HtmlBenchmarkReportGenerator;
 import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -32,6 +34,9 @@ import java.util.Scanner;
 public class Graphalytics {
 	private static final Logger LOG = LogManager.getLogger();
 
+	private static final String BENCHMARK_PROPERTIES_FILE = "benchmark.properties";
+	private static final String REPORT_TEMPLATE_DIRECTORY = "report-template";
+
 	public static void main(String[] args) throws IOException {
 		// Get the first command-line argument (platform name)
 		if (args.length < 1) {
@@ -39,6 +44,17 @@ public class Graphalytics {
 		}
 		String platform = args[0];
 
+		// Parse the optional arguments; other arguments are reserved for the platform
+		String resumeDirectory = null;
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].equals("--resume")) {
+				if (i + 1 >= args.length) {
+					throw new GraphalyticsLoaderException("Missing argument <report directory> for \"--resume\".");
+				}
+				resumeDirectory = args[++i];
+			}
+		}
+
 		// Read the <platform>.platform file that should be in the classpath to determine which class to load
 		InputStream platformFileStream = Graphalytics.class.getResourceAsStream("/" + platform + ".platform");
 		if (platformFileStream == null) {
@@ -83,25 +99,46 @@ public class Graphalytics {
 					platformClassName + "\".", e);
 		}
 
-		// Load the benchmark suite from the configuration files
+		// Load the benchmark suite, and the scaling sweep if any, from the configuration files
 		BenchmarkSuite benchmarkSuite;
+		ScalingSweep scalingSweep;
 		try {
 			benchmarkSuite = BenchmarkSuiteLoader.readBenchmarkSuiteFromProperties();
+			scalingSweep = ScalingSweep.fromConfiguration(new PropertiesConfiguration(BENCHMARK_PROPERTIES_FILE),
+					benchmarkSuite);
 		} catch (InvalidConfigurationException | ConfigurationException e) {
 			throw new GraphalyticsLoaderException("Failed to parse benchmark configuration.", e);
 		}
+		if (scalingSweep != null && !(platformInstance instanceof ScalablePlatform)) {
+			throw new GraphalyticsLoaderException("Platform class \"" + platformClassName + "\" does not support " +
+					"a configurable number of workers, which is required for a scaling sweep.");
+		}
 
-		// Create the output directory for the benchmark report with the current time as timestamp
+		// Create the output directory for the benchmark report with the current time as timestamp, or continue in the
+		// output directory of the run to resume
 		BenchmarkReportWriter reportWriter = new BenchmarkReportWriter(platformInstance.getName());
-		reportWriter.createOutputDirectory();
+		if (resumeDirectory != null) {
+			reportWriter.useExistingOutputDirectory(resumeDirectory);
+		} else {
+			reportWriter.createOutputDirectory();
+		}
+
+		// Run the scaling sweep and generate its report
+		if (scalingSweep != null) {
+			ScalingResult scalingResult = scalingSweep.execute((ScalablePlatform)platformInstance,
+					reportWriter.getOutputDirectoryPath(), REPORT_TEMPLATE_DIRECTORY);
+			reportWriter.writeReport(HtmlBenchmarkReportGenerator.generateFromScalingResult(scalingResult,
+					REPORT_TEMPLATE_DIRECTORY));
+			return;
+		}
 
 		// Run the benchmark
-		BenchmarkSuiteResult benchmarkSuiteResult =
-				new BenchmarkSuiteRunner(benchmarkSuite, platformInstance).execute();
+		BenchmarkSuiteResult benchmarkSuiteResult = new BenchmarkSuiteRunner(benchmarkSuite, platformInstance,
+				reportWriter.getOutputDirectoryPath()).execute();
 
 		// Generate the report
 		BenchmarkReport report = HtmlBenchmarkReportGenerator.generateFromBenchmarkSuiteResult(
-				benchmarkSuiteResult, "report-template");
+				benchmarkSuiteResult, REPORT_TEMPLATE_DIRECTORY);
 		// Write the benchmark report
 		reportWriter.writeReport(report);
 	}
@@ -38,6 +38,8 @@ public interface Platform {
 	 * The platform driver must ensure that this dataset remains available for multiple calls to
 	 * {@link #executeAlgorithmOnGraph(Algorithm, Graph, Object) executeAlgorithmOnGraph}, until
 	 * the removal of the graph is triggered using {@link #deleteGraph(String) deleteGraph}.
+	 * Platforms that ingest the graph themselves can read it in a single pass using the streams
+	 * provided by {@link nl.tudelft.graphalytics.io.GraphStreams GraphStreams}.
 	 *
 	 * @param graph         information on the graph to be uploaded
 	 * @param graphFilePath the path of the graph data
@@ -50,7 +52,8 @@ public interface Platform {
 	 * method is timed as part of the benchmarking process. The benchmark driver guarantees that the
 	 * graph has been uploaded using the {@link #uploadGraph(Graph, String) uploadGraph} method, and
 	 * that it has not been removed by a corresponding call to {@link #deleteGraph(String)
-	 * deleteGraph}.
+	 * deleteGraph}. Platforms can break down the execution into phases (e.g., load, compute, and
+	 * write-back) using a {@link TimingContext} and include the timings in the returned result.
 	 *
 	 * @param algorithm  the algorithm to execute
 	 * @param graph      the graph to execute the algorithm on
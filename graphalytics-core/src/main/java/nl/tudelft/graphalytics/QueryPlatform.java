@@ -0,0 +1,44 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Algorithm;
+import nl.tudelft.graphalytics.domain.Graph;
+
+/**
+ * Extension of the Platform interface for platforms that can execute an algorithm as a query, i.e., without writing
+ * its output. The benchmark driver uses queries to measure the latency distribution of a stream of BFS queries after
+ * the measured repetitions of a BFS benchmark, without overwriting the output of the measured runs and without
+ * including the time to write the output in the latency of each query. Platforms that do not implement this interface
+ * do not support query streams.
+ *
+ * @author Tim Hegeman
+ */
+public interface QueryPlatform extends Platform {
+
+	/**
+	 * Executes an algorithm on an uploaded graph like
+	 * {@link #executeAlgorithmOnGraph(Algorithm, Graph, Object) executeAlgorithmOnGraph}, but discards its output.
+	 * This method may be called by multiple threads concurrently for the same graph.
+	 *
+	 * @param algorithm  the algorithm to execute
+	 * @param graph      the graph to execute the algorithm on
+	 * @param parameters the algorithm-specific parameters
+	 * @throws PlatformExecutionException if any exception occurred during the execution of the algorithm
+	 */
+	void executeQueryOnGraph(Algorithm algorithm, Graph graph, Object parameters) throws PlatformExecutionException;
+
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Algorithm;
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.QueryLatency;
+import nl.tudelft.graphalytics.domain.algorithms.BreadthFirstSearchParameters;
+import nl.tudelft.graphalytics.util.LatencyHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Executes a stream of breadth-first search queries, one per source vertex, on a graph that has been uploaded to a
+ * platform. A configurable number of clients take the next source vertex from the stream as soon as their previous
+ * query completes. Queries are executed using {@link QueryPlatform#executeQueryOnGraph(Algorithm, Graph, Object)
+ * executeQueryOnGraph}, so they do not write output. The latency of each query is recorded in a histogram per client;
+ * the histograms are merged once the stream has been exhausted.
+ * <p/>
+ * The calling thread acts as a watchdog: when a query exceeds the timeout, no further queries are started, the
+ * platform is asked to cancel the running queries (if it implements {@link CancellablePlatform}), and the clients are
+ * interrupted. Clients that do not stop within a grace period are abandoned, and their latencies are discarded.
+ *
+ * @author Tim Hegeman
+ */
+final class QueryStreamExecutor {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private static final long POLL_INTERVAL_IN_MILLIS = 100L;
+	private static final long IDLE = Long.MIN_VALUE;
+
+	private final QueryPlatform platform;
+	private final int concurrency;
+	private final long timeoutInSeconds;
+	private final long gracePeriodInMillis;
+
+	/**
+	 * @param platform            the platform to execute the queries on
+	 * @param concurrency         the number of clients executing queries concurrently
+	 * @param timeoutInSeconds    the maximum latency of a single query, or 0 for no timeout
+	 * @param gracePeriodInMillis the time to wait for cancelled queries to stop
+	 */
+	QueryStreamExecutor(QueryPlatform platform, int concurrency, long timeoutInSeconds, long gracePeriodInMillis) {
+		this.platform = platform;
+		this.concurrency = concurrency;
+		this.timeoutInSeconds = timeoutInSeconds;
+		this.gracePeriodInMillis = gracePeriodInMillis;
+	}
+
+	/**
+	 * Executes a breadth-first search from every source vertex and waits for all queries to complete, or for a query
+	 * to time out. A failed query is counted and excluded from the latency distribution.
+	 *
+	 * @param graph          the graph to execute the queries on
+	 * @param sourceVertices the source vertices of the queries, at least one
+	 * @return the latency distribution and throughput of the executed queries
+	 */
+	QueryLatency execute(final Graph graph, final List<Long> sourceVertices) {
+		final AtomicInteger nextQuery = new AtomicInteger();
+		final AtomicInteger executedQueries = new AtomicInteger();
+		final AtomicInteger failedQueries = new AtomicInteger();
+		int clients = Math.min(concurrency, sourceVertices.size());
+		final AtomicLongArray startOfRunningQuery = new AtomicLongArray(clients);
+
+		ExecutorService workers = Executors.newFixedThreadPool(clients, new ThreadFactory() {
+			private final AtomicInteger clientCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "graphalytics-query-client-" + clientCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		long startOfStream = System.nanoTime();
+		List<Future<LatencyHistogram>> clientResults = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			final int client = i;
+			startOfRunningQuery.set(client, IDLE);
+			clientResults.add(workers.submit(new Callable<LatencyHistogram>() {
+				@Override
+				public LatencyHistogram call() {
+					LatencyHistogram latencies = new LatencyHistogram();
+					int query;
+					while ((query = nextQuery.getAndIncrement()) < sourceVertices.size()) {
+						long sourceVertex = sourceVertices.get(query);
+						long startOfQuery = System.nanoTime();
+						startOfRunningQuery.set(client, startOfQuery);
+						executedQueries.incrementAndGet();
+						try {
+							platform.executeQueryOnGraph(Algorithm.BFS, graph,
+									new BreadthFirstSearchParameters(sourceVertex));
+							latencies.recordValue(System.nanoTime() - startOfQuery);
+						} catch (PlatformExecutionException | RuntimeException ex) {
+							LOG.warn("Query from source vertex " + sourceVertex + " on graph \"" + graph.getName() +
+									"\" failed.", ex);
+							failedQueries.incrementAndGet();
+						}
+						startOfRunningQuery.set(client, IDLE);
+					}
+					return latencies;
+				}
+			}));
+		}
+		workers.shutdown();
+
+		boolean timedOut = awaitQueries(workers, startOfRunningQuery);
+		if (timedOut) {
+			LOG.error("A query on graph \"" + graph.getName() + "\" did not complete within " + timeoutInSeconds +
+					" seconds, cancelling the query stream.");
+			cancel(workers, graph, nextQuery, sourceVertices.size());
+		}
+		long durationInNanos = System.nanoTime() - startOfStream;
+
+		LatencyHistogram latencies = new LatencyHistogram();
+		for (Future<LatencyHistogram> clientResult : clientResults) {
+			if (!clientResult.isDone()) {
+				continue;
+			}
+			try {
+				latencies.add(clientResult.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException | CancellationException e) {
+				LOG.error("Query client failed unexpectedly.", e);
+			}
+		}
+		int executed = executedQueries.get();
+		if (executed < sourceVertices.size()) {
+			LOG.warn("Executed only " + executed + " of " + sourceVertices.size() + " queries on graph \"" +
+					graph.getName() + "\".");
+		}
+
+		// Queries of abandoned clients are counted as failed, as their latencies are discarded
+		long failed = Math.max(failedQueries.get(), executed - latencies.getTotalCount());
+		return QueryLatency.fromHistogram(latencies, failed, clients, durationInNanos, timedOut);
+	}
+
+	/**
+	 * Waits for all clients to finish.
+	 *
+	 * @return true iff a query exceeded the timeout, or the calling thread was interrupted
+	 */
+	private boolean awaitQueries(ExecutorService workers, AtomicLongArray startOfRunningQuery) {
+		long timeoutInNanos = TimeUnit.SECONDS.toNanos(timeoutInSeconds);
+		try {
+			while (!workers.awaitTermination(POLL_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (timeoutInNanos == 0) {
+					continue;
+				}
+				long now = System.nanoTime();
+				for (int client = 0; client < startOfRunningQuery.length(); client++) {
+					long startOfQuery = startOfRunningQuery.get(client);
+					if (startOfQuery != IDLE && now - startOfQuery > timeoutInNanos) {
+						return true;
+					}
+				}
+			}
+			return false;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return true;
+		}
+	}
+
+	private void cancel(ExecutorService workers, Graph graph, AtomicInteger nextQuery, int numberOfQueries) {
+		// Prevent the clients from starting further queries
+		nextQuery.set(numberOfQueries);
+		if (platform instanceof CancellablePlatform) {
+			try {
+				((CancellablePlatform)platform).cancelAlgorithmOnGraph(Algorithm.BFS, graph);
+			} catch (RuntimeException ex) {
+				LOG.error("Failed to cancel the queries on graph \"" + graph.getName() + "\".", ex);
+			}
+		}
+		workers.shutdownNow();
+
+		boolean stopped = false;
+		try {
+			stopped = workers.awaitTermination(gracePeriodInMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		if (!stopped) {
+			LOG.error("The queries on graph \"" + graph.getName() + "\" did not stop within " + gracePeriodInMillis +
+					" ms after cancellation, abandoning their clients. The platform may be in an inconsistent state.");
+		}
+	}
+
+}
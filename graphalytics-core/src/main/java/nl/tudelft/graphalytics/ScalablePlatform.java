@@ -0,0 +1,37 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+/**
+ * Extension of the Platform interface for platforms with a configurable number of workers, e.g., threads, processes,
+ * or machines. In a scaling sweep, the benchmark driver creates a new instance of the platform for every number of
+ * workers in the sweep and calls {@link #setNumberOfWorkers(int) setNumberOfWorkers} before the first graph is
+ * uploaded. The platform should include the number of workers in its
+ * {@link Platform#getPlatformConfiguration() platform configuration}, so it is recorded with the results.
+ *
+ * @author Tim Hegeman
+ */
+public interface ScalablePlatform extends Platform {
+
+	/**
+	 * Sets the number of workers to execute algorithms with, overriding the number of workers configured for the
+	 * platform.
+	 *
+	 * @param numberOfWorkers the number of workers, at least 1
+	 */
+	void setNumberOfWorkers(int numberOfWorkers);
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.configuration.ConfigurationUtil;
+import nl.tudelft.graphalytics.configuration.InvalidConfigurationException;
+import nl.tudelft.graphalytics.domain.BenchmarkSuite;
+import nl.tudelft.graphalytics.domain.BenchmarkSuiteResult;
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.ScalingResult;
+import nl.tudelft.graphalytics.reporting.BenchmarkReportWriter;
+import nl.tudelft.graphalytics.reporting.html.HtmlBenchmarkReportGenerator;
+import org.apache.commons.configuration.Configuration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Scaling sweep, which executes a benchmark suite once for every configured number of workers on a new instance of a
+ * {@link ScalablePlatform}. A strong-scaling sweep executes the same benchmark suite for every number of workers. A
+ * weak-scaling sweep pairs graphs of increasing size (e.g., the LDBC scale factors) with increasing numbers of
+ * workers, and executes the subset of the benchmark suite for each graph with its number of workers. The results and
+ * report of each run are written to a subdirectory of the report directory, so an interrupted sweep can be resumed
+ * per run from the journals in these subdirectories.
+ *
+ * @author Tim Hegeman
+ */
+final class ScalingSweep {
+	private static final Logger LOG = LogManager.getLogger();
+
+	static final String WORKERS_KEY = "benchmark.sweep.platform.workers";
+	static final String WEAK_SCALING_KEY = "benchmark.sweep.weak-scaling";
+
+	private final ScalingResult.Type type;
+	private final BenchmarkSuite benchmarkSuite;
+	private final List<Integer> numbersOfWorkers;
+	private final List<BenchmarkSuite> runBenchmarkSuites;
+	private final List<String> runNames;
+
+	/**
+	 * @param type               the type of scaling measured by the sweep
+	 * @param benchmarkSuite     the benchmark suite from which the benchmarks of every run are selected
+	 * @param numbersOfWorkers   the number of workers of each run, in increasing order
+	 * @param runBenchmarkSuites the benchmarks to execute in each run
+	 * @param runNames           the name of each run, used as the name of its report directory
+	 */
+	private ScalingSweep(ScalingResult.Type type, BenchmarkSuite benchmarkSuite, List<Integer> numbersOfWorkers,
+			List<BenchmarkSuite> runBenchmarkSuites, List<String> runNames) {
+		this.type = type;
+		this.benchmarkSuite = benchmarkSuite;
+		this.numbersOfWorkers = numbersOfWorkers;
+		this.runBenchmarkSuites = runBenchmarkSuites;
+		this.runNames = runNames;
+	}
+
+	/**
+	 * @param benchmarkConfiguration the benchmark configuration
+	 * @param benchmarkSuite         the benchmark suite to execute in the sweep
+	 * @return the sweep defined in the benchmark configuration, or null if no sweep is defined
+	 * @throws InvalidConfigurationException if the sweep is defined incorrectly
+	 */
+	static ScalingSweep fromConfiguration(Configuration benchmarkConfiguration, BenchmarkSuite benchmarkSuite)
+			throws InvalidConfigurationException {
+		boolean strongScaling = benchmarkConfiguration.containsKey(WORKERS_KEY);
+		boolean weakScaling = benchmarkConfiguration.containsKey(WEAK_SCALING_KEY);
+		if (strongScaling && weakScaling) {
+			throw new InvalidConfigurationException("Properties \"" + WORKERS_KEY + "\" and \"" + WEAK_SCALING_KEY +
+					"\" must not be combined.");
+		} else if (strongScaling) {
+			return parseStrongScaling(benchmarkConfiguration, benchmarkSuite);
+		} else if (weakScaling) {
+			return parseWeakScaling(benchmarkConfiguration, benchmarkSuite);
+		}
+		return null;
+	}
+
+	private static ScalingSweep parseStrongScaling(Configuration benchmarkConfiguration,
+			BenchmarkSuite benchmarkSuite) throws InvalidConfigurationException {
+		TreeSet<Integer> numbersOfWorkers = new TreeSet<>();
+		for (String value : ConfigurationUtil.getStringArray(benchmarkConfiguration, WORKERS_KEY)) {
+			numbersOfWorkers.add(parseNumberOfWorkers(value, WORKERS_KEY));
+		}
+		if (numbersOfWorkers.isEmpty()) {
+			throw new InvalidConfigurationException("Property \"" + WORKERS_KEY + "\" must be a list of positive " +
+					"integers.");
+		}
+
+		List<BenchmarkSuite> runBenchmarkSuites = new ArrayList<>();
+		List<String> runNames = new ArrayList<>();
+		for (int numberOfWorkers : numbersOfWorkers) {
+			runBenchmarkSuites.add(benchmarkSuite);
+			runNames.add("workers-" + numberOfWorkers);
+		}
+		return new ScalingSweep(ScalingResult.Type.STRONG, benchmarkSuite, new ArrayList<>(numbersOfWorkers),
+				runBenchmarkSuites, runNames);
+	}
+
+	private static ScalingSweep parseWeakScaling(Configuration benchmarkConfiguration,
+			final BenchmarkSuite benchmarkSuite) throws InvalidConfigurationException {
+		Map<String, Graph> graphsByName = new HashMap<>();
+		for (Graph graph : benchmarkSuite.getGraphs()) {
+			graphsByName.put(graph.getName(), graph);
+		}
+
+		// Parse the "<graph>:<workers>" pairs
+		final Map<Graph, Integer> workersPerGraph = new LinkedHashMap<>();
+		for (String value : ConfigurationUtil.getStringArray(benchmarkConfiguration, WEAK_SCALING_KEY)) {
+			String[] pair = value.trim().split(":");
+			if (pair.length != 2) {
+				throw new InvalidConfigurationException("Invalid value \"" + value + "\" for property \"" +
+						WEAK_SCALING_KEY + "\", expected a list of \"<graph>:<workers>\" pairs.");
+			}
+			Graph graph = graphsByName.get(pair[0].trim());
+			if (graph == null) {
+				throw new InvalidConfigurationException("Graph \"" + pair[0].trim() + "\" in property \"" +
+						WEAK_SCALING_KEY + "\" is not selected in the benchmark suite.");
+			}
+			if (workersPerGraph.containsKey(graph)) {
+				throw new InvalidConfigurationException("Graph \"" + graph.getName() + "\" occurs more than once " +
+						"in property \"" + WEAK_SCALING_KEY + "\".");
+			}
+			workersPerGraph.put(graph, parseNumberOfWorkers(pair[1], WEAK_SCALING_KEY));
+		}
+		if (workersPerGraph.isEmpty()) {
+			throw new InvalidConfigurationException("Property \"" + WEAK_SCALING_KEY + "\" must be a list of " +
+					"\"<graph>:<workers>\" pairs.");
+		}
+
+		// Order the runs by number of workers, and by the size of the graph for equal numbers of workers
+		List<Graph> graphs = new ArrayList<>(workersPerGraph.keySet());
+		Collections.sort(graphs, new Comparator<Graph>() {
+			@Override
+			public int compare(Graph a, Graph b) {
+				int workers = Integer.compare(workersPerGraph.get(a), workersPerGraph.get(b));
+				return workers != 0 ? workers : Long.compare(a.getNumberOfVertices() + a.getNumberOfEdges(),
+						b.getNumberOfVertices() + b.getNumberOfEdges());
+			}
+		});
+
+		List<Integer> numbersOfWorkers = new ArrayList<>();
+		List<BenchmarkSuite> runBenchmarkSuites = new ArrayList<>();
+		List<String> runNames = new ArrayList<>();
+		for (Graph graph : graphs) {
+			int numberOfWorkers = workersPerGraph.get(graph);
+			numbersOfWorkers.add(numberOfWorkers);
+			runBenchmarkSuites.add(benchmarkSuite.getSubset(null, Collections.singleton(graph)));
+			runNames.add(graph.getName() + "-workers-" + numberOfWorkers);
+		}
+		return new ScalingSweep(ScalingResult.Type.WEAK, benchmarkSuite, numbersOfWorkers, runBenchmarkSuites,
+				runNames);
+	}
+
+	private static int parseNumberOfWorkers(String value, String property) throws InvalidConfigurationException {
+		try {
+			int numberOfWorkers = Integer.parseInt(value.trim());
+			if (numberOfWorkers >= 1) {
+				return numberOfWorkers;
+			}
+		} catch (NumberFormatException ignored) {
+		}
+		throw new InvalidConfigurationException("Invalid number of workers \"" + value + "\" for property \"" +
+				property + "\", expected a positive integer.");
+	}
+
+	/**
+	 * Executes every run of the sweep and writes the report of each run.
+	 *
+	 * @param platform          the platform to execute the first run of the sweep on, whose class is instantiated for
+	 *                          every other run
+	 * @param outputDirectory   the report directory of the sweep
+	 * @param reportTemplateDir the directory containing the template for the benchmark reports
+	 * @return the results of the sweep
+	 * @throws IOException if a subdirectory of the report directory could not be created
+	 */
+	ScalingResult execute(ScalablePlatform platform, String outputDirectory, String reportTemplateDir)
+			throws IOException {
+		List<BenchmarkSuiteResult> benchmarkSuiteResults = new ArrayList<>();
+		for (int i = 0; i < numbersOfWorkers.size(); i++) {
+			int numberOfWorkers = numbersOfWorkers.get(i);
+			ScalablePlatform runPlatform = i == 0 ? platform : createPlatformInstance(platform);
+			runPlatform.setNumberOfWorkers(numberOfWorkers);
+
+			LOG.info("Executing run \"" + runNames.get(i) + "\" of the sweep with " + numberOfWorkers +
+					" worker(s).");
+			Path runDirectory = Paths.get(outputDirectory, runNames.get(i));
+			Files.createDirectories(runDirectory);
+			BenchmarkSuiteResult benchmarkSuiteResult = new BenchmarkSuiteRunner(runBenchmarkSuites.get(i),
+					runPlatform, runDirectory.toString()).execute();
+			benchmarkSuiteResults.add(benchmarkSuiteResult);
+
+			// Write the report of this run, so results are available while the sweep continues
+			BenchmarkReportWriter reportWriter = new BenchmarkReportWriter(runPlatform.getName());
+			reportWriter.useExistingOutputDirectory(runDirectory.toString());
+			reportWriter.writeReport(HtmlBenchmarkReportGenerator.generateFromBenchmarkSuiteResult(
+					benchmarkSuiteResult, reportTemplateDir));
+		}
+		return new ScalingResult(type, benchmarkSuite, numbersOfWorkers, benchmarkSuiteResults, runNames);
+	}
+
+	private static ScalablePlatform createPlatformInstance(ScalablePlatform platform) {
+		try {
+			return platform.getClass().newInstance();
+		} catch (InstantiationException | IllegalAccessException ex) {
+			throw new GraphalyticsLoaderException("Failed to instantiate platform class \"" +
+					platform.getClass().getName() + "\".", ex);
+		}
+	}
+
+}
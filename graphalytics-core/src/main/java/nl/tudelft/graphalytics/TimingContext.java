@@ -0,0 +1,142 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.PhaseTimings;
+import nl.tudelft.graphalytics.domain.PhaseTimings.Phase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Records the duration of named phases in the execution of an algorithm, using {@link System#nanoTime()}. Platforms
+ * create a TimingContext in {@link Platform#executeAlgorithmOnGraph executeAlgorithmOnGraph}, mark the start and end
+ * of each phase, and include the resulting {@link PhaseTimings} in their PlatformBenchmarkResult. Phases started
+ * while another phase is running are nested in that phase, e.g., to record individual supersteps of the computation.
+ * Platforms that obtain timings from an external system (e.g., job counters) can add them using
+ * {@link #recordPhase(String, long)}.
+ * <p/>
+ * A TimingContext is not thread-safe; phases should be marked by the thread coordinating the execution.
+ *
+ * @author Tim Hegeman
+ */
+public final class TimingContext {
+
+	/**
+	 * Name of the phase in which the graph is loaded into the platform's working memory.
+	 */
+	public static final String LOAD = "load";
+	/**
+	 * Name of the phase in which the platform prepares the graph for an algorithm, e.g., partitioning or indexing.
+	 */
+	public static final String PREPROCESS = "preprocess";
+	/**
+	 * Name of the phase in which the algorithm is executed.
+	 */
+	public static final String COMPUTE = "compute";
+	/**
+	 * Name of the phase in which the output of the algorithm is written back.
+	 */
+	public static final String WRITE_BACK = "write-back";
+
+	private final long origin = System.nanoTime();
+	private final Deque<OpenPhase> openPhases = new ArrayDeque<>();
+	private final List<Phase> phases = new ArrayList<>();
+
+	/**
+	 * @param superstep the index of a superstep (or iteration) of an algorithm
+	 * @return the name of the phase for the superstep
+	 */
+	public static String superstep(int superstep) {
+		return "superstep-" + superstep;
+	}
+
+	/**
+	 * Starts a new phase, nested in the currently running phase (if any).
+	 *
+	 * @param name the name of the phase
+	 * @throws IllegalArgumentException iff name is null, empty, or contains the path separator
+	 */
+	public void startPhase(String name) {
+		String path = toPath(name);
+		// Reserve the position of the phase, so phases are ordered by their start time
+		phases.add(null);
+		openPhases.push(new OpenPhase(path, phases.size() - 1, System.nanoTime()));
+	}
+
+	/**
+	 * Ends the most recently started phase that is still running.
+	 *
+	 * @throws IllegalStateException iff no phase is running
+	 */
+	public void endPhase() {
+		long now = System.nanoTime();
+		OpenPhase phase = openPhases.poll();
+		if (phase == null)
+			throw new IllegalStateException("No phase is running.");
+
+		phases.set(phase.index, new Phase(phase.path, phase.startTime - origin, now - phase.startTime));
+	}
+
+	/**
+	 * Records a phase that was timed externally, nested in the currently running phase (if any).
+	 *
+	 * @param name            the name of the phase
+	 * @param durationInNanos the duration of the phase in nanoseconds
+	 * @throws IllegalArgumentException iff name is invalid or the duration is negative
+	 */
+	public void recordPhase(String name, long durationInNanos) {
+		phases.add(new Phase(toPath(name), System.nanoTime() - origin, durationInNanos));
+	}
+
+	private String toPath(String name) {
+		if (name == null || name.isEmpty() || name.contains(Phase.PATH_SEPARATOR))
+			throw new IllegalArgumentException("Parameter \"name\" must be a non-empty string without \"" +
+					Phase.PATH_SEPARATOR + "\".");
+
+		OpenPhase parent = openPhases.peek();
+		return parent == null ? name : parent.path + Phase.PATH_SEPARATOR + name;
+	}
+
+	/**
+	 * Ends all running phases and returns the recorded timings.
+	 *
+	 * @return the timings of all phases recorded so far
+	 */
+	public PhaseTimings toPhaseTimings() {
+		while (!openPhases.isEmpty()) {
+			endPhase();
+		}
+		return new PhaseTimings(phases);
+	}
+
+	private static final class OpenPhase {
+
+		private final String path;
+		private final int index;
+		private final long startTime;
+
+		private OpenPhase(String path, int index, long startTime) {
+			this.path = path;
+			this.index = index;
+			this.startTime = startTime;
+		}
+
+	}
+
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics;
+
+import nl.tudelft.graphalytics.domain.Benchmark;
+import nl.tudelft.graphalytics.domain.BenchmarkStatus;
+import nl.tudelft.graphalytics.domain.PlatformBenchmarkResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes algorithms on a platform while enforcing the timeout of each benchmark. Benchmarks with a timeout are
+ * executed on a worker thread, while the calling thread acts as a watchdog. When the timeout expires, the platform is
+ * asked to cancel the algorithm (if it implements {@link CancellablePlatform}) and the worker thread is interrupted.
+ * If the algorithm does not stop within a grace period, the worker thread is abandoned so that the remaining
+ * benchmarks can still be executed.
+ *
+ * @author Tim Hegeman
+ */
+final class WatchdogExecutor {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private final Platform platform;
+	private final long gracePeriodInMillis;
+	private ExecutorService worker;
+
+	/**
+	 * @param platform            the platform to execute algorithms on
+	 * @param gracePeriodInMillis the time to wait for a cancelled algorithm to stop
+	 */
+	WatchdogExecutor(Platform platform, long gracePeriodInMillis) {
+		this.platform = platform;
+		this.gracePeriodInMillis = gracePeriodInMillis;
+	}
+
+	/**
+	 * @return the time to wait for a cancelled algorithm to stop
+	 */
+	long getGracePeriodInMillis() {
+		return gracePeriodInMillis;
+	}
+
+	/**
+	 * Executes the algorithm of a benchmark on the platform, and waits for it to complete or time out.
+	 *
+	 * @param benchmark the benchmark to execute
+	 * @return the outcome of the execution
+	 */
+	Execution execute(final Benchmark benchmark) {
+		if (!benchmark.hasTimeout()) {
+			return executeOnCurrentThread(benchmark);
+		}
+
+		final CountDownLatch finished = new CountDownLatch(1);
+		Future<Execution> future = getWorker().submit(new Callable<Execution>() {
+			@Override
+			public Execution call() {
+				try {
+					return executeOnCurrentThread(benchmark);
+				} finally {
+					finished.countDown();
+				}
+			}
+		});
+
+		try {
+			return future.get(benchmark.getTimeoutInSeconds(), TimeUnit.SECONDS);
+		} catch (TimeoutException ex) {
+			LOG.error("Algorithm \"" + benchmark.getAlgorithm().getName() + "\" on graph \"" +
+					benchmark.getGraph().getName() + "\" did not complete within " + benchmark.getTimeoutInSeconds() +
+					" seconds, cancelling.");
+			cancel(benchmark, future, finished);
+			return new Execution(BenchmarkStatus.TIMED_OUT, null, TimeUnit.SECONDS.toNanos(
+					benchmark.getTimeoutInSeconds()));
+		} catch (InterruptedException ex) {
+			cancel(benchmark, future, finished);
+			Thread.currentThread().interrupt();
+			return new Execution(BenchmarkStatus.FAILED, null, 0L);
+		} catch (ExecutionException ex) {
+			LOG.error("Unexpected exception while executing algorithm \"" + benchmark.getAlgorithm().getName() +
+					"\" on graph \"" + benchmark.getGraph().getName() + "\".", ex.getCause());
+			return new Execution(BenchmarkStatus.FAILED, null, 0L);
+		}
+	}
+
+	private Execution executeOnCurrentThread(Benchmark benchmark) {
+		long startTime = System.nanoTime();
+		try {
+			PlatformBenchmarkResult result = platform.executeAlgorithmOnGraph(benchmark.getAlgorithm(),
+					benchmark.getGraph(), benchmark.getAlgorithmParameters());
+			return new Execution(BenchmarkStatus.COMPLETED, result, System.nanoTime() - startTime);
+		} catch (PlatformExecutionException ex) {
+			LOG.error("Algorithm \"" + benchmark.getAlgorithm().getName() + "\" on graph \"" +
+					benchmark.getGraph().getName() + "\" failed to complete:", ex);
+			return new Execution(BenchmarkStatus.FAILED, null, System.nanoTime() - startTime);
+		}
+	}
+
+	private void cancel(Benchmark benchmark, Future<Execution> future, CountDownLatch finished) {
+		if (platform instanceof CancellablePlatform) {
+			try {
+				((CancellablePlatform)platform).cancelAlgorithmOnGraph(benchmark.getAlgorithm(),
+						benchmark.getGraph());
+			} catch (RuntimeException ex) {
+				LOG.error("Failed to cancel algorithm on platform.", ex);
+			}
+		}
+		future.cancel(true);
+
+		boolean stopped = false;
+		try {
+			stopped = finished.await(gracePeriodInMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		if (!stopped) {
+			LOG.error("Algorithm \"" + benchmark.getAlgorithm().getName() + "\" did not stop within " +
+					gracePeriodInMillis + " ms after cancellation, abandoning its thread. The platform may be in an " +
+					"inconsistent state for the remaining benchmarks.");
+			worker.shutdownNow();
+			worker = null;
+		}
+	}
+
+	private ExecutorService getWorker() {
+		if (worker == null) {
+			worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "graphalytics-benchmark");
+					// Do not keep the JVM alive for an algorithm that could not be cancelled
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return worker;
+	}
+
+	/**
+	 * Stops the worker thread, if any.
+	 */
+	void shutdown() {
+		if (worker != null) {
+			worker.shutdownNow();
+			worker = null;
+		}
+	}
+
+	/**
+	 * Outcome of a single execution of an algorithm.
+	 */
+	static final class Execution {
+
+		private final BenchmarkStatus status;
+		private final PlatformBenchmarkResult result;
+		private final long runtimeInNanos;
+
+		private Execution(BenchmarkStatus status, PlatformBenchmarkResult result, long runtimeInNanos) {
+			this.status = status;
+			this.result = result;
+			this.runtimeInNanos = runtimeInNanos;
+		}
+
+		/**
+		 * @return the status of the execution
+		 */
+		BenchmarkStatus getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the result reported by the platform, or null if the execution did not complete
+		 */
+		PlatformBenchmarkResult getResult() {
+			return result;
+		}
+
+		/**
+		 * @return the runtime of the algorithm in nanoseconds
+		 */
+		long getRuntimeInNanos() {
+			return runtimeInNanos;
+		}
+
+	}
+
+}
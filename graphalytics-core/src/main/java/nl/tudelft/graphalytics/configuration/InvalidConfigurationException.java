@@ -22,5 +22,9 @@ public class InvalidConfigurationException extends Exception {
 	public InvalidConfigurationException(String message) {
 		super(message);
 	}
+
+	public InvalidConfigurationException(String message, Throwable cause) {
+		super(message, cause);
+	}
 	
 }
@@ -19,15 +19,18 @@ import java.io.Serializable;
 
 /**
  * A single benchmark in the Graphalytics benchmark suite. Consists of a single algorithm, a single graph,
- * and parameters for the algorithm.
+ * parameters for the algorithm, and an optional timeout for the execution of the algorithm.
  *
  * @author Tim Hegeman
  */
 public final class Benchmark implements Serializable {
 
+	private static final long serialVersionUID = 4834630185983399859L;
+
 	private final Algorithm algorithm;
 	private final Graph graph;
 	private final Object algorithmParameters;
+	private final long timeoutInSeconds;
 
 	/**
 	 * @param algorithm           the algorithm to run for this benchmark
@@ -35,9 +38,24 @@ public final class Benchmark implements Serializable {
 	 * @param algorithmParameters parameters for the algorithm
 	 */
 	public Benchmark(Algorithm algorithm, Graph graph, Object algorithmParameters) {
+		this(algorithm, graph, algorithmParameters, 0L);
+	}
+
+	/**
+	 * @param algorithm           the algorithm to run for this benchmark
+	 * @param graph               the graph to run the algorithm on
+	 * @param algorithmParameters parameters for the algorithm
+	 * @param timeoutInSeconds    the maximum runtime of a single execution of the algorithm, or 0 for no timeout
+	 * @throws IllegalArgumentException iff timeoutInSeconds is negative
+	 */
+	public Benchmark(Algorithm algorithm, Graph graph, Object algorithmParameters, long timeoutInSeconds) {
+		if (timeoutInSeconds < 0)
+			throw new IllegalArgumentException("Parameter \"timeoutInSeconds\" must not be negative.");
+
 		this.algorithm = algorithm;
 		this.graph = graph;
 		this.algorithmParameters = algorithmParameters;
+		this.timeoutInSeconds = timeoutInSeconds;
 	}
 
 	/**
@@ -60,4 +78,18 @@ public final class Benchmark implements Serializable {
 	public Object getAlgorithmParameters() {
 		return algorithmParameters;
 	}
+
+	/**
+	 * @return the maximum runtime of a single execution of the algorithm in seconds, or 0 if there is no timeout
+	 */
+	public long getTimeoutInSeconds() {
+		return timeoutInSeconds;
+	}
+
+	/**
+	 * @return true iff the execution of the algorithm is subject to a timeout
+	 */
+	public boolean hasTimeout() {
+		return timeoutInSeconds > 0;
+	}
 }
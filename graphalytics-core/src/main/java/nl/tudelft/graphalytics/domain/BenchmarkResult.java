@@ -16,37 +16,68 @@
 package nl.tudelft.graphalytics.domain;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 /**
- * Results of the execution of a single benchmark. Includes timestamps to compute the makespan, a flag for successful
- * completion, and platform-specific information about the benchmark execution.
+ * Results of the execution of a single benchmark. Includes timestamps to compute the makespan, the runtimes of the
+ * individual measured repetitions of the benchmark, the completion status of the benchmark, the resource usage of
+ * the machine, garbage collection and allocation in the JVM, an optional profile of the benchmark, the number of
+ * benchmarks executed concurrently, the latency distribution of an optional stream of queries executed after the
+ * measured repetitions, and platform-specific information about the benchmark execution.
  *
  * @author Tim Hegeman
  */
 public final class BenchmarkResult implements Serializable {
 
+	private static final long serialVersionUID = -1684269840947519779L;
+
 	private final Benchmark benchmark;
 	private final PlatformBenchmarkResult platformBenchmarkResult;
 
 	private final Date startOfBenchmark;
 	private final Date endOfBenchmark;
-	private final boolean completedSuccessfully;
+	private final List<Long> runtimeSamplesInNanos;
+	private final RuntimeStatistics runtimeStatistics;
+	private final ResourceUsage resourceUsage;
+	private final JvmUsage jvmUsage;
+	private final ProfileSummary profileSummary;
+	private final int concurrency;
+	private final QueryLatency queryLatency;
+	private final BenchmarkStatus status;
 
 	/**
 	 * @param benchmark               the benchmark executed to obtain this result
 	 * @param platformBenchmarkResult platform-specific information regarding the execution of the benchmark
 	 * @param startOfBenchmark        the start time of the benchmark execution
 	 * @param endOfBenchmark          the completion time of the benchmark execution
-	 * @param completedSuccessfully   true iff the benchmark completed successfully
+	 * @param runtimeSamplesInNanos   the runtimes of the measured repetitions of the benchmark in nanoseconds
+	 * @param status                  the completion status of the benchmark
+	 * @param resourceUsage           the resource usage of the machine during the measured repetitions
+	 * @param jvmUsage                garbage collection and allocation in the JVM during the measured repetitions
+	 * @param profileSummary          a summary of the profile of the measured repetitions
+	 * @param concurrency             the number of platform instances executing benchmarks concurrently
+	 * @param queryLatency            the latency distribution of the query stream executed after the measured
+	 *                                repetitions
 	 */
 	private BenchmarkResult(Benchmark benchmark, PlatformBenchmarkResult platformBenchmarkResult,
-	                        Date startOfBenchmark, Date endOfBenchmark, boolean completedSuccessfully) {
+	                        Date startOfBenchmark, Date endOfBenchmark, List<Long> runtimeSamplesInNanos,
+	                        BenchmarkStatus status, ResourceUsage resourceUsage, JvmUsage jvmUsage,
+	                        ProfileSummary profileSummary, int concurrency, QueryLatency queryLatency) {
 		this.benchmark = benchmark;
 		this.platformBenchmarkResult = platformBenchmarkResult;
 		this.startOfBenchmark = startOfBenchmark;
 		this.endOfBenchmark = endOfBenchmark;
-		this.completedSuccessfully = completedSuccessfully;
+		this.runtimeSamplesInNanos = Collections.unmodifiableList(new ArrayList<>(runtimeSamplesInNanos));
+		this.runtimeStatistics = RuntimeStatistics.fromSamples(runtimeSamplesInNanos);
+		this.status = status;
+		this.resourceUsage = resourceUsage;
+		this.jvmUsage = jvmUsage;
+		this.profileSummary = profileSummary;
+		this.concurrency = concurrency;
+		this.queryLatency = queryLatency;
 	}
 
 	/**
@@ -57,7 +88,24 @@ public final class BenchmarkResult implements Serializable {
 	 */
 	public static BenchmarkResult forBenchmarkNotRun(Benchmark benchmark) {
 		return new BenchmarkResult(benchmark, new PlatformBenchmarkResult(NestedConfiguration.empty()),
-				new Date(0), new Date(0), false);
+				new Date(0), new Date(0), Collections.<Long>emptyList(), BenchmarkStatus.NOT_RUN,
+				ResourceUsage.empty(), JvmUsage.empty(), ProfileSummary.empty(), 1, QueryLatency.empty());
+	}
+
+	/**
+	 * Creates a copy of this result that refers to a different, equivalent benchmark. This is used to associate
+	 * results obtained from a deserialized copy of a benchmark (e.g., in another process) with the original benchmark.
+	 *
+	 * @param benchmark the benchmark the new result refers to
+	 * @return a copy of this result for the given benchmark
+	 * @throws IllegalArgumentException iff benchmark is null
+	 */
+	public BenchmarkResult withBenchmark(Benchmark benchmark) {
+		if (benchmark == null)
+			throw new IllegalArgumentException("Parameter \"benchmark\" must not be null.");
+
+		return new BenchmarkResult(benchmark, platformBenchmarkResult, startOfBenchmark, endOfBenchmark,
+				runtimeSamplesInNanos, status, resourceUsage, jvmUsage, profileSummary, concurrency, queryLatency);
 	}
 
 	/**
@@ -92,16 +140,75 @@ public final class BenchmarkResult implements Serializable {
 	 * @return true iff the benchmark completed successfully
 	 */
 	public boolean isCompletedSuccessfully() {
-		return completedSuccessfully;
+		return status == BenchmarkStatus.COMPLETED;
+	}
+
+	/**
+	 * @return the completion status of the benchmark
+	 */
+	public BenchmarkStatus getStatus() {
+		return status;
 	}
 
 	/**
-	 * @return the elapsed time from start to end in milliseconds
+	 * @return the elapsed time from start to end in milliseconds, covering all measured repetitions
 	 */
 	public long getElapsedTimeInMillis() {
 		return endOfBenchmark.getTime() - startOfBenchmark.getTime();
 	}
 
+	/**
+	 * @return the runtimes of the measured repetitions of the benchmark in nanoseconds, excluding warm-up runs
+	 */
+	public List<Long> getRuntimeSamplesInNanos() {
+		return runtimeSamplesInNanos;
+	}
+
+	/**
+	 * @return summary statistics of the runtimes of the measured repetitions of the benchmark
+	 */
+	public RuntimeStatistics getRuntimeStatistics() {
+		return runtimeStatistics;
+	}
+
+	/**
+	 * @return the resource usage of the machine during the measured repetitions of the benchmark
+	 */
+	public ResourceUsage getResourceUsage() {
+		return resourceUsage;
+	}
+
+	/**
+	 * @return garbage collection and allocation in the JVM during the measured repetitions of the benchmark
+	 */
+	public JvmUsage getJvmUsage() {
+		return jvmUsage;
+	}
+
+	/**
+	 * @return a summary of the profile of the measured repetitions of the benchmark, or an empty summary if the
+	 * benchmark was not profiled
+	 */
+	public ProfileSummary getProfileSummary() {
+		return profileSummary;
+	}
+
+	/**
+	 * @return the number of platform instances that executed benchmarks concurrently with this benchmark, including
+	 * the instance that executed this benchmark
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * @return the latency distribution of the query stream executed after the measured repetitions of the benchmark,
+	 * or an empty distribution if no queries were executed
+	 */
+	public QueryLatency getQueryLatency() {
+		return queryLatency;
+	}
+
 	/**
 	 * Factory class for the BenchmarkResult class.
 	 */
@@ -109,7 +216,13 @@ public final class BenchmarkResult implements Serializable {
 		private Benchmark benchmark;
 		private Date startOfBenchmark;
 		private Date endOfBenchmark;
-		private boolean completedSuccessfully = false;
+		private final List<Long> runtimeSamplesInNanos = new ArrayList<>();
+		private BenchmarkStatus status = BenchmarkStatus.NOT_RUN;
+		private ResourceUsage resourceUsage = ResourceUsage.empty();
+		private JvmUsage jvmUsage = JvmUsage.empty();
+		private ProfileSummary profileSummary = ProfileSummary.empty();
+		private int concurrency = 1;
+		private QueryLatency queryLatency = QueryLatency.empty();
 
 		/**
 		 * Constructs a new BenchmarkResultBuilder that can be used to create a new BenchmarkResult.
@@ -132,6 +245,84 @@ public final class BenchmarkResult implements Serializable {
 			startOfBenchmark = new Date();
 		}
 
+		/**
+		 * Records the runtime of a single measured repetition of the benchmark.
+		 *
+		 * @param runtimeInNanos the runtime of the repetition in nanoseconds
+		 * @throws IllegalArgumentException iff runtimeInNanos is negative
+		 */
+		public void addRuntimeSample(long runtimeInNanos) {
+			if (runtimeInNanos < 0)
+				throw new IllegalArgumentException("Parameter \"runtimeInNanos\" must not be negative.");
+
+			runtimeSamplesInNanos.add(runtimeInNanos);
+		}
+
+		/**
+		 * Records the resource usage of the machine during the measured repetitions of the benchmark.
+		 *
+		 * @param resourceUsage the resource usage of the machine
+		 * @throws IllegalArgumentException iff resourceUsage is null
+		 */
+		public void setResourceUsage(ResourceUsage resourceUsage) {
+			if (resourceUsage == null)
+				throw new IllegalArgumentException("Parameter \"resourceUsage\" must not be null.");
+
+			this.resourceUsage = resourceUsage;
+		}
+
+		/**
+		 * Records garbage collection and allocation in the JVM during the measured repetitions of the benchmark.
+		 *
+		 * @param jvmUsage garbage collection and allocation in the JVM
+		 * @throws IllegalArgumentException iff jvmUsage is null
+		 */
+		public void setJvmUsage(JvmUsage jvmUsage) {
+			if (jvmUsage == null)
+				throw new IllegalArgumentException("Parameter \"jvmUsage\" must not be null.");
+
+			this.jvmUsage = jvmUsage;
+		}
+
+		/**
+		 * Records a summary of the profile of the measured repetitions of the benchmark.
+		 *
+		 * @param profileSummary a summary of the profile
+		 * @throws IllegalArgumentException iff profileSummary is null
+		 */
+		public void setProfileSummary(ProfileSummary profileSummary) {
+			if (profileSummary == null)
+				throw new IllegalArgumentException("Parameter \"profileSummary\" must not be null.");
+
+			this.profileSummary = profileSummary;
+		}
+
+		/**
+		 * Records the number of platform instances that executed benchmarks concurrently with this benchmark.
+		 *
+		 * @param concurrency the number of concurrently executing platform instances
+		 * @throws IllegalArgumentException iff concurrency is not positive
+		 */
+		public void setConcurrency(int concurrency) {
+			if (concurrency < 1)
+				throw new IllegalArgumentException("Parameter \"concurrency\" must be positive.");
+
+			this.concurrency = concurrency;
+		}
+
+		/**
+		 * Records the latency distribution of the query stream executed after the measured repetitions.
+		 *
+		 * @param queryLatency the latency distribution of the query stream
+		 * @throws IllegalArgumentException iff queryLatency is null
+		 */
+		public void setQueryLatency(QueryLatency queryLatency) {
+			if (queryLatency == null)
+				throw new IllegalArgumentException("Parameter \"queryLatency\" must not be null.");
+
+			this.queryLatency = queryLatency;
+		}
+
 		/**
 		 * Sets the end of the benchmark execution to be the current time. Also records the completion
 		 * status of the benchmark.
@@ -139,8 +330,22 @@ public final class BenchmarkResult implements Serializable {
 		 * @param completedSuccessfully true iff the benchmark completed successfully
 		 */
 		public void markEndOfBenchmark(boolean completedSuccessfully) {
+			markEndOfBenchmark(completedSuccessfully ? BenchmarkStatus.COMPLETED : BenchmarkStatus.FAILED);
+		}
+
+		/**
+		 * Sets the end of the benchmark execution to be the current time. Also records the completion
+		 * status of the benchmark.
+		 *
+		 * @param status the completion status of the benchmark
+		 * @throws IllegalArgumentException iff status is null
+		 */
+		public void markEndOfBenchmark(BenchmarkStatus status) {
+			if (status == null)
+				throw new IllegalArgumentException("Parameter \"status\" must not be null.");
+
 			endOfBenchmark = new Date();
-			this.completedSuccessfully = completedSuccessfully;
+			this.status = status;
 		}
 
 		/**
@@ -153,7 +358,8 @@ public final class BenchmarkResult implements Serializable {
 				throw new IllegalArgumentException("Parameter \"platformBenchmarkResult\" must not be null.");
 
 			return new BenchmarkResult(benchmark, platformBenchmarkResult, startOfBenchmark,
-					endOfBenchmark, completedSuccessfully);
+					endOfBenchmark, runtimeSamplesInNanos, status, resourceUsage, jvmUsage, profileSummary,
+					concurrency, queryLatency);
 		}
 
 	}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+/**
+ * Outcome of the execution of a single benchmark.
+ *
+ * @author Tim Hegeman
+ */
+public enum BenchmarkStatus {
+	/**
+	 * All runs of the benchmark completed successfully.
+	 */
+	COMPLETED("COMPLETED"),
+	/**
+	 * The platform reported a failure for at least one run of the benchmark.
+	 */
+	FAILED("FAILED"),
+	/**
+	 * A run of the benchmark did not complete within the configured timeout and was cancelled.
+	 */
+	TIMED_OUT("TIMED OUT"),
+	/**
+	 * The benchmark was not executed, e.g., because the graph could not be uploaded.
+	 */
+	NOT_RUN("NOT RUN");
+
+	private final String description;
+
+	/**
+	 * @param description human-readable description of the status
+	 */
+	BenchmarkStatus(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * @return human-readable description of the status
+	 */
+	public String getDescription() {
+		return description;
+	}
+}
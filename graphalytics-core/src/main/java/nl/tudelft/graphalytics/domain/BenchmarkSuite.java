@@ -21,12 +21,14 @@ import java.util.*;
 /**
  * The Graphalytics benchmark suite; a collection of benchmarks using multiple algorithms and running on multiple
  * graphs. The exact algorithms and graphs that are part of this suite are controlled by external configuration
- * files.
+ * files. Algorithms, graphs, and benchmarks are kept in the order in which they were configured.
  *
  * @author Tim Hegeman
  */
 public final class BenchmarkSuite implements Serializable {
 
+	private static final long serialVersionUID = 56838721070345773L;
+
 	private final Collection<Benchmark> benchmarks;
 	private final Set<Algorithm> algorithms;
 	private final Set<Graph> graphs;
@@ -43,8 +45,8 @@ public final class BenchmarkSuite implements Serializable {
 	 * @return a BenchmarkSuite object based on the given collection of benchmarks
 	 */
 	public static BenchmarkSuite fromBenchmarks(Collection<Benchmark> benchmarks) {
-		Set<Algorithm> algorithmSet = new HashSet<>();
-		Set<Graph> graphSet = new HashSet<>();
+		Set<Algorithm> algorithmSet = new LinkedHashSet<>();
+		Set<Graph> graphSet = new LinkedHashSet<>();
 
 		for (Benchmark benchmark : benchmarks) {
 			algorithmSet.add(benchmark.getAlgorithm());
@@ -108,7 +110,7 @@ public final class BenchmarkSuite implements Serializable {
 			if (algorithms.contains(benchmark.getAlgorithm()) && graphs.contains(benchmark.getGraph()))
 				benchmarks.add(benchmark);
 		}
-		return new BenchmarkSuite(benchmarks, new HashSet<>(algorithms), new HashSet<>(graphs));
+		return new BenchmarkSuite(benchmarks, new LinkedHashSet<>(algorithms), new LinkedHashSet<>(graphs));
 	}
 
 }
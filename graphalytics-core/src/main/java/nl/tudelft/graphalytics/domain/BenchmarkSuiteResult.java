@@ -17,19 +17,24 @@ package nl.tudelft.graphalytics.domain;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Results of the execution of the Graphalytics benchmark suite on a single platform. Includes configuration details
- * of both the system and platform, in addition to the individual benchmark results.
+ * of both the system and platform, in addition to the individual benchmark results and the results of uploading each
+ * graph to the platform.
  *
  * @author Tim Hegeman
  */
 public final class BenchmarkSuiteResult implements Serializable {
 
+	private static final long serialVersionUID = 4877212127797074516L;
+
 	private final BenchmarkSuite benchmarkSuite;
 	private final Collection<BenchmarkResult> benchmarkResults;
+	private final Map<Graph, GraphIngestResult> graphIngestResults;
 
 	private final NestedConfiguration benchmarkConfiguration;
 	private final NestedConfiguration platformConfiguration;
@@ -38,6 +43,7 @@ public final class BenchmarkSuiteResult implements Serializable {
 	/**
 	 * @param benchmarkSuite         the benchmark suite for which this result was obtained
 	 * @param benchmarkResults       the collection of individual benchmark results for each benchmark in the suite
+	 * @param graphIngestResults     the results of uploading and deleting each graph, for all graphs uploaded
 	 * @param benchmarkConfiguration the benchmark configuration used to load graphs, decide which algorithms to run,
 	 *                               etc.
 	 * @param platformConfiguration  the platform-specific configuration options used during execution of the benchmark
@@ -45,10 +51,12 @@ public final class BenchmarkSuiteResult implements Serializable {
 	 * @param systemDetails          the configuration of the system used to run the benchmark suite
 	 */
 	private BenchmarkSuiteResult(BenchmarkSuite benchmarkSuite, Collection<BenchmarkResult> benchmarkResults,
+	                             Map<Graph, GraphIngestResult> graphIngestResults,
 	                             NestedConfiguration benchmarkConfiguration, NestedConfiguration platformConfiguration,
 	                             SystemDetails systemDetails) {
 		this.benchmarkSuite = benchmarkSuite;
 		this.benchmarkResults = benchmarkResults;
+		this.graphIngestResults = Collections.unmodifiableMap(new HashMap<>(graphIngestResults));
 		this.benchmarkConfiguration = benchmarkConfiguration;
 		this.platformConfiguration = platformConfiguration;
 		this.systemDetails = systemDetails;
@@ -68,6 +76,21 @@ public final class BenchmarkSuiteResult implements Serializable {
 		return benchmarkResults;
 	}
 
+	/**
+	 * @return the results of uploading and deleting each graph, for all graphs uploaded
+	 */
+	public Collection<GraphIngestResult> getGraphIngestResults() {
+		return graphIngestResults.values();
+	}
+
+	/**
+	 * @param graph a graph from the benchmark suite
+	 * @return the result of uploading and deleting the graph, or null if no upload was attempted
+	 */
+	public GraphIngestResult getGraphIngestResult(Graph graph) {
+		return graphIngestResults.get(graph);
+	}
+
 	/**
 	 * @return the benchmark configuration used to load graphs, decide which algorithms to run, etc.
 	 */
@@ -95,6 +118,7 @@ public final class BenchmarkSuiteResult implements Serializable {
 	 */
 	public static class BenchmarkSuiteResultBuilder {
 		private final Map<Benchmark, BenchmarkResult> benchmarkResultMap = new HashMap<>();
+		private final Map<Graph, GraphIngestResult> graphIngestResultMap = new HashMap<>();
 		private BenchmarkSuite benchmarkSuite;
 
 		/**
@@ -129,6 +153,25 @@ public final class BenchmarkSuiteResult implements Serializable {
 			return this;
 		}
 
+		/**
+		 * Adds the result of uploading a graph to the results for this BenchmarkSuite. Overrides any previous result
+		 * for the same graph.
+		 *
+		 * @param graphIngestResult the result of uploading and deleting a graph in the suite
+		 * @return a reference to this
+		 * @throws IllegalArgumentException if graphIngestResult is null or if graphIngestResult corresponds to a graph
+		 *                                  that is not part of the suite
+		 */
+		public BenchmarkSuiteResultBuilder withGraphIngestResult(GraphIngestResult graphIngestResult) {
+			if (graphIngestResult == null)
+				throw new IllegalArgumentException("Parameter \"graphIngestResult\" must not be null.");
+			if (!benchmarkSuite.getGraphs().contains(graphIngestResult.getGraph()))
+				throw new IllegalArgumentException("\"graphIngestResult\" must refer to a graph that is part of the suite.");
+
+			graphIngestResultMap.put(graphIngestResult.getGraph(), graphIngestResult);
+			return this;
+		}
+
 		/**
 		 * Builds the BenchmarkSuiteResult object with the given configuration details.
 		 *
@@ -156,8 +199,8 @@ public final class BenchmarkSuiteResult implements Serializable {
 					benchmarkResultMap.put(benchmark, BenchmarkResult.forBenchmarkNotRun(benchmark));
 			}
 
-			return new BenchmarkSuiteResult(benchmarkSuite, benchmarkResultMap.values(), benchmarkConfiguration,
-					platformConfiguration, systemDetails);
+			return new BenchmarkSuiteResult(benchmarkSuite, benchmarkResultMap.values(), graphIngestResultMap,
+					benchmarkConfiguration, platformConfiguration, systemDetails);
 		}
 
 	}
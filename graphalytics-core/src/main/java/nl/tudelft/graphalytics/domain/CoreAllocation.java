@@ -0,0 +1,108 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The set of CPU cores assigned to a single platform instance when multiple platform instances execute benchmarks
+ * concurrently on the same machine. The allocation is a hint: platforms may use it to size their thread pools or to
+ * pin their threads or processes to the listed CPUs.
+ *
+ * @author Tim Hegeman
+ */
+public final class CoreAllocation implements Serializable {
+
+	private static final long serialVersionUID = 7626398740222849071L;
+
+	private final List<Integer> cpuIds;
+
+	/**
+	 * @param cpuIds the ids of the CPUs assigned to the platform instance, as numbered by the operating system
+	 * @throws IllegalArgumentException iff cpuIds is null or empty
+	 */
+	public CoreAllocation(List<Integer> cpuIds) {
+		if (cpuIds == null || cpuIds.isEmpty())
+			throw new IllegalArgumentException("Parameter \"cpuIds\" must not be null or empty.");
+
+		this.cpuIds = Collections.unmodifiableList(new ArrayList<>(cpuIds));
+	}
+
+	/**
+	 * Divides a set of CPUs into disjoint, contiguous allocations of (nearly) equal size. If there are fewer CPUs than
+	 * allocations, CPUs are shared by multiple allocations.
+	 *
+	 * @param cpuIds              the ids of the CPUs to divide
+	 * @param numberOfAllocations the number of allocations to create
+	 * @return the allocations
+	 * @throws IllegalArgumentException iff cpuIds is empty or numberOfAllocations is not positive
+	 */
+	public static List<CoreAllocation> partition(List<Integer> cpuIds, int numberOfAllocations) {
+		if (cpuIds.isEmpty())
+			throw new IllegalArgumentException("Parameter \"cpuIds\" must not be empty.");
+		if (numberOfAllocations < 1)
+			throw new IllegalArgumentException("Parameter \"numberOfAllocations\" must be positive.");
+
+		List<CoreAllocation> allocations = new ArrayList<>();
+		for (int i = 0; i < numberOfAllocations; i++) {
+			if (cpuIds.size() < numberOfAllocations) {
+				allocations.add(new CoreAllocation(Collections.singletonList(cpuIds.get(i % cpuIds.size()))));
+			} else {
+				int start = (int)((long)cpuIds.size() * i / numberOfAllocations);
+				int end = (int)((long)cpuIds.size() * (i + 1) / numberOfAllocations);
+				allocations.add(new CoreAllocation(cpuIds.subList(start, end)));
+			}
+		}
+		return allocations;
+	}
+
+	/**
+	 * @return the number of CPUs assigned to the platform instance
+	 */
+	public int getNumberOfCores() {
+		return cpuIds.size();
+	}
+
+	/**
+	 * @return the ids of the CPUs assigned to the platform instance
+	 */
+	public List<Integer> getCpuIds() {
+		return cpuIds;
+	}
+
+	/**
+	 * @return the ids of the CPUs in the list format used by Linux (e.g., "0-3,8"), which is accepted by taskset
+	 */
+	@Override
+	public String toString() {
+		StringBuilder list = new StringBuilder();
+		int rangeStart = 0;
+		for (int i = 1; i <= cpuIds.size(); i++) {
+			if (i == cpuIds.size() || cpuIds.get(i) != cpuIds.get(i - 1) + 1) {
+				list.append(list.length() > 0 ? "," : "").append(cpuIds.get(rangeStart));
+				if (i - 1 > rangeStart) {
+					list.append("-").append(cpuIds.get(i - 1));
+				}
+				rangeStart = i;
+			}
+		}
+		return list.toString();
+	}
+
+}
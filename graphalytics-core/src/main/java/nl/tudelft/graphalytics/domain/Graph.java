@@ -26,6 +26,8 @@ import java.io.Serializable;
  */
 public final class Graph implements Serializable {
 
+	private static final long serialVersionUID = 8893106814659380809L;
+
 	private final String name;
 	private final String filePath;
 	private final GraphFormat graphFormat;
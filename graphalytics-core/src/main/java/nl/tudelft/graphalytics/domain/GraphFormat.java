@@ -19,22 +19,46 @@ import java.io.Serializable;
 
 /**
  * Wrapper for graph format information describing both the directivity of the
- * graph and whether it is stored using a vertex- or edge-based encoding.
+ * graph and whether it is stored using a vertex- or edge-based encoding. Graphs
+ * may also be stored in the binary compressed sparse row (CSR) format produced
+ * by {@link nl.tudelft.graphalytics.preprocessing.BinaryGraphConverter}, which
+ * is always vertex-based.
  *
  * @author Tim Hegeman
  */
 public final class GraphFormat implements Serializable {
 
+	private static final long serialVersionUID = -3289017693817754709L;
+
 	private final boolean directed;
 	private final boolean edgeBased;
+	private final boolean binary;
 
 	/**
 	 * @param directed  true iff the graph is directed
 	 * @param edgeBased true iff the graph is stored edge-based
 	 */
 	public GraphFormat(boolean directed, boolean edgeBased) {
+		this(directed, edgeBased, false);
+	}
+
+	/**
+	 * @param directed  true iff the graph is directed
+	 * @param edgeBased true iff the graph is stored edge-based
+	 * @param binary    true iff the graph is stored in the binary CSR format
+	 */
+	private GraphFormat(boolean directed, boolean edgeBased, boolean binary) {
 		this.directed = directed;
 		this.edgeBased = edgeBased;
+		this.binary = binary;
+	}
+
+	/**
+	 * @param directed true iff the graph is directed
+	 * @return the format of a graph stored in the binary CSR format
+	 */
+	public static GraphFormat binary(boolean directed) {
+		return new GraphFormat(directed, false, true);
 	}
 
 	/**
@@ -51,9 +75,16 @@ public final class GraphFormat implements Serializable {
 		return edgeBased;
 	}
 
+	/**
+	 * @return true iff the graph is stored in the binary CSR format
+	 */
+	public boolean isBinary() {
+		return binary;
+	}
+
 	@Override
 	public String toString() {
 		return "(" + (directed ? "directed" : "undirected") + "," +
-				(edgeBased ? "edge-based" : "vertex-based") + ")";
+				(binary ? "binary-csr" : (edgeBased ? "edge-based" : "vertex-based")) + ")";
 	}
 }
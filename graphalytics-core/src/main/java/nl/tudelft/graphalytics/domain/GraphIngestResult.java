@@ -0,0 +1,120 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+
+/**
+ * Results of uploading a graph to a platform and deleting it afterwards. Includes the duration of both operations,
+ * the size of the uploaded graph data, and a flag for successful completion of the upload.
+ *
+ * @author Tim Hegeman
+ */
+public final class GraphIngestResult implements Serializable {
+
+	private static final long serialVersionUID = 5383196766076622540L;
+
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+	private final Graph graph;
+	private final long uploadTimeInNanos;
+	private final long deleteTimeInNanos;
+	private final long bytesIngested;
+	private final boolean uploadedSuccessfully;
+
+	/**
+	 * @param graph                the graph that was uploaded
+	 * @param uploadTimeInNanos    the duration of the upload in nanoseconds
+	 * @param deleteTimeInNanos    the duration of the deletion in nanoseconds, or zero if the graph was not deleted
+	 * @param bytesIngested        the size of the graph data read by the platform, or -1 if unknown
+	 * @param uploadedSuccessfully true iff the upload completed successfully
+	 */
+	public GraphIngestResult(Graph graph, long uploadTimeInNanos, long deleteTimeInNanos, long bytesIngested,
+	                         boolean uploadedSuccessfully) {
+		if (graph == null)
+			throw new IllegalArgumentException("Parameter \"graph\" must not be null.");
+
+		this.graph = graph;
+		this.uploadTimeInNanos = uploadTimeInNanos;
+		this.deleteTimeInNanos = deleteTimeInNanos;
+		this.bytesIngested = bytesIngested;
+		this.uploadedSuccessfully = uploadedSuccessfully;
+	}
+
+	/**
+	 * @return the graph that was uploaded
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the duration of the upload in nanoseconds
+	 */
+	public long getUploadTimeInNanos() {
+		return uploadTimeInNanos;
+	}
+
+	/**
+	 * @return the duration of the upload in seconds
+	 */
+	public double getUploadTimeInSeconds() {
+		return uploadTimeInNanos / NANOSECONDS_PER_SECOND;
+	}
+
+	/**
+	 * @return the duration of the deletion in nanoseconds, or zero if the graph was not deleted
+	 */
+	public long getDeleteTimeInNanos() {
+		return deleteTimeInNanos;
+	}
+
+	/**
+	 * @return the duration of the deletion in seconds, or zero if the graph was not deleted
+	 */
+	public double getDeleteTimeInSeconds() {
+		return deleteTimeInNanos / NANOSECONDS_PER_SECOND;
+	}
+
+	/**
+	 * @return the size of the graph data read by the platform, or -1 if unknown
+	 */
+	public long getBytesIngested() {
+		return bytesIngested;
+	}
+
+	/**
+	 * @return true iff the upload completed successfully
+	 */
+	public boolean isUploadedSuccessfully() {
+		return uploadedSuccessfully;
+	}
+
+	/**
+	 * @return the number of edges of the graph ingested per second, or zero if the upload took no measurable time
+	 */
+	public double getEdgesPerSecond() {
+		return uploadTimeInNanos > 0 ? graph.getNumberOfEdges() / getUploadTimeInSeconds() : 0.0;
+	}
+
+	/**
+	 * @return the number of bytes of graph data ingested per second, or zero if unknown
+	 */
+	public double getBytesPerSecond() {
+		return uploadTimeInNanos > 0 && bytesIngested >= 0 ? bytesIngested / getUploadTimeInSeconds() : 0.0;
+	}
+
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garbage collection and memory allocation in the JVM of the benchmark driver during the measured executions of a
+ * benchmark. Counters are accumulated over the calls to the platform's executeAlgorithmOnGraph method only, so they are
+ * meaningful for JVM-based platforms that execute algorithms in the driver's JVM (or in a child JVM when benchmarks are
+ * isolated). Allocation is measured per thread; allocations by threads that terminated during a measurement are lost.
+ *
+ * @author Tim Hegeman
+ */
+public final class JvmUsage implements Serializable {
+
+	private static final long serialVersionUID = 7157853321351546715L;
+
+	private final int numberOfMeasurements;
+	private final long measuredTimeInNanos;
+	private final List<GarbageCollectorUsage> garbageCollectors;
+	private final List<MemoryPoolUsage> memoryPools;
+	private final long allocatedBytes;
+
+	/**
+	 * @param numberOfMeasurements the number of measured executions
+	 * @param measuredTimeInNanos  the total duration of the measured executions in nanoseconds
+	 * @param garbageCollectors    the activity of each garbage collector during the measured executions
+	 * @param memoryPools          the peak usage of each memory pool during the measured executions
+	 * @param allocatedBytes       the number of bytes allocated during the measured executions, or -1 if unknown
+	 */
+	public JvmUsage(int numberOfMeasurements, long measuredTimeInNanos, List<GarbageCollectorUsage> garbageCollectors,
+			List<MemoryPoolUsage> memoryPools, long allocatedBytes) {
+		this.numberOfMeasurements = numberOfMeasurements;
+		this.measuredTimeInNanos = measuredTimeInNanos;
+		this.garbageCollectors = Collections.unmodifiableList(new ArrayList<>(garbageCollectors));
+		this.memoryPools = Collections.unmodifiableList(new ArrayList<>(memoryPools));
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * @return a JvmUsage without measurements
+	 */
+	public static JvmUsage empty() {
+		return new JvmUsage(0, 0L, Collections.<GarbageCollectorUsage>emptyList(),
+				Collections.<MemoryPoolUsage>emptyList(), -1L);
+	}
+
+	/**
+	 * @return true iff no executions were measured
+	 */
+	public boolean isEmpty() {
+		return numberOfMeasurements == 0;
+	}
+
+	/**
+	 * @return the number of measured executions
+	 */
+	public int getNumberOfMeasurements() {
+		return numberOfMeasurements;
+	}
+
+	/**
+	 * @return the total duration of the measured executions in nanoseconds
+	 */
+	public long getMeasuredTimeInNanos() {
+		return measuredTimeInNanos;
+	}
+
+	/**
+	 * @return the activity of each garbage collector during the measured executions
+	 */
+	public List<GarbageCollectorUsage> getGarbageCollectors() {
+		return garbageCollectors;
+	}
+
+	/**
+	 * @return the peak usage of each memory pool during the measured executions
+	 */
+	public List<MemoryPoolUsage> getMemoryPools() {
+		return memoryPools;
+	}
+
+	/**
+	 * @return the total number of collections performed by all garbage collectors
+	 */
+	public long getGcCount() {
+		long total = 0L;
+		for (GarbageCollectorUsage collector : garbageCollectors) {
+			total += collector.getCount();
+		}
+		return total;
+	}
+
+	/**
+	 * @return the total time spent in all garbage collectors in milliseconds
+	 */
+	public long getGcTimeInMillis() {
+		long total = 0L;
+		for (GarbageCollectorUsage collector : garbageCollectors) {
+			total += collector.getTimeInMillis();
+		}
+		return total;
+	}
+
+	/**
+	 * Computes the fraction of the measured time spent in garbage collection. Time reported by concurrent collectors
+	 * overlaps with the execution of the application, so the result is an upper bound for such collectors.
+	 *
+	 * @return the fraction of the measured time spent in garbage collection, between 0 and 1
+	 */
+	public double getGcOverhead() {
+		if (measuredTimeInNanos <= 0) {
+			return 0.0;
+		}
+		return Math.min(1.0, (double)TimeUnit.MILLISECONDS.toNanos(getGcTimeInMillis()) / measuredTimeInNanos);
+	}
+
+	/**
+	 * @return true iff the number of allocated bytes was measured
+	 */
+	public boolean isAllocationMeasured() {
+		return allocatedBytes >= 0;
+	}
+
+	/**
+	 * @return the number of bytes allocated during the measured executions, or -1 if unknown
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * @return the number of bytes allocated per second of measured execution, or 0 if unknown
+	 */
+	public double getAllocationRateInBytesPerSecond() {
+		if (!isAllocationMeasured() || measuredTimeInNanos <= 0) {
+			return 0.0;
+		}
+		return allocatedBytes * (double)TimeUnit.SECONDS.toNanos(1) / measuredTimeInNanos;
+	}
+
+	/**
+	 * @param numberOfEdges the number of edges in the graph the benchmark was executed on
+	 * @return the mean number of bytes allocated per edge by a single execution, or 0 if unknown
+	 */
+	public double getAllocatedBytesPerEdge(long numberOfEdges) {
+		if (!isAllocationMeasured() || numberOfMeasurements == 0 || numberOfEdges <= 0) {
+			return 0.0;
+		}
+		return (double)allocatedBytes / numberOfMeasurements / numberOfEdges;
+	}
+
+	/**
+	 * Activity of a single garbage collector.
+	 */
+	public static final class GarbageCollectorUsage implements Serializable {
+
+		private static final long serialVersionUID = -7260501050548704730L;
+
+		private final String name;
+		private final long count;
+		private final long timeInMillis;
+
+		/**
+		 * @param name         the name of the garbage collector
+		 * @param count        the number of collections performed
+		 * @param timeInMillis the time spent in collections in milliseconds
+		 */
+		public GarbageCollectorUsage(String name, long count, long timeInMillis) {
+			this.name = name;
+			this.count = count;
+			this.timeInMillis = timeInMillis;
+		}
+
+		/**
+		 * @return the name of the garbage collector
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of collections performed
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the time spent in collections in milliseconds
+		 */
+		public long getTimeInMillis() {
+			return timeInMillis;
+		}
+
+	}
+
+	/**
+	 * Peak usage of a single memory pool.
+	 */
+	public static final class MemoryPoolUsage implements Serializable {
+
+		private static final long serialVersionUID = -4137510066926285254L;
+
+		private final String name;
+		private final boolean heap;
+		private final long peakUsedInBytes;
+
+		/**
+		 * @param name            the name of the memory pool
+		 * @param heap            true iff the memory pool is part of the heap
+		 * @param peakUsedInBytes the peak amount of memory used in the pool in bytes
+		 */
+		public MemoryPoolUsage(String name, boolean heap, long peakUsedInBytes) {
+			this.name = name;
+			this.heap = heap;
+			this.peakUsedInBytes = peakUsedInBytes;
+		}
+
+		/**
+		 * @return the name of the memory pool
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return true iff the memory pool is part of the heap
+		 */
+		public boolean isHeap() {
+			return heap;
+		}
+
+		/**
+		 * @return the peak amount of memory used in the pool in bytes
+		 */
+		public long getPeakUsedInBytes() {
+			return peakUsedInBytes;
+		}
+
+	}
+
+}
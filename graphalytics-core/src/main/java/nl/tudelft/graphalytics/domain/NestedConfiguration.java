@@ -32,6 +32,8 @@ import java.util.*;
  */
 public final class NestedConfiguration implements Serializable {
 
+	private static final long serialVersionUID = 8285895133710060442L;
+
 	private final Map<String, String> properties;
 	private final String sourceName;
 	private final NestedConfiguration baseConfiguration;
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Breakdown of the execution of a benchmark on a platform into named phases, e.g., loading the graph, computation,
+ * and writing back the results. Phases may be nested, e.g., individual supersteps within the computation phase.
+ * Timings are reported by the platform using a {@link nl.tudelft.graphalytics.TimingContext TimingContext}.
+ *
+ * @author Tim Hegeman
+ */
+public final class PhaseTimings implements Serializable {
+
+	private static final long serialVersionUID = 7601235304333996373L;
+
+	private static final PhaseTimings EMPTY = new PhaseTimings(Collections.<Phase>emptyList());
+
+	private final List<Phase> phases;
+
+	/**
+	 * @param phases all phases in order of their start time, with every phase following its parent
+	 */
+	public PhaseTimings(List<Phase> phases) {
+		this.phases = Collections.unmodifiableList(new ArrayList<>(phases));
+	}
+
+	/**
+	 * @return a PhaseTimings object without any phases, for platforms that do not report phases
+	 */
+	public static PhaseTimings empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @return true iff no phases were reported
+	 */
+	public boolean isEmpty() {
+		return phases.isEmpty();
+	}
+
+	/**
+	 * @return all phases in order of their start time
+	 */
+	public List<Phase> getPhases() {
+		return phases;
+	}
+
+	/**
+	 * @return the phases that are not nested in another phase, in order of their start time
+	 */
+	public List<Phase> getTopLevelPhases() {
+		List<Phase> topLevelPhases = new ArrayList<>();
+		for (Phase phase : phases) {
+			if (phase.getDepth() == 0) {
+				topLevelPhases.add(phase);
+			}
+		}
+		return topLevelPhases;
+	}
+
+	/**
+	 * @param parent a phase
+	 * @return the phases directly nested in the given phase, in order of their start time
+	 */
+	public List<Phase> getSubphases(Phase parent) {
+		List<Phase> subphases = new ArrayList<>();
+		String prefix = parent.getPath() + Phase.PATH_SEPARATOR;
+		for (Phase phase : phases) {
+			if (phase.getDepth() == parent.getDepth() + 1 && phase.getPath().startsWith(prefix)) {
+				subphases.add(phase);
+			}
+		}
+		return subphases;
+	}
+
+	/**
+	 * @return the sum of the durations of all top-level phases in nanoseconds
+	 */
+	public long getTotalDurationInNanos() {
+		long total = 0;
+		for (Phase phase : phases) {
+			if (phase.getDepth() == 0) {
+				total += phase.getDurationInNanos();
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * A single timed phase.
+	 */
+	public static final class Phase implements Serializable {
+
+		private static final long serialVersionUID = -2336032096721465587L;
+
+		/**
+		 * Separator between the names of nested phases in the path of a phase.
+		 */
+		public static final String PATH_SEPARATOR = "/";
+
+		private final String path;
+		private final int depth;
+		private final long startOffsetInNanos;
+		private final long durationInNanos;
+
+		/**
+		 * @param path               the names of the enclosing phases and this phase, separated by PATH_SEPARATOR
+		 * @param startOffsetInNanos the start of the phase relative to the start of the first phase
+		 * @param durationInNanos    the duration of the phase
+		 */
+		public Phase(String path, long startOffsetInNanos, long durationInNanos) {
+			if (path == null || path.isEmpty())
+				throw new IllegalArgumentException("Parameter \"path\" must not be null or empty.");
+			if (durationInNanos < 0)
+				throw new IllegalArgumentException("Parameter \"durationInNanos\" must not be negative.");
+
+			this.path = path;
+			this.depth = countSeparators(path);
+			this.startOffsetInNanos = startOffsetInNanos;
+			this.durationInNanos = durationInNanos;
+		}
+
+		private static int countSeparators(String path) {
+			int count = 0;
+			for (int index = path.indexOf(PATH_SEPARATOR); index >= 0;
+			     index = path.indexOf(PATH_SEPARATOR, index + 1)) {
+				count++;
+			}
+			return count;
+		}
+
+		/**
+		 * @return the name of this phase, excluding the names of enclosing phases
+		 */
+		public String getName() {
+			return path.substring(path.lastIndexOf(PATH_SEPARATOR) + 1);
+		}
+
+		/**
+		 * @return the names of the enclosing phases and this phase, separated by PATH_SEPARATOR
+		 */
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * @return the number of phases enclosing this phase
+		 */
+		public int getDepth() {
+			return depth;
+		}
+
+		/**
+		 * @return the start of the phase in nanoseconds, relative to the start of the first phase
+		 */
+		public long getStartOffsetInNanos() {
+			return startOffsetInNanos;
+		}
+
+		/**
+		 * @return the duration of the phase in nanoseconds
+		 */
+		public long getDurationInNanos() {
+			return durationInNanos;
+		}
+
+		/**
+		 * @return the duration of the phase in seconds
+		 */
+		public double getDurationInSeconds() {
+			return durationInNanos / 1e9;
+		}
+
+		@Override
+		public String toString() {
+			return path + " (" + durationInNanos + " ns)";
+		}
+
+	}
+
+}
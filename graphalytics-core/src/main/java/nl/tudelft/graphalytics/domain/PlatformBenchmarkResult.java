@@ -24,13 +24,28 @@ import java.io.Serializable;
  */
 public final class PlatformBenchmarkResult implements Serializable {
 
+	private static final long serialVersionUID = 6736191294683397646L;
+
 	private final NestedConfiguration platformConfiguration;
+	private final PhaseTimings phaseTimings;
 
 	/**
 	 * @param platformConfiguration platform-specific configuration used for this benchmark
 	 */
 	public PlatformBenchmarkResult(NestedConfiguration platformConfiguration) {
+		this(platformConfiguration, PhaseTimings.empty());
+	}
+
+	/**
+	 * @param platformConfiguration platform-specific configuration used for this benchmark
+	 * @param phaseTimings          breakdown of the benchmark execution into phases
+	 */
+	public PlatformBenchmarkResult(NestedConfiguration platformConfiguration, PhaseTimings phaseTimings) {
+		if (phaseTimings == null)
+			throw new IllegalArgumentException("Parameter \"phaseTimings\" must not be null.");
+
 		this.platformConfiguration = platformConfiguration;
+		this.phaseTimings = phaseTimings;
 	}
 
 	/**
@@ -40,4 +55,11 @@ public final class PlatformBenchmarkResult implements Serializable {
 		return platformConfiguration;
 	}
 
+	/**
+	 * @return breakdown of the benchmark execution into phases, empty if the platform does not report phases
+	 */
+	public PhaseTimings getPhaseTimings() {
+		return phaseTimings;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a Java Flight Recorder recording of the measured executions of a benchmark. Lists the methods that were
+ * most frequently sampled at the top of the stack (i.e., hot methods), and the classes of the monitors and locks on
+ * which threads were blocked for the longest time. The full recording is stored in the report directory.
+ *
+ * @author Tim Hegeman
+ */
+public final class ProfileSummary implements Serializable {
+
+	private static final long serialVersionUID = -8223140465710455680L;
+
+	private final String name;
+	private final long numberOfExecutionSamples;
+	private final List<HotMethod> hotMethods;
+	private final List<LockContention> lockContention;
+
+	/**
+	 * @param name                     the base name of the recording file and profile page
+	 * @param numberOfExecutionSamples the total number of execution samples in the recording
+	 * @param hotMethods               the most frequently sampled methods, in descending order of samples
+	 * @param lockContention           the most contended locks, in descending order of total blocked time
+	 */
+	public ProfileSummary(String name, long numberOfExecutionSamples, List<HotMethod> hotMethods,
+			List<LockContention> lockContention) {
+		this.name = name;
+		this.numberOfExecutionSamples = numberOfExecutionSamples;
+		this.hotMethods = Collections.unmodifiableList(new ArrayList<>(hotMethods));
+		this.lockContention = Collections.unmodifiableList(new ArrayList<>(lockContention));
+	}
+
+	/**
+	 * @return a ProfileSummary for a benchmark that was not profiled
+	 */
+	public static ProfileSummary empty() {
+		return new ProfileSummary("", 0L, Collections.<HotMethod>emptyList(),
+				Collections.<LockContention>emptyList());
+	}
+
+	/**
+	 * @return true iff the benchmark was not profiled
+	 */
+	public boolean isEmpty() {
+		return name.isEmpty();
+	}
+
+	/**
+	 * @return the base name of the recording file (with extension ".jfr") and profile page (with extension ".html")
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the total number of execution samples in the recording
+	 */
+	public long getNumberOfExecutionSamples() {
+		return numberOfExecutionSamples;
+	}
+
+	/**
+	 * @return the most frequently sampled methods, in descending order of samples
+	 */
+	public List<HotMethod> getHotMethods() {
+		return hotMethods;
+	}
+
+	/**
+	 * @return the most contended locks, in descending order of total blocked time
+	 */
+	public List<LockContention> getLockContention() {
+		return lockContention;
+	}
+
+	/**
+	 * A method and the number of execution samples in which it was at the top of the stack.
+	 */
+	public static final class HotMethod implements Serializable {
+
+		private static final long serialVersionUID = -4300350005755823887L;
+
+		private final String method;
+		private final long samples;
+		private final double fraction;
+
+		/**
+		 * @param method   the fully qualified name of the method
+		 * @param samples  the number of samples in which the method was at the top of the stack
+		 * @param fraction the fraction of all execution samples in which the method was at the top of the stack
+		 */
+		public HotMethod(String method, long samples, double fraction) {
+			this.method = method;
+			this.samples = samples;
+			this.fraction = fraction;
+		}
+
+		/**
+		 * @return the fully qualified name of the method
+		 */
+		public String getMethod() {
+			return method;
+		}
+
+		/**
+		 * @return the number of samples in which the method was at the top of the stack
+		 */
+		public long getSamples() {
+			return samples;
+		}
+
+		/**
+		 * @return the fraction of all execution samples in which the method was at the top of the stack
+		 */
+		public double getFraction() {
+			return fraction;
+		}
+
+	}
+
+	/**
+	 * The time threads spent blocked on a single class of monitors or locks.
+	 */
+	public static final class LockContention implements Serializable {
+
+		private static final long serialVersionUID = -3333465702271979783L;
+
+		private final String lockClass;
+		private final String kind;
+		private final long count;
+		private final long totalDurationInNanos;
+		private final long maxDurationInNanos;
+
+		/**
+		 * @param lockClass            the class of the monitor or lock owner
+		 * @param kind                 the kind of blocking, e.g., "monitor enter" or "park"
+		 * @param count                the number of times a thread was blocked
+		 * @param totalDurationInNanos the total time threads were blocked in nanoseconds
+		 * @param maxDurationInNanos   the longest time a thread was blocked in nanoseconds
+		 */
+		public LockContention(String lockClass, String kind, long count, long totalDurationInNanos,
+				long maxDurationInNanos) {
+			this.lockClass = lockClass;
+			this.kind = kind;
+			this.count = count;
+			this.totalDurationInNanos = totalDurationInNanos;
+			this.maxDurationInNanos = maxDurationInNanos;
+		}
+
+		/**
+		 * @return the class of the monitor or lock owner
+		 */
+		public String getLockClass() {
+			return lockClass;
+		}
+
+		/**
+		 * @return the kind of blocking, e.g., "monitor enter" or "park"
+		 */
+		public String getKind() {
+			return kind;
+		}
+
+		/**
+		 * @return the number of times a thread was blocked
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the total time threads were blocked in nanoseconds
+		 */
+		public long getTotalDurationInNanos() {
+			return totalDurationInNanos;
+		}
+
+		/**
+		 * @return the longest time a thread was blocked in nanoseconds
+		 */
+		public long getMaxDurationInNanos() {
+			return maxDurationInNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import nl.tudelft.graphalytics.util.LatencyHistogram;
+
+import java.io.Serializable;
+
+/**
+ * Latency distribution and throughput of a stream of queries (e.g., BFS from many source vertices) executed on an
+ * uploaded graph by a number of concurrent clients. Percentiles are derived from a histogram with a relative error
+ * below 1%; all latencies are expressed in nanoseconds. A stream in which a query exceeded the timeout of the benchmark
+ * is cancelled, and only the queries executed until then are included.
+ *
+ * @author Tim Hegeman
+ */
+public final class QueryLatency implements Serializable {
+
+	private static final long serialVersionUID = 7071753502556449418L;
+
+	private final long numberOfQueries;
+	private final long numberOfFailedQueries;
+	private final int concurrency;
+	private final long durationInNanos;
+	private final long minimum;
+	private final double mean;
+	private final long p50;
+	private final long p95;
+	private final long p99;
+	private final long p999;
+	private final long maximum;
+	private final boolean timedOut;
+
+	private QueryLatency(long numberOfQueries, long numberOfFailedQueries, int concurrency, long durationInNanos,
+			long minimum, double mean, long p50, long p95, long p99, long p999, long maximum, boolean timedOut) {
+		this.numberOfQueries = numberOfQueries;
+		this.numberOfFailedQueries = numberOfFailedQueries;
+		this.concurrency = concurrency;
+		this.durationInNanos = durationInNanos;
+		this.minimum = minimum;
+		this.mean = mean;
+		this.p50 = p50;
+		this.p95 = p95;
+		this.p99 = p99;
+		this.p999 = p999;
+		this.maximum = maximum;
+		this.timedOut = timedOut;
+	}
+
+	/**
+	 * @return an empty QueryLatency, for benchmarks without a query stream
+	 */
+	public static QueryLatency empty() {
+		return new QueryLatency(0, 0, 0, 0, 0, 0.0, 0, 0, 0, 0, 0, false);
+	}
+
+	/**
+	 * @param latencies             the latencies of the successful queries in nanoseconds
+	 * @param numberOfFailedQueries the number of queries that failed
+	 * @param concurrency           the number of clients that executed queries concurrently
+	 * @param durationInNanos       the time from the start of the first query to the end of the last query
+	 * @param timedOut              true iff the stream was cancelled because a query exceeded the timeout
+	 * @return the latency distribution and throughput of the query stream
+	 */
+	public static QueryLatency fromHistogram(LatencyHistogram latencies, long numberOfFailedQueries, int concurrency,
+			long durationInNanos, boolean timedOut) {
+		return new QueryLatency(latencies.getTotalCount() + numberOfFailedQueries, numberOfFailedQueries,
+				concurrency, durationInNanos, latencies.getMinimum(), latencies.getMean(),
+				latencies.getValueAtPercentile(50.0), latencies.getValueAtPercentile(95.0),
+				latencies.getValueAtPercentile(99.0), latencies.getValueAtPercentile(99.9), latencies.getMaximum(),
+				timedOut);
+	}
+
+	/**
+	 * @return true iff no queries were executed
+	 */
+	public boolean isEmpty() {
+		return numberOfQueries == 0;
+	}
+
+	/**
+	 * @return true iff the stream was cancelled because a query exceeded the timeout of the benchmark
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
+	/**
+	 * @return the number of executed queries, including failed queries
+	 */
+	public long getNumberOfQueries() {
+		return numberOfQueries;
+	}
+
+	/**
+	 * @return the number of queries that failed, which are excluded from the latency distribution
+	 */
+	public long getNumberOfFailedQueries() {
+		return numberOfFailedQueries;
+	}
+
+	/**
+	 * @return the number of clients that executed queries concurrently
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * @return the time from the start of the first query to the end of the last query in nanoseconds
+	 */
+	public long getDurationInNanos() {
+		return durationInNanos;
+	}
+
+	/**
+	 * @return the number of successful queries completed per second
+	 */
+	public double getQueriesPerSecond() {
+		return durationInNanos > 0 ? (numberOfQueries - numberOfFailedQueries) * 1e9 / durationInNanos : 0.0;
+	}
+
+	/**
+	 * @return the lowest latency
+	 */
+	public long getMinimum() {
+		return minimum;
+	}
+
+	/**
+	 * @return the mean latency
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * @return the median latency
+	 */
+	public long getP50() {
+		return p50;
+	}
+
+	/**
+	 * @return the 95th percentile of the latency
+	 */
+	public long getP95() {
+		return p95;
+	}
+
+	/**
+	 * @return the 99th percentile of the latency
+	 */
+	public long getP99() {
+		return p99;
+	}
+
+	/**
+	 * @return the 99.9th percentile of the latency
+	 */
+	public long getP999() {
+		return p999;
+	}
+
+	/**
+	 * @return the highest latency
+	 */
+	public long getMaximum() {
+		return maximum;
+	}
+
+}
@@ -0,0 +1,295 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resource usage of the machine running the benchmark driver during the execution of a benchmark, sampled at a fixed
+ * interval. Includes a time series of samples and summary statistics that indicate whether a platform is CPU-,
+ * memory-, or IO-bound. The memory usage of the driver process (resident set size) is only meaningful for platforms
+ * that execute algorithms in the driver's JVM.
+ *
+ * @author Tim Hegeman
+ */
+public final class ResourceUsage implements Serializable {
+
+	private static final long serialVersionUID = 4729036994896172163L;
+
+	private final long samplingIntervalInMillis;
+	private final List<Sample> samples;
+
+	/**
+	 * @param samplingIntervalInMillis the time between two consecutive samples in milliseconds
+	 * @param samples                  the samples in chronological order
+	 */
+	public ResourceUsage(long samplingIntervalInMillis, List<Sample> samples) {
+		this.samplingIntervalInMillis = samplingIntervalInMillis;
+		this.samples = Collections.unmodifiableList(new ArrayList<>(samples));
+	}
+
+	/**
+	 * @return a ResourceUsage without samples
+	 */
+	public static ResourceUsage empty() {
+		return new ResourceUsage(0L, Collections.<Sample>emptyList());
+	}
+
+	/**
+	 * @return true iff no samples were recorded
+	 */
+	public boolean isEmpty() {
+		return samples.isEmpty();
+	}
+
+	/**
+	 * @return the time between two consecutive samples in milliseconds
+	 */
+	public long getSamplingIntervalInMillis() {
+		return samplingIntervalInMillis;
+	}
+
+	/**
+	 * @return the number of samples
+	 */
+	public int getNumberOfSamples() {
+		return samples.size();
+	}
+
+	/**
+	 * @return the samples in chronological order
+	 */
+	public List<Sample> getSamples() {
+		return samples;
+	}
+
+	/**
+	 * @return the peak resident set size of the driver process in bytes
+	 */
+	public long getPeakResidentSetSizeInBytes() {
+		long peak = 0L;
+		for (Sample sample : samples) {
+			peak = Math.max(peak, sample.getResidentSetSizeInBytes());
+		}
+		return peak;
+	}
+
+	/**
+	 * @return the peak amount of memory in use on the machine in bytes
+	 */
+	public long getPeakMemoryUsedInBytes() {
+		long peak = 0L;
+		for (Sample sample : samples) {
+			peak = Math.max(peak, sample.getMemoryUsedInBytes());
+		}
+		return peak;
+	}
+
+	/**
+	 * @return the mean fraction of CPU time spent on non-idle tasks across all cores, weighted by the duration of each
+	 * sampling interval, between 0 and 1
+	 */
+	public double getMeanCpuUtilization() {
+		double total = 0.0;
+		long previousOffset = 0L;
+		for (Sample sample : samples) {
+			total += sample.getCpuUtilization() * (sample.getTimeOffsetInMillis() - previousOffset);
+			previousOffset = sample.getTimeOffsetInMillis();
+		}
+		return previousOffset > 0 ? total / previousOffset : 0.0;
+	}
+
+	/**
+	 * @return the peak fraction of CPU time spent on non-idle tasks across all cores, between 0 and 1
+	 */
+	public double getPeakCpuUtilization() {
+		double peak = 0.0;
+		for (Sample sample : samples) {
+			peak = Math.max(peak, sample.getCpuUtilization());
+		}
+		return peak;
+	}
+
+	/**
+	 * @return the mean fraction of CPU time spent idle while waiting for IO, weighted by the duration of each
+	 * sampling interval, between 0 and 1
+	 */
+	public double getMeanIoWait() {
+		double total = 0.0;
+		long previousOffset = 0L;
+		for (Sample sample : samples) {
+			total += sample.getIoWait() * (sample.getTimeOffsetInMillis() - previousOffset);
+			previousOffset = sample.getTimeOffsetInMillis();
+		}
+		return previousOffset > 0 ? total / previousOffset : 0.0;
+	}
+
+	/**
+	 * @return the total number of bytes read from disk
+	 */
+	public long getDiskBytesRead() {
+		long total = 0L;
+		for (Sample sample : samples) {
+			total += sample.getDiskBytesRead();
+		}
+		return total;
+	}
+
+	/**
+	 * @return the total number of bytes written to disk
+	 */
+	public long getDiskBytesWritten() {
+		long total = 0L;
+		for (Sample sample : samples) {
+			total += sample.getDiskBytesWritten();
+		}
+		return total;
+	}
+
+	/**
+	 * @return the total number of bytes received over the network, excluding the loopback interface
+	 */
+	public long getNetworkBytesReceived() {
+		long total = 0L;
+		for (Sample sample : samples) {
+			total += sample.getNetworkBytesReceived();
+		}
+		return total;
+	}
+
+	/**
+	 * @return the total number of bytes sent over the network, excluding the loopback interface
+	 */
+	public long getNetworkBytesSent() {
+		long total = 0L;
+		for (Sample sample : samples) {
+			total += sample.getNetworkBytesSent();
+		}
+		return total;
+	}
+
+	/**
+	 * Resource usage during a single sampling interval. CPU, disk, and network usage cover the interval ending at the
+	 * time of the sample; memory usage is measured at the time of the sample.
+	 */
+	public static final class Sample implements Serializable {
+
+		private static final long serialVersionUID = -3955517660057617114L;
+
+		private final long timeOffsetInMillis;
+		private final double cpuUtilization;
+		private final double ioWait;
+		private final long memoryUsedInBytes;
+		private final long residentSetSizeInBytes;
+		private final long diskBytesRead;
+		private final long diskBytesWritten;
+		private final long networkBytesReceived;
+		private final long networkBytesSent;
+
+		/**
+		 * @param timeOffsetInMillis     the time of the sample relative to the start of the benchmark
+		 * @param cpuUtilization         the fraction of CPU time spent on non-idle tasks
+		 * @param ioWait                 the fraction of CPU time spent idle while waiting for IO
+		 * @param memoryUsedInBytes      the amount of memory in use on the machine
+		 * @param residentSetSizeInBytes the resident set size of the driver process
+		 * @param diskBytesRead          the number of bytes read from disk
+		 * @param diskBytesWritten       the number of bytes written to disk
+		 * @param networkBytesReceived   the number of bytes received over the network
+		 * @param networkBytesSent       the number of bytes sent over the network
+		 */
+		public Sample(long timeOffsetInMillis, double cpuUtilization, double ioWait, long memoryUsedInBytes,
+				long residentSetSizeInBytes, long diskBytesRead, long diskBytesWritten, long networkBytesReceived,
+				long networkBytesSent) {
+			this.timeOffsetInMillis = timeOffsetInMillis;
+			this.cpuUtilization = cpuUtilization;
+			this.ioWait = ioWait;
+			this.memoryUsedInBytes = memoryUsedInBytes;
+			this.residentSetSizeInBytes = residentSetSizeInBytes;
+			this.diskBytesRead = diskBytesRead;
+			this.diskBytesWritten = diskBytesWritten;
+			this.networkBytesReceived = networkBytesReceived;
+			this.networkBytesSent = networkBytesSent;
+		}
+
+		/**
+		 * @return the time of the sample relative to the start of the benchmark in milliseconds
+		 */
+		public long getTimeOffsetInMillis() {
+			return timeOffsetInMillis;
+		}
+
+		/**
+		 * @return the fraction of CPU time spent on non-idle tasks across all cores, between 0 and 1
+		 */
+		public double getCpuUtilization() {
+			return cpuUtilization;
+		}
+
+		/**
+		 * @return the fraction of CPU time spent idle while waiting for IO, between 0 and 1
+		 */
+		public double getIoWait() {
+			return ioWait;
+		}
+
+		/**
+		 * @return the amount of memory in use on the machine in bytes, excluding reclaimable caches
+		 */
+		public long getMemoryUsedInBytes() {
+			return memoryUsedInBytes;
+		}
+
+		/**
+		 * @return the resident set size of the driver process in bytes
+		 */
+		public long getResidentSetSizeInBytes() {
+			return residentSetSizeInBytes;
+		}
+
+		/**
+		 * @return the number of bytes read from disk during the interval
+		 */
+		public long getDiskBytesRead() {
+			return diskBytesRead;
+		}
+
+		/**
+		 * @return the number of bytes written to disk during the interval
+		 */
+		public long getDiskBytesWritten() {
+			return diskBytesWritten;
+		}
+
+		/**
+		 * @return the number of bytes received over the network during the interval
+		 */
+		public long getNetworkBytesReceived() {
+			return networkBytesReceived;
+		}
+
+		/**
+		 * @return the number of bytes sent over the network during the interval
+		 */
+		public long getNetworkBytesSent() {
+			return networkBytesSent;
+		}
+
+	}
+
+}
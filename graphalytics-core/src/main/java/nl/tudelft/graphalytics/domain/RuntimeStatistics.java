@@ -0,0 +1,168 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Summary statistics of the runtimes measured in repeated executions of a benchmark. All statistics are expressed in
+ * seconds. The confidence interval of the mean assumes normally distributed samples and uses Student's
+ * t-distribution, so it remains meaningful for the small number of repetitions typically used in a benchmark.
+ *
+ * @author Tim Hegeman
+ */
+public final class RuntimeStatistics implements Serializable {
+
+	private static final long serialVersionUID = 5780729732018411574L;
+
+	/**
+	 * Two-sided 97.5th percentiles of Student's t-distribution for 1 to 30 degrees of freedom.
+	 */
+	private static final double[] T_VALUES_95 = {
+			12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+			2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+			2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+	};
+	/**
+	 * Percentile of the normal distribution, used for more than 30 degrees of freedom.
+	 */
+	private static final double Z_VALUE_95 = 1.960;
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+	private final int numberOfSamples;
+	private final double minimum;
+	private final double maximum;
+	private final double median;
+	private final double mean;
+	private final double standardDeviation;
+	private final double confidenceIntervalHalfWidth;
+
+	private RuntimeStatistics(int numberOfSamples, double minimum, double maximum, double median, double mean,
+	                          double standardDeviation, double confidenceIntervalHalfWidth) {
+		this.numberOfSamples = numberOfSamples;
+		this.minimum = minimum;
+		this.maximum = maximum;
+		this.median = median;
+		this.mean = mean;
+		this.standardDeviation = standardDeviation;
+		this.confidenceIntervalHalfWidth = confidenceIntervalHalfWidth;
+	}
+
+	/**
+	 * @param samplesInNanos the measured runtimes in nanoseconds
+	 * @return the statistics of the samples, all zero if there are no samples
+	 */
+	public static RuntimeStatistics fromSamples(Collection<Long> samplesInNanos) {
+		int n = samplesInNanos.size();
+		if (n == 0) {
+			return new RuntimeStatistics(0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+		}
+
+		double[] samples = new double[n];
+		int index = 0;
+		double sum = 0.0;
+		for (long sample : samplesInNanos) {
+			samples[index] = sample / NANOSECONDS_PER_SECOND;
+			sum += samples[index];
+			index++;
+		}
+		Arrays.sort(samples);
+
+		double mean = sum / n;
+		double median = n % 2 == 1 ? samples[n / 2] : (samples[n / 2 - 1] + samples[n / 2]) / 2.0;
+		double sumOfSquares = 0.0;
+		for (double sample : samples) {
+			sumOfSquares += (sample - mean) * (sample - mean);
+		}
+		double standardDeviation = n > 1 ? Math.sqrt(sumOfSquares / (n - 1)) : 0.0;
+		double confidenceIntervalHalfWidth = n > 1 ?
+				getTValue95(n - 1) * standardDeviation / Math.sqrt(n) : 0.0;
+
+		return new RuntimeStatistics(n, samples[0], samples[n - 1], median, mean, standardDeviation,
+				confidenceIntervalHalfWidth);
+	}
+
+	private static double getTValue95(int degreesOfFreedom) {
+		return degreesOfFreedom <= T_VALUES_95.length ? T_VALUES_95[degreesOfFreedom - 1] : Z_VALUE_95;
+	}
+
+	/**
+	 * @return the number of measured runtimes
+	 */
+	public int getNumberOfSamples() {
+		return numberOfSamples;
+	}
+
+	/**
+	 * @return the shortest measured runtime in seconds
+	 */
+	public double getMinimum() {
+		return minimum;
+	}
+
+	/**
+	 * @return the longest measured runtime in seconds
+	 */
+	public double getMaximum() {
+		return maximum;
+	}
+
+	/**
+	 * @return the median runtime in seconds
+	 */
+	public double getMedian() {
+		return median;
+	}
+
+	/**
+	 * @return the mean runtime in seconds
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * @return the sample standard deviation of the runtimes in seconds, or zero for fewer than two samples
+	 */
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	/**
+	 * @return the half-width of the 95% confidence interval of the mean runtime in seconds, or zero for fewer than two
+	 * samples
+	 */
+	public double getConfidenceIntervalHalfWidth() {
+		return confidenceIntervalHalfWidth;
+	}
+
+	/**
+	 * @return the lower bound of the 95% confidence interval of the mean runtime in seconds, at least zero
+	 */
+	public double getConfidenceIntervalLowerBound() {
+		return Math.max(0.0, mean - confidenceIntervalHalfWidth);
+	}
+
+	/**
+	 * @return the upper bound of the 95% confidence interval of the mean runtime in seconds
+	 */
+	public double getConfidenceIntervalUpperBound() {
+		return mean + confidenceIntervalHalfWidth;
+	}
+
+}
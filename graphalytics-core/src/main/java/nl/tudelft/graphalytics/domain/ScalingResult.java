@@ -0,0 +1,112 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of a scaling sweep, which executes (a subset of) a benchmark suite once for every number of workers in the
+ * sweep. In a strong-scaling sweep every run executes the full benchmark suite; in a weak-scaling sweep every run
+ * executes the benchmarks for a single graph, whose size grows with the number of workers.
+ *
+ * @author Tim Hegeman
+ */
+public final class ScalingResult implements Serializable {
+
+	private static final long serialVersionUID = 7677863326755881866L;
+
+	/**
+	 * The type of scaling measured by a sweep.
+	 */
+	public enum Type {
+		/**
+		 * The same workload is executed with an increasing number of workers.
+		 */
+		STRONG,
+		/**
+		 * The workload grows proportionally to the number of workers.
+		 */
+		WEAK
+	}
+
+	private final Type type;
+	private final BenchmarkSuite benchmarkSuite;
+	private final List<Integer> numbersOfWorkers;
+	private final List<BenchmarkSuiteResult> benchmarkSuiteResults;
+	private final List<String> reportDirectories;
+
+	/**
+	 * @param type                  the type of scaling measured by the sweep
+	 * @param benchmarkSuite        the benchmark suite from which the benchmarks of every run were selected
+	 * @param numbersOfWorkers      the number of workers of each run, in increasing order
+	 * @param benchmarkSuiteResults the results of each run
+	 * @param reportDirectories     the directories, relative to the report of the sweep, containing the report of
+	 *                              each run
+	 * @throws IllegalArgumentException iff the lists differ in size
+	 */
+	public ScalingResult(Type type, BenchmarkSuite benchmarkSuite, List<Integer> numbersOfWorkers,
+			List<BenchmarkSuiteResult> benchmarkSuiteResults, List<String> reportDirectories) {
+		if (numbersOfWorkers.size() != benchmarkSuiteResults.size() ||
+				numbersOfWorkers.size() != reportDirectories.size())
+			throw new IllegalArgumentException("Parameters \"numbersOfWorkers\", \"benchmarkSuiteResults\", and " +
+					"\"reportDirectories\" must have equal size.");
+
+		this.type = type;
+		this.benchmarkSuite = benchmarkSuite;
+		this.numbersOfWorkers = Collections.unmodifiableList(new ArrayList<>(numbersOfWorkers));
+		this.benchmarkSuiteResults = Collections.unmodifiableList(new ArrayList<>(benchmarkSuiteResults));
+		this.reportDirectories = Collections.unmodifiableList(new ArrayList<>(reportDirectories));
+	}
+
+	/**
+	 * @return the type of scaling measured by the sweep
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the benchmark suite from which the benchmarks of every run were selected
+	 */
+	public BenchmarkSuite getBenchmarkSuite() {
+		return benchmarkSuite;
+	}
+
+	/**
+	 * @return the number of workers of each run, in increasing order
+	 */
+	public List<Integer> getNumbersOfWorkers() {
+		return numbersOfWorkers;
+	}
+
+	/**
+	 * @return the results of each run, in the order of the numbers of workers
+	 */
+	public List<BenchmarkSuiteResult> getBenchmarkSuiteResults() {
+		return benchmarkSuiteResults;
+	}
+
+	/**
+	 * @return the directories, relative to the report of the sweep, containing the report of each run
+	 */
+	public List<String> getReportDirectories() {
+		return reportDirectories;
+	}
+
+}
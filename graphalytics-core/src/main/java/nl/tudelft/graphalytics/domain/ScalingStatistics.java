@@ -0,0 +1,196 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Strong-scaling statistics of a benchmark executed with an increasing number of workers. Every point is compared to
+ * the baseline, the point with the fewest workers for which the benchmark completed successfully: the speedup is the
+ * ratio of the mean runtime of the baseline to the mean runtime of the point, the parallel efficiency is the speedup
+ * divided by the relative number of workers, and the experimentally determined serial fraction (Karp-Flatt metric)
+ * is (1/speedup - 1/p) / (1 - 1/p) for a relative number of workers p. A serial fraction that grows with the number
+ * of workers indicates parallelization overhead rather than an inherently serial part of the algorithm.
+ *
+ * @author Tim Hegeman
+ */
+public final class ScalingStatistics implements Serializable {
+
+	private static final long serialVersionUID = -8475216109693543793L;
+
+	private final List<Point> points;
+	private final double maximumSpeedup;
+
+	private ScalingStatistics(List<Point> points) {
+		this.points = points;
+		double maximumSpeedup = 1.0;
+		for (Point point : points) {
+			if (point.isCompleted()) {
+				maximumSpeedup = Math.max(maximumSpeedup, Math.max(point.getSpeedup(), point.getIdealSpeedup()));
+			}
+		}
+		this.maximumSpeedup = maximumSpeedup;
+	}
+
+	/**
+	 * @param numbersOfWorkers the numbers of workers, in increasing order
+	 * @param results          the result of the benchmark for each number of workers, or null if the benchmark was not
+	 *                         executed with that number of workers
+	 * @return the scaling statistics of the benchmark
+	 * @throws IllegalArgumentException iff the lists differ in size
+	 */
+	public static ScalingStatistics fromResults(List<Integer> numbersOfWorkers, List<BenchmarkResult> results) {
+		if (numbersOfWorkers.size() != results.size())
+			throw new IllegalArgumentException("Parameters \"numbersOfWorkers\" and \"results\" must have equal size.");
+
+		// Find the baseline
+		int baseline = -1;
+		for (int i = 0; i < results.size() && baseline == -1; i++) {
+			if (isCompleted(results.get(i))) {
+				baseline = i;
+			}
+		}
+
+		List<Point> points = new ArrayList<>();
+		for (int i = 0; i < results.size(); i++) {
+			int numberOfWorkers = numbersOfWorkers.get(i);
+			if (!isCompleted(results.get(i))) {
+				points.add(new Point(numberOfWorkers, false, Double.NaN, Double.NaN, Double.NaN, Double.NaN));
+				continue;
+			}
+
+			double meanRuntime = results.get(i).getRuntimeStatistics().getMean();
+			double relativeWorkers = (double)numberOfWorkers / numbersOfWorkers.get(baseline);
+			double speedup = results.get(baseline).getRuntimeStatistics().getMean() / meanRuntime;
+			double serialFraction = relativeWorkers > 1.0 ?
+					(1.0 / speedup - 1.0 / relativeWorkers) / (1.0 - 1.0 / relativeWorkers) : Double.NaN;
+			points.add(new Point(numberOfWorkers, true, meanRuntime, relativeWorkers, speedup, serialFraction));
+		}
+		return new ScalingStatistics(Collections.unmodifiableList(points));
+	}
+
+	private static boolean isCompleted(BenchmarkResult result) {
+		return result != null && result.isCompletedSuccessfully() &&
+				result.getRuntimeStatistics().getNumberOfSamples() > 0 && result.getRuntimeStatistics().getMean() > 0.0;
+	}
+
+	/**
+	 * @return the statistics for each number of workers, in increasing order of the number of workers
+	 */
+	public List<Point> getPoints() {
+		return points;
+	}
+
+	/**
+	 * @return the number of points, i.e., the number of workers in the sweep
+	 */
+	public int getNumberOfPoints() {
+		return points.size();
+	}
+
+	/**
+	 * @return the largest measured or ideal speedup of any point, at least 1, used to scale charts
+	 */
+	public double getMaximumSpeedup() {
+		return maximumSpeedup;
+	}
+
+	/**
+	 * Scaling statistics of a benchmark for a single number of workers.
+	 */
+	public static final class Point implements Serializable {
+
+		private static final long serialVersionUID = 5250087922492799857L;
+
+		private final int numberOfWorkers;
+		private final boolean completed;
+		private final double meanRuntime;
+		private final double idealSpeedup;
+		private final double speedup;
+		private final double serialFraction;
+
+		private Point(int numberOfWorkers, boolean completed, double meanRuntime, double idealSpeedup,
+				double speedup, double serialFraction) {
+			this.numberOfWorkers = numberOfWorkers;
+			this.completed = completed;
+			this.meanRuntime = meanRuntime;
+			this.idealSpeedup = idealSpeedup;
+			this.speedup = speedup;
+			this.serialFraction = serialFraction;
+		}
+
+		/**
+		 * @return the number of workers
+		 */
+		public int getNumberOfWorkers() {
+			return numberOfWorkers;
+		}
+
+		/**
+		 * @return true iff the benchmark completed successfully with this number of workers
+		 */
+		public boolean isCompleted() {
+			return completed;
+		}
+
+		/**
+		 * @return the mean runtime of the measured repetitions in seconds
+		 */
+		public double getMeanRuntime() {
+			return meanRuntime;
+		}
+
+		/**
+		 * @return the speedup under perfect scaling, i.e., the number of workers relative to the baseline
+		 */
+		public double getIdealSpeedup() {
+			return idealSpeedup;
+		}
+
+		/**
+		 * @return the speedup relative to the baseline
+		 */
+		public double getSpeedup() {
+			return speedup;
+		}
+
+		/**
+		 * @return the parallel efficiency, i.e., the speedup relative to the ideal speedup
+		 */
+		public double getEfficiency() {
+			return speedup / idealSpeedup;
+		}
+
+		/**
+		 * @return true iff the serial fraction is defined, i.e., this point has more workers than the baseline
+		 */
+		public boolean isSerialFractionDefined() {
+			return !Double.isNaN(serialFraction);
+		}
+
+		/**
+		 * @return the experimentally determined serial fraction (Karp-Flatt metric), or NaN for the baseline
+		 */
+		public double getSerialFraction() {
+			return serialFraction;
+		}
+
+	}
+
+}
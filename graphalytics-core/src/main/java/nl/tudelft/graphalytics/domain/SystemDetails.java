@@ -16,7 +16,9 @@
 package nl.tudelft.graphalytics.domain;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,6 +28,8 @@ import java.util.Map;
  */
 public final class SystemDetails implements Serializable {
 
+	private static final long serialVersionUID = 8416741451981327377L;
+
 	private final Map<String, String> properties;
 
 	/**
@@ -48,4 +52,19 @@ public final class SystemDetails implements Serializable {
 	public Map<String, String> getProperties() {
 		return Collections.unmodifiableMap(properties);
 	}
+
+	/**
+	 * @return the names of all properties describing the system
+	 */
+	public List<String> getPropertyNames() {
+		return new ArrayList<>(properties.keySet());
+	}
+
+	/**
+	 * @param property the name of a property
+	 * @return the value of the property, or null if it does not exist
+	 */
+	public String getValueOfProperty(String property) {
+		return properties.get(property);
+	}
 }
@@ -0,0 +1,236 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Weak-scaling statistics of an algorithm executed on graphs whose size grows with the number of workers. The
+ * throughput of every point is expressed in edges and vertices per second (EVPS), i.e., the number of vertices and
+ * edges of the graph divided by the mean runtime, and normalized by the number of workers. Under perfect weak scaling
+ * the EVPS per worker stays constant; the efficiency of every point is its EVPS per worker relative to the baseline,
+ * the point with the fewest workers for which the algorithm completed successfully. The flatness of the sweep is the
+ * ratio of the lowest to the highest EVPS per worker over all completed points.
+ *
+ * @author Tim Hegeman
+ */
+public final class WeakScalingStatistics implements Serializable {
+
+	private static final long serialVersionUID = -3100873807729555262L;
+
+	private final List<Point> points;
+	private final double flatness;
+	private final double coefficientOfVariation;
+	private final double maximumEvpsPerWorker;
+
+	private WeakScalingStatistics(List<Point> points) {
+		this.points = points;
+
+		int completedPoints = 0;
+		double minimum = Double.POSITIVE_INFINITY;
+		double maximum = 0.0;
+		double sum = 0.0;
+		double sumOfSquares = 0.0;
+		for (Point point : points) {
+			if (point.isCompleted()) {
+				completedPoints++;
+				minimum = Math.min(minimum, point.getEvpsPerWorker());
+				maximum = Math.max(maximum, point.getEvpsPerWorker());
+				sum += point.getEvpsPerWorker();
+				sumOfSquares += point.getEvpsPerWorker() * point.getEvpsPerWorker();
+			}
+		}
+		if (completedPoints >= 2) {
+			double mean = sum / completedPoints;
+			double variance = Math.max(0.0, (sumOfSquares - completedPoints * mean * mean) / (completedPoints - 1));
+			this.flatness = minimum / maximum;
+			this.coefficientOfVariation = Math.sqrt(variance) / mean;
+		} else {
+			this.flatness = Double.NaN;
+			this.coefficientOfVariation = Double.NaN;
+		}
+		this.maximumEvpsPerWorker = maximum;
+	}
+
+	/**
+	 * @param numbersOfWorkers the numbers of workers, in increasing order
+	 * @param graphs           the graph processed with each number of workers
+	 * @param results          the result of the algorithm on each graph, or null if the algorithm was not executed on
+	 *                         the graph
+	 * @return the weak-scaling statistics of the algorithm
+	 * @throws IllegalArgumentException iff the lists differ in size
+	 */
+	public static WeakScalingStatistics fromResults(List<Integer> numbersOfWorkers, List<Graph> graphs,
+			List<BenchmarkResult> results) {
+		if (numbersOfWorkers.size() != graphs.size() || numbersOfWorkers.size() != results.size())
+			throw new IllegalArgumentException("Parameters \"numbersOfWorkers\", \"graphs\", and \"results\" must " +
+					"have equal size.");
+
+		List<Point> points = new ArrayList<>();
+		double baselineEvpsPerWorker = Double.NaN;
+		for (int i = 0; i < results.size(); i++) {
+			int numberOfWorkers = numbersOfWorkers.get(i);
+			Graph graph = graphs.get(i);
+			BenchmarkResult result = results.get(i);
+			if (result == null || !result.isCompletedSuccessfully() ||
+					result.getRuntimeStatistics().getNumberOfSamples() == 0 ||
+					result.getRuntimeStatistics().getMean() <= 0.0) {
+				points.add(new Point(graph, numberOfWorkers, false, Double.NaN, Double.NaN, Double.NaN));
+				continue;
+			}
+
+			double meanRuntime = result.getRuntimeStatistics().getMean();
+			double evps = (graph.getNumberOfVertices() + graph.getNumberOfEdges()) / meanRuntime;
+			double evpsPerWorker = evps / numberOfWorkers;
+			if (Double.isNaN(baselineEvpsPerWorker)) {
+				baselineEvpsPerWorker = evpsPerWorker;
+			}
+			points.add(new Point(graph, numberOfWorkers, true, meanRuntime, evps,
+					evpsPerWorker / baselineEvpsPerWorker));
+		}
+		return new WeakScalingStatistics(Collections.unmodifiableList(points));
+	}
+
+	/**
+	 * @return the statistics for each graph, in increasing order of the number of workers
+	 */
+	public List<Point> getPoints() {
+		return points;
+	}
+
+	/**
+	 * @return the number of points, i.e., the number of graphs in the sweep
+	 */
+	public int getNumberOfPoints() {
+		return points.size();
+	}
+
+	/**
+	 * @return true iff the flatness and coefficient of variation are defined, i.e., at least two points completed
+	 */
+	public boolean isFlatnessDefined() {
+		return !Double.isNaN(flatness);
+	}
+
+	/**
+	 * @return the ratio of the lowest to the highest EVPS per worker over all completed points, 1 for perfectly flat
+	 * weak scaling, or NaN if fewer than two points completed
+	 */
+	public double getFlatness() {
+		return flatness;
+	}
+
+	/**
+	 * @return the coefficient of variation of the EVPS per worker over all completed points, or NaN if fewer than two
+	 * points completed
+	 */
+	public double getCoefficientOfVariation() {
+		return coefficientOfVariation;
+	}
+
+	/**
+	 * @return the highest EVPS per worker of any completed point, used to scale charts
+	 */
+	public double getMaximumEvpsPerWorker() {
+		return maximumEvpsPerWorker;
+	}
+
+	/**
+	 * Weak-scaling statistics of an algorithm for a single graph and number of workers.
+	 */
+	public static final class Point implements Serializable {
+
+		private static final long serialVersionUID = -846673090726439904L;
+
+		private final Graph graph;
+		private final int numberOfWorkers;
+		private final boolean completed;
+		private final double meanRuntime;
+		private final double evps;
+		private final double efficiency;
+
+		private Point(Graph graph, int numberOfWorkers, boolean completed, double meanRuntime, double evps,
+				double efficiency) {
+			this.graph = graph;
+			this.numberOfWorkers = numberOfWorkers;
+			this.completed = completed;
+			this.meanRuntime = meanRuntime;
+			this.evps = evps;
+			this.efficiency = efficiency;
+		}
+
+		/**
+		 * @return the graph processed with this number of workers
+		 */
+		public Graph getGraph() {
+			return graph;
+		}
+
+		/**
+		 * @return the number of workers
+		 */
+		public int getNumberOfWorkers() {
+			return numberOfWorkers;
+		}
+
+		/**
+		 * @return the number of vertices and edges of the graph per worker
+		 */
+		public double getScalePerWorker() {
+			return (double)(graph.getNumberOfVertices() + graph.getNumberOfEdges()) / numberOfWorkers;
+		}
+
+		/**
+		 * @return true iff the algorithm completed successfully on the graph
+		 */
+		public boolean isCompleted() {
+			return completed;
+		}
+
+		/**
+		 * @return the mean runtime of the measured repetitions in seconds
+		 */
+		public double getMeanRuntime() {
+			return meanRuntime;
+		}
+
+		/**
+		 * @return the number of edges and vertices of the graph processed per second
+		 */
+		public double getEvps() {
+			return evps;
+		}
+
+		/**
+		 * @return the number of edges and vertices of the graph processed per second per worker
+		 */
+		public double getEvpsPerWorker() {
+			return evps / numberOfWorkers;
+		}
+
+		/**
+		 * @return the EVPS per worker relative to the baseline
+		 */
+		public double getEfficiency() {
+			return efficiency;
+		}
+
+	}
+
+}
@@ -20,20 +20,45 @@ import nl.tudelft.graphalytics.configuration.InvalidConfigurationException;
 import org.apache.commons.configuration.Configuration;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
- * Parameters for the execution of the breadth first search algorithm.
+ * Parameters for the execution of the breadth first search algorithm. Optionally, the parameters also define a stream
+ * of BFS queries, executed from many source vertices after the measured repetitions of the benchmark to measure the
+ * latency of BFS as an online query. The query sources are either listed explicitly, or sampled uniformly at random
+ * from the vertices of the graph when the benchmark suite is loaded.
  *
  * @author Tim Hegeman
  */
 public final class BreadthFirstSearchParameters implements Serializable {
+	private static final long serialVersionUID = -2607542671502638408L;
+
 	private final long sourceVertex;
+	private final List<Long> querySourceVertices;
+	private final int querySampleSize;
+	private final long querySeed;
 
 	/**
 	 * @param sourceVertex the source of the breadth first search
 	 */
 	public BreadthFirstSearchParameters(long sourceVertex) {
+		this(sourceVertex, Collections.<Long>emptyList(), 0, 0L);
+	}
+
+	/**
+	 * @param sourceVertex        the source of the breadth first search
+	 * @param querySourceVertices the sources of the BFS queries
+	 * @param querySampleSize     the number of query sources to sample from the graph, or 0
+	 * @param querySeed           the seed of the random number generator used to sample query sources
+	 */
+	public BreadthFirstSearchParameters(long sourceVertex, List<Long> querySourceVertices, int querySampleSize,
+			long querySeed) {
 		this.sourceVertex = sourceVertex;
+		this.querySourceVertices = Collections.unmodifiableList(new ArrayList<>(querySourceVertices));
+		this.querySampleSize = querySampleSize;
+		this.querySeed = querySeed;
 	}
 
 	/**
@@ -46,7 +71,36 @@ public final class BreadthFirstSearchParameters implements Serializable {
 	 */
 	public static BreadthFirstSearchParameters fromConfiguration(Configuration config, String algProperty)
 			throws InvalidConfigurationException {
-		return new BreadthFirstSearchParameters(ConfigurationUtil.getLong(config, algProperty + ".source-vertex"));
+		long sourceVertex = ConfigurationUtil.getLong(config, algProperty + ".source-vertex");
+
+		List<Long> querySourceVertices = new ArrayList<>();
+		String sourceVerticesKey = algProperty + ".query.source-vertices";
+		if (config.containsKey(sourceVerticesKey)) {
+			for (String value : ConfigurationUtil.getStringArray(config, sourceVerticesKey)) {
+				try {
+					querySourceVertices.add(Long.parseLong(value.trim()));
+				} catch (NumberFormatException ex) {
+					throw new InvalidConfigurationException("Invalid value \"" + value + "\" for property \"" +
+							sourceVerticesKey + "\", expected a list of vertex ids.");
+				}
+			}
+		}
+
+		int querySampleSize = 0;
+		String sampleSizeKey = algProperty + ".query.sample-size";
+		if (config.containsKey(sampleSizeKey)) {
+			querySampleSize = ConfigurationUtil.getInteger(config, sampleSizeKey);
+			if (querySampleSize < 0) {
+				throw new InvalidConfigurationException("Property \"" + sampleSizeKey + "\" must not be negative.");
+			}
+			if (querySampleSize > 0 && !querySourceVertices.isEmpty()) {
+				throw new InvalidConfigurationException("Properties \"" + sourceVerticesKey + "\" and \"" +
+						sampleSizeKey + "\" must not be combined.");
+			}
+		}
+
+		long querySeed = config.getLong(algProperty + ".query.seed", 0L);
+		return new BreadthFirstSearchParameters(sourceVertex, querySourceVertices, querySampleSize, querySeed);
 	}
 
 	/**
@@ -56,9 +110,68 @@ public final class BreadthFirstSearchParameters implements Serializable {
 		return sourceVertex;
 	}
 
+	/**
+	 * @return true iff the parameters define a stream of BFS queries
+	 */
+	public boolean hasQueries() {
+		return !querySourceVertices.isEmpty() || querySampleSize > 0;
+	}
+
+	/**
+	 * @return the sources of the BFS queries, empty if the query sources have not been sampled yet
+	 */
+	public List<Long> getQuerySourceVertices() {
+		return querySourceVertices;
+	}
+
+	/**
+	 * @return the number of query sources to sample from the graph, or 0 if the query sources are listed explicitly
+	 */
+	public int getQuerySampleSize() {
+		return querySampleSize;
+	}
+
+	/**
+	 * @return the seed of the random number generator used to sample query sources
+	 */
+	public long getQuerySeed() {
+		return querySeed;
+	}
+
+	/**
+	 * @param querySourceVertices the sampled sources of the BFS queries
+	 * @return a copy of these parameters with the given query sources instead of a number of sources to sample
+	 */
+	public BreadthFirstSearchParameters withQuerySourceVertices(List<Long> querySourceVertices) {
+		return new BreadthFirstSearchParameters(sourceVertex, querySourceVertices, 0, querySeed);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		BreadthFirstSearchParameters that = (BreadthFirstSearchParameters)o;
+		return sourceVertex == that.sourceVertex && querySampleSize == that.querySampleSize &&
+				querySeed == that.querySeed && querySourceVertices.equals(that.querySourceVertices);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = (int)(sourceVertex ^ (sourceVertex >>> 32));
+		result = 31 * result + querySourceVertices.hashCode();
+		result = 31 * result + querySampleSize;
+		result = 31 * result + (int)(querySeed ^ (querySeed >>> 32));
+		return result;
+	}
+
 	@Override
 	public String toString() {
-		return "BreadthFirstSearchParameters(" + sourceVertex + ")";
+		if (!hasQueries()) {
+			return "BreadthFirstSearchParameters(" + sourceVertex + ")";
+		}
+		return "BreadthFirstSearchParameters(" + sourceVertex + ", " +
+				(querySampleSize > 0 ? querySampleSize + " sampled" : querySourceVertices.size()) + " queries)";
 	}
 
 	/**
@@ -69,8 +182,7 @@ public final class BreadthFirstSearchParameters implements Serializable {
 		@Override
 		public BreadthFirstSearchParameters fromConfiguration(Configuration configuration, String baseProperty)
 				throws InvalidConfigurationException {
-			return new BreadthFirstSearchParameters(
-					ConfigurationUtil.getLong(configuration, baseProperty + ".source-vertex"));
+			return BreadthFirstSearchParameters.fromConfiguration(configuration, baseProperty);
 		}
 	}
 }
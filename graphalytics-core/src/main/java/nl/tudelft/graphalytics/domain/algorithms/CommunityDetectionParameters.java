@@ -27,6 +27,8 @@ import java.io.Serializable;
  * @author Tim Hegeman
  */
 public final class CommunityDetectionParameters implements Serializable {
+	private static final long serialVersionUID = 4676676242912377799L;
+
 	private final float nodePreference;
 	private final float hopAttenuation;
 	private final int maxIterations;
@@ -63,6 +65,24 @@ public final class CommunityDetectionParameters implements Serializable {
 		return maxIterations;
 	}
 
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		CommunityDetectionParameters that = (CommunityDetectionParameters)o;
+		return Float.compare(nodePreference, that.nodePreference) == 0 &&
+				Float.compare(hopAttenuation, that.hopAttenuation) == 0 && maxIterations == that.maxIterations;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Float.floatToIntBits(nodePreference);
+		result = 31 * result + Float.floatToIntBits(hopAttenuation);
+		result = 31 * result + maxIterations;
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return "CommunityDetectionParameters(" + nodePreference + "," + hopAttenuation + "," + maxIterations + ")";
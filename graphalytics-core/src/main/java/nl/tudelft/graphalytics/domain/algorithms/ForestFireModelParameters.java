@@ -27,6 +27,8 @@ import java.io.Serializable;
  * @author Tim Hegeman
  */
 public final class ForestFireModelParameters implements Serializable {
+	private static final long serialVersionUID = 2711827401701027620L;
+
 	private final long maxId;
 	private final float pRatio;
 	private final float rRatio;
@@ -83,6 +85,33 @@ public final class ForestFireModelParameters implements Serializable {
 		return numNewVertices;
 	}
 
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		ForestFireModelParameters that = (ForestFireModelParameters)o;
+		return maxId == that.maxId && Float.compare(pRatio, that.pRatio) == 0 &&
+				Float.compare(rRatio, that.rRatio) == 0 && maxIterations == that.maxIterations &&
+				numNewVertices == that.numNewVertices;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = (int)(maxId ^ (maxId >>> 32));
+		result = 31 * result + Float.floatToIntBits(pRatio);
+		result = 31 * result + Float.floatToIntBits(rRatio);
+		result = 31 * result + maxIterations;
+		result = 31 * result + numNewVertices;
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "ForestFireModelParameters(" + maxId + "," + pRatio + "," + rRatio + "," + maxIterations + "," +
+				numNewVertices + ")";
+	}
+
 	/**
 	 * Factory for parsing a ForestFireModelParameters object from the properties of a Configuration object.
 	 */
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Header of a graph stored in the binary compressed sparse row (CSR) format. A binary CSR file consists of the
+ * following sections, all stored big-endian:
+ * <ol>
+ * <li>a fixed-size header: magic number (int), version (int), flags (int), reserved (int), number of vertices (long),
+ * and number of edges (long);</li>
+ * <li>an optional ID map: the original id of each vertex (long[number of vertices]), sorted in ascending order;</li>
+ * <li>the offset array: the index of the first neighbour of each vertex (long[number of vertices + 1]);</li>
+ * <li>the neighbour array: the index of each neighbour (int[number of edges]), sorted per vertex.</li>
+ * </ol>
+ * Vertices are identified by their index in the file. If the ID map is absent, the index of each vertex equals its
+ * original id. For undirected graphs every edge is stored in both directions, so the number of edges in the header is
+ * the total length of the neighbour array.
+ *
+ * @author Tim Hegeman
+ */
+public final class CsrGraphHeader {
+
+	/**
+	 * Magic number at the start of every binary CSR file ("GCSR").
+	 */
+	public static final int MAGIC = 0x47435352;
+	/**
+	 * Version of the binary CSR format described by this class.
+	 */
+	public static final int VERSION = 1;
+	/**
+	 * Size of the fixed-size header in bytes.
+	 */
+	public static final int HEADER_SIZE = 32;
+
+	private static final int FLAG_DIRECTED = 1;
+	private static final int FLAG_ID_MAP = 1 << 1;
+
+	private final boolean directed;
+	private final boolean idMapPresent;
+	private final long numberOfVertices;
+	private final long numberOfEdges;
+
+	/**
+	 * @param directed         true iff the graph is directed
+	 * @param idMapPresent     true iff the file contains a map from vertex index to original vertex id
+	 * @param numberOfVertices the number of vertices in the graph
+	 * @param numberOfEdges    the length of the neighbour array
+	 */
+	public CsrGraphHeader(boolean directed, boolean idMapPresent, long numberOfVertices, long numberOfEdges) {
+		this.directed = directed;
+		this.idMapPresent = idMapPresent;
+		this.numberOfVertices = numberOfVertices;
+		this.numberOfEdges = numberOfEdges;
+	}
+
+	/**
+	 * @param input the input to read the header from, positioned at the start of a binary CSR file
+	 * @return the parsed header
+	 * @throws IOException iff the header could not be read or is invalid
+	 */
+	public static CsrGraphHeader readFrom(DataInput input) throws IOException {
+		int magic = input.readInt();
+		int version = input.readInt();
+		int flags = input.readInt();
+		input.readInt();
+		long numberOfVertices = input.readLong();
+		long numberOfEdges = input.readLong();
+		return fromFields(magic, version, flags, numberOfVertices, numberOfEdges);
+	}
+
+	/**
+	 * @param buffer the buffer to read the header from, starting at its current position
+	 * @return the parsed header
+	 * @throws IOException iff the header is invalid
+	 */
+	public static CsrGraphHeader readFrom(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < HEADER_SIZE) {
+			throw new IOException("Binary CSR file is too short to contain a header.");
+		}
+		int magic = buffer.getInt();
+		int version = buffer.getInt();
+		int flags = buffer.getInt();
+		buffer.getInt();
+		long numberOfVertices = buffer.getLong();
+		long numberOfEdges = buffer.getLong();
+		return fromFields(magic, version, flags, numberOfVertices, numberOfEdges);
+	}
+
+	private static CsrGraphHeader fromFields(int magic, int version, int flags, long numberOfVertices,
+			long numberOfEdges) throws IOException {
+		if (magic != MAGIC) {
+			throw new IOException("Not a binary CSR file: invalid magic number " + Integer.toHexString(magic) + ".");
+		}
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary CSR version " + version + ", expected " + VERSION + ".");
+		}
+		if (numberOfVertices < 0 || numberOfVertices > Integer.MAX_VALUE || numberOfEdges < 0) {
+			throw new IOException("Invalid binary CSR header: " + numberOfVertices + " vertices, " +
+					numberOfEdges + " edges.");
+		}
+		return new CsrGraphHeader((flags & FLAG_DIRECTED) != 0, (flags & FLAG_ID_MAP) != 0, numberOfVertices,
+				numberOfEdges);
+	}
+
+	/**
+	 * @param output the output to write the header to
+	 * @throws IOException iff the header could not be written
+	 */
+	public void writeTo(DataOutput output) throws IOException {
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt((directed ? FLAG_DIRECTED : 0) | (idMapPresent ? FLAG_ID_MAP : 0));
+		output.writeInt(0);
+		output.writeLong(numberOfVertices);
+		output.writeLong(numberOfEdges);
+	}
+
+	/**
+	 * @return true iff the graph is directed
+	 */
+	public boolean isDirected() {
+		return directed;
+	}
+
+	/**
+	 * @return true iff the file contains a map from vertex index to original vertex id
+	 */
+	public boolean isIdMapPresent() {
+		return idMapPresent;
+	}
+
+	/**
+	 * @return the number of vertices in the graph
+	 */
+	public long getNumberOfVertices() {
+		return numberOfVertices;
+	}
+
+	/**
+	 * @return the length of the neighbour array, i.e. the number of edges stored in the file
+	 */
+	public long getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	/**
+	 * @return the position in the file of the ID map section
+	 */
+	public long getIdMapPosition() {
+		return HEADER_SIZE;
+	}
+
+	/**
+	 * @return the position in the file of the offset array
+	 */
+	public long getOffsetsPosition() {
+		return getIdMapPosition() + (idMapPresent ? 8L * numberOfVertices : 0L);
+	}
+
+	/**
+	 * @return the position in the file of the neighbour array
+	 */
+	public long getNeighboursPosition() {
+		return getOffsetsPosition() + 8L * (numberOfVertices + 1);
+	}
+
+	/**
+	 * @return the expected size of a binary CSR file with this header
+	 */
+	public long getFileSize() {
+		return getNeighboursPosition() + 4L * numberOfEdges;
+	}
+
+	@Override
+	public String toString() {
+		return "CsrGraphHeader(directed=" + directed + ",idMap=" + idMapPresent + ",vertices=" + numberOfVertices +
+				",edges=" + numberOfEdges + ")";
+	}
+
+}
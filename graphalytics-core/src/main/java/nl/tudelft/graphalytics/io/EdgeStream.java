@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based stream of the edges of a graph. Edges are read from the underlying file one at a time, so a graph of
+ * any size can be processed in a single pass using constant memory. Typical use:
+ * <pre>
+ * try (EdgeStream edges = GraphStreams.openEdgeStream(graph)) {
+ *     while (edges.next()) {
+ *         process(edges.getSourceId(), edges.getDestinationId());
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Tim Hegeman
+ * @see GraphStreams
+ */
+public interface EdgeStream extends Closeable {
+
+	/**
+	 * Advances the stream to the next edge.
+	 *
+	 * @return true iff the stream contained another edge, false if the end of the stream was reached
+	 * @throws IOException iff the underlying file could not be read or is malformed
+	 */
+	boolean next() throws IOException;
+
+	/**
+	 * @return the id of the source vertex of the current edge
+	 */
+	long getSourceId();
+
+	/**
+	 * @return the id of the destination vertex of the current edge
+	 */
+	long getDestinationId();
+
+}
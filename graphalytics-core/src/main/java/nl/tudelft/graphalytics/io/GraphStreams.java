@@ -0,0 +1,297 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.io;
+
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.GraphFormat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+
+/**
+ * Factory methods for opening EdgeStreams and VertexStreams on graphs stored in any of the supported formats.
+ * <p/>
+ * Edges are returned as they are stored in the file. For undirected graphs in the text-based formats this means that
+ * an edge is returned once or twice depending on how the file was written. Undirected graphs in the binary CSR format
+ * store each edge in both directions; an EdgeStream returns each such edge once (from the vertex with the lowest id),
+ * whereas a VertexStream returns all neighbours of every vertex.
+ *
+ * @author Tim Hegeman
+ */
+public final class GraphStreams {
+
+	private GraphStreams() {
+	}
+
+	/**
+	 * @param graph the graph to read
+	 * @return a stream of the edges of the graph
+	 * @throws IOException iff the graph file could not be opened
+	 */
+	public static EdgeStream openEdgeStream(Graph graph) throws IOException {
+		return openEdgeStream(Paths.get(graph.getFilePath()), graph.getGraphFormat());
+	}
+
+	/**
+	 * @param path   the path of a graph file
+	 * @param format the format of the graph file
+	 * @return a stream of the edges of the graph
+	 * @throws IOException iff the graph file could not be opened
+	 */
+	public static EdgeStream openEdgeStream(Path path, GraphFormat format) throws IOException {
+		if (format.isEdgeBased()) {
+			return new EdgeBasedTextEdgeStream(new GraphTextTokenizer(Files.newInputStream(path)));
+		} else if (format.isBinary() && !format.isDirected()) {
+			return new CanonicalEdgeStream(openVertexStream(path, format));
+		} else {
+			return new VertexStreamEdgeStream(openVertexStream(path, format));
+		}
+	}
+
+	/**
+	 * Opens a stream of the vertices of a graph. Only graphs stored in a vertex-based format (including the binary CSR
+	 * format) can be read as a stream of vertices; edge-based graphs must be converted first.
+	 *
+	 * @param graph the graph to read
+	 * @return a stream of the vertices of the graph and their outgoing edges
+	 * @throws IOException              iff the graph file could not be opened
+	 * @throws IllegalArgumentException iff the graph is stored in an edge-based format
+	 */
+	public static VertexStream openVertexStream(Graph graph) throws IOException {
+		return openVertexStream(Paths.get(graph.getFilePath()), graph.getGraphFormat());
+	}
+
+	/**
+	 * @param path   the path of a graph file
+	 * @param format the format of the graph file
+	 * @return a stream of the vertices of the graph and their outgoing edges
+	 * @throws IOException              iff the graph file could not be opened
+	 * @throws IllegalArgumentException iff the graph is stored in an edge-based format
+	 * @see #openVertexStream(Graph)
+	 */
+	public static VertexStream openVertexStream(Path path, GraphFormat format) throws IOException {
+		if (format.isEdgeBased()) {
+			throw new IllegalArgumentException("Cannot read an edge-based graph as a stream of vertices.");
+		} else if (format.isBinary()) {
+			return new CsrVertexStream(MappedCsrGraph.map(path));
+		} else {
+			return new VertexBasedTextVertexStream(new GraphTextTokenizer(Files.newInputStream(path)));
+		}
+	}
+
+	/**
+	 * EdgeStream reading a graph in the edge-based text format.
+	 */
+	private static final class EdgeBasedTextEdgeStream implements EdgeStream {
+
+		private final GraphTextTokenizer tokenizer;
+		private long sourceId;
+		private long destinationId;
+
+		private EdgeBasedTextEdgeStream(GraphTextTokenizer tokenizer) {
+			this.tokenizer = tokenizer;
+		}
+
+		@Override
+		public boolean next() throws IOException {
+			if (!tokenizer.nextLine()) {
+				return false;
+			}
+			sourceId = tokenizer.nextLong();
+			destinationId = tokenizer.nextLong();
+			return true;
+		}
+
+		@Override
+		public long getSourceId() {
+			return sourceId;
+		}
+
+		@Override
+		public long getDestinationId() {
+			return destinationId;
+		}
+
+		@Override
+		public void close() throws IOException {
+			tokenizer.close();
+		}
+
+	}
+
+	/**
+	 * VertexStream reading a graph in the vertex-based text format.
+	 */
+	private static final class VertexBasedTextVertexStream implements VertexStream {
+
+		private final GraphTextTokenizer tokenizer;
+		private long vertexId;
+
+		private VertexBasedTextVertexStream(GraphTextTokenizer tokenizer) {
+			this.tokenizer = tokenizer;
+		}
+
+		@Override
+		public boolean nextVertex() throws IOException {
+			if (!tokenizer.nextLine()) {
+				return false;
+			}
+			vertexId = tokenizer.nextLong();
+			return true;
+		}
+
+		@Override
+		public long getVertexId() {
+			return vertexId;
+		}
+
+		@Override
+		public boolean hasNextNeighbour() throws IOException {
+			return tokenizer.hasNextToken();
+		}
+
+		@Override
+		public long nextNeighbour() throws IOException {
+			if (!tokenizer.hasNextToken()) {
+				throw new NoSuchElementException();
+			}
+			return tokenizer.nextLong();
+		}
+
+		@Override
+		public void close() throws IOException {
+			tokenizer.close();
+		}
+
+	}
+
+	/**
+	 * VertexStream reading a memory-mapped graph in the binary CSR format.
+	 */
+	private static final class CsrVertexStream implements VertexStream {
+
+		private final MappedCsrGraph graph;
+		private int vertexIndex = -1;
+		private long nextPosition = 0;
+		private long endPosition = 0;
+
+		private CsrVertexStream(MappedCsrGraph graph) {
+			this.graph = graph;
+		}
+
+		@Override
+		public boolean nextVertex() {
+			if (vertexIndex + 1 >= graph.getNumberOfVertices()) {
+				return false;
+			}
+			vertexIndex++;
+			nextPosition = graph.getFirstNeighbourPosition(vertexIndex);
+			endPosition = nextPosition + graph.getDegree(vertexIndex);
+			return true;
+		}
+
+		@Override
+		public long getVertexId() {
+			return graph.getVertexId(vertexIndex);
+		}
+
+		@Override
+		public boolean hasNextNeighbour() {
+			return nextPosition < endPosition;
+		}
+
+		@Override
+		public long nextNeighbour() {
+			if (nextPosition >= endPosition) {
+				throw new NoSuchElementException();
+			}
+			return graph.getVertexId(graph.getNeighbour(nextPosition++));
+		}
+
+		@Override
+		public void close() {
+			// The mapping is released when the graph is garbage collected
+		}
+
+	}
+
+	/**
+	 * EdgeStream returning every outgoing edge of every vertex in a VertexStream.
+	 */
+	private static class VertexStreamEdgeStream implements EdgeStream {
+
+		private final VertexStream vertices;
+		private boolean vertexAvailable = false;
+		private long destinationId;
+
+		private VertexStreamEdgeStream(VertexStream vertices) {
+			this.vertices = vertices;
+		}
+
+		@Override
+		public boolean next() throws IOException {
+			while (!vertexAvailable || !vertices.hasNextNeighbour()) {
+				vertexAvailable = vertices.nextVertex();
+				if (!vertexAvailable) {
+					return false;
+				}
+			}
+			destinationId = vertices.nextNeighbour();
+			return true;
+		}
+
+		@Override
+		public long getSourceId() {
+			return vertices.getVertexId();
+		}
+
+		@Override
+		public long getDestinationId() {
+			return destinationId;
+		}
+
+		@Override
+		public void close() throws IOException {
+			vertices.close();
+		}
+
+	}
+
+	/**
+	 * EdgeStream returning each edge of a symmetric VertexStream once, from the vertex with the lowest id.
+	 */
+	private static final class CanonicalEdgeStream extends VertexStreamEdgeStream {
+
+		private CanonicalEdgeStream(VertexStream vertices) {
+			super(vertices);
+		}
+
+		@Override
+		public boolean next() throws IOException {
+			while (super.next()) {
+				if (getSourceId() <= getDestinationId()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
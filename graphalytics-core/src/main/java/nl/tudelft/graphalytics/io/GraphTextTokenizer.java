@@ -0,0 +1,219 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level tokenizer for the text-based graph formats. Reads vertex ids directly from the raw bytes of an input
+ * stream or byte buffer, without creating intermediate String objects. Tokens are separated by spaces or tabs, empty
+ * lines and lines starting with '#' are skipped.
+ *
+ * @author Tim Hegeman
+ */
+public final class GraphTextTokenizer implements Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final InputStream input;
+	private final ByteBuffer inputBuffer;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position = 0;
+	private int limit = 0;
+	private boolean inLine = false;
+	private long lineNumber = 0;
+
+	/**
+	 * @param input the stream to read tokens from
+	 */
+	public GraphTextTokenizer(InputStream input) {
+		this.input = input;
+		this.inputBuffer = null;
+	}
+
+	/**
+	 * @param input the buffer to read tokens from, between its current position and its limit
+	 */
+	public GraphTextTokenizer(ByteBuffer input) {
+		this.input = null;
+		this.inputBuffer = input;
+	}
+
+	/**
+	 * Skips the remainder of the current line and advances to the next line that contains at least one token.
+	 *
+	 * @return true iff a new line was found, false if the end of the input was reached
+	 * @throws IOException iff the input could not be read
+	 */
+	public boolean nextLine() throws IOException {
+		if (inLine) {
+			skipToEndOfLine();
+			inLine = false;
+		}
+
+		while (true) {
+			skipSeparators();
+			int c = peek();
+			if (c == -1) {
+				return false;
+			} else if (c == '\n') {
+				position++;
+				lineNumber++;
+			} else if (c == '#') {
+				skipToEndOfLine();
+			} else {
+				inLine = true;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @return true iff the current line contains another token
+	 * @throws IOException iff the input could not be read
+	 */
+	public boolean hasNextToken() throws IOException {
+		if (!inLine) {
+			return false;
+		}
+		skipSeparators();
+		int c = peek();
+		return c != -1 && c != '\n';
+	}
+
+	/**
+	 * Parses the next token on the current line as a long.
+	 *
+	 * @return the parsed value
+	 * @throws IOException iff the input could not be read, or if the next token is missing or not a valid long
+	 */
+	public long nextLong() throws IOException {
+		if (!hasNextToken()) {
+			throw new IOException("Expected another value on line " + getLineNumber() + ".");
+		}
+
+		boolean negative = false;
+		if (peek() == '-') {
+			negative = true;
+			position++;
+		}
+
+		long value = 0;
+		int digits = 0;
+		for (int c = peek(); c != -1 && !isSeparator(c) && c != '\n'; c = peek()) {
+			if (c < '0' || c > '9') {
+				throw new IOException("Unexpected character '" + (char)c + "' on line " + getLineNumber() + ".");
+			}
+			value = value * 10 + (c - '0');
+			digits++;
+			position++;
+		}
+
+		if (digits == 0) {
+			throw new IOException("Expected a number on line " + getLineNumber() + ".");
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Reads the remainder of the current line as a string, excluding leading and trailing separators.
+	 *
+	 * @return the remainder of the current line
+	 * @throws IOException iff the input could not be read, or if the current line has no more tokens
+	 */
+	public String remainderOfLine() throws IOException {
+		if (!hasNextToken()) {
+			throw new IOException("Expected another value on line " + getLineNumber() + ".");
+		}
+
+		byte[] remainder = new byte[16];
+		int length = 0;
+		int lengthWithoutSeparators = 0;
+		for (int c = peek(); c != -1 && c != '\n'; c = peek()) {
+			if (length == remainder.length) {
+				remainder = Arrays.copyOf(remainder, length * 2);
+			}
+			remainder[length++] = (byte)c;
+			if (!isSeparator(c)) {
+				lengthWithoutSeparators = length;
+			}
+			position++;
+		}
+		return new String(remainder, 0, lengthWithoutSeparators, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return the (one-based) number of the line currently being read
+	 */
+	public long getLineNumber() {
+		return lineNumber + 1;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (input != null) {
+			input.close();
+		}
+	}
+
+	private void skipSeparators() throws IOException {
+		for (int c = peek(); c != -1 && isSeparator(c); c = peek()) {
+			position++;
+		}
+	}
+
+	private void skipToEndOfLine() throws IOException {
+		for (int c = peek(); c != -1; c = peek()) {
+			position++;
+			if (c == '\n') {
+				lineNumber++;
+				return;
+			}
+		}
+	}
+
+	private int peek() throws IOException {
+		if (position == limit && !fill()) {
+			return -1;
+		}
+		return buffer[position] & 0xFF;
+	}
+
+	private boolean fill() throws IOException {
+		position = 0;
+		if (inputBuffer != null) {
+			limit = Math.min(inputBuffer.remaining(), buffer.length);
+			inputBuffer.get(buffer, 0, limit);
+		} else {
+			limit = input.read(buffer, 0, buffer.length);
+		}
+		if (limit <= 0) {
+			limit = 0;
+			return false;
+		}
+		return true;
+	}
+
+	private static boolean isSeparator(int c) {
+		return c == ' ' || c == '\t' || c == '\r';
+	}
+
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a graph stored in the binary CSR format, backed by memory-mapped buffers. None of the graph data
+ * is copied to the Java heap; the operating system pages in the parts of the file that are accessed. Files larger
+ * than 2 GB are supported by mapping each section of the file as multiple segments.
+ *
+ * @author Tim Hegeman
+ */
+public final class MappedCsrGraph {
+
+	private static final int SEGMENT_SIZE_BITS = 30;
+
+	private final CsrGraphHeader header;
+	private final MappedSection idMap;
+	private final MappedSection offsets;
+	private final MappedSection neighbours;
+
+	private MappedCsrGraph(CsrGraphHeader header, MappedSection idMap, MappedSection offsets,
+			MappedSection neighbours) {
+		this.header = header;
+		this.idMap = idMap;
+		this.offsets = offsets;
+		this.neighbours = neighbours;
+	}
+
+	/**
+	 * Maps a binary CSR file into memory. The file remains mapped until the returned object is garbage collected.
+	 *
+	 * @param path the path of the binary CSR file
+	 * @return a view of the mapped graph
+	 * @throws IOException iff the file could not be read or is not a valid binary CSR file
+	 */
+	public static MappedCsrGraph map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer headerBuffer = ByteBuffer.allocate(CsrGraphHeader.HEADER_SIZE);
+			while (headerBuffer.hasRemaining() && channel.read(headerBuffer) >= 0) {
+				// Keep reading until the header is complete or the end of the file is reached
+			}
+			headerBuffer.flip();
+			CsrGraphHeader header = CsrGraphHeader.readFrom(headerBuffer);
+
+			if (channel.size() < header.getFileSize()) {
+				throw new IOException("Binary CSR file \"" + path + "\" is truncated: expected " +
+						header.getFileSize() + " bytes, found " + channel.size() + ".");
+			}
+
+			MappedSection idMap = header.isIdMapPresent() ?
+					new MappedSection(channel, header.getIdMapPosition(), header.getNumberOfVertices(), 3) : null;
+			MappedSection offsets = new MappedSection(channel, header.getOffsetsPosition(),
+					header.getNumberOfVertices() + 1, 3);
+			MappedSection neighbours = new MappedSection(channel, header.getNeighboursPosition(),
+					header.getNumberOfEdges(), 2);
+			return new MappedCsrGraph(header, idMap, offsets, neighbours);
+		}
+	}
+
+	/**
+	 * @return the header of the mapped file
+	 */
+	public CsrGraphHeader getHeader() {
+		return header;
+	}
+
+	/**
+	 * @return the number of vertices in the graph
+	 */
+	public int getNumberOfVertices() {
+		return (int)header.getNumberOfVertices();
+	}
+
+	/**
+	 * @return the number of edges stored in the graph
+	 */
+	public long getNumberOfEdges() {
+		return header.getNumberOfEdges();
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex in the file
+	 * @return the original id of the vertex
+	 */
+	public long getVertexId(int vertexIndex) {
+		return idMap != null ? idMap.getLong(vertexIndex) : vertexIndex;
+	}
+
+	/**
+	 * @param vertexId the original id of a vertex
+	 * @return the index of the vertex in the file, or -1 if the vertex does not exist
+	 */
+	public int getVertexIndex(long vertexId) {
+		if (idMap == null) {
+			return vertexId >= 0 && vertexId < header.getNumberOfVertices() ? (int)vertexId : -1;
+		}
+
+		int low = 0;
+		int high = getNumberOfVertices() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			long middleId = idMap.getLong(middle);
+			if (middleId < vertexId) {
+				low = middle + 1;
+			} else if (middleId > vertexId) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex in the file
+	 * @return the position in the neighbour array of the first neighbour of the vertex
+	 */
+	public long getFirstNeighbourPosition(int vertexIndex) {
+		return offsets.getLong(vertexIndex);
+	}
+
+	/**
+	 * @param vertexIndex the index of a vertex in the file
+	 * @return the number of neighbours of the vertex
+	 */
+	public int getDegree(int vertexIndex) {
+		return (int)(offsets.getLong(vertexIndex + 1) - offsets.getLong(vertexIndex));
+	}
+
+	/**
+	 * @param position a position in the neighbour array
+	 * @return the index of the neighbour stored at the given position
+	 */
+	public int getNeighbour(long position) {
+		return neighbours.getInt(position);
+	}
+
+	/**
+	 * A section of a binary CSR file containing an array of fixed-size elements, mapped as one or more segments.
+	 */
+	private static final class MappedSection {
+
+		private final MappedByteBuffer[] segments;
+		private final int elementSizeBits;
+		private final int elementsPerSegmentBits;
+		private final long elementsPerSegmentMask;
+
+		private MappedSection(FileChannel channel, long position, long numberOfElements, int elementSizeBits)
+				throws IOException {
+			this.elementSizeBits = elementSizeBits;
+			this.elementsPerSegmentBits = SEGMENT_SIZE_BITS - elementSizeBits;
+			this.elementsPerSegmentMask = (1L << elementsPerSegmentBits) - 1;
+
+			long sizeInBytes = numberOfElements << elementSizeBits;
+			int numberOfSegments = (int)((sizeInBytes + (1L << SEGMENT_SIZE_BITS) - 1) >>> SEGMENT_SIZE_BITS);
+			this.segments = new MappedByteBuffer[numberOfSegments];
+			for (int i = 0; i < numberOfSegments; i++) {
+				long segmentStart = (long)i << SEGMENT_SIZE_BITS;
+				long segmentSize = Math.min(1L << SEGMENT_SIZE_BITS, sizeInBytes - segmentStart);
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + segmentStart, segmentSize);
+			}
+		}
+
+		private long getLong(long index) {
+			return segments[(int)(index >>> elementsPerSegmentBits)]
+					.getLong((int)(index & elementsPerSegmentMask) << elementSizeBits);
+		}
+
+		private int getInt(long index) {
+			return segments[(int)(index >>> elementsPerSegmentBits)]
+					.getInt((int)(index & elementsPerSegmentMask) << elementSizeBits);
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based stream of the vertices of a graph and their outgoing edges. Both the vertices and the neighbours of each
+ * vertex are read from the underlying file one at a time, so a graph of any size can be processed in a single pass
+ * using constant memory. Typical use:
+ * <pre>
+ * try (VertexStream vertices = GraphStreams.openVertexStream(graph)) {
+ *     while (vertices.nextVertex()) {
+ *         long vertexId = vertices.getVertexId();
+ *         while (vertices.hasNextNeighbour()) {
+ *             process(vertexId, vertices.nextNeighbour());
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Tim Hegeman
+ * @see GraphStreams
+ */
+public interface VertexStream extends Closeable {
+
+	/**
+	 * Advances the stream to the next vertex, skipping any unread neighbours of the current vertex.
+	 *
+	 * @return true iff the stream contained another vertex, false if the end of the stream was reached
+	 * @throws IOException iff the underlying file could not be read or is malformed
+	 */
+	boolean nextVertex() throws IOException;
+
+	/**
+	 * @return the id of the current vertex
+	 */
+	long getVertexId();
+
+	/**
+	 * @return true iff the current vertex has another unread neighbour
+	 * @throws IOException iff the underlying file could not be read or is malformed
+	 */
+	boolean hasNextNeighbour() throws IOException;
+
+	/**
+	 * @return the id of the next neighbour of the current vertex
+	 * @throws IOException iff the underlying file could not be read or is malformed
+	 * @throws java.util.NoSuchElementException iff the current vertex has no more neighbours
+	 */
+	long nextNeighbour() throws IOException;
+
+}
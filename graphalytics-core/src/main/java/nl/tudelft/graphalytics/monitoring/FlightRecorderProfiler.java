@@ -0,0 +1,314 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.monitoring;
+
+import nl.tudelft.graphalytics.domain.ProfileSummary;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the execution of a benchmark using the Java Flight Recorder, writes the recording to a file, and summarizes
+ * the hot methods and lock contention in the recording. The Java Flight Recorder API is available from Java 11
+ * onwards, while Graphalytics targets Java 7, so the API is accessed through reflection; this class must not be used
+ * unless {@link #isAvailable()} returns true.
+ *
+ * @author Tim Hegeman
+ */
+public final class FlightRecorderProfiler {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private static final int MAX_HOT_METHODS = 25;
+	private static final int MAX_CONTENDED_LOCKS = 15;
+
+	private final String settings;
+	private final Path outputDirectory;
+	private final String name;
+	private FlightRecorderApi api;
+	private Object recording;
+
+	/**
+	 * @param settings        the name of a predefined recording configuration (e.g., "default" or "profile"), or the
+	 *                        path of a .jfc file
+	 * @param outputDirectory the directory to write the recording to
+	 * @param name            the base name of the recording file
+	 */
+	public FlightRecorderProfiler(String settings, Path outputDirectory, String name) {
+		this.settings = settings;
+		this.outputDirectory = outputDirectory;
+		this.name = name;
+	}
+
+	/**
+	 * @return true iff the Java Flight Recorder is available in this JVM
+	 */
+	public static boolean isAvailable() {
+		try {
+			return (Boolean)Class.forName("jdk.jfr.FlightRecorder").getMethod("isAvailable").invoke(null);
+		} catch (ReflectiveOperationException | LinkageError ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * Starts a new recording. If the recording cannot be started, a warning is logged and nothing is recorded.
+	 */
+	public void start() {
+		try {
+			api = new FlightRecorderApi();
+			Path settingsFile = Paths.get(settings);
+			Object configuration = Files.isRegularFile(settingsFile) ?
+					api.createConfiguration.invoke(null, settingsFile) :
+					api.getConfiguration.invoke(null, settings);
+			recording = api.newRecording.newInstance(configuration);
+			api.setName.invoke(recording, "graphalytics-" + name);
+			api.start.invoke(recording);
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			LOG.warn("Failed to start flight recording \"" + name + "\", the benchmark will not be profiled.",
+					unwrap(ex));
+			close();
+		}
+	}
+
+	/**
+	 * Stops the recording, writes it to "&lt;name&gt;.jfr" in the output directory, and summarizes it.
+	 *
+	 * @return a summary of the recording, or an empty summary if nothing was recorded
+	 */
+	public ProfileSummary stop() {
+		if (recording == null) {
+			return ProfileSummary.empty();
+		}
+		Path recordingFile = outputDirectory.resolve(name + ".jfr");
+		try {
+			api.stop.invoke(recording);
+			api.dump.invoke(recording, recordingFile);
+			return summarize(recordingFile);
+		} catch (ReflectiveOperationException | IOException | RuntimeException ex) {
+			LOG.warn("Failed to write flight recording to \"" + recordingFile + "\".", unwrap(ex));
+			return ProfileSummary.empty();
+		} finally {
+			close();
+		}
+	}
+
+	private void close() {
+		if (recording != null) {
+			try {
+				api.close.invoke(recording);
+			} catch (ReflectiveOperationException | RuntimeException ex) {
+				LOG.debug("Failed to close flight recording \"" + name + "\".", unwrap(ex));
+			}
+			recording = null;
+		}
+	}
+
+	private ProfileSummary summarize(Path recordingFile) throws ReflectiveOperationException, IOException {
+		long executionSamples = 0L;
+		Map<String, Long> samplesPerMethod = new HashMap<>();
+		Map<String, LockStatistics> locks = new HashMap<>();
+		Object file = api.newRecordingFile.newInstance(recordingFile);
+		try {
+			while ((Boolean)api.hasMoreEvents.invoke(file)) {
+				Object event = api.readEvent.invoke(file);
+				switch ((String)api.getEventTypeName.invoke(api.getEventType.invoke(event))) {
+					case "jdk.ExecutionSample":
+						String method = getTopMethod(api.getStackTrace.invoke(event));
+						if (method != null) {
+							Long samples = samplesPerMethod.get(method);
+							samplesPerMethod.put(method, samples != null ? samples + 1 : 1L);
+							executionSamples++;
+						}
+						break;
+					case "jdk.JavaMonitorEnter":
+						recordLockEvent(locks, getClassName(event, "monitorClass"), "monitor enter",
+								getDurationInNanos(event));
+						break;
+					case "jdk.ThreadPark":
+						recordLockEvent(locks, getClassName(event, "parkedClass"), "park", getDurationInNanos(event));
+						break;
+					default:
+						break;
+				}
+			}
+		} finally {
+			api.closeRecordingFile.invoke(file);
+		}
+
+		List<Map.Entry<String, Long>> methods = new ArrayList<>(samplesPerMethod.entrySet());
+		Collections.sort(methods, new Comparator<Map.Entry<String, Long>>() {
+			@Override
+			public int compare(Map.Entry<String, Long> a, Map.Entry<String, Long> b) {
+				return Long.compare(b.getValue(), a.getValue());
+			}
+		});
+		List<ProfileSummary.HotMethod> hotMethods = new ArrayList<>();
+		for (Map.Entry<String, Long> method : methods.subList(0, Math.min(MAX_HOT_METHODS, methods.size()))) {
+			hotMethods.add(new ProfileSummary.HotMethod(method.getKey(), method.getValue(),
+					(double)method.getValue() / executionSamples));
+		}
+
+		List<LockStatistics> lockStatistics = new ArrayList<>(locks.values());
+		Collections.sort(lockStatistics, new Comparator<LockStatistics>() {
+			@Override
+			public int compare(LockStatistics a, LockStatistics b) {
+				return Long.compare(b.totalDurationInNanos, a.totalDurationInNanos);
+			}
+		});
+		List<ProfileSummary.LockContention> lockContention = new ArrayList<>();
+		for (LockStatistics lock : lockStatistics.subList(0, Math.min(MAX_CONTENDED_LOCKS, lockStatistics.size()))) {
+			lockContention.add(new ProfileSummary.LockContention(lock.lockClass, lock.kind, lock.count,
+					lock.totalDurationInNanos, lock.maxDurationInNanos));
+		}
+
+		return new ProfileSummary(name, executionSamples, hotMethods, lockContention);
+	}
+
+	private String getTopMethod(Object stackTrace) throws ReflectiveOperationException {
+		if (stackTrace == null) {
+			return null;
+		}
+		for (Object frame : (List<?>)api.getFrames.invoke(stackTrace)) {
+			Object method = api.getMethod.invoke(frame);
+			if ((Boolean)api.isJavaFrame.invoke(frame) && method != null) {
+				return api.getClassName.invoke(api.getType.invoke(method)) + "." + api.getMethodName.invoke(method);
+			}
+		}
+		return null;
+	}
+
+	private String getClassName(Object event, String field) throws ReflectiveOperationException {
+		Object recordedClass = api.getClassField.invoke(event, field);
+		return recordedClass != null ? (String)api.getClassName.invoke(recordedClass) : "(unknown)";
+	}
+
+	private long getDurationInNanos(Object event) throws ReflectiveOperationException {
+		return (Long)api.toNanos.invoke(api.getDuration.invoke(event));
+	}
+
+	private static void recordLockEvent(Map<String, LockStatistics> locks, String lockClassName, String kind,
+			long durationInNanos) {
+		String key = kind + ":" + lockClassName;
+		LockStatistics lock = locks.get(key);
+		if (lock == null) {
+			lock = new LockStatistics(lockClassName, kind);
+			locks.put(key, lock);
+		}
+		lock.count++;
+		lock.totalDurationInNanos += durationInNanos;
+		lock.maxDurationInNanos = Math.max(lock.maxDurationInNanos, durationInNanos);
+	}
+
+	private static Throwable unwrap(Exception ex) {
+		return ex instanceof InvocationTargetException ? ex.getCause() : ex;
+	}
+
+	/**
+	 * The constructors and methods of the Java Flight Recorder API used by the profiler.
+	 */
+	private static final class FlightRecorderApi {
+
+		private final Method createConfiguration;
+		private final Method getConfiguration;
+		private final Constructor<?> newRecording;
+		private final Method setName;
+		private final Method start;
+		private final Method stop;
+		private final Method dump;
+		private final Method close;
+
+		private final Constructor<?> newRecordingFile;
+		private final Method hasMoreEvents;
+		private final Method readEvent;
+		private final Method closeRecordingFile;
+		private final Method getEventType;
+		private final Method getEventTypeName;
+		private final Method getStackTrace;
+		private final Method getDuration;
+		private final Method getClassField;
+		private final Method getFrames;
+		private final Method isJavaFrame;
+		private final Method getMethod;
+		private final Method getType;
+		private final Method getMethodName;
+		private final Method getClassName;
+		private final Method toNanos;
+
+		private FlightRecorderApi() throws ReflectiveOperationException {
+			Class<?> configuration = Class.forName("jdk.jfr.Configuration");
+			createConfiguration = configuration.getMethod("create", Path.class);
+			getConfiguration = configuration.getMethod("getConfiguration", String.class);
+			Class<?> recording = Class.forName("jdk.jfr.Recording");
+			newRecording = recording.getConstructor(configuration);
+			setName = recording.getMethod("setName", String.class);
+			start = recording.getMethod("start");
+			stop = recording.getMethod("stop");
+			dump = recording.getMethod("dump", Path.class);
+			close = recording.getMethod("close");
+
+			Class<?> recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile");
+			newRecordingFile = recordingFile.getConstructor(Path.class);
+			hasMoreEvents = recordingFile.getMethod("hasMoreEvents");
+			readEvent = recordingFile.getMethod("readEvent");
+			closeRecordingFile = recordingFile.getMethod("close");
+			Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+			getEventType = recordedEvent.getMethod("getEventType");
+			getEventTypeName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+			getStackTrace = recordedEvent.getMethod("getStackTrace");
+			getDuration = recordedEvent.getMethod("getDuration");
+			getClassField = recordedEvent.getMethod("getClass", String.class);
+			getFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+			Class<?> recordedFrame = Class.forName("jdk.jfr.consumer.RecordedFrame");
+			isJavaFrame = recordedFrame.getMethod("isJavaFrame");
+			getMethod = recordedFrame.getMethod("getMethod");
+			Class<?> recordedMethod = Class.forName("jdk.jfr.consumer.RecordedMethod");
+			getType = recordedMethod.getMethod("getType");
+			getMethodName = recordedMethod.getMethod("getName");
+			getClassName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+			toNanos = Class.forName("java.time.Duration").getMethod("toNanos");
+		}
+
+	}
+
+	private static final class LockStatistics {
+
+		private final String lockClass;
+		private final String kind;
+		private long count = 0L;
+		private long totalDurationInNanos = 0L;
+		private long maxDurationInNanos = 0L;
+
+		private LockStatistics(String lockClass, String kind) {
+			this.lockClass = lockClass;
+			this.kind = kind;
+		}
+
+	}
+
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.monitoring;
+
+import nl.tudelft.graphalytics.domain.JvmUsage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures garbage collection and memory allocation in the current JVM over one or more measurements, using the
+ * platform MXBeans. Each measurement snapshots the collection counts and times of all garbage collectors and the bytes
+ * allocated by every live thread, and resets the peak usage of all memory pools. Per-thread allocation is only
+ * measured on JVMs that provide {@link com.sun.management.ThreadMXBean}.
+ *
+ * @author Tim Hegeman
+ */
+public final class JvmMonitor {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private final List<GarbageCollectorMXBean> garbageCollectors;
+	private final List<MemoryPoolMXBean> memoryPools;
+	private final com.sun.management.ThreadMXBean threads;
+
+	private final Map<String, Long> gcCounts = new LinkedHashMap<>();
+	private final Map<String, Long> gcTimesInMillis = new LinkedHashMap<>();
+	private final Map<String, Long> peakPoolUsage = new LinkedHashMap<>();
+	private int numberOfMeasurements = 0;
+	private long measuredTimeInNanos = 0L;
+	private long allocatedBytes;
+
+	private long[] startGcCounts;
+	private long[] startGcTimesInMillis;
+	private Map<Long, Long> startAllocatedBytes;
+	private long startTimeInNanos;
+
+	public JvmMonitor() {
+		this.garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+		this.memoryPools = ManagementFactory.getMemoryPoolMXBeans();
+		this.threads = getAllocationMeasuringThreadMXBean();
+		this.allocatedBytes = threads != null ? 0L : -1L;
+		for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+			gcCounts.put(garbageCollector.getName(), 0L);
+			gcTimesInMillis.put(garbageCollector.getName(), 0L);
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean getAllocationMeasuringThreadMXBean() {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+			LOG.warn("The JVM does not support measuring thread allocation, allocation will not be recorded.");
+			return null;
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)threadMXBean;
+		try {
+			if (!threads.isThreadAllocatedMemorySupported()) {
+				LOG.warn("The JVM does not support measuring thread allocation, allocation will not be recorded.");
+				return null;
+			}
+			if (!threads.isThreadAllocatedMemoryEnabled()) {
+				threads.setThreadAllocatedMemoryEnabled(true);
+			}
+		} catch (UnsupportedOperationException | SecurityException ex) {
+			LOG.warn("Failed to enable measuring thread allocation, allocation will not be recorded.", ex);
+			return null;
+		}
+		return threads;
+	}
+
+	/**
+	 * Starts a new measurement.
+	 *
+	 * @throws IllegalStateException iff a measurement is already in progress
+	 */
+	public void beginMeasurement() {
+		if (startGcCounts != null)
+			throw new IllegalStateException("A measurement is already in progress.");
+
+		for (MemoryPoolMXBean memoryPool : memoryPools) {
+			if (memoryPool.isValid()) {
+				memoryPool.resetPeakUsage();
+			}
+		}
+		startGcCounts = new long[garbageCollectors.size()];
+		startGcTimesInMillis = new long[garbageCollectors.size()];
+		for (int i = 0; i < garbageCollectors.size(); i++) {
+			startGcCounts[i] = garbageCollectors.get(i).getCollectionCount();
+			startGcTimesInMillis[i] = garbageCollectors.get(i).getCollectionTime();
+		}
+		startAllocatedBytes = threads != null ? readAllocatedBytes() : null;
+		startTimeInNanos = System.nanoTime();
+	}
+
+	/**
+	 * Completes the current measurement and adds its results to the totals of this monitor.
+	 *
+	 * @throws IllegalStateException iff no measurement is in progress
+	 */
+	public void endMeasurement() {
+		if (startGcCounts == null)
+			throw new IllegalStateException("No measurement is in progress.");
+
+		measuredTimeInNanos += System.nanoTime() - startTimeInNanos;
+		numberOfMeasurements++;
+		for (int i = 0; i < garbageCollectors.size(); i++) {
+			GarbageCollectorMXBean garbageCollector = garbageCollectors.get(i);
+			addDelta(gcCounts, garbageCollector.getName(), garbageCollector.getCollectionCount() - startGcCounts[i]);
+			addDelta(gcTimesInMillis, garbageCollector.getName(),
+					garbageCollector.getCollectionTime() - startGcTimesInMillis[i]);
+		}
+		if (startAllocatedBytes != null) {
+			for (Map.Entry<Long, Long> thread : readAllocatedBytes().entrySet()) {
+				Long startBytes = startAllocatedBytes.get(thread.getKey());
+				allocatedBytes += thread.getValue() - (startBytes != null ? startBytes : 0L);
+			}
+		}
+		for (MemoryPoolMXBean memoryPool : memoryPools) {
+			MemoryUsage peakUsage = memoryPool.isValid() ? memoryPool.getPeakUsage() : null;
+			if (peakUsage != null) {
+				Long peak = peakPoolUsage.get(memoryPool.getName());
+				peakPoolUsage.put(memoryPool.getName(), Math.max(peak != null ? peak : 0L, peakUsage.getUsed()));
+			}
+		}
+		startGcCounts = null;
+		startGcTimesInMillis = null;
+		startAllocatedBytes = null;
+	}
+
+	/**
+	 * @return the garbage collection and allocation accumulated over all completed measurements
+	 */
+	public JvmUsage getUsage() {
+		List<JvmUsage.GarbageCollectorUsage> garbageCollectorUsage = new ArrayList<>();
+		for (String name : gcCounts.keySet()) {
+			garbageCollectorUsage.add(new JvmUsage.GarbageCollectorUsage(name, gcCounts.get(name),
+					gcTimesInMillis.get(name)));
+		}
+		List<JvmUsage.MemoryPoolUsage> memoryPoolUsage = new ArrayList<>();
+		for (MemoryPoolMXBean memoryPool : memoryPools) {
+			Long peak = peakPoolUsage.get(memoryPool.getName());
+			if (peak != null) {
+				memoryPoolUsage.add(new JvmUsage.MemoryPoolUsage(memoryPool.getName(),
+						memoryPool.getType() == MemoryType.HEAP, peak));
+			}
+		}
+		return new JvmUsage(numberOfMeasurements, measuredTimeInNanos, garbageCollectorUsage, memoryPoolUsage,
+				allocatedBytes);
+	}
+
+	private Map<Long, Long> readAllocatedBytes() {
+		long[] threadIds = threads.getAllThreadIds();
+		long[] bytes = threads.getThreadAllocatedBytes(threadIds);
+		Map<Long, Long> allocatedBytesPerThread = new HashMap<>();
+		for (int i = 0; i < threadIds.length; i++) {
+			// Threads that terminated since their id was retrieved are reported as -1
+			if (bytes[i] >= 0) {
+				allocatedBytesPerThread.put(threadIds[i], bytes[i]);
+			}
+		}
+		return allocatedBytesPerThread;
+	}
+
+	private static void addDelta(Map<String, Long> totals, String name, long delta) {
+		totals.put(name, totals.get(name) + Math.max(0L, delta));
+	}
+
+}
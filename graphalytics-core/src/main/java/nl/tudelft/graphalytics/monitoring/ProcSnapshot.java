@@ -0,0 +1,235 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.monitoring;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Snapshot of the cumulative resource usage counters exposed by the Linux proc filesystem. Rates and utilization are
+ * computed from the difference between two snapshots.
+ *
+ * @author Tim Hegeman
+ */
+final class ProcSnapshot {
+
+	private static final Path PROC = Paths.get("/proc");
+	private static final Path SYS_BLOCK = Paths.get("/sys/block");
+	private static final long SECTOR_SIZE = 512L;
+	private static final long KILOBYTE = 1024L;
+
+	private final long timestampInNanos;
+	private final long cpuTotalTicks;
+	private final long cpuIdleTicks;
+	private final long cpuIoWaitTicks;
+	private final long memoryUsedInBytes;
+	private final long residentSetSizeInBytes;
+	private final long diskSectorsRead;
+	private final long diskSectorsWritten;
+	private final long networkBytesReceived;
+	private final long networkBytesSent;
+
+	private ProcSnapshot(long timestampInNanos, long[] cpu, long memoryUsedInBytes, long residentSetSizeInBytes,
+			long[] disk, long[] network) {
+		this.timestampInNanos = timestampInNanos;
+		this.cpuTotalTicks = cpu[0];
+		this.cpuIdleTicks = cpu[1];
+		this.cpuIoWaitTicks = cpu[2];
+		this.memoryUsedInBytes = memoryUsedInBytes;
+		this.residentSetSizeInBytes = residentSetSizeInBytes;
+		this.diskSectorsRead = disk[0];
+		this.diskSectorsWritten = disk[1];
+		this.networkBytesReceived = network[0];
+		this.networkBytesSent = network[1];
+	}
+
+	/**
+	 * @return true iff the proc filesystem is available on this machine
+	 */
+	static boolean isAvailable() {
+		return Files.isReadable(PROC.resolve("stat"));
+	}
+
+	/**
+	 * @return a snapshot of the current resource usage counters
+	 * @throws IOException if the proc filesystem could not be read
+	 */
+	static ProcSnapshot read() throws IOException {
+		long timestamp = System.nanoTime();
+		return new ProcSnapshot(timestamp, readCpu(), readMemoryUsed(), readResidentSetSize(), readDisk(),
+				readNetwork());
+	}
+
+	/**
+	 * @return total, idle (including IO wait), and IO wait ticks of all CPUs
+	 */
+	private static long[] readCpu() throws IOException {
+		for (String line : readLines("stat")) {
+			if (line.startsWith("cpu ")) {
+				String[] fields = line.trim().split("\\s+");
+				long total = 0L;
+				// user, nice, system, idle, iowait, irq, softirq, steal; guest time is included in user time
+				for (int i = 1; i <= 8 && i < fields.length; i++) {
+					total += Long.parseLong(fields[i]);
+				}
+				long ioWait = Long.parseLong(fields[5]);
+				return new long[]{total, Long.parseLong(fields[4]) + ioWait, ioWait};
+			}
+		}
+		throw new IOException("Missing aggregate CPU statistics in /proc/stat.");
+	}
+
+	private static long readMemoryUsed() throws IOException {
+		long total = -1L;
+		long available = -1L;
+		for (String line : readLines("meminfo")) {
+			if (line.startsWith("MemTotal:")) {
+				total = parseKilobytes(line);
+			} else if (line.startsWith("MemAvailable:")) {
+				available = parseKilobytes(line);
+			}
+		}
+		return total >= 0 && available >= 0 ? total - available : 0L;
+	}
+
+	private static long readResidentSetSize() throws IOException {
+		for (String line : readLines("self/status")) {
+			if (line.startsWith("VmRSS:")) {
+				return parseKilobytes(line);
+			}
+		}
+		return 0L;
+	}
+
+	/**
+	 * @return sectors read and written by all physical disks; partitions and virtual devices stacked on other devices
+	 * (device mapper, software RAID) are excluded to avoid counting IO twice
+	 */
+	private static long[] readDisk() throws IOException {
+		long[] sectors = new long[2];
+		for (String line : readLines("diskstats")) {
+			String[] fields = line.trim().split("\\s+");
+			if (fields.length < 10 || !isPhysicalDisk(fields[2])) {
+				continue;
+			}
+			sectors[0] += Long.parseLong(fields[5]);
+			sectors[1] += Long.parseLong(fields[9]);
+		}
+		return sectors;
+	}
+
+	private static boolean isPhysicalDisk(String device) throws IOException {
+		return !device.startsWith("loop") && !device.startsWith("ram") && !device.startsWith("zram") &&
+				!device.startsWith("dm-") && !device.startsWith("md") &&
+				Files.isDirectory(SYS_BLOCK.resolve(device)) && !hasSlaves(device);
+	}
+
+	private static boolean hasSlaves(String device) throws IOException {
+		Path slaves = SYS_BLOCK.resolve(device).resolve("slaves");
+		if (!Files.isDirectory(slaves)) {
+			return false;
+		}
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(slaves)) {
+			return entries.iterator().hasNext();
+		}
+	}
+
+	/**
+	 * @return bytes received and sent on all network interfaces except the loopback interface
+	 */
+	private static long[] readNetwork() throws IOException {
+		long[] bytes = new long[2];
+		for (String line : readLines("net/dev")) {
+			int separator = line.indexOf(':');
+			if (separator < 0 || line.substring(0, separator).trim().equals("lo")) {
+				continue;
+			}
+			String[] fields = line.substring(separator + 1).trim().split("\\s+");
+			if (fields.length < 9) {
+				continue;
+			}
+			bytes[0] += Long.parseLong(fields[0]);
+			bytes[1] += Long.parseLong(fields[8]);
+		}
+		return bytes;
+	}
+
+	private static long parseKilobytes(String line) {
+		String[] fields = line.trim().split("\\s+");
+		return Long.parseLong(fields[1]) * KILOBYTE;
+	}
+
+	private static List<String> readLines(String file) throws IOException {
+		return Files.readAllLines(PROC.resolve(file), StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * @return the time at which the snapshot was taken, as reported by System.nanoTime()
+	 */
+	long getTimestampInNanos() {
+		return timestampInNanos;
+	}
+
+	/**
+	 * @param previous an earlier snapshot
+	 * @return the fraction of CPU time spent on non-idle tasks since the earlier snapshot
+	 */
+	double getCpuUtilizationSince(ProcSnapshot previous) {
+		long total = cpuTotalTicks - previous.cpuTotalTicks;
+		long idle = cpuIdleTicks - previous.cpuIdleTicks;
+		return total > 0 ? Math.max(0.0, Math.min(1.0, 1.0 - (double)idle / total)) : 0.0;
+	}
+
+	/**
+	 * @param previous an earlier snapshot
+	 * @return the fraction of CPU time spent idle while waiting for IO since the earlier snapshot
+	 */
+	double getIoWaitSince(ProcSnapshot previous) {
+		long total = cpuTotalTicks - previous.cpuTotalTicks;
+		long ioWait = cpuIoWaitTicks - previous.cpuIoWaitTicks;
+		return total > 0 ? Math.max(0.0, Math.min(1.0, (double)ioWait / total)) : 0.0;
+	}
+
+	long getMemoryUsedInBytes() {
+		return memoryUsedInBytes;
+	}
+
+	long getResidentSetSizeInBytes() {
+		return residentSetSizeInBytes;
+	}
+
+	long getDiskBytesReadSince(ProcSnapshot previous) {
+		return Math.max(0L, diskSectorsRead - previous.diskSectorsRead) * SECTOR_SIZE;
+	}
+
+	long getDiskBytesWrittenSince(ProcSnapshot previous) {
+		return Math.max(0L, diskSectorsWritten - previous.diskSectorsWritten) * SECTOR_SIZE;
+	}
+
+	long getNetworkBytesReceivedSince(ProcSnapshot previous) {
+		return Math.max(0L, networkBytesReceived - previous.networkBytesReceived);
+	}
+
+	long getNetworkBytesSentSince(ProcSnapshot previous) {
+		return Math.max(0L, networkBytesSent - previous.networkBytesSent);
+	}
+
+}
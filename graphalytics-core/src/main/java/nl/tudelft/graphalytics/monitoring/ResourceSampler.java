@@ -0,0 +1,137 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.monitoring;
+
+import nl.tudelft.graphalytics.domain.ResourceUsage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the resource usage of the machine on a background thread while a benchmark is running, by reading
+ * /proc/stat, /proc/meminfo, /proc/self/status, /proc/diskstats, and /proc/net/dev at a fixed interval. On systems
+ * without a proc filesystem the sampler records nothing.
+ *
+ * @author Tim Hegeman
+ */
+public final class ResourceSampler {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private final long samplingIntervalInMillis;
+	private final List<ResourceUsage.Sample> samples = new ArrayList<>();
+	private ScheduledExecutorService sampler;
+	private ProcSnapshot startSnapshot;
+	private ProcSnapshot lastSnapshot;
+
+	/**
+	 * @param samplingIntervalInMillis the time between two consecutive samples in milliseconds
+	 * @throws IllegalArgumentException iff samplingIntervalInMillis is not positive
+	 */
+	public ResourceSampler(long samplingIntervalInMillis) {
+		if (samplingIntervalInMillis <= 0)
+			throw new IllegalArgumentException("Parameter \"samplingIntervalInMillis\" must be positive.");
+
+		this.samplingIntervalInMillis = samplingIntervalInMillis;
+	}
+
+	/**
+	 * Starts sampling on a background thread.
+	 *
+	 * @throws IllegalStateException iff the sampler has already been started
+	 */
+	public synchronized void start() {
+		if (sampler != null)
+			throw new IllegalStateException("The resource sampler has already been started.");
+		if (!ProcSnapshot.isAvailable()) {
+			LOG.warn("The proc filesystem is not available, resource usage will not be recorded.");
+			return;
+		}
+
+		try {
+			startSnapshot = lastSnapshot = ProcSnapshot.read();
+		} catch (IOException | RuntimeException ex) {
+			LOG.warn("Failed to read resource usage, resource usage will not be recorded.", ex);
+			return;
+		}
+		sampler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "graphalytics-resource-sampler");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		sampler.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				sample();
+			}
+		}, samplingIntervalInMillis, samplingIntervalInMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops sampling, records a final sample, and returns the recorded resource usage.
+	 *
+	 * @return the resource usage recorded since the sampler was started
+	 */
+	public ResourceUsage stop() {
+		synchronized (this) {
+			if (sampler == null) {
+				return ResourceUsage.empty();
+			}
+			sampler.shutdownNow();
+		}
+		try {
+			sampler.awaitTermination(samplingIntervalInMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this) {
+			sample();
+			sampler = null;
+			return new ResourceUsage(samplingIntervalInMillis, samples);
+		}
+	}
+
+	private synchronized void sample() {
+		ProcSnapshot snapshot;
+		try {
+			snapshot = ProcSnapshot.read();
+		} catch (IOException | RuntimeException ex) {
+			LOG.debug("Failed to read resource usage.", ex);
+			return;
+		}
+		samples.add(new ResourceUsage.Sample(
+				TimeUnit.NANOSECONDS.toMillis(snapshot.getTimestampInNanos() - startSnapshot.getTimestampInNanos()),
+				snapshot.getCpuUtilizationSince(lastSnapshot),
+				snapshot.getIoWaitSince(lastSnapshot),
+				snapshot.getMemoryUsedInBytes(),
+				snapshot.getResidentSetSizeInBytes(),
+				snapshot.getDiskBytesReadSince(lastSnapshot),
+				snapshot.getDiskBytesWrittenSince(lastSnapshot),
+				snapshot.getNetworkBytesReceivedSince(lastSnapshot),
+				snapshot.getNetworkBytesSentSince(lastSnapshot)));
+		lastSnapshot = snapshot;
+	}
+
+}
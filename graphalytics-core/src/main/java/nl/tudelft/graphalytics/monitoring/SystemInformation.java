@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.monitoring;
+
+import nl.tudelft.graphalytics.domain.SystemDetails;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects a description of the machine running the benchmark driver, i.e., its hardware, operating system, and JVM.
+ *
+ * @author Tim Hegeman
+ */
+public final class SystemInformation {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private SystemInformation() {
+	}
+
+	/**
+	 * @return the details of the machine running the benchmark driver
+	 */
+	public static SystemDetails collect() {
+		Map<String, String> properties = new LinkedHashMap<>();
+		try {
+			properties.put("host.name", InetAddress.getLocalHost().getHostName());
+		} catch (IOException ex) {
+			LOG.debug("Failed to determine the host name.", ex);
+		}
+		properties.put("os.name", System.getProperty("os.name"));
+		properties.put("os.version", System.getProperty("os.version"));
+		properties.put("os.arch", System.getProperty("os.arch"));
+		properties.put("cpu.model", readProcValue("cpuinfo", "model name"));
+		properties.put("cpu.cores", Integer.toString(Runtime.getRuntime().availableProcessors()));
+		properties.put("memory.total", readProcValue("meminfo", "MemTotal"));
+		properties.put("java.vm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+		properties.put("java.max-heap", Long.toString(Runtime.getRuntime().maxMemory() / (1024L * 1024L)) + " MB");
+		return new SystemDetails(properties);
+	}
+
+	/**
+	 * Determines the CPUs the benchmark driver may run on, taking into account CPU sets (e.g., set by taskset or a
+	 * container runtime) as listed by /proc/self/status. The result is limited to the number of processors available to
+	 * the JVM, which also reflects CPU quotas.
+	 *
+	 * @return the ids of the CPUs available to the benchmark driver, in ascending order
+	 */
+	public static List<Integer> getAvailableCpus() {
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		List<Integer> cpuIds = new ArrayList<>();
+		String allowedList = readProcValue("self/status", "Cpus_allowed_list");
+		try {
+			if (!allowedList.equals("unknown")) {
+				for (String range : allowedList.split(",")) {
+					String[] bounds = range.trim().split("-");
+					int first = Integer.parseInt(bounds[0]);
+					int last = bounds.length > 1 ? Integer.parseInt(bounds[1]) : first;
+					for (int cpuId = first; cpuId <= last; cpuId++) {
+						cpuIds.add(cpuId);
+					}
+				}
+			}
+		} catch (NumberFormatException ex) {
+			LOG.debug("Failed to parse the list of allowed CPUs \"" + allowedList + "\".", ex);
+			cpuIds.clear();
+		}
+		if (cpuIds.isEmpty()) {
+			for (int cpuId = 0; cpuId < availableProcessors; cpuId++) {
+				cpuIds.add(cpuId);
+			}
+		}
+		return new ArrayList<>(cpuIds.subList(0, Math.min(cpuIds.size(), availableProcessors)));
+	}
+
+	/**
+	 * @return the value of the first "key: value" line with the given key in a file in /proc, or "unknown"
+	 */
+	private static String readProcValue(String file, String key) {
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc", file), StandardCharsets.US_ASCII)) {
+				int separator = line.indexOf(':');
+				if (separator > 0 && line.substring(0, separator).trim().equals(key)) {
+					return line.substring(separator + 1).trim();
+				}
+			}
+		} catch (IOException ex) {
+			LOG.debug("Failed to read /proc/" + file + ".", ex);
+		}
+		return "unknown";
+	}
+
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.io.CsrGraphHeader;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Converts graphs stored in the edge-based or vertex-based text formats to the binary compressed sparse row (CSR)
+ * format described by {@link CsrGraphHeader}. Conversion is performed once per graph; the binary file is reused by
+ * later runs for as long as it is newer than the text file it was created from.
+ *
+ * @author Tim Hegeman
+ */
+public final class BinaryGraphConverter {
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * File extension used for graphs stored in the binary CSR format.
+	 */
+	public static final String FILE_EXTENSION = ".csr";
+
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+	private BinaryGraphConverter() {
+	}
+
+	/**
+	 * Converts a graph to the binary CSR format, unless an up-to-date binary version of the graph already exists in
+	 * the output directory.
+	 *
+	 * @param graph           the graph to convert
+	 * @param outputDirectory the directory to store the binary version of the graph in
+	 * @return a Graph referring to the binary version of the input graph
+	 * @throws IOException iff the graph could not be read or converted
+	 */
+	public static Graph convertIfNeeded(Graph graph, String outputDirectory) throws IOException {
+		return convertIfNeeded(graph, outputDirectory, null);
+	}
+
+	/**
+	 * Converts a graph to the binary CSR format, unless an up-to-date binary version of the graph already exists in
+	 * the output directory. Graphs that are estimated to need more memory than the budget of the external converter
+	 * to convert in memory are converted using the external converter instead.
+	 *
+	 * @param graph             the graph to convert
+	 * @param outputDirectory   the directory to store the binary version of the graph in
+	 * @param externalConverter the converter to use for large graphs, or null to always convert in memory
+	 * @return a Graph referring to the binary version of the input graph
+	 * @throws IOException iff the graph could not be read or converted
+	 */
+	public static Graph convertIfNeeded(Graph graph, String outputDirectory,
+			ExternalSortGraphConverter externalConverter) throws IOException {
+		if (graph.getGraphFormat().isBinary()) {
+			return graph;
+		}
+
+		Path inputPath = Paths.get(graph.getFilePath());
+		Path outputPath = Paths.get(outputDirectory, graph.getName() + FILE_EXTENSION);
+		if (isUpToDate(inputPath, outputPath)) {
+			LOG.info("Using existing binary version of graph \"" + graph.getName() + "\" at \"" + outputPath + "\".");
+		} else {
+			LOG.info("Converting graph \"" + graph.getName() + "\" to binary format at \"" + outputPath + "\".");
+			long startTime = System.currentTimeMillis();
+			if (externalConverter != null && estimateMemoryUsage(graph) > externalConverter.getMemoryBudget()) {
+				externalConverter.convertToBinary(inputPath, graph.getGraphFormat(), outputPath);
+			} else {
+				convert(inputPath, graph.getGraphFormat(), outputPath);
+			}
+			LOG.info("Converted graph \"" + graph.getName() + "\" in " +
+					(System.currentTimeMillis() - startTime) + " ms.");
+		}
+
+		return new Graph(graph.getName(), outputPath.toString(),
+				GraphFormat.binary(graph.getGraphFormat().isDirected()),
+				graph.getNumberOfVertices(), graph.getNumberOfEdges());
+	}
+
+	/**
+	 * @return the approximate number of bytes needed to convert a graph in memory
+	 */
+	private static long estimateMemoryUsage(Graph graph) {
+		long storedEdges = graph.getGraphFormat().isDirected() ? graph.getNumberOfEdges() : 2 * graph.getNumberOfEdges();
+		return 16L * graph.getNumberOfVertices() + 4L * storedEdges;
+	}
+
+	/**
+	 * @param inputPath  the path of a text-based graph
+	 * @param outputPath the path of a (potentially non-existent) binary version of the graph
+	 * @return true iff the binary version exists and is at least as new as the text-based graph
+	 * @throws IOException iff the modification time of either file could not be read
+	 */
+	private static boolean isUpToDate(Path inputPath, Path outputPath) throws IOException {
+		return Files.isRegularFile(outputPath) &&
+				Files.getLastModifiedTime(outputPath).compareTo(Files.getLastModifiedTime(inputPath)) >= 0;
+	}
+
+	/**
+	 * Converts a text-based graph to the binary CSR format. The input is read three times: once to collect the set of
+	 * vertex ids, once to count the degree of each vertex, and once to fill the neighbour array. Duplicate edges are
+	 * removed, and undirected edges are stored in both directions.
+	 *
+	 * @param inputPath   the path of the text-based graph
+	 * @param inputFormat the format of the text-based graph
+	 * @param outputPath  the path to write the binary graph to
+	 * @throws IOException iff the graph could not be read or written, or if it is too large to convert in memory
+	 */
+	public static void convert(Path inputPath, GraphFormat inputFormat, Path outputPath) throws IOException {
+		if (inputFormat.isBinary()) {
+			throw new IllegalArgumentException("Input graph is already in binary format.");
+		}
+		boolean directed = inputFormat.isDirected();
+
+		// Pass 1: collect the sorted set of vertex ids, which maps vertex indices to vertex ids
+		long[] vertexIds = VertexIdCollector.collect(inputPath, inputFormat);
+		int numberOfVertices = vertexIds.length;
+
+		// Pass 2: count the (out-)degree of each vertex
+		long[] offsets = new long[numberOfVertices + 1];
+		try (EdgeStream edges = GraphStreams.openEdgeStream(inputPath, inputFormat)) {
+			while (edges.next()) {
+				offsets[indexOf(vertexIds, edges.getSourceId()) + 1]++;
+				if (!directed) {
+					offsets[indexOf(vertexIds, edges.getDestinationId()) + 1]++;
+				}
+			}
+		}
+		for (int i = 0; i < numberOfVertices; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		if (offsets[numberOfVertices] > MAX_ARRAY_LENGTH) {
+			throw new IOException("Graph at \"" + inputPath + "\" has " + offsets[numberOfVertices] +
+					" edges, which is too many to convert in memory.");
+		}
+
+		// Pass 3: fill the neighbour array
+		int[] neighbours = new int[(int)offsets[numberOfVertices]];
+		long[] nextPosition = Arrays.copyOf(offsets, numberOfVertices);
+		try (EdgeStream edges = GraphStreams.openEdgeStream(inputPath, inputFormat)) {
+			while (edges.next()) {
+				int sourceIndex = indexOf(vertexIds, edges.getSourceId());
+				int destinationIndex = indexOf(vertexIds, edges.getDestinationId());
+				neighbours[(int)nextPosition[sourceIndex]++] = destinationIndex;
+				if (!directed) {
+					neighbours[(int)nextPosition[destinationIndex]++] = sourceIndex;
+				}
+			}
+		}
+
+		int numberOfEdges = sortAndRemoveDuplicateEdges(offsets, neighbours);
+		writeGraph(outputPath, new CsrGraphHeader(directed, !isIdentity(vertexIds), numberOfVertices, numberOfEdges),
+				vertexIds, offsets, neighbours);
+	}
+
+	/**
+	 * Sorts the neighbours of each vertex and removes duplicate edges, compacting the neighbour array and updating the
+	 * offset array accordingly.
+	 *
+	 * @return the number of remaining edges
+	 */
+	private static int sortAndRemoveDuplicateEdges(long[] offsets, int[] neighbours) {
+		int writePosition = 0;
+		for (int vertex = 0; vertex + 1 < offsets.length; vertex++) {
+			int start = (int)offsets[vertex];
+			int end = (int)offsets[vertex + 1];
+			Arrays.sort(neighbours, start, end);
+
+			offsets[vertex] = writePosition;
+			for (int i = start; i < end; i++) {
+				if (i == start || neighbours[i] != neighbours[i - 1]) {
+					neighbours[writePosition++] = neighbours[i];
+				}
+			}
+		}
+		offsets[offsets.length - 1] = writePosition;
+		return writePosition;
+	}
+
+	private static boolean isIdentity(long[] vertexIds) {
+		for (int i = 0; i < vertexIds.length; i++) {
+			if (vertexIds[i] != i) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void writeGraph(Path outputPath, CsrGraphHeader header, long[] vertexIds, long[] offsets,
+			int[] neighbours) throws IOException {
+		// Write to a temporary file first so an interrupted conversion never leaves a truncated graph behind
+		Path absoluteOutputPath = outputPath.toAbsolutePath();
+		Path temporaryPath = TemporaryFiles.createFor(absoluteOutputPath);
+		try {
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+					Files.newOutputStream(temporaryPath), 1 << 20))) {
+				header.writeTo(output);
+				if (header.isIdMapPresent()) {
+					for (long vertexId : vertexIds) {
+						output.writeLong(vertexId);
+					}
+				}
+				for (long offset : offsets) {
+					output.writeLong(offset);
+				}
+				for (int i = 0; i < header.getNumberOfEdges(); i++) {
+					output.writeInt(neighbours[i]);
+				}
+			}
+			Files.move(temporaryPath, absoluteOutputPath, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+	}
+
+	private static int indexOf(long[] vertexIds, long vertexId) throws IOException {
+		int index = Arrays.binarySearch(vertexIds, vertexId);
+		if (index < 0) {
+			throw new IOException("Found edge to unknown vertex " + vertexId + ".");
+		}
+		return index;
+	}
+
+}
@@ -0,0 +1,387 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.io.EdgeStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts an arbitrarily large collection of edges (pairs of longs) by source and destination using a bounded amount of
+ * memory. Edges are buffered in memory until the buffer is full, after which the buffer is sorted and spilled to a
+ * temporary file (a run). The sorted edges are read back by merging all runs. If all edges fit in the buffer, no
+ * temporary files are written at all.
+ *
+ * @author Tim Hegeman
+ */
+final class ExternalEdgeSorter implements Closeable {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private static final int MIN_BUFFERED_EDGES = 1 << 16;
+	private static final int MAX_BUFFERED_EDGES = (Integer.MAX_VALUE - 8) / 2;
+	private static final int MIN_READ_BUFFER_SIZE = 1 << 13;
+	private static final int MAX_READ_BUFFER_SIZE = 1 << 20;
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private final long memoryBudget;
+	private final Path temporaryDirectory;
+	private final boolean deduplicate;
+
+	private final int maxBufferedEdges;
+	private long[] buffer;
+	private int bufferedEdges = 0;
+	private final List<Path> runPaths = new ArrayList<>();
+	private final List<Long> runSizes = new ArrayList<>();
+	private boolean sorted = false;
+
+	/**
+	 * @param memoryBudget       the approximate number of bytes the sorter may use
+	 * @param temporaryDirectory the directory to write sorted runs to
+	 * @param deduplicate        true iff duplicate edges should be removed
+	 */
+	ExternalEdgeSorter(long memoryBudget, Path temporaryDirectory, boolean deduplicate) {
+		this.memoryBudget = memoryBudget;
+		this.temporaryDirectory = temporaryDirectory;
+		this.deduplicate = deduplicate;
+		// Each buffered edge takes 16 bytes; leave a quarter of the budget for the merge phase. The buffer starts small
+		// and grows up to this capacity, so sorting a small graph does not claim the full budget
+		this.maxBufferedEdges = (int)Math.max(MIN_BUFFERED_EDGES,
+				Math.min(MAX_BUFFERED_EDGES, memoryBudget / 4 * 3 / 16));
+		this.buffer = new long[2 * MIN_BUFFERED_EDGES];
+	}
+
+	/**
+	 * Adds an edge to the sorter. Must not be called after the first call to {@link #sortedStream()}.
+	 *
+	 * @param sourceId      the source of the edge
+	 * @param destinationId the destination of the edge
+	 * @throws IOException iff the buffer had to be spilled and the run could not be written
+	 */
+	void add(long sourceId, long destinationId) throws IOException {
+		if (sorted) {
+			throw new IllegalStateException("Cannot add edges after sorting.");
+		}
+		if (2 * bufferedEdges == buffer.length) {
+			if (bufferedEdges < maxBufferedEdges) {
+				growBuffer();
+			} else {
+				spill();
+			}
+		}
+		buffer[2 * bufferedEdges] = sourceId;
+		buffer[2 * bufferedEdges + 1] = destinationId;
+		bufferedEdges++;
+	}
+
+	/**
+	 * Returns a stream of all added edges in sorted order. This method may be called multiple times to read the
+	 * sorted edges in multiple passes.
+	 *
+	 * @return a stream of all added edges, sorted by source and destination
+	 * @throws IOException iff a run could not be written or read
+	 */
+	EdgeStream sortedStream() throws IOException {
+		if (!sorted) {
+			sorted = true;
+			if (runPaths.isEmpty()) {
+				sortEdges(buffer, 0, bufferedEdges);
+			} else {
+				if (bufferedEdges > 0) {
+					spill();
+				}
+				buffer = null;
+				LOG.debug("Merging " + runPaths.size() + " sorted runs.");
+			}
+		}
+
+		if (runPaths.isEmpty()) {
+			return new BufferEdgeStream(buffer, bufferedEdges, deduplicate);
+		}
+		int readBufferSize = (int)Math.max(MIN_READ_BUFFER_SIZE,
+				Math.min(MAX_READ_BUFFER_SIZE, memoryBudget / 4 / runPaths.size()));
+		return new MergingEdgeStream(runPaths, runSizes, readBufferSize, deduplicate);
+	}
+
+	/**
+	 * Deletes all temporary files.
+	 */
+	@Override
+	public void close() throws IOException {
+		for (Path runPath : runPaths) {
+			Files.deleteIfExists(runPath);
+		}
+		runPaths.clear();
+		runSizes.clear();
+	}
+
+	private void growBuffer() {
+		int newCapacity = (int)Math.min(maxBufferedEdges, 2L * bufferedEdges);
+		buffer = Arrays.copyOf(buffer, 2 * newCapacity);
+	}
+
+	private void spill() throws IOException {
+		sortEdges(buffer, 0, bufferedEdges);
+		Path runPath = Files.createTempFile(temporaryDirectory, "graphalytics-edges-", ".run");
+		runPaths.add(runPath);
+
+		long runSize = 0;
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(runPath), MAX_READ_BUFFER_SIZE))) {
+			for (int i = 0; i < bufferedEdges; i++) {
+				long sourceId = buffer[2 * i];
+				long destinationId = buffer[2 * i + 1];
+				if (deduplicate && i > 0 && sourceId == buffer[2 * i - 2] && destinationId == buffer[2 * i - 1]) {
+					continue;
+				}
+				output.writeLong(sourceId);
+				output.writeLong(destinationId);
+				runSize++;
+			}
+		}
+		runSizes.add(runSize);
+		LOG.debug("Spilled run of " + runSize + " edges to \"" + runPath + "\".");
+		bufferedEdges = 0;
+	}
+
+	/**
+	 * Sorts the edges at indices [from, to) of an array storing each edge as two consecutive longs, using a quicksort
+	 * with median-of-three pivot selection.
+	 */
+	static void sortEdges(long[] edges, int from, int to) {
+		while (to - from > INSERTION_SORT_THRESHOLD) {
+			int pivot = medianOfThree(edges, from, (from + to) >>> 1, to - 1);
+			long pivotSource = edges[2 * pivot];
+			long pivotDestination = edges[2 * pivot + 1];
+
+			int i = from;
+			int j = to - 1;
+			while (i <= j) {
+				while (compare(edges, i, pivotSource, pivotDestination) < 0) {
+					i++;
+				}
+				while (compare(edges, j, pivotSource, pivotDestination) > 0) {
+					j--;
+				}
+				if (i <= j) {
+					swap(edges, i++, j--);
+				}
+			}
+
+			// Recurse on the smaller partition to bound the stack depth
+			if (j - from < to - i) {
+				sortEdges(edges, from, j + 1);
+				from = i;
+			} else {
+				sortEdges(edges, i, to);
+				to = j + 1;
+			}
+		}
+
+		for (int i = from + 1; i < to; i++) {
+			for (int j = i; j > from && compare(edges, j, edges[2 * j - 2], edges[2 * j - 1]) < 0; j--) {
+				swap(edges, j, j - 1);
+			}
+		}
+	}
+
+	private static int medianOfThree(long[] edges, int a, int b, int c) {
+		if (compare(edges, a, edges[2 * b], edges[2 * b + 1]) < 0) {
+			if (compare(edges, b, edges[2 * c], edges[2 * c + 1]) < 0) {
+				return b;
+			}
+			return compare(edges, a, edges[2 * c], edges[2 * c + 1]) < 0 ? c : a;
+		} else {
+			if (compare(edges, a, edges[2 * c], edges[2 * c + 1]) < 0) {
+				return a;
+			}
+			return compare(edges, b, edges[2 * c], edges[2 * c + 1]) < 0 ? c : b;
+		}
+	}
+
+	private static int compare(long[] edges, int index, long sourceId, long destinationId) {
+		int result = Long.compare(edges[2 * index], sourceId);
+		return result != 0 ? result : Long.compare(edges[2 * index + 1], destinationId);
+	}
+
+	private static void swap(long[] edges, int i, int j) {
+		long sourceId = edges[2 * i];
+		long destinationId = edges[2 * i + 1];
+		edges[2 * i] = edges[2 * j];
+		edges[2 * i + 1] = edges[2 * j + 1];
+		edges[2 * j] = sourceId;
+		edges[2 * j + 1] = destinationId;
+	}
+
+	/**
+	 * EdgeStream over the sorted in-memory buffer.
+	 */
+	private static final class BufferEdgeStream implements EdgeStream {
+
+		private final long[] edges;
+		private final int numberOfEdges;
+		private final boolean deduplicate;
+		private int index = -1;
+
+		private BufferEdgeStream(long[] edges, int numberOfEdges, boolean deduplicate) {
+			this.edges = edges;
+			this.numberOfEdges = numberOfEdges;
+			this.deduplicate = deduplicate;
+		}
+
+		@Override
+		public boolean next() {
+			index++;
+			while (deduplicate && index > 0 && index < numberOfEdges &&
+					edges[2 * index] == edges[2 * index - 2] && edges[2 * index + 1] == edges[2 * index - 1]) {
+				index++;
+			}
+			return index < numberOfEdges;
+		}
+
+		@Override
+		public long getSourceId() {
+			return edges[2 * index];
+		}
+
+		@Override
+		public long getDestinationId() {
+			return edges[2 * index + 1];
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+	/**
+	 * EdgeStream performing a k-way merge of sorted runs.
+	 */
+	private static final class MergingEdgeStream implements EdgeStream {
+
+		private final PriorityQueue<RunReader> queue;
+		private final List<RunReader> readers = new ArrayList<>();
+		private final boolean deduplicate;
+		private boolean first = true;
+		private long sourceId;
+		private long destinationId;
+
+		private MergingEdgeStream(List<Path> runPaths, List<Long> runSizes, int readBufferSize, boolean deduplicate)
+				throws IOException {
+			this.deduplicate = deduplicate;
+			this.queue = new PriorityQueue<>(runPaths.size(), new Comparator<RunReader>() {
+				@Override
+				public int compare(RunReader a, RunReader b) {
+					int result = Long.compare(a.sourceId, b.sourceId);
+					return result != 0 ? result : Long.compare(a.destinationId, b.destinationId);
+				}
+			});
+			try {
+				for (int i = 0; i < runPaths.size(); i++) {
+					RunReader reader = new RunReader(runPaths.get(i), runSizes.get(i), readBufferSize);
+					readers.add(reader);
+					if (reader.advance()) {
+						queue.add(reader);
+					}
+				}
+			} catch (IOException ex) {
+				close();
+				throw ex;
+			}
+		}
+
+		@Override
+		public boolean next() throws IOException {
+			while (!queue.isEmpty()) {
+				RunReader reader = queue.poll();
+				long nextSourceId = reader.sourceId;
+				long nextDestinationId = reader.destinationId;
+				if (reader.advance()) {
+					queue.add(reader);
+				}
+
+				if (deduplicate && !first && nextSourceId == sourceId && nextDestinationId == destinationId) {
+					continue;
+				}
+				first = false;
+				sourceId = nextSourceId;
+				destinationId = nextDestinationId;
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public long getSourceId() {
+			return sourceId;
+		}
+
+		@Override
+		public long getDestinationId() {
+			return destinationId;
+		}
+
+		@Override
+		public void close() throws IOException {
+			for (RunReader reader : readers) {
+				reader.input.close();
+			}
+		}
+
+	}
+
+	/**
+	 * Sequential reader of a single sorted run.
+	 */
+	private static final class RunReader {
+
+		private final DataInputStream input;
+		private long remainingEdges;
+		private long sourceId;
+		private long destinationId;
+
+		private RunReader(Path runPath, long numberOfEdges, int bufferSize) throws IOException {
+			this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(runPath), bufferSize));
+			this.remainingEdges = numberOfEdges;
+		}
+
+		private boolean advance() throws IOException {
+			if (remainingEdges == 0) {
+				return false;
+			}
+			remainingEdges--;
+			sourceId = input.readLong();
+			destinationId = input.readLong();
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,379 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.io.CsrGraphHeader;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import nl.tudelft.graphalytics.io.VertexStream;
+import nl.tudelft.graphalytics.util.LongArrayList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Converts graphs between the edge-based, vertex-based, and binary CSR formats using an external merge sort, so that
+ * graphs much larger than the available memory can be converted. Edges are sorted in runs that fit in the configured
+ * memory budget, spilled to a temporary directory, and merged while writing the output.
+ * <p/>
+ * Undirected graphs can optionally be symmetrized (every edge is stored in both directions) and deduplicated.
+ * Conversion to the binary CSR format always symmetrizes undirected graphs and removes duplicate edges, and
+ * additionally requires 16 bytes of memory per vertex for the vertex id map and offsets.
+ *
+ * @author Tim Hegeman
+ */
+public final class ExternalSortGraphConverter {
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * File extension used for graphs converted to the vertex-based format.
+	 */
+	public static final String VERTEX_BASED_FILE_EXTENSION = ".v";
+
+	/**
+	 * Marker used as destination to record the existence of a vertex. Sorts before all real destinations.
+	 */
+	private static final long VERTEX_MARKER = Long.MIN_VALUE;
+
+	private final long memoryBudget;
+	private final Path temporaryDirectory;
+
+	/**
+	 * @param memoryBudget       the approximate number of bytes to use for sorting edges
+	 * @param temporaryDirectory the directory to spill sorted runs to
+	 */
+	public ExternalSortGraphConverter(long memoryBudget, Path temporaryDirectory) {
+		if (memoryBudget <= 0) {
+			throw new IllegalArgumentException("Parameter \"memoryBudget\" must be positive.");
+		}
+		if (temporaryDirectory == null) {
+			throw new IllegalArgumentException("Parameter \"temporaryDirectory\" must not be null.");
+		}
+		this.memoryBudget = memoryBudget;
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
+	/**
+	 * @return the approximate number of bytes to use for sorting edges
+	 */
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * @return a memory budget of half the maximum heap size of this JVM, for use when none is configured
+	 */
+	public static long defaultMemoryBudget() {
+		return Runtime.getRuntime().maxMemory() / 2;
+	}
+
+	/**
+	 * Converts a graph to the vertex-based format, unless an up-to-date vertex-based version of the graph already
+	 * exists in the output directory. Graphs that are already vertex-based are returned unchanged.
+	 *
+	 * @param graph           the graph to convert
+	 * @param outputDirectory the directory to store the vertex-based version of the graph in
+	 * @param symmetrize      true iff undirected graphs should be symmetrized
+	 * @param deduplicate     true iff duplicate edges should be removed
+	 * @return a Graph referring to the vertex-based version of the input graph
+	 * @throws IOException iff the graph could not be read or converted
+	 */
+	public Graph convertToVertexBasedIfNeeded(Graph graph, String outputDirectory, boolean symmetrize,
+			boolean deduplicate) throws IOException {
+		if (!graph.getGraphFormat().isEdgeBased()) {
+			return graph;
+		}
+
+		Path inputPath = Paths.get(graph.getFilePath());
+		Path outputPath = Paths.get(outputDirectory, graph.getName() + VERTEX_BASED_FILE_EXTENSION);
+		if (isUpToDate(inputPath, outputPath)) {
+			LOG.info("Using existing vertex-based version of graph \"" + graph.getName() + "\" at \"" + outputPath +
+					"\".");
+		} else {
+			LOG.info("Converting graph \"" + graph.getName() + "\" to vertex-based format at \"" + outputPath +
+					"\".");
+			long startTime = System.currentTimeMillis();
+			convertToVertexBased(inputPath, graph.getGraphFormat(), outputPath, symmetrize, deduplicate);
+			LOG.info("Converted graph \"" + graph.getName() + "\" in " +
+					(System.currentTimeMillis() - startTime) + " ms.");
+		}
+
+		return new Graph(graph.getName(), outputPath.toString(),
+				new GraphFormat(graph.getGraphFormat().isDirected(), false),
+				graph.getNumberOfVertices(), graph.getNumberOfEdges());
+	}
+
+	private static boolean isUpToDate(Path inputPath, Path outputPath) throws IOException {
+		return Files.isRegularFile(outputPath) &&
+				Files.getLastModifiedTime(outputPath).compareTo(Files.getLastModifiedTime(inputPath)) >= 0;
+	}
+
+	/**
+	 * Converts a graph to the vertex-based format, sorting the vertices and the neighbours of each vertex. Every
+	 * vertex in the input graph, including vertices with only incoming edges, has a line in the output.
+	 *
+	 * @param inputPath   the path of the input graph
+	 * @param inputFormat the format of the input graph
+	 * @param outputPath  the path to write the vertex-based graph to
+	 * @param symmetrize  true iff undirected graphs should be symmetrized
+	 * @param deduplicate true iff duplicate edges should be removed
+	 * @throws IOException iff the graph could not be read or written
+	 */
+	public void convertToVertexBased(Path inputPath, GraphFormat inputFormat, Path outputPath, boolean symmetrize,
+			boolean deduplicate) throws IOException {
+		try (ExternalEdgeSorter sorter = sortGraph(inputPath, inputFormat, symmetrize, deduplicate, true)) {
+			Path temporaryPath = TemporaryFiles.createFor(outputPath);
+			try {
+				try (EdgeStream edges = sorter.sortedStream(); Writer output = openWriter(temporaryPath)) {
+					boolean hasVertex = false;
+					long vertexId = 0;
+					while (edges.next()) {
+						if (!hasVertex || edges.getSourceId() != vertexId) {
+							if (hasVertex) {
+								output.write('\n');
+							}
+							hasVertex = true;
+							vertexId = edges.getSourceId();
+							output.write(Long.toString(vertexId));
+						}
+						if (edges.getDestinationId() != VERTEX_MARKER) {
+							output.write(' ');
+							output.write(Long.toString(edges.getDestinationId()));
+						}
+					}
+					if (hasVertex) {
+						output.write('\n');
+					}
+				}
+				Files.move(temporaryPath, outputPath.toAbsolutePath(), StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(temporaryPath);
+			}
+		}
+	}
+
+	/**
+	 * Converts a graph to the edge-based format, sorting the edges by source and destination. Vertices without any
+	 * edges cannot be represented in the edge-based format and are dropped.
+	 *
+	 * @param inputPath   the path of the input graph
+	 * @param inputFormat the format of the input graph
+	 * @param outputPath  the path to write the edge-based graph to
+	 * @param symmetrize  true iff undirected graphs should be symmetrized
+	 * @param deduplicate true iff duplicate edges should be removed
+	 * @throws IOException iff the graph could not be read or written
+	 */
+	public void convertToEdgeBased(Path inputPath, GraphFormat inputFormat, Path outputPath, boolean symmetrize,
+			boolean deduplicate) throws IOException {
+		try (ExternalEdgeSorter sorter = sortGraph(inputPath, inputFormat, symmetrize, deduplicate, false)) {
+			Path temporaryPath = TemporaryFiles.createFor(outputPath);
+			try {
+				try (EdgeStream edges = sorter.sortedStream(); Writer output = openWriter(temporaryPath)) {
+					while (edges.next()) {
+						output.write(Long.toString(edges.getSourceId()));
+						output.write(' ');
+						output.write(Long.toString(edges.getDestinationId()));
+						output.write('\n');
+					}
+				}
+				Files.move(temporaryPath, outputPath.toAbsolutePath(), StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(temporaryPath);
+			}
+		}
+	}
+
+	/**
+	 * Converts a graph to the binary CSR format. The sorted edges are read twice: once to collect the vertex ids and
+	 * degrees, and once to write the neighbour array. Unlike {@link BinaryGraphConverter#convert(Path, GraphFormat,
+	 * Path)}, the number of edges is not limited by the size of an array.
+	 *
+	 * @param inputPath   the path of the input graph
+	 * @param inputFormat the format of the input graph
+	 * @param outputPath  the path to write the binary graph to
+	 * @throws IOException iff the graph could not be read or written
+	 */
+	public void convertToBinary(Path inputPath, GraphFormat inputFormat, Path outputPath) throws IOException {
+		boolean directed = inputFormat.isDirected();
+		try (ExternalEdgeSorter sorter = sortGraph(inputPath, inputFormat, !directed, true, true)) {
+			writeBinary(sorter, directed, outputPath);
+		}
+	}
+
+	/**
+	 * Converts a stream of edges, e.g., the output of a graph generator, to the binary CSR format.
+	 *
+	 * @param edges      the edges of the graph
+	 * @param directed   true iff the graph is directed
+	 * @param outputPath the path to write the binary graph to
+	 * @throws IOException iff the edges could not be read or the graph could not be written
+	 * @see #convertToBinary(Path, GraphFormat, Path)
+	 */
+	public void convertToBinary(EdgeStream edges, boolean directed, Path outputPath) throws IOException {
+		try (ExternalEdgeSorter sorter = createSorter(true)) {
+			while (edges.next()) {
+				addEdge(sorter, edges.getSourceId(), edges.getDestinationId(), !directed, true);
+			}
+			writeBinary(sorter, directed, outputPath);
+		}
+	}
+
+	private static void writeBinary(ExternalEdgeSorter sorter, boolean directed, Path outputPath) throws IOException {
+		// Pass 1: collect the vertex ids and the offset of the first neighbour of each vertex
+		LongArrayList vertexIds = new LongArrayList();
+		LongArrayList offsets = new LongArrayList();
+		long numberOfEdges = 0;
+		try (EdgeStream edges = sorter.sortedStream()) {
+			while (edges.next()) {
+				if (vertexIds.isEmpty() || edges.getSourceId() != vertexIds.get(vertexIds.size() - 1)) {
+					vertexIds.add(edges.getSourceId());
+					offsets.add(numberOfEdges);
+				}
+				if (edges.getDestinationId() != VERTEX_MARKER) {
+					numberOfEdges++;
+				}
+			}
+		}
+		offsets.add(numberOfEdges);
+
+		long[] sortedVertexIds = vertexIds.toArray();
+		boolean identity = isIdentity(sortedVertexIds);
+		CsrGraphHeader header = new CsrGraphHeader(directed, !identity, sortedVertexIds.length, numberOfEdges);
+
+		// Pass 2: write the header, id map, and offsets, followed by the neighbour indices in sorted order
+		Path temporaryPath = TemporaryFiles.createFor(outputPath);
+		try {
+			try (EdgeStream edges = sorter.sortedStream();
+			     DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+					     Files.newOutputStream(temporaryPath), 1 << 20))) {
+				header.writeTo(output);
+				if (header.isIdMapPresent()) {
+					for (long vertexId : sortedVertexIds) {
+						output.writeLong(vertexId);
+					}
+				}
+				for (int i = 0; i < offsets.size(); i++) {
+					output.writeLong(offsets.get(i));
+				}
+				while (edges.next()) {
+					long destinationId = edges.getDestinationId();
+					if (destinationId != VERTEX_MARKER) {
+						output.writeInt(identity ? (int)destinationId : indexOf(sortedVertexIds, destinationId));
+					}
+				}
+			}
+			Files.move(temporaryPath, outputPath.toAbsolutePath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+	}
+
+	/**
+	 * Reads a graph into an external sorter.
+	 *
+	 * @param symmetrize  true iff undirected graphs should be symmetrized
+	 * @param deduplicate true iff duplicate edges should be removed
+	 * @param keepVertices true iff vertex markers should be added for every vertex, to preserve vertices without
+	 *                     outgoing edges
+	 */
+	private ExternalEdgeSorter sortGraph(Path inputPath, GraphFormat inputFormat, boolean symmetrize,
+			boolean deduplicate, boolean keepVertices) throws IOException {
+		if (inputFormat.isBinary()) {
+			throw new IllegalArgumentException("Converting from the binary format is not supported.");
+		}
+		symmetrize = symmetrize && !inputFormat.isDirected();
+
+		ExternalEdgeSorter sorter = createSorter(deduplicate);
+		try {
+			if (inputFormat.isEdgeBased()) {
+				try (EdgeStream edges = GraphStreams.openEdgeStream(inputPath, inputFormat)) {
+					while (edges.next()) {
+						addEdge(sorter, edges.getSourceId(), edges.getDestinationId(), symmetrize, keepVertices);
+					}
+				}
+			} else {
+				try (VertexStream vertices = GraphStreams.openVertexStream(inputPath, inputFormat)) {
+					while (vertices.nextVertex()) {
+						long vertexId = vertices.getVertexId();
+						if (keepVertices) {
+							sorter.add(vertexId, VERTEX_MARKER);
+						}
+						while (vertices.hasNextNeighbour()) {
+							addEdge(sorter, vertexId, vertices.nextNeighbour(), symmetrize, keepVertices);
+						}
+					}
+				}
+			}
+		} catch (IOException | RuntimeException ex) {
+			sorter.close();
+			throw ex;
+		}
+		return sorter;
+	}
+
+	private ExternalEdgeSorter createSorter(boolean deduplicate) throws IOException {
+		Files.createDirectories(temporaryDirectory);
+		return new ExternalEdgeSorter(memoryBudget, temporaryDirectory, deduplicate);
+	}
+
+	private static void addEdge(ExternalEdgeSorter sorter, long sourceId, long destinationId, boolean symmetrize,
+			boolean keepVertices) throws IOException {
+		sorter.add(sourceId, destinationId);
+		if (symmetrize) {
+			sorter.add(destinationId, sourceId);
+		} else if (keepVertices) {
+			// Ensure the destination has a line in the output, even if it has no outgoing edges
+			sorter.add(destinationId, VERTEX_MARKER);
+		}
+	}
+
+	private static boolean isIdentity(long[] vertexIds) {
+		for (int i = 0; i < vertexIds.length; i++) {
+			if (vertexIds[i] != i) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int indexOf(long[] vertexIds, long vertexId) throws IOException {
+		int index = Arrays.binarySearch(vertexIds, vertexId);
+		if (index < 0) {
+			throw new IOException("Found edge to unknown vertex " + vertexId + ".");
+		}
+		return index;
+	}
+
+	private static Writer openWriter(Path path) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8),
+				1 << 20);
+	}
+
+}
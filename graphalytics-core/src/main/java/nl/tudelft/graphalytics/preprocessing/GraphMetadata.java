@@ -0,0 +1,94 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import java.io.Serializable;
+
+/**
+ * Structural properties of a graph file, as discovered by {@link GraphMetadataDiscovery}.
+ *
+ * @author Tim Hegeman
+ */
+public final class GraphMetadata implements Serializable {
+
+	private static final long serialVersionUID = 7698127575262122663L;
+
+	private final long numberOfVertices;
+	private final long numberOfEdges;
+	private final long maxVertexId;
+	private final boolean symmetric;
+	private final Boolean deduplicated;
+
+	/**
+	 * @param numberOfVertices the number of unique vertices in the graph
+	 * @param numberOfEdges    the number of edges in the graph
+	 * @param maxVertexId      the highest vertex id in the graph
+	 * @param symmetric        true iff every edge in the file is accompanied by its reverse edge
+	 * @param deduplicated     true iff the file contains no duplicate edges, or null if this is unknown
+	 */
+	public GraphMetadata(long numberOfVertices, long numberOfEdges, long maxVertexId, boolean symmetric,
+			Boolean deduplicated) {
+		this.numberOfVertices = numberOfVertices;
+		this.numberOfEdges = numberOfEdges;
+		this.maxVertexId = maxVertexId;
+		this.symmetric = symmetric;
+		this.deduplicated = deduplicated;
+	}
+
+	/**
+	 * @return the number of unique vertices in the graph
+	 */
+	public long getNumberOfVertices() {
+		return numberOfVertices;
+	}
+
+	/**
+	 * @return the number of edges in the graph, counting each undirected edge once
+	 */
+	public long getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	/**
+	 * @return the highest vertex id in the graph, or -1 if the graph is empty
+	 */
+	public long getMaxVertexId() {
+		return maxVertexId;
+	}
+
+	/**
+	 * @return true iff every edge in the file is accompanied by its reverse edge
+	 */
+	public boolean isSymmetric() {
+		return symmetric;
+	}
+
+	/**
+	 * @return true iff the file contains no duplicate edges, false if it does, or null if this could not be
+	 * determined without sorting the graph
+	 */
+	public Boolean isDeduplicated() {
+		return deduplicated;
+	}
+
+	@Override
+	public String toString() {
+		return "GraphMetadata(vertices=" + numberOfVertices + ", edges=" + numberOfEdges + ", maxId=" + maxVertexId +
+				", symmetric=" + symmetric + ", deduplicated=" + (deduplicated != null ? deduplicated : "unknown") +
+				")";
+	}
+
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import nl.tudelft.graphalytics.io.VertexStream;
+import nl.tudelft.graphalytics.util.LongArrayList;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Discovers the metadata of a graph (number of vertices and edges, highest vertex id, and whether the edges are
+ * symmetric and free of duplicates) in a single streaming pass over the graph file. The result is cached in a sidecar
+ * file next to the graph, keyed by the size and modification time of the graph file, so the pass is performed only
+ * once per version of a graph.
+ * <p/>
+ * Memory use is proportional to the number of vertices and the highest degree in the graph. Symmetry is determined by
+ * comparing order-independent 64-bit fingerprints of all edges and all reversed edges. Duplicate edges can only be
+ * detected if all edges with the same source are stored consecutively, as is the case for vertex-based graphs and
+ * edge-based graphs sorted by source vertex.
+ *
+ * @author Tim Hegeman
+ */
+public final class GraphMetadataDiscovery {
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * File extension appended to the name of a graph file to obtain the name of its metadata sidecar file.
+	 */
+	public static final String SIDECAR_FILE_EXTENSION = ".meta";
+
+	private static final String FILE_SIZE_KEY = "file.size";
+	private static final String FILE_MODIFIED_KEY = "file.modified";
+	private static final String VERTICES_KEY = "vertices";
+	private static final String EDGES_KEY = "edges";
+	private static final String MAX_ID_KEY = "max-id";
+	private static final String SYMMETRIC_KEY = "symmetric";
+	private static final String DEDUPLICATED_KEY = "deduplicated";
+
+	private long numberOfEdges = 0;
+	private long numberOfSelfLoops = 0;
+	private long forwardFingerprint = 0;
+	private long reverseFingerprint = 0;
+
+	private boolean groupedBySource = true;
+	private boolean deduplicated = true;
+	private boolean hasCurrentSource = false;
+	private long currentSource;
+	private final LongArrayList currentNeighbours = new LongArrayList();
+
+	private final VertexIdCollector vertexIds = new VertexIdCollector();
+
+	private GraphMetadataDiscovery() {
+	}
+
+	/**
+	 * @param graphPath the path of a graph file
+	 * @return the path of the metadata sidecar file of the graph
+	 */
+	public static Path getSidecarPath(Path graphPath) {
+		return Paths.get(graphPath.toString() + SIDECAR_FILE_EXTENSION);
+	}
+
+	/**
+	 * Reads the metadata of a graph from its sidecar file, or discovers the metadata and writes the sidecar file if
+	 * it does not exist or does not match the current version of the graph file. Failing to write the sidecar file is
+	 * not considered an error.
+	 *
+	 * @param graphPath   the path of the graph file
+	 * @param graphFormat the format of the graph file
+	 * @return the metadata of the graph
+	 * @throws IOException iff the graph could not be read
+	 */
+	public static GraphMetadata discoverIfNeeded(Path graphPath, GraphFormat graphFormat) throws IOException {
+		Path sidecarPath = getSidecarPath(graphPath);
+		long fileSize = Files.size(graphPath);
+		long fileModified = Files.getLastModifiedTime(graphPath).toMillis();
+
+		GraphMetadata metadata = readSidecar(sidecarPath, fileSize, fileModified);
+		if (metadata != null) {
+			LOG.debug("Read metadata of graph at \"" + graphPath + "\" from \"" + sidecarPath + "\".");
+			return metadata;
+		}
+
+		LOG.info("Discovering metadata of graph at \"" + graphPath + "\".");
+		long startTime = System.currentTimeMillis();
+		metadata = discover(graphPath, graphFormat);
+		LOG.info("Discovered " + metadata + " in " + (System.currentTimeMillis() - startTime) + " ms.");
+
+		writeSidecar(sidecarPath, fileSize, fileModified, metadata);
+		return metadata;
+	}
+
+	/**
+	 * Discovers the metadata of a graph in a single pass over the graph file, without using any cached results.
+	 *
+	 * @param graphPath   the path of the graph file
+	 * @param graphFormat the format of the graph file
+	 * @return the metadata of the graph
+	 * @throws IOException iff the graph could not be read
+	 */
+	public static GraphMetadata discover(Path graphPath, GraphFormat graphFormat) throws IOException {
+		GraphMetadataDiscovery discovery = new GraphMetadataDiscovery();
+		if (graphFormat.isEdgeBased()) {
+			try (EdgeStream edges = GraphStreams.openEdgeStream(graphPath, graphFormat)) {
+				while (edges.next()) {
+					discovery.addVertex(edges.getSourceId());
+					discovery.addEdge(edges.getSourceId(), edges.getDestinationId());
+				}
+			}
+		} else {
+			try (VertexStream vertices = GraphStreams.openVertexStream(graphPath, graphFormat)) {
+				while (vertices.nextVertex()) {
+					long vertexId = vertices.getVertexId();
+					discovery.addVertex(vertexId);
+					while (vertices.hasNextNeighbour()) {
+						discovery.addEdge(vertexId, vertices.nextNeighbour());
+					}
+				}
+			}
+		}
+		return discovery.toMetadata(graphFormat.isDirected());
+	}
+
+	private void addVertex(long vertexId) {
+		vertexIds.add(vertexId);
+		if (!hasCurrentSource || vertexId != currentSource) {
+			finishSource();
+			if (hasCurrentSource && vertexId < currentSource) {
+				// Edges with the same source may no longer be consecutive, so duplicates cannot be detected
+				groupedBySource = false;
+			}
+			hasCurrentSource = true;
+			currentSource = vertexId;
+		}
+	}
+
+	private void addEdge(long sourceId, long destinationId) {
+		vertexIds.add(destinationId);
+		numberOfEdges++;
+		if (sourceId == destinationId) {
+			numberOfSelfLoops++;
+		}
+		forwardFingerprint += fingerprint(sourceId, destinationId);
+		reverseFingerprint += fingerprint(destinationId, sourceId);
+		if (groupedBySource && deduplicated) {
+			currentNeighbours.add(destinationId);
+		}
+	}
+
+	private void finishSource() {
+		if (groupedBySource && deduplicated && !currentNeighbours.isEmpty()) {
+			int degree = currentNeighbours.size();
+			currentNeighbours.sortAndRemoveDuplicates();
+			deduplicated = currentNeighbours.size() == degree;
+		}
+		currentNeighbours.clear();
+	}
+
+	private GraphMetadata toMetadata(boolean directed) {
+		finishSource();
+		long[] uniqueVertexIds = vertexIds.toSortedArray();
+		long maxVertexId = uniqueVertexIds.length > 0 ? uniqueVertexIds[uniqueVertexIds.length - 1] : -1;
+		boolean symmetric = forwardFingerprint == reverseFingerprint;
+
+		// Undirected graphs stored in both directions contain every edge twice, except for self-loops
+		long edges = numberOfEdges;
+		if (!directed && symmetric) {
+			edges = (numberOfEdges + numberOfSelfLoops) / 2;
+		}
+		return new GraphMetadata(uniqueVertexIds.length, edges, maxVertexId, symmetric,
+				groupedBySource ? Boolean.valueOf(deduplicated) : null);
+	}
+
+	/**
+	 * @return a well-mixed 64-bit hash of a directed edge
+	 */
+	private static long fingerprint(long sourceId, long destinationId) {
+		long hash = sourceId * 0x9E3779B97F4A7C15L + destinationId;
+		hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+		return hash ^ (hash >>> 31);
+	}
+
+	private static GraphMetadata readSidecar(Path sidecarPath, long fileSize, long fileModified) {
+		if (!Files.isRegularFile(sidecarPath)) {
+			return null;
+		}
+		try {
+			PropertiesConfiguration sidecar = new PropertiesConfiguration(sidecarPath.toFile());
+			if (sidecar.getLong(FILE_SIZE_KEY, -1L) != fileSize ||
+					sidecar.getLong(FILE_MODIFIED_KEY, -1L) != fileModified) {
+				return null;
+			}
+			return new GraphMetadata(sidecar.getLong(VERTICES_KEY), sidecar.getLong(EDGES_KEY),
+					sidecar.getLong(MAX_ID_KEY), sidecar.getBoolean(SYMMETRIC_KEY),
+					sidecar.getBoolean(DEDUPLICATED_KEY, null));
+		} catch (ConfigurationException | RuntimeException ex) {
+			LOG.warn("Failed to read graph metadata from \"" + sidecarPath + "\", ignoring it.", ex);
+			return null;
+		}
+	}
+
+	private static void writeSidecar(Path sidecarPath, long fileSize, long fileModified, GraphMetadata metadata) {
+		PropertiesConfiguration sidecar = new PropertiesConfiguration();
+		sidecar.setProperty(FILE_SIZE_KEY, fileSize);
+		sidecar.setProperty(FILE_MODIFIED_KEY, fileModified);
+		sidecar.setProperty(VERTICES_KEY, metadata.getNumberOfVertices());
+		sidecar.setProperty(EDGES_KEY, metadata.getNumberOfEdges());
+		sidecar.setProperty(MAX_ID_KEY, metadata.getMaxVertexId());
+		sidecar.setProperty(SYMMETRIC_KEY, metadata.isSymmetric());
+		if (metadata.isDeduplicated() != null) {
+			sidecar.setProperty(DEDUPLICATED_KEY, metadata.isDeduplicated());
+		}
+		try {
+			sidecar.save(sidecarPath.toFile());
+		} catch (ConfigurationException ex) {
+			LOG.warn("Failed to cache graph metadata in \"" + sidecarPath + "\".", ex);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+/**
+ * Creates the temporary files that converted graphs are written to before being moved into place.
+ * {@link Files#createTempFile(Path, String, String, FileAttribute[])} restricts new files to their owner by default,
+ * a mode the converted graph would keep after the move. Instead, temporary files are created with the same
+ * permissions as any other new file, i.e., read and write access for everyone, subject to the umask.
+ *
+ * @author Tim Hegeman
+ */
+final class TemporaryFiles {
+
+	private static final Set<PosixFilePermission> DEFAULT_PERMISSIONS = PosixFilePermissions.fromString("rw-rw-rw-");
+
+	private TemporaryFiles() {
+	}
+
+	/**
+	 * @param outputPath the path of an output file
+	 * @return a new, empty temporary file in the directory of the output file
+	 * @throws IOException iff the directory or the temporary file could not be created
+	 */
+	static Path createFor(Path outputPath) throws IOException {
+		Path absoluteOutputPath = outputPath.toAbsolutePath();
+		Files.createDirectories(absoluteOutputPath.getParent());
+		String prefix = absoluteOutputPath.getFileName().toString();
+		try {
+			return Files.createTempFile(absoluteOutputPath.getParent(), prefix, ".tmp",
+					PosixFilePermissions.asFileAttribute(DEFAULT_PERMISSIONS));
+		} catch (UnsupportedOperationException ex) {
+			// Not a POSIX file system, so there are no permissions to set
+			return Files.createTempFile(absoluteOutputPath.getParent(), prefix, ".tmp");
+		}
+	}
+
+}
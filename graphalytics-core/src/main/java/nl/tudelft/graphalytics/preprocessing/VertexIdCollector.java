@@ -0,0 +1,89 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import nl.tudelft.graphalytics.io.VertexStream;
+import nl.tudelft.graphalytics.util.LongArrayList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Collects the sorted set of vertex ids of a graph, periodically removing duplicates to bound the memory used to the
+ * number of unique vertices. Ids can be added one at a time, or collected from a graph file in a single pass.
+ *
+ * @author Tim Hegeman
+ */
+final class VertexIdCollector {
+
+	private static final int INITIAL_ID_BUFFER_LIMIT = 1 << 22;
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+	private final LongArrayList vertexIds = new LongArrayList();
+	private int compactionLimit = INITIAL_ID_BUFFER_LIMIT;
+
+	VertexIdCollector() {
+	}
+
+	/**
+	 * Reads a graph and collects the ids of all vertices, including vertices without edges in vertex-based graphs.
+	 *
+	 * @param inputPath   the path of the graph
+	 * @param inputFormat the format of the graph
+	 * @return the sorted array of unique vertex ids
+	 * @throws IOException iff the graph could not be read
+	 */
+	public static long[] collect(Path inputPath, GraphFormat inputFormat) throws IOException {
+		VertexIdCollector collector = new VertexIdCollector();
+		if (inputFormat.isEdgeBased()) {
+			try (EdgeStream edges = GraphStreams.openEdgeStream(inputPath, inputFormat)) {
+				while (edges.next()) {
+					collector.add(edges.getSourceId());
+					collector.add(edges.getDestinationId());
+				}
+			}
+		} else {
+			try (VertexStream vertices = GraphStreams.openVertexStream(inputPath, inputFormat)) {
+				while (vertices.nextVertex()) {
+					collector.add(vertices.getVertexId());
+					while (vertices.hasNextNeighbour()) {
+						collector.add(vertices.nextNeighbour());
+					}
+				}
+			}
+		}
+		return collector.toSortedArray();
+	}
+
+	void add(long vertexId) {
+		vertexIds.add(vertexId);
+		if (vertexIds.size() >= compactionLimit) {
+			vertexIds.sortAndRemoveDuplicates();
+			if (vertexIds.size() > compactionLimit / 2) {
+				compactionLimit = (int)Math.min(2L * compactionLimit, MAX_ARRAY_LENGTH);
+			}
+		}
+	}
+
+	long[] toSortedArray() {
+		vertexIds.sortAndRemoveDuplicates();
+		return vertexIds.toArray();
+	}
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Bidirectional mapping between the (sparse) vertex ids of a graph and dense vertex ids in the range [0, n). Dense ids
+ * are assigned in order of the original ids, so the mapping is stored as a single sorted array: the dense id of a
+ * vertex is the index of its original id in the array.
+ * <p/>
+ * Ids outside the original graph are mapped by their offset from a maximum id, so that vertices added by an algorithm
+ * (e.g., the forest fire model) can be translated in both directions as well. The maximum id defaults to the highest
+ * vertex id, but may be set higher to match the maximum id configured for an algorithm; it is always mapped to dense
+ * id n - 1, and the first new vertex after it to dense id n.
+ * <p/>
+ * The binary file format consists of a 4-byte magic number ("GIDM"), a 4-byte version number, the 8-byte number of
+ * vertices, the 8-byte maximum id, and the sorted original vertex ids as 8-byte values. All values are stored in
+ * big-endian byte order. Files of version 1 lack the maximum id.
+ *
+ * @author Tim Hegeman
+ */
+public final class VertexIdMap {
+
+	/**
+	 * Magic number identifying a vertex id map file.
+	 */
+	public static final int MAGIC = 0x4749444D;
+	/**
+	 * Version of the vertex id map format written by this class.
+	 */
+	public static final int VERSION = 2;
+
+	private final long[] originalIds;
+	private final long maxId;
+
+	/**
+	 * @param originalIds the sorted array of unique original vertex ids
+	 */
+	public VertexIdMap(long[] originalIds) {
+		this(originalIds, originalIds != null && originalIds.length > 0 ? originalIds[originalIds.length - 1] : -1L);
+	}
+
+	/**
+	 * @param originalIds the sorted array of unique original vertex ids
+	 * @param maxId       the original id after which new vertices are numbered, at least the highest vertex id
+	 */
+	public VertexIdMap(long[] originalIds, long maxId) {
+		if (originalIds == null) {
+			throw new IllegalArgumentException("Parameter \"originalIds\" must not be null.");
+		}
+		if (originalIds.length > 0 && maxId < originalIds[originalIds.length - 1]) {
+			throw new IllegalArgumentException("Parameter \"maxId\" must not be lower than the highest vertex id.");
+		}
+		this.originalIds = originalIds;
+		this.maxId = maxId;
+	}
+
+	/**
+	 * @param path the path of a vertex id map file
+	 * @return the vertex id map stored in the file
+	 * @throws IOException iff the file could not be read or is not a valid vertex id map
+	 */
+	public static VertexIdMap readFrom(Path path) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+				Files.newInputStream(path), 1 << 20))) {
+			if (input.readInt() != MAGIC) {
+				throw new IOException("File \"" + path + "\" is not a vertex id map.");
+			}
+			int version = input.readInt();
+			if (version != 1 && version != VERSION) {
+				throw new IOException("Unsupported vertex id map version " + version + " in \"" + path + "\".");
+			}
+			long numberOfVertices = input.readLong();
+			if (numberOfVertices < 0 || numberOfVertices > Integer.MAX_VALUE - 8) {
+				throw new IOException("Invalid number of vertices in vertex id map \"" + path + "\".");
+			}
+			Long maxId = version == 1 ? null : input.readLong();
+			long[] originalIds = new long[(int)numberOfVertices];
+			for (int i = 0; i < originalIds.length; i++) {
+				originalIds[i] = input.readLong();
+			}
+			try {
+				return maxId == null ? new VertexIdMap(originalIds) : new VertexIdMap(originalIds, maxId);
+			} catch (IllegalArgumentException ex) {
+				throw new IOException("Invalid maximum id in vertex id map \"" + path + "\".", ex);
+			}
+		}
+	}
+
+	/**
+	 * @param path the path to write this vertex id map to
+	 * @throws IOException iff the file could not be written
+	 */
+	public void writeTo(Path path) throws IOException {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(path), 1 << 20))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeLong(originalIds.length);
+			output.writeLong(maxId);
+			for (long originalId : originalIds) {
+				output.writeLong(originalId);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of vertices in the graph
+	 */
+	public int getNumberOfVertices() {
+		return originalIds.length;
+	}
+
+	/**
+	 * @return the original id after which new vertices are numbered
+	 */
+	public long getMaxId() {
+		return maxId;
+	}
+
+	/**
+	 * @param maxId the original id after which new vertices are numbered, at least the highest vertex id
+	 * @return a vertex id map with the same vertices as this map, numbering new vertices after the given id
+	 */
+	public VertexIdMap withMaxId(long maxId) {
+		return maxId == this.maxId ? this : new VertexIdMap(originalIds, maxId);
+	}
+
+	/**
+	 * @param originalId an original vertex id
+	 * @return the corresponding dense vertex id
+	 * @throws IllegalArgumentException iff the id lies below the maximum id but is not a vertex
+	 */
+	public long toDenseId(long originalId) {
+		if (originalIds.length == 0) {
+			return originalId;
+		}
+		if (originalId >= maxId) {
+			return originalIds.length - 1 + (originalId - maxId);
+		}
+		int index = Arrays.binarySearch(originalIds, originalId);
+		if (index < 0) {
+			throw new IllegalArgumentException("Vertex " + originalId + " does not exist in the graph.");
+		}
+		return index;
+	}
+
+	/**
+	 * @param denseId a dense vertex id
+	 * @return the corresponding original vertex id
+	 * @throws IllegalArgumentException iff the id is negative
+	 */
+	public long toOriginalId(long denseId) {
+		if (denseId < 0) {
+			throw new IllegalArgumentException("Dense vertex ids must be non-negative.");
+		}
+		if (denseId < originalIds.length) {
+			return originalIds[(int)denseId];
+		} else if (originalIds.length == 0) {
+			return denseId;
+		}
+		return maxId + (denseId - originalIds.length + 1);
+	}
+
+}
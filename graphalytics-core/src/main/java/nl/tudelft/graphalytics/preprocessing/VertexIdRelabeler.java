@@ -0,0 +1,279 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.domain.Algorithm;
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.domain.algorithms.BreadthFirstSearchParameters;
+import nl.tudelft.graphalytics.domain.algorithms.ForestFireModelParameters;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import nl.tudelft.graphalytics.io.GraphTextTokenizer;
+import nl.tudelft.graphalytics.io.VertexStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relabels the vertices of text-based graphs to dense ids in the range [0, n), allowing platforms and validators to
+ * use array indexing instead of hash lookups. The mapping between original and dense ids is stored alongside the
+ * relabeled graph as a {@link VertexIdMap}, and is used to translate algorithm parameters to dense ids and algorithm
+ * output back to the original ids. Relabeling is performed once per graph; the relabeled files are reused by later
+ * runs for as long as they are newer than the graph they were created from.
+ *
+ * @author Tim Hegeman
+ */
+public final class VertexIdRelabeler {
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * File extension used for relabeled graphs.
+	 */
+	public static final String GRAPH_FILE_EXTENSION = ".dense";
+	/**
+	 * File extension used for vertex id maps.
+	 */
+	public static final String ID_MAP_FILE_EXTENSION = ".idmap";
+
+	private VertexIdRelabeler() {
+	}
+
+	/**
+	 * @param outputDirectory the directory containing relabeled graphs
+	 * @param graphName       the name of a graph
+	 * @return the path of the vertex id map of the graph
+	 */
+	public static Path getIdMapPath(String outputDirectory, String graphName) {
+		return Paths.get(outputDirectory, graphName + ID_MAP_FILE_EXTENSION);
+	}
+
+	/**
+	 * Relabels a graph to dense vertex ids, unless an up-to-date relabeled version of the graph already exists in the
+	 * output directory.
+	 *
+	 * @param graph           the graph to relabel
+	 * @param outputDirectory the directory to store the relabeled graph and vertex id map in
+	 * @return a Graph referring to the relabeled version of the input graph
+	 * @throws IOException iff the graph could not be read or relabeled
+	 */
+	public static Graph relabelIfNeeded(Graph graph, String outputDirectory) throws IOException {
+		Path inputPath = Paths.get(graph.getFilePath());
+		Path outputPath = Paths.get(outputDirectory, graph.getName() + GRAPH_FILE_EXTENSION);
+		Path idMapPath = getIdMapPath(outputDirectory, graph.getName());
+		if (isUpToDate(inputPath, outputPath) && isUpToDate(inputPath, idMapPath)) {
+			LOG.info("Using existing relabeled version of graph \"" + graph.getName() + "\" at \"" + outputPath +
+					"\".");
+		} else {
+			LOG.info("Relabeling graph \"" + graph.getName() + "\" to dense vertex ids at \"" + outputPath + "\".");
+			long startTime = System.currentTimeMillis();
+			relabel(inputPath, graph.getGraphFormat(), outputPath, idMapPath);
+			LOG.info("Relabeled graph \"" + graph.getName() + "\" in " +
+					(System.currentTimeMillis() - startTime) + " ms.");
+		}
+
+		return new Graph(graph.getName(), outputPath.toString(), graph.getGraphFormat(),
+				graph.getNumberOfVertices(), graph.getNumberOfEdges());
+	}
+
+	private static boolean isUpToDate(Path inputPath, Path outputPath) throws IOException {
+		return Files.isRegularFile(outputPath) &&
+				Files.getLastModifiedTime(outputPath).compareTo(Files.getLastModifiedTime(inputPath)) >= 0;
+	}
+
+	/**
+	 * Relabels a text-based graph to dense vertex ids. The relabeled graph is written in the same format as the input
+	 * graph.
+	 *
+	 * @param inputPath   the path of the text-based graph
+	 * @param inputFormat the format of the text-based graph
+	 * @param outputPath  the path to write the relabeled graph to
+	 * @param idMapPath   the path to write the vertex id map to
+	 * @return the vertex id map of the graph
+	 * @throws IOException iff the graph could not be read or written
+	 */
+	public static VertexIdMap relabel(Path inputPath, GraphFormat inputFormat, Path outputPath, Path idMapPath)
+			throws IOException {
+		if (inputFormat.isBinary()) {
+			throw new IllegalArgumentException("Binary graphs are already stored using dense vertex ids.");
+		}
+
+		VertexIdMap idMap = new VertexIdMap(VertexIdCollector.collect(inputPath, inputFormat));
+		Path temporaryPath = TemporaryFiles.createFor(outputPath);
+		try {
+			try (Writer output = openWriter(temporaryPath)) {
+				writeTranslatedGraph(inputPath, inputFormat, idMap, true, output);
+			}
+			idMap.writeTo(idMapPath);
+			Files.move(temporaryPath, outputPath.toAbsolutePath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+		return idMap;
+	}
+
+	/**
+	 * Translates the vertex ids in the parameters of an algorithm. Parameters that do not refer to vertices are
+	 * returned unchanged.
+	 *
+	 * @param parameters the parameters of an algorithm
+	 * @param idMap      the vertex id map of the graph
+	 * @param toDense    true to translate original ids to dense ids, false to translate dense ids to original ids
+	 * @return the translated parameters
+	 * @throws IllegalArgumentException iff the parameters refer to a vertex that does not exist in the graph
+	 */
+	public static Object translateParameters(Object parameters, VertexIdMap idMap, boolean toDense) {
+		if (parameters instanceof BreadthFirstSearchParameters) {
+			BreadthFirstSearchParameters bfsParameters = (BreadthFirstSearchParameters)parameters;
+			List<Long> querySourceVertices = new ArrayList<>();
+			for (long querySourceVertex : bfsParameters.getQuerySourceVertices()) {
+				querySourceVertices.add(translate(querySourceVertex, idMap, toDense));
+			}
+			return new BreadthFirstSearchParameters(translate(bfsParameters.getSourceVertex(), idMap, toDense),
+					querySourceVertices, bfsParameters.getQuerySampleSize(), bfsParameters.getQuerySeed());
+		} else if (parameters instanceof ForestFireModelParameters) {
+			ForestFireModelParameters evoParameters = (ForestFireModelParameters)parameters;
+			long maxId;
+			if (toDense) {
+				maxId = getIdMapForParameters(parameters, idMap).toDenseId(evoParameters.getMaxId());
+			} else if (evoParameters.getMaxId() == idMap.getNumberOfVertices() - 1) {
+				maxId = idMap.getMaxId();
+			} else {
+				maxId = idMap.toOriginalId(evoParameters.getMaxId());
+			}
+			return new ForestFireModelParameters(maxId,
+					evoParameters.getPRatio(), evoParameters.getRRatio(), evoParameters.getMaxIterations(),
+					evoParameters.getNumNewVertices());
+		}
+		return parameters;
+	}
+
+	/**
+	 * Returns the vertex id map to translate the parameters and output of an algorithm with. The forest fire model
+	 * numbers new vertices after its configured maximum id, so for a maximum id at or above the highest vertex id
+	 * the returned map numbers new vertices after that id, and maps the maximum id itself to dense id n - 1.
+	 *
+	 * @param parameters the parameters of an algorithm, using original vertex ids
+	 * @param idMap      the vertex id map of the graph
+	 * @return the vertex id map to use for the algorithm
+	 */
+	public static VertexIdMap getIdMapForParameters(Object parameters, VertexIdMap idMap) {
+		if (parameters instanceof ForestFireModelParameters && idMap.getNumberOfVertices() > 0) {
+			long maxId = ((ForestFireModelParameters)parameters).getMaxId();
+			if (maxId >= idMap.toOriginalId(idMap.getNumberOfVertices() - 1)) {
+				return idMap.withMaxId(maxId);
+			}
+		}
+		return idMap;
+	}
+
+	/**
+	 * Translates the vertex ids in an algorithm output file, i.e., a file containing one line per vertex with the
+	 * vertex id followed by the value(s) of that vertex. The values of connected components and community detection
+	 * are vertex ids (component and community labels) and are translated as well; other values are copied unchanged.
+	 *
+	 * @param inputPath  the path of the output file to translate
+	 * @param outputPath the path to write the translated file to
+	 * @param algorithm  the algorithm that produced the output
+	 * @param idMap      the vertex id map of the graph
+	 * @param toDense    true to translate original ids to dense ids, false to translate dense ids to original ids
+	 * @throws IOException iff the file could not be read or written
+	 */
+	public static void translateOutputFile(Path inputPath, Path outputPath, Algorithm algorithm, VertexIdMap idMap,
+			boolean toDense) throws IOException {
+		boolean valuesAreVertexIds = algorithm == Algorithm.CONN || algorithm == Algorithm.CD;
+		try (GraphTextTokenizer tokenizer = new GraphTextTokenizer(Files.newInputStream(inputPath));
+		     Writer output = openWriter(outputPath)) {
+			while (tokenizer.nextLine()) {
+				output.write(Long.toString(translate(tokenizer.nextLong(), idMap, toDense)));
+				if (valuesAreVertexIds) {
+					while (tokenizer.hasNextToken()) {
+						output.write(' ');
+						output.write(Long.toString(translate(tokenizer.nextLong(), idMap, toDense)));
+					}
+				} else if (tokenizer.hasNextToken()) {
+					output.write(' ');
+					output.write(tokenizer.remainderOfLine());
+				}
+				output.write('\n');
+			}
+		}
+	}
+
+	/**
+	 * Translates the vertex ids in a graph file, e.g., the output of the forest fire model. The graph is written in
+	 * the same format as the input graph.
+	 *
+	 * @param inputPath   the path of the graph to translate
+	 * @param inputFormat the format of the graph
+	 * @param outputPath  the path to write the translated graph to
+	 * @param idMap       the vertex id map of the graph
+	 * @param toDense     true to translate original ids to dense ids, false to translate dense ids to original ids
+	 * @throws IOException iff the graph could not be read or written
+	 */
+	public static void translateGraphFile(Path inputPath, GraphFormat inputFormat, Path outputPath, VertexIdMap idMap,
+			boolean toDense) throws IOException {
+		try (Writer output = openWriter(outputPath)) {
+			writeTranslatedGraph(inputPath, inputFormat, idMap, toDense, output);
+		}
+	}
+
+	private static void writeTranslatedGraph(Path inputPath, GraphFormat inputFormat, VertexIdMap idMap,
+			boolean toDense, Writer output) throws IOException {
+		if (inputFormat.isEdgeBased()) {
+			try (EdgeStream edges = GraphStreams.openEdgeStream(inputPath, inputFormat)) {
+				while (edges.next()) {
+					output.write(Long.toString(translate(edges.getSourceId(), idMap, toDense)));
+					output.write(' ');
+					output.write(Long.toString(translate(edges.getDestinationId(), idMap, toDense)));
+					output.write('\n');
+				}
+			}
+		} else {
+			try (VertexStream vertices = GraphStreams.openVertexStream(inputPath, inputFormat)) {
+				while (vertices.nextVertex()) {
+					output.write(Long.toString(translate(vertices.getVertexId(), idMap, toDense)));
+					while (vertices.hasNextNeighbour()) {
+						output.write(' ');
+						output.write(Long.toString(translate(vertices.nextNeighbour(), idMap, toDense)));
+					}
+					output.write('\n');
+				}
+			}
+		}
+	}
+
+	private static long translate(long vertexId, VertexIdMap idMap, boolean toDense) {
+		return toDense ? idMap.toDenseId(vertexId) : idMap.toOriginalId(vertexId);
+	}
+
+	private static Writer openWriter(Path path) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8),
+				1 << 20);
+	}
+
+}
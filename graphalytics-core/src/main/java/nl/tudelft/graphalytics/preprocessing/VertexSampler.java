@@ -0,0 +1,132 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.preprocessing;
+
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import nl.tudelft.graphalytics.io.VertexStream;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Samples vertices of a graph uniformly at random without replacement, e.g., to select the sources of BFS queries.
+ * The sample is reproducible for a given graph and seed.
+ * <p/>
+ * Sampling is done in a single pass over the graph using bottom-k sampling: every vertex id is assigned a
+ * pseudo-random priority derived from the id and the seed, and the vertices with the lowest priorities are kept.
+ * Unlike classic reservoir sampling, this selects distinct vertices uniformly even though edge-based graphs mention
+ * each vertex once per incident edge, while holding only the sample in memory.
+ *
+ * @author Tim Hegeman
+ */
+public final class VertexSampler {
+
+	private final int sampleSize;
+	private final long seed;
+	private final PriorityQueue<long[]> lowestPriorities;
+	private final Set<Long> sampledIds = new HashSet<>();
+
+	private VertexSampler(int sampleSize, long seed) {
+		this.sampleSize = sampleSize;
+		this.seed = seed;
+		// Max-heap of (priority, vertex id) pairs, so the vertex with the highest priority is replaced first
+		this.lowestPriorities = new PriorityQueue<>(Math.max(sampleSize, 1), new Comparator<long[]>() {
+			@Override
+			public int compare(long[] a, long[] b) {
+				int priority = Long.compare(b[0], a[0]);
+				return priority != 0 ? priority : Long.compare(b[1], a[1]);
+			}
+		});
+	}
+
+	/**
+	 * @param inputPath   the path of the graph
+	 * @param inputFormat the format of the graph
+	 * @param sampleSize  the number of vertices to sample
+	 * @param seed        the seed of the random number generator
+	 * @return the ids of the sampled vertices in random order, or all vertices if the graph has fewer vertices than
+	 * the sample size
+	 * @throws IOException iff the graph could not be read
+	 */
+	public static List<Long> sample(Path inputPath, GraphFormat inputFormat, int sampleSize, long seed)
+			throws IOException {
+		VertexSampler sampler = new VertexSampler(sampleSize, seed);
+		if (inputFormat.isEdgeBased()) {
+			try (EdgeStream edges = GraphStreams.openEdgeStream(inputPath, inputFormat)) {
+				while (edges.next()) {
+					sampler.offer(edges.getSourceId());
+					sampler.offer(edges.getDestinationId());
+				}
+			}
+		} else {
+			try (VertexStream vertices = GraphStreams.openVertexStream(inputPath, inputFormat)) {
+				while (vertices.nextVertex()) {
+					sampler.offer(vertices.getVertexId());
+					while (vertices.hasNextNeighbour()) {
+						sampler.offer(vertices.nextNeighbour());
+					}
+				}
+			}
+		}
+
+		// Order the sample randomly, rather than by priority
+		List<Long> sample = new ArrayList<>(sampler.sampledIds);
+		Collections.sort(sample);
+		Collections.shuffle(sample, new Random(seed));
+		return sample;
+	}
+
+	private void offer(long vertexId) {
+		if (sampleSize == 0) {
+			return;
+		}
+		long priority = priorityOf(vertexId);
+		if (lowestPriorities.size() == sampleSize) {
+			long[] highest = lowestPriorities.peek();
+			if (priority > highest[0] || (priority == highest[0] && vertexId >= highest[1])) {
+				return;
+			}
+		}
+		if (!sampledIds.add(vertexId)) {
+			return;
+		}
+		lowestPriorities.add(new long[] {priority, vertexId});
+		if (lowestPriorities.size() > sampleSize) {
+			sampledIds.remove(lowestPriorities.poll()[1]);
+		}
+	}
+
+	/**
+	 * @return a pseudo-random priority for a vertex, using the finalizer of the SplitMix64 generator
+	 */
+	private long priorityOf(long vertexId) {
+		long z = vertexId + seed * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
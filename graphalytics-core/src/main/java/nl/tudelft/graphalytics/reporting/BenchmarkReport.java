@@ -39,17 +39,17 @@ public class BenchmarkReport {
 	}
 
 	/**
-	 * @param path a directory to write the report to, must be non-existent or an empty directory
-	 * @throws IOException if an exception occurred during writing, or if path already exists
+	 * @param path a directory to write the report to, must be non-existent or a directory containing artifacts written
+	 *             while running the benchmark (e.g., flight recordings, or the report of a resumed run); existing pages
+	 *             are overwritten
+	 * @throws IOException if an exception occurred during writing, or if path already exists and is not a directory
 	 */
 	public void write(String path) throws IOException {
-		// Ensure that the directory does not yet exist, and create it, or that it is exists and is empty
+		// Ensure that the directory does not yet exist, and create it, or that it is a directory
 		Path reportPath = Paths.get(path);
 		if (Files.exists(reportPath)) {
 			if (!Files.isDirectory(reportPath))
 				throw new IOException("Output path of report already exists: \"" + path + "\".");
-			if (reportPath.toFile().list().length > 0)
-				throw new IOException("Output directory of report is non-empty: \"" + path + "\".");
 		} else {
 			Files.createDirectory(reportPath);
 		}
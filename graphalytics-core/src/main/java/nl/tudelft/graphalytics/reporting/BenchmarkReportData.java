@@ -147,6 +147,14 @@ public class BenchmarkReportData {
 		return algorithmGraphResults;
 	}
 
+	/**
+	 * @param graph a graph from the benchmark suite
+	 * @return the result of uploading and deleting the graph, or null if no upload was attempted
+	 */
+	public GraphIngestResult getIngestResult(Graph graph) {
+		return benchmarkSuiteResult.getGraphIngestResult(graph);
+	}
+
 	/**
 	 * @return benchmark configuration details
 	 */
@@ -59,6 +59,21 @@ public class BenchmarkReportWriter {
 		}
 	}
 
+	/**
+	 * Uses an existing directory, e.g., the output directory of an interrupted run that is resumed, as the output
+	 * directory to which the benchmark report will be written.
+	 *
+	 * @param path the path of the existing output directory
+	 * @throws IOException if the path does not refer to an existing directory
+	 */
+	public void useExistingOutputDirectory(String path) throws IOException {
+		if (!Files.isDirectory(Paths.get(path))) {
+			throw new IOException("Output directory \"" + path + "\" does not exist.");
+		}
+		outputDirectoryPath = path;
+		outputDirectoryCreated = true;
+	}
+
 	/**
 	 * Formats a directory name that will be used to create the output directory for the benchmark report. The directory
 	 * name includes the name of the platform, the timestamp at which the benchmark was started, and (optionally) a
@@ -96,6 +111,13 @@ public class BenchmarkReportWriter {
 		}
 	}
 
+	/**
+	 * @return the path of the output directory, or null if it has not been created yet
+	 */
+	public String getOutputDirectoryPath() {
+		return outputDirectoryPath;
+	}
+
 	/**
 	 * @param report the benchmark report to write to disk
 	 */
@@ -0,0 +1,233 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reporting;
+
+import nl.tudelft.graphalytics.domain.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wrapper class for ScalingResult, with accessors for the strong-scaling statistics of every benchmark or the
+ * weak-scaling statistics of every algorithm for use by the templating engine.
+ *
+ * @author Tim Hegeman
+ */
+public class ScalingReportData {
+
+	private final ScalingResult scalingResult;
+	private final List<Run> runs;
+	/**
+	 * Is unmodifiable and contains unmodifiable maps
+	 */
+	private final Map<Graph, Map<Algorithm, ScalingStatistics>> statistics;
+	/**
+	 * Is unmodifiable
+	 */
+	private final Map<Algorithm, WeakScalingStatistics> weakScalingStatistics;
+
+	/**
+	 * @param scalingResult the results of a scaling sweep, from which data is extracted
+	 */
+	public ScalingReportData(ScalingResult scalingResult) {
+		this.scalingResult = scalingResult;
+		this.runs = constructRuns(scalingResult);
+		if (scalingResult.getType() == ScalingResult.Type.WEAK) {
+			this.statistics = Collections.emptyMap();
+			this.weakScalingStatistics = constructWeakScalingStatistics(scalingResult);
+		} else {
+			this.statistics = constructStatistics(scalingResult);
+			this.weakScalingStatistics = Collections.emptyMap();
+		}
+	}
+
+	private static List<Run> constructRuns(ScalingResult scalingResult) {
+		List<Run> runs = new ArrayList<>();
+		for (int i = 0; i < scalingResult.getNumbersOfWorkers().size(); i++) {
+			int completedBenchmarks = 0;
+			BenchmarkSuiteResult benchmarkSuiteResult = scalingResult.getBenchmarkSuiteResults().get(i);
+			for (BenchmarkResult benchmarkResult : benchmarkSuiteResult.getBenchmarkResults()) {
+				if (benchmarkResult.isCompletedSuccessfully()) {
+					completedBenchmarks++;
+				}
+			}
+			runs.add(new Run(scalingResult.getNumbersOfWorkers().get(i), scalingResult.getReportDirectories().get(i),
+					benchmarkSuiteResult.getBenchmarkSuite().getGraphs(), completedBenchmarks,
+					benchmarkSuiteResult.getBenchmarkSuite().getBenchmarks().size()));
+		}
+		return Collections.unmodifiableList(runs);
+	}
+
+	private static Map<Graph, Map<Algorithm, ScalingStatistics>> constructStatistics(ScalingResult scalingResult) {
+		Map<Graph, Map<Algorithm, ScalingStatistics>> statistics = new HashMap<>();
+		for (Graph graph : scalingResult.getBenchmarkSuite().getGraphs()) {
+			Map<Algorithm, ScalingStatistics> graphStatistics = new HashMap<>();
+			for (Algorithm algorithm : scalingResult.getBenchmarkSuite().getAlgorithms()) {
+				// Collect the result of the benchmark for every number of workers
+				List<BenchmarkResult> results = new ArrayList<>();
+				for (BenchmarkSuiteResult benchmarkSuiteResult : scalingResult.getBenchmarkSuiteResults()) {
+					results.add(findResult(benchmarkSuiteResult, graph, algorithm));
+				}
+				graphStatistics.put(algorithm, ScalingStatistics.fromResults(scalingResult.getNumbersOfWorkers(),
+						results));
+			}
+			statistics.put(graph, Collections.unmodifiableMap(graphStatistics));
+		}
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	private static Map<Algorithm, WeakScalingStatistics> constructWeakScalingStatistics(
+			ScalingResult scalingResult) {
+		// Every run of a weak-scaling sweep processes a single graph
+		List<Graph> graphs = new ArrayList<>();
+		for (BenchmarkSuiteResult benchmarkSuiteResult : scalingResult.getBenchmarkSuiteResults()) {
+			graphs.add(benchmarkSuiteResult.getBenchmarkSuite().getGraphs().iterator().next());
+		}
+
+		Map<Algorithm, WeakScalingStatistics> statistics = new HashMap<>();
+		for (Algorithm algorithm : scalingResult.getBenchmarkSuite().getAlgorithms()) {
+			List<BenchmarkResult> results = new ArrayList<>();
+			for (int i = 0; i < graphs.size(); i++) {
+				results.add(findResult(scalingResult.getBenchmarkSuiteResults().get(i), graphs.get(i), algorithm));
+			}
+			statistics.put(algorithm, WeakScalingStatistics.fromResults(scalingResult.getNumbersOfWorkers(), graphs,
+					results));
+		}
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	private static BenchmarkResult findResult(BenchmarkSuiteResult benchmarkSuiteResult, Graph graph,
+			Algorithm algorithm) {
+		for (BenchmarkResult benchmarkResult : benchmarkSuiteResult.getBenchmarkResults()) {
+			if (benchmarkResult.getBenchmark().getGraph().getName().equals(graph.getName()) &&
+					benchmarkResult.getBenchmark().getAlgorithm() == algorithm) {
+				return benchmarkResult;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return true iff the sweep measured weak scaling, false if it measured strong scaling
+	 */
+	public boolean isWeakScaling() {
+		return scalingResult.getType() == ScalingResult.Type.WEAK;
+	}
+
+	/**
+	 * @return an ordered collection of all graphs processed in the sweep
+	 */
+	public Collection<Graph> getGraphs() {
+		return scalingResult.getBenchmarkSuite().getGraphs();
+	}
+
+	/**
+	 * @return an ordered collection of all algorithms executed in the sweep
+	 */
+	public Collection<Algorithm> getAlgorithms() {
+		return scalingResult.getBenchmarkSuite().getAlgorithms();
+	}
+
+	/**
+	 * @return the runs of the benchmark suite in the sweep
+	 */
+	public List<Run> getRuns() {
+		return runs;
+	}
+
+	/**
+	 * @param graph     a graph from the benchmark suite
+	 * @param algorithm an algorithm from the benchmark suite
+	 * @return the strong-scaling statistics of executing the specified algorithm on the specified graph
+	 */
+	public ScalingStatistics getStatistics(Graph graph, Algorithm algorithm) {
+		return statistics.get(graph).get(algorithm);
+	}
+
+	/**
+	 * @param algorithm an algorithm from the benchmark suite
+	 * @return the weak-scaling statistics of executing the specified algorithm on the graphs of the sweep
+	 */
+	public WeakScalingStatistics getWeakScalingStatistics(Algorithm algorithm) {
+		return weakScalingStatistics.get(algorithm);
+	}
+
+	/**
+	 * Summary of a single run of the sweep.
+	 */
+	public static final class Run {
+
+		private final int numberOfWorkers;
+		private final String reportDirectory;
+		private final String graphNames;
+		private final int numberOfCompletedBenchmarks;
+		private final int numberOfBenchmarks;
+
+		private Run(int numberOfWorkers, String reportDirectory, Collection<Graph> graphs,
+				int numberOfCompletedBenchmarks, int numberOfBenchmarks) {
+			StringBuilder graphNames = new StringBuilder();
+			for (Graph graph : graphs) {
+				graphNames.append(graphNames.length() > 0 ? ", " : "").append(graph.getName());
+			}
+			this.numberOfWorkers = numberOfWorkers;
+			this.reportDirectory = reportDirectory;
+			this.graphNames = graphNames.toString();
+			this.numberOfCompletedBenchmarks = numberOfCompletedBenchmarks;
+			this.numberOfBenchmarks = numberOfBenchmarks;
+		}
+
+		/**
+		 * @return the number of workers
+		 */
+		public int getNumberOfWorkers() {
+			return numberOfWorkers;
+		}
+
+		/**
+		 * @return the directory, relative to the report of the sweep, containing the report of this run
+		 */
+		public String getReportDirectory() {
+			return reportDirectory;
+		}
+
+		/**
+		 * @return the comma-separated names of the graphs processed in this run
+		 */
+		public String getGraphNames() {
+			return graphNames;
+		}
+
+		/**
+		 * @return the number of benchmarks that completed successfully
+		 */
+		public int getNumberOfCompletedBenchmarks() {
+			return numberOfCompletedBenchmarks;
+		}
+
+		/**
+		 * @return the number of benchmarks in the benchmark suite
+		 */
+		public int getNumberOfBenchmarks() {
+			return numberOfBenchmarks;
+		}
+
+	}
+
+}
@@ -15,11 +15,15 @@
  */
 package nl.tudelft.graphalytics.reporting.html;
 
+import nl.tudelft.graphalytics.domain.BenchmarkResult;
 import nl.tudelft.graphalytics.domain.BenchmarkSuiteResult;
+import nl.tudelft.graphalytics.domain.ScalingResult;
 import nl.tudelft.graphalytics.reporting.BenchmarkReport;
 import nl.tudelft.graphalytics.reporting.BenchmarkReportData;
+import nl.tudelft.graphalytics.reporting.ScalingReportData;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 
 /**
@@ -30,6 +34,8 @@ import java.util.LinkedList;
 public class HtmlBenchmarkReportGenerator {
 
 	private static final String INDEX_HTML = "index";
+	private static final String PROFILE_HTML = "profile";
+	private static final String SCALING_HTML = "scaling";
 
 	private BenchmarkSuiteResult benchmarkSuiteResult;
 	private String reportTemplateDir;
@@ -54,6 +60,15 @@ public class HtmlBenchmarkReportGenerator {
 		// 1. Generate the index page
 		String indexHtml = templateEngine.processTemplate(INDEX_HTML);
 		reportPages.add(new HtmlBenchmarkReportPage(indexHtml, ".", INDEX_HTML));
+		// 2. Generate a page for every profiled benchmark, next to its flight recording
+		for (BenchmarkResult benchmarkResult : benchmarkSuiteResult.getBenchmarkResults()) {
+			if (!benchmarkResult.getProfileSummary().isEmpty()) {
+				templateEngine.putVariable("result", benchmarkResult);
+				String profileHtml = templateEngine.processTemplate(PROFILE_HTML);
+				reportPages.add(new HtmlBenchmarkReportPage(profileHtml, ".",
+						benchmarkResult.getProfileSummary().getName()));
+			}
+		}
 
 		return new HtmlBenchmarkReport(reportPages, reportTemplateDir);
 	}
@@ -68,4 +83,22 @@ public class HtmlBenchmarkReportGenerator {
 		return new HtmlBenchmarkReportGenerator(benchmarkSuiteResult, reportTemplateDir).generate();
 	}
 
+	/**
+	 * Generates the report of a scaling sweep, consisting of an index page with the scaling statistics of every
+	 * benchmark. The reports of the individual runs of the benchmark suite are written separately.
+	 *
+	 * @param scalingResult     the results of a scaling sweep from which a report is to be generated
+	 * @param reportTemplateDir directory containing a template for the benchmark report
+	 * @return the generated report of the scaling sweep
+	 */
+	public static BenchmarkReport generateFromScalingResult(ScalingResult scalingResult, String reportTemplateDir) {
+		TemplateEngine templateEngine = new TemplateEngine(reportTemplateDir);
+		templateEngine.putVariable("scaling", new ScalingReportData(scalingResult));
+		templateEngine.putVariable("util", new TemplateUtility());
+
+		String scalingHtml = templateEngine.processTemplate(SCALING_HTML);
+		return new HtmlBenchmarkReport(Collections.singletonList(new HtmlBenchmarkReportPage(scalingHtml, ".",
+				INDEX_HTML)), reportTemplateDir);
+	}
+
 }
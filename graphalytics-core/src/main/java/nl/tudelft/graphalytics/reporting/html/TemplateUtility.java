@@ -16,9 +16,12 @@
 package nl.tudelft.graphalytics.reporting.html;
 
 import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.ResourceUsage;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility class for use in the HTML report templates.
@@ -27,6 +30,12 @@ import java.text.DecimalFormatSymbols;
  */
 public class TemplateUtility {
 
+	private static final String[] BYTE_UNITS = {"B", "KiB", "MiB", "GiB", "TiB", "PiB"};
+	private static final String[] METRIC_PREFIXES = {"", " k", " M", " G", " T", " P"};
+	private static final String[] PHASE_STYLES = {
+			"", "progress-bar-success", "progress-bar-info", "progress-bar-warning", "progress-bar-danger"
+	};
+
 	/**
 	 * Generates a string containing the name and size of a graph, with format: "graphname (X vertices, Y edges)".
 	 *
@@ -44,4 +53,71 @@ public class TemplateUtility {
 		return sb.toString();
 	}
 
+	/**
+	 * Selects a style for a segment of a stacked bar showing the phases of a benchmark, so that consecutive phases
+	 * are distinguishable.
+	 *
+	 * @param index the index of the phase
+	 * @return the CSS class of the progress bar segment
+	 */
+	public String getPhaseStyle(int index) {
+		return PHASE_STYLES[index % PHASE_STYLES.length];
+	}
+
+	/**
+	 * Formats a number of bytes using binary prefixes, e.g., "1.5 GiB".
+	 *
+	 * @param bytes a number of bytes
+	 * @return a human-readable representation of the number of bytes, or "unknown" if the number is negative
+	 */
+	public String formatBytes(double bytes) {
+		if (bytes < 0) {
+			return "unknown";
+		}
+		int unit = 0;
+		while (bytes >= 1024.0 && unit < BYTE_UNITS.length - 1) {
+			bytes /= 1024.0;
+			unit++;
+		}
+		return new DecimalFormat(unit == 0 ? "0" : "0.0").format(bytes) + " " + BYTE_UNITS[unit];
+	}
+
+	/**
+	 * Formats a large quantity using metric prefixes, e.g., "1.5 M" for 1.5 million.
+	 *
+	 * @param value a non-negative quantity
+	 * @return a human-readable representation of the quantity
+	 */
+	public String formatMetric(double value) {
+		int prefix = 0;
+		while (value >= 1000.0 && prefix < METRIC_PREFIXES.length - 1) {
+			value /= 1000.0;
+			prefix++;
+		}
+		return new DecimalFormat(prefix == 0 ? "0" : "0.00").format(value) + METRIC_PREFIXES[prefix];
+	}
+
+	/**
+	 * Reduces the CPU utilization time series of a benchmark to at most a given number of points for display, by
+	 * averaging consecutive samples.
+	 *
+	 * @param resourceUsage the resource usage of a benchmark
+	 * @param maxPoints     the maximum number of points to return
+	 * @return the CPU utilization as a percentage per point
+	 */
+	public List<Double> getCpuUtilizationSeries(ResourceUsage resourceUsage, int maxPoints) {
+		List<ResourceUsage.Sample> samples = resourceUsage.getSamples();
+		int samplesPerPoint = (samples.size() + maxPoints - 1) / Math.max(1, maxPoints);
+		List<Double> series = new ArrayList<>();
+		for (int start = 0; start < samples.size(); start += samplesPerPoint) {
+			int end = Math.min(samples.size(), start + samplesPerPoint);
+			double total = 0.0;
+			for (int i = start; i < end; i++) {
+				total += samples.get(i).getCpuUtilization();
+			}
+			series.add(total * 100.0 / (end - start));
+		}
+		return series;
+	}
+
 }
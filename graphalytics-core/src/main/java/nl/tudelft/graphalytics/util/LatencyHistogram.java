@@ -0,0 +1,138 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.util;
+
+/**
+ * Histogram of non-negative values (e.g., latencies in nanoseconds) with a bounded relative error, in the style of an
+ * HDR histogram. Values below 256 are counted exactly; larger values are counted in buckets covering a power of two,
+ * each divided into 128 linear sub-buckets, so every recorded value is represented with a relative error below 1%
+ * while the histogram occupies a fixed amount of memory regardless of the number or range of values. The minimum,
+ * maximum, and mean are tracked exactly. Not thread-safe; use one histogram per thread and merge them.
+ *
+ * @author Tim Hegeman
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 8;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int MAX_SHIFT = 63 - SUB_BUCKET_BITS + 1;
+
+	private final long[] counts = new long[SUB_BUCKET_COUNT + MAX_SHIFT * SUB_BUCKET_HALF_COUNT];
+	private long totalCount = 0;
+	private long minimum = Long.MAX_VALUE;
+	private long maximum = 0;
+	private double sum = 0.0;
+
+	/**
+	 * @param value the value to record
+	 * @throws IllegalArgumentException iff value is negative
+	 */
+	public void recordValue(long value) {
+		if (value < 0)
+			throw new IllegalArgumentException("Parameter \"value\" must not be negative.");
+
+		counts[indexOf(value)]++;
+		totalCount++;
+		minimum = Math.min(minimum, value);
+		maximum = Math.max(maximum, value);
+		sum += value;
+	}
+
+	/**
+	 * Adds all values recorded in another histogram to this histogram.
+	 *
+	 * @param other the histogram to add
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		totalCount += other.totalCount;
+		minimum = Math.min(minimum, other.minimum);
+		maximum = Math.max(maximum, other.maximum);
+		sum += other.sum;
+	}
+
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int)value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		int subBucket = (int)(value >>> shift);
+		return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+	}
+
+	private static long highestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+		long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+		return (subBucket << shift) + (1L << shift) - 1;
+	}
+
+	/**
+	 * @return the number of recorded values
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * @return the smallest recorded value, or 0 if no values were recorded
+	 */
+	public long getMinimum() {
+		return totalCount == 0 ? 0 : minimum;
+	}
+
+	/**
+	 * @return the largest recorded value, or 0 if no values were recorded
+	 */
+	public long getMaximum() {
+		return maximum;
+	}
+
+	/**
+	 * @return the mean of the recorded values, or 0 if no values were recorded
+	 */
+	public double getMean() {
+		return totalCount == 0 ? 0.0 : sum / totalCount;
+	}
+
+	/**
+	 * Returns the value below or at which the given percentage of the recorded values fall, as the highest value
+	 * equivalent to the bucket containing that percentile, capped at the maximum recorded value.
+	 *
+	 * @param percentile a percentile between 0 and 100
+	 * @return the value at the given percentile, or 0 if no values were recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (totalCount == 0) {
+			return 0;
+		}
+		long countAtPercentile = Math.max(1L, (long)Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+		long cumulativeCount = 0;
+		for (int i = 0; i < counts.length; i++) {
+			cumulativeCount += counts[i];
+			if (cumulativeCount >= countAtPercentile) {
+				return Math.min(highestEquivalentValue(i), maximum);
+			}
+		}
+		return maximum;
+	}
+
+}
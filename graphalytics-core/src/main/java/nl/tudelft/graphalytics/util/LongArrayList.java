@@ -0,0 +1,152 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of primitive longs, used to avoid boxing when collecting large numbers of vertex ids or edges.
+ *
+ * @author Tim Hegeman
+ */
+public final class LongArrayList {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private long[] elements;
+	private int size;
+
+	public LongArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param initialCapacity the number of elements to reserve space for
+	 */
+	public LongArrayList(int initialCapacity) {
+		this.elements = new long[Math.max(initialCapacity, 1)];
+		this.size = 0;
+	}
+
+	/**
+	 * @param value the value to append to the list
+	 */
+	public void add(long value) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, grownCapacity(elements.length));
+		}
+		elements[size++] = value;
+	}
+
+	/**
+	 * @param values the list of values to append to this list
+	 */
+	public void addAll(LongArrayList values) {
+		long newSize = (long)size + values.size;
+		if (newSize > elements.length) {
+			if (newSize > Integer.MAX_VALUE - 8)
+				throw new OutOfMemoryError("LongArrayList cannot grow beyond " + (Integer.MAX_VALUE - 8) +
+						" elements.");
+			elements = Arrays.copyOf(elements, (int)Math.max(newSize, grownCapacity(elements.length)));
+		}
+		System.arraycopy(values.elements, 0, elements, size, values.size);
+		size += values.size;
+	}
+
+	/**
+	 * @param index the index of an element in the list
+	 * @return the element at the given index
+	 */
+	public long get(int index) {
+		if (index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size + ".");
+		return elements[index];
+	}
+
+	/**
+	 * @param index the index of an element in the list
+	 * @param value the new value of the element
+	 */
+	public void set(int index, long value) {
+		if (index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size + ".");
+		elements[index] = value;
+	}
+
+	/**
+	 * @return the number of elements in the list
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true iff the list contains no elements
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all elements from the list, but retains the allocated capacity.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Sorts the elements of the list in ascending order and removes any duplicate values.
+	 */
+	public void sortAndRemoveDuplicates() {
+		Arrays.sort(elements, 0, size);
+		size = removeSortedDuplicates(elements, 0, size);
+	}
+
+	/**
+	 * @return a copy of the elements in the list
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * Removes duplicates from a sorted range of an array by shifting unique values to the front of the range.
+	 *
+	 * @param array     the array containing the sorted range
+	 * @param fromIndex the first index of the range (inclusive)
+	 * @param toIndex   the last index of the range (exclusive)
+	 * @return the number of unique values in the range
+	 */
+	public static int removeSortedDuplicates(long[] array, int fromIndex, int toIndex) {
+		if (toIndex - fromIndex < 2) {
+			return toIndex - fromIndex;
+		}
+		int unique = fromIndex + 1;
+		for (int i = fromIndex + 1; i < toIndex; i++) {
+			if (array[i] != array[unique - 1]) {
+				array[unique++] = array[i];
+			}
+		}
+		return unique - fromIndex;
+	}
+
+	private static int grownCapacity(int capacity) {
+		if (capacity == Integer.MAX_VALUE - 8)
+			throw new OutOfMemoryError("LongArrayList cannot grow beyond " + capacity + " elements.");
+		return (int)Math.min((long)capacity * 3 / 2 + 1, Integer.MAX_VALUE - 8);
+	}
+
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.util;
+
+/**
+ * Iterator over a sequence of primitive longs. Avoids the boxing overhead of {@code Iterator<Long>} when iterating
+ * over large collections of vertex ids.
+ *
+ * @author Tim Hegeman
+ */
+public interface LongCursor {
+
+	/**
+	 * @return true iff the sequence contains another element
+	 */
+	boolean hasNext();
+
+	/**
+	 * @return the next element in the sequence
+	 * @throws java.util.NoSuchElementException iff the sequence contains no more elements
+	 */
+	long next();
+
+}
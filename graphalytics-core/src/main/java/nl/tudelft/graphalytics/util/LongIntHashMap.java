@@ -0,0 +1,162 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.util;
+
+/**
+ * Hash map from primitive longs to primitive ints using open addressing with linear probing. Intended for mapping
+ * (sparse) vertex ids to dense indices without the overhead of boxed keys and entry objects.
+ *
+ * @author Tim Hegeman
+ */
+public final class LongIntHashMap {
+
+	private static final long FREE_KEY = 0L;
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	private int resizeThreshold;
+
+	private boolean containsFreeKey = false;
+	private int freeKeyValue;
+
+	public LongIntHashMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param expectedSize the number of entries the map should hold without resizing
+	 */
+	public LongIntHashMap(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * @param key          the key to look up
+	 * @param defaultValue the value to return if the key is not present
+	 * @return the value associated with the key, or defaultValue if the key is not present
+	 */
+	public int get(long key, int defaultValue) {
+		if (key == FREE_KEY) {
+			return containsFreeKey ? freeKeyValue : defaultValue;
+		}
+		for (int slot = slotFor(key); ; slot = (slot + 1) & mask) {
+			long slotKey = keys[slot];
+			if (slotKey == key) {
+				return values[slot];
+			} else if (slotKey == FREE_KEY) {
+				return defaultValue;
+			}
+		}
+	}
+
+	/**
+	 * @param key the key to look up
+	 * @return true iff the map contains the key
+	 */
+	public boolean containsKey(long key) {
+		if (key == FREE_KEY) {
+			return containsFreeKey;
+		}
+		for (int slot = slotFor(key); ; slot = (slot + 1) & mask) {
+			long slotKey = keys[slot];
+			if (slotKey == key) {
+				return true;
+			} else if (slotKey == FREE_KEY) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Associates a value with a key, replacing any previous value.
+	 *
+	 * @param key   the key to insert
+	 * @param value the value to associate with the key
+	 */
+	public void put(long key, int value) {
+		if (key == FREE_KEY) {
+			if (!containsFreeKey) {
+				containsFreeKey = true;
+				size++;
+			}
+			freeKeyValue = value;
+			return;
+		}
+		for (int slot = slotFor(key); ; slot = (slot + 1) & mask) {
+			long slotKey = keys[slot];
+			if (slotKey == key) {
+				values[slot] = value;
+				return;
+			} else if (slotKey == FREE_KEY) {
+				keys[slot] = key;
+				values[slot] = value;
+				if (++size > resizeThreshold) {
+					rehash(keys.length * 2);
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of entries in the map
+	 */
+	public int size() {
+		return size;
+	}
+
+	private int slotFor(long key) {
+		// Mix the bits of the key to avoid clustering of sequential ids
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int)(hash ^ (hash >>> 32)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+		resizeThreshold = capacity / 2;
+	}
+
+	private void rehash(int newCapacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(newCapacity);
+		size = containsFreeKey ? 1 : 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE_KEY) {
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private static int capacityFor(int expectedSize) {
+		long capacity = Long.highestOneBit(Math.max((long)expectedSize * 2, MIN_CAPACITY) - 1) << 1;
+		if (capacity > 1 << 30) {
+			throw new IllegalArgumentException("Cannot create a LongIntHashMap for " + expectedSize + " entries.");
+		}
+		return (int)capacity;
+	}
+
+	@Override
+	public String toString() {
+		return "LongIntHashMap(size=" + size + ",capacity=" + keys.length + ")";
+	}
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.generator;
+
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.preprocessing.ExternalSortGraphConverter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for generating Kronecker graphs in the edge-based text format or the binary CSR format.
+ * See the README of this module for usage.
+ *
+ * @author Tim Hegeman
+ */
+public final class GraphGenerator {
+	private static final Logger LOG = LogManager.getLogger();
+
+	private static final String USAGE = "Usage: GraphGenerator --scale <n> [--edge-factor <n>] [--seed <n>] " +
+			"[--format <text|binary>] [--threads <n>] [--memory-budget <MB>] [--temporary-directory <dir>] <output>";
+
+	private int scale = -1;
+	private int edgeFactor = 16;
+	private long seed = 1L;
+	private boolean binary = false;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private long memoryBudgetMb = -1L;
+	private String temporaryDirectory = System.getProperty("java.io.tmpdir");
+	private Path outputPath;
+
+	private GraphGenerator() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		GraphGenerator generator = new GraphGenerator();
+		try {
+			generator.parseArguments(args);
+		} catch (IllegalArgumentException ex) {
+			System.err.println(ex.getMessage());
+			System.err.println(USAGE);
+			System.exit(1);
+		}
+		generator.run();
+	}
+
+	private void parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String argument = args[i];
+			if (!argument.startsWith("--")) {
+				if (outputPath != null || i != args.length - 1) {
+					throw new IllegalArgumentException("Unexpected argument \"" + argument + "\".");
+				}
+				outputPath = Paths.get(argument);
+				continue;
+			}
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("Missing value for option \"" + argument + "\".");
+			}
+			String value = args[++i];
+			try {
+				switch (argument) {
+					case "--scale":
+						scale = Integer.parseInt(value);
+						if (scale < 1 || scale > KroneckerGenerator.MAX_SCALE) {
+							throw new IllegalArgumentException("Option \"--scale\" must be between 1 and " +
+									KroneckerGenerator.MAX_SCALE + ".");
+						}
+						break;
+					case "--edge-factor":
+						edgeFactor = Integer.parseInt(value);
+						if (edgeFactor < 1) {
+							throw new IllegalArgumentException("Option \"--edge-factor\" must be positive.");
+						}
+						break;
+					case "--seed":
+						seed = Long.parseLong(value);
+						break;
+					case "--format":
+						if (!value.equals("text") && !value.equals("binary")) {
+							throw new IllegalArgumentException("Unknown format \"" + value + "\".");
+						}
+						binary = value.equals("binary");
+						break;
+					case "--threads":
+						threads = Integer.parseInt(value);
+						break;
+					case "--memory-budget":
+						memoryBudgetMb = Long.parseLong(value);
+						if (memoryBudgetMb < 1) {
+							throw new IllegalArgumentException("Option \"--memory-budget\" must be positive.");
+						}
+						break;
+					case "--temporary-directory":
+						temporaryDirectory = value;
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown option \"" + argument + "\".");
+				}
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("Invalid value \"" + value + "\" for option \"" + argument + "\".");
+			}
+		}
+		if (scale < 0) {
+			throw new IllegalArgumentException("Missing required option \"--scale\".");
+		}
+		if (outputPath == null) {
+			throw new IllegalArgumentException("Missing output file.");
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("Option \"--threads\" must be positive.");
+		}
+	}
+
+	private void run() throws IOException {
+		KroneckerGenerator generator = new KroneckerGenerator(scale, edgeFactor, seed);
+		LOG.info("Generating Kronecker graph with scale " + scale + ", edge factor " + edgeFactor + " and seed " +
+				seed + " (" + generator.getNumberOfVertices() + " vertices, " + generator.getNumberOfEdges() +
+				" edges) using " + threads + " threads.");
+		long startTime = System.currentTimeMillis();
+
+		Path absoluteOutputPath = outputPath.toAbsolutePath();
+		Files.createDirectories(absoluteOutputPath.getParent());
+		if (binary) {
+			long memoryBudget = memoryBudgetMb > 0 ? memoryBudgetMb * 1024L * 1024L :
+					ExternalSortGraphConverter.defaultMemoryBudget();
+			ExternalSortGraphConverter converter = new ExternalSortGraphConverter(memoryBudget,
+					Paths.get(temporaryDirectory));
+			try (EdgeStream edges = generator.openEdgeStream(threads)) {
+				converter.convertToBinary(edges, false, absoluteOutputPath);
+			}
+		} else {
+			try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(absoluteOutputPath), 1 << 20)) {
+				generator.writeEdgeBasedText(output, threads);
+			}
+		}
+
+		LOG.info("Wrote graph to \"" + absoluteOutputPath + "\" in " + (System.currentTimeMillis() - startTime) +
+				" ms.");
+	}
+
+}
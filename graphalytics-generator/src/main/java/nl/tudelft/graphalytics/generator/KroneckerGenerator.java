@@ -0,0 +1,330 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.generator;
+
+import nl.tudelft.graphalytics.io.EdgeStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generator for R-MAT/Kronecker graphs as used by the Graph 500 benchmark. Each edge is placed by recursively
+ * selecting one of the four quadrants of the adjacency matrix with probabilities A, B, C, and D = 1 - A - B - C.
+ * Vertex ids are scrambled afterwards using a seeded bijection to remove the locality introduced by the recursion.
+ * <p/>
+ * Edges are generated in fixed-size blocks, each with its own random number generator derived from the seed and the
+ * block index. Blocks can therefore be generated in parallel, while the output depends only on the parameters of the
+ * generator and never on the number of threads used.
+ *
+ * @author Tim Hegeman
+ */
+public final class KroneckerGenerator {
+
+	/**
+	 * Graph 500 initiator probability of the top-left quadrant.
+	 */
+	public static final double DEFAULT_A = 0.57;
+	/**
+	 * Graph 500 initiator probability of the top-right quadrant.
+	 */
+	public static final double DEFAULT_B = 0.19;
+	/**
+	 * Graph 500 initiator probability of the bottom-left quadrant.
+	 */
+	public static final double DEFAULT_C = 0.19;
+	/**
+	 * Largest supported scale, i.e., logarithm (base 2) of the number of vertices.
+	 */
+	public static final int MAX_SCALE = 40;
+
+	private static final int BLOCK_SIZE = 1 << 16;
+	private static final int BLOCKS_IN_FLIGHT_PER_THREAD = 2;
+
+	private final int scale;
+	private final long numberOfEdges;
+	private final long seed;
+	private final double abProbability;
+	private final double aNormalizedProbability;
+	private final double cNormalizedProbability;
+	private final long vertexMask;
+	private final long scrambleMultiplier1;
+	private final long scrambleMultiplier2;
+
+	/**
+	 * Creates a generator using the Graph 500 initiator probabilities.
+	 *
+	 * @param scale      the logarithm (base 2) of the number of vertices
+	 * @param edgeFactor the ratio of edges to vertices
+	 * @param seed       the seed of the random number generator
+	 */
+	public KroneckerGenerator(int scale, int edgeFactor, long seed) {
+		this(scale, edgeFactor, seed, DEFAULT_A, DEFAULT_B, DEFAULT_C);
+	}
+
+	/**
+	 * @param scale      the logarithm (base 2) of the number of vertices
+	 * @param edgeFactor the ratio of edges to vertices
+	 * @param seed       the seed of the random number generator
+	 * @param a          the initiator probability of the top-left quadrant
+	 * @param b          the initiator probability of the top-right quadrant
+	 * @param c          the initiator probability of the bottom-left quadrant
+	 */
+	public KroneckerGenerator(int scale, int edgeFactor, long seed, double a, double b, double c) {
+		if (scale < 1 || scale > MAX_SCALE) {
+			throw new IllegalArgumentException("Parameter \"scale\" must be between 1 and " + MAX_SCALE + ".");
+		}
+		if (edgeFactor < 1) {
+			throw new IllegalArgumentException("Parameter \"edgeFactor\" must be positive.");
+		}
+		if (a <= 0 || b <= 0 || c <= 0 || a + b + c >= 1) {
+			throw new IllegalArgumentException("Initiator probabilities must be positive and sum to less than 1.");
+		}
+		this.scale = scale;
+		this.numberOfEdges = (long)edgeFactor << scale;
+		this.seed = seed;
+		this.abProbability = a + b;
+		this.aNormalizedProbability = a / (a + b);
+		this.cNormalizedProbability = c / (1 - a - b);
+		this.vertexMask = (1L << scale) - 1;
+		this.scrambleMultiplier1 = mix(seed ^ 0x5DEECE66DL) | 1L;
+		this.scrambleMultiplier2 = mix(seed ^ 0xB5AD4ECEDA1CE2A9L) | 1L;
+	}
+
+	/**
+	 * @return the number of vertices in the generated graph
+	 */
+	public long getNumberOfVertices() {
+		return 1L << scale;
+	}
+
+	/**
+	 * @return the number of edges in the generated graph, including self-loops and duplicates
+	 */
+	public long getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	/**
+	 * @return the number of blocks the edges are generated in
+	 */
+	public long getNumberOfBlocks() {
+		return (numberOfEdges + BLOCK_SIZE - 1) / BLOCK_SIZE;
+	}
+
+	/**
+	 * Generates a single block of edges.
+	 *
+	 * @param blockIndex the index of the block, in the range [0, number of blocks)
+	 * @return the edges in the block, stored as consecutive pairs of source and destination ids
+	 */
+	public long[] generateBlock(long blockIndex) {
+		long firstEdge = blockIndex * BLOCK_SIZE;
+		int blockSize = (int)Math.min(BLOCK_SIZE, numberOfEdges - firstEdge);
+		long[] edges = new long[2 * blockSize];
+
+		long state = mix(seed) ^ mix(blockIndex + 1);
+		for (int e = 0; e < blockSize; e++) {
+			long sourceId = 0;
+			long destinationId = 0;
+			for (int level = 0; level < scale; level++) {
+				state += 0x9E3779B97F4A7C15L;
+				boolean bottom = toDouble(mix(state)) > abProbability;
+				state += 0x9E3779B97F4A7C15L;
+				boolean right = toDouble(mix(state)) > (bottom ? cNormalizedProbability : aNormalizedProbability);
+				sourceId = (sourceId << 1) | (bottom ? 1 : 0);
+				destinationId = (destinationId << 1) | (right ? 1 : 0);
+			}
+			edges[2 * e] = scramble(sourceId);
+			edges[2 * e + 1] = scramble(destinationId);
+		}
+		return edges;
+	}
+
+	/**
+	 * Opens a stream of all generated edges, in block order. Blocks are generated ahead of the consumer by a pool of
+	 * threads; the stream must be closed to release the pool.
+	 *
+	 * @param parallelism the number of threads to generate edges with
+	 * @return a stream of all generated edges
+	 */
+	public EdgeStream openEdgeStream(int parallelism) {
+		return new GeneratedEdgeStream(new BlockPipeline<long[]>(parallelism) {
+			@Override
+			protected long[] computeBlock(long blockIndex) {
+				return generateBlock(blockIndex);
+			}
+		});
+	}
+
+	/**
+	 * Writes all generated edges in the edge-based text format. Blocks are generated and formatted in parallel, and
+	 * written in block order.
+	 *
+	 * @param output      the stream to write the edges to
+	 * @param parallelism the number of threads to generate edges with
+	 * @throws IOException iff the edges could not be written
+	 */
+	public void writeEdgeBasedText(OutputStream output, int parallelism) throws IOException {
+		try (BlockPipeline<byte[]> pipeline = new BlockPipeline<byte[]>(parallelism) {
+			@Override
+			protected byte[] computeBlock(long blockIndex) {
+				long[] edges = generateBlock(blockIndex);
+				StringBuilder text = new StringBuilder(edges.length * 10);
+				for (int i = 0; i < edges.length; i += 2) {
+					text.append(edges[i]).append(' ').append(edges[i + 1]).append('\n');
+				}
+				return text.toString().getBytes(StandardCharsets.US_ASCII);
+			}
+		}) {
+			for (byte[] block = pipeline.nextBlock(); block != null; block = pipeline.nextBlock()) {
+				output.write(block);
+			}
+		}
+	}
+
+	/**
+	 * Maps a vertex id to a pseudo-random vertex id in the range [0, 2^scale) using a bijection consisting of odd
+	 * multiplications and xor-shifts modulo 2^scale.
+	 */
+	private long scramble(long vertexId) {
+		int shift = (scale + 1) / 2;
+		vertexId = (vertexId * scrambleMultiplier1) & vertexMask;
+		vertexId ^= vertexId >>> shift;
+		vertexId = (vertexId * scrambleMultiplier2) & vertexMask;
+		vertexId ^= vertexId >>> shift;
+		return vertexId;
+	}
+
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+	private static double toDouble(long randomBits) {
+		return (randomBits >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Computes blocks on a pool of threads, keeping a bounded number of blocks in flight, and returns them in order.
+	 */
+	private abstract class BlockPipeline<T> implements Closeable {
+
+		private final ExecutorService executor;
+		private final ArrayDeque<Future<T>> pendingBlocks = new ArrayDeque<>();
+		private long nextBlockIndex = 0;
+
+		private BlockPipeline(int parallelism) {
+			this.executor = Executors.newFixedThreadPool(parallelism);
+			for (int i = 0; i < parallelism * BLOCKS_IN_FLIGHT_PER_THREAD; i++) {
+				submitNextBlock();
+			}
+		}
+
+		protected abstract T computeBlock(long blockIndex);
+
+		private void submitNextBlock() {
+			if (nextBlockIndex < getNumberOfBlocks()) {
+				final long blockIndex = nextBlockIndex++;
+				pendingBlocks.add(executor.submit(new Callable<T>() {
+					@Override
+					public T call() {
+						return computeBlock(blockIndex);
+					}
+				}));
+			}
+		}
+
+		/**
+		 * @return the next block, or null if all blocks have been returned
+		 */
+		public T nextBlock() throws IOException {
+			Future<T> block = pendingBlocks.poll();
+			if (block == null) {
+				return null;
+			}
+			submitNextBlock();
+			try {
+				return block.get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while generating edges.");
+			} catch (ExecutionException ex) {
+				throw new IOException("Failed to generate edges.", ex.getCause());
+			}
+		}
+
+		@Override
+		public void close() {
+			executor.shutdownNow();
+		}
+
+	}
+
+	/**
+	 * EdgeStream over the blocks produced by a BlockPipeline.
+	 */
+	private static final class GeneratedEdgeStream implements EdgeStream {
+
+		private final BlockPipeline<long[]> pipeline;
+		private long[] block = new long[0];
+		private int index = 0;
+
+		private GeneratedEdgeStream(BlockPipeline<long[]> pipeline) {
+			this.pipeline = pipeline;
+		}
+
+		@Override
+		public boolean next() throws IOException {
+			index += 2;
+			while (index >= block.length) {
+				block = pipeline.nextBlock();
+				if (block == null) {
+					block = new long[0];
+					return false;
+				}
+				index = 0;
+			}
+			return true;
+		}
+
+		@Override
+		public long getSourceId() {
+			return block[index];
+		}
+
+		@Override
+		public long getDestinationId() {
+			return block[index + 1];
+		}
+
+		@Override
+		public void close() {
+			pipeline.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.TimingContext;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel, level-synchronous breadth-first search. Small frontiers are expanded top-down by scanning the outgoing
+ * edges of the frontier, and large frontiers bottom-up by having every unvisited vertex scan its incoming edges for a
+ * parent in the frontier.
+ *
+ * @author Tim Hegeman
+ */
+final class BreadthFirstSearch {
+
+	/**
+	 * A frontier larger than 1/BOTTOM_UP_THRESHOLD of the vertices is expanded bottom-up.
+	 */
+	private static final int BOTTOM_UP_THRESHOLD = 20;
+
+	private BreadthFirstSearch() {
+	}
+
+	/**
+	 * @param pool        the pool to execute the algorithm on
+	 * @param graph       the graph to traverse
+	 * @param sourceIndex the index of the source vertex, or -1 if the source does not exist
+	 * @param timing      the context to record the duration of each level of the traversal in
+	 * @return the depth of each vertex, or Long.MAX_VALUE for unreachable vertices
+	 */
+	static long[] execute(ForkJoinPool pool, final CsrGraph graph, int sourceIndex, TimingContext timing) {
+		final int numberOfVertices = graph.getNumberOfVertices();
+		// Stores the depth of each vertex plus one, so zero identifies unvisited vertices
+		final AtomicIntegerArray depths = new AtomicIntegerArray(numberOfVertices);
+
+		if (sourceIndex >= 0) {
+			depths.set(sourceIndex, 1);
+			// Each vertex enters a frontier at most once, so two frontiers of n vertices are swapped between levels
+			int[] frontier = new int[numberOfVertices];
+			int[] spareFrontier = new int[numberOfVertices];
+			frontier[0] = sourceIndex;
+			int frontierSize = 1;
+			int depth = 1;
+			final AtomicInteger nextFrontierSize = new AtomicInteger();
+			while (frontierSize > 0) {
+				final int[] currentFrontier = frontier;
+				final int[] nextFrontier = spareFrontier;
+				nextFrontierSize.set(0);
+				final int currentDepth = depth;
+				timing.startPhase(TimingContext.superstep(depth - 1));
+				if (frontierSize > numberOfVertices / BOTTOM_UP_THRESHOLD) {
+					ParallelLoops.sum(pool, numberOfVertices, new ParallelLoops.RangeBody() {
+						@Override
+						public long execute(int from, int to) {
+							return bottomUpStep(graph, depths, currentDepth, from, to, nextFrontier, nextFrontierSize);
+						}
+					});
+				} else {
+					ParallelLoops.sum(pool, frontierSize, new ParallelLoops.RangeBody() {
+						@Override
+						public long execute(int from, int to) {
+							return topDownStep(graph, depths, currentDepth, currentFrontier, from, to, nextFrontier,
+									nextFrontierSize);
+						}
+					});
+				}
+				timing.endPhase();
+				spareFrontier = currentFrontier;
+				frontier = nextFrontier;
+				frontierSize = nextFrontierSize.get();
+				depth++;
+			}
+		}
+
+		long[] result = new long[numberOfVertices];
+		for (int i = 0; i < numberOfVertices; i++) {
+			int depth = depths.get(i);
+			result[i] = depth == 0 ? Long.MAX_VALUE : depth - 1;
+		}
+		return result;
+	}
+
+	private static long topDownStep(CsrGraph graph, AtomicIntegerArray depths, int currentDepth, int[] frontier,
+			int from, int to, int[] nextFrontier, AtomicInteger nextFrontierSize) {
+		int[] discovered = new int[16];
+		int discoveredCount = 0;
+		for (int i = from; i < to; i++) {
+			int vertex = frontier[i];
+			for (int e = graph.outOffsets[vertex]; e < graph.outOffsets[vertex + 1]; e++) {
+				int neighbour = graph.outNeighbours[e];
+				if (depths.get(neighbour) == 0 && depths.compareAndSet(neighbour, 0, currentDepth + 1)) {
+					if (discoveredCount == discovered.length) {
+						discovered = Arrays.copyOf(discovered, discovered.length * 2);
+					}
+					discovered[discoveredCount++] = neighbour;
+				}
+			}
+		}
+		appendToFrontier(discovered, discoveredCount, nextFrontier, nextFrontierSize);
+		return discoveredCount;
+	}
+
+	private static long bottomUpStep(CsrGraph graph, AtomicIntegerArray depths, int currentDepth, int from, int to,
+			int[] nextFrontier, AtomicInteger nextFrontierSize) {
+		int[] discovered = new int[16];
+		int discoveredCount = 0;
+		for (int vertex = from; vertex < to; vertex++) {
+			if (depths.get(vertex) != 0) {
+				continue;
+			}
+			for (int e = graph.inOffsets[vertex]; e < graph.inOffsets[vertex + 1]; e++) {
+				if (depths.get(graph.inNeighbours[e]) == currentDepth) {
+					// Every vertex is only updated by the task owning its range, so no compare-and-set is needed
+					depths.set(vertex, currentDepth + 1);
+					if (discoveredCount == discovered.length) {
+						discovered = Arrays.copyOf(discovered, discovered.length * 2);
+					}
+					discovered[discoveredCount++] = vertex;
+					break;
+				}
+			}
+		}
+		appendToFrontier(discovered, discoveredCount, nextFrontier, nextFrontierSize);
+		return discoveredCount;
+	}
+
+	private static void appendToFrontier(int[] discovered, int discoveredCount, int[] nextFrontier,
+			AtomicInteger nextFrontierSize) {
+		if (discoveredCount > 0) {
+			int offset = nextFrontierSize.getAndAdd(discoveredCount);
+			System.arraycopy(discovered, 0, nextFrontier, offset, discoveredCount);
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.TimingContext;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel community detection using the synchronous label propagation algorithm by Leung et al. In every iteration,
+ * each vertex adopts the label with the highest weight among its neighbours, where the weight of a label is the sum
+ * over neighbours with that label of their score multiplied by their degree raised to the node preference. In
+ * directed graphs, incoming and outgoing edges are both considered, so reciprocated edges carry twice the weight.
+ * A vertex that adopts a new label takes over the highest score of its neighbours with that label, reduced by the
+ * hop attenuation. Ties are broken in favour of the smallest label, so the output is deterministic.
+ *
+ * @author Tim Hegeman
+ */
+final class CommunityDetection {
+
+	private CommunityDetection() {
+	}
+
+	/**
+	 * @param pool           the pool to execute the algorithm on
+	 * @param graph          the graph to detect communities in
+	 * @param nodePreference the exponent applied to the degree of a vertex
+	 * @param hopAttenuation the decrease in score of a label for every hop it travels
+	 * @param maxIterations  the number of iterations to execute
+	 * @param timing         the context to record the duration of each iteration in
+	 * @return the community id of each vertex
+	 */
+	static long[] execute(ForkJoinPool pool, final CsrGraph graph, final double nodePreference,
+			final double hopAttenuation, int maxIterations, TimingContext timing) {
+		final int numberOfVertices = graph.getNumberOfVertices();
+		final int maxDegree = graph.getMaxTotalDegree();
+
+		final double[] degreeWeights = new double[numberOfVertices];
+		ParallelLoops.sum(pool, numberOfVertices, new ParallelLoops.RangeBody() {
+			@Override
+			public long execute(int from, int to) {
+				for (int vertex = from; vertex < to; vertex++) {
+					int degree = graph.getOutDegree(vertex) + (graph.isDirected() ? graph.getInDegree(vertex) : 0);
+					degreeWeights[vertex] = Math.pow(degree, nodePreference);
+				}
+				return 0;
+			}
+		});
+
+		int[] labels = new int[numberOfVertices];
+		double[] scores = new double[numberOfVertices];
+		for (int i = 0; i < numberOfVertices; i++) {
+			labels[i] = i;
+			scores[i] = 1.0;
+		}
+
+		int[] nextLabels = new int[numberOfVertices];
+		double[] nextScores = new double[numberOfVertices];
+		for (int iteration = 0; iteration < maxIterations; iteration++) {
+			final int[] currentLabels = labels;
+			final double[] currentScores = scores;
+			final int[] updatedLabels = nextLabels;
+			final double[] updatedScores = nextScores;
+			timing.startPhase(TimingContext.superstep(iteration));
+			long changed = ParallelLoops.sum(pool, numberOfVertices, new ParallelLoops.RangeBody() {
+				@Override
+				public long execute(int from, int to) {
+					long[] labelledNeighbours = new long[maxDegree];
+					long updated = 0;
+					for (int vertex = from; vertex < to; vertex++) {
+						updated += updateVertex(graph, vertex, currentLabels, currentScores, degreeWeights,
+								hopAttenuation, updatedLabels, updatedScores, labelledNeighbours);
+					}
+					return updated;
+				}
+			});
+			timing.endPhase();
+
+			labels = updatedLabels;
+			scores = updatedScores;
+			nextLabels = currentLabels;
+			nextScores = currentScores;
+			if (changed == 0) {
+				break;
+			}
+		}
+
+		long[] result = new long[numberOfVertices];
+		for (int i = 0; i < numberOfVertices; i++) {
+			result[i] = graph.getVertexId(labels[i]);
+		}
+		return result;
+	}
+
+	private static int updateVertex(CsrGraph graph, int vertex, int[] labels, double[] scores, double[] degreeWeights,
+			double hopAttenuation, int[] updatedLabels, double[] updatedScores, long[] labelledNeighbours) {
+		// Group the neighbours by label by sorting (label, neighbour) pairs
+		int degree = addLabelledNeighbours(graph.outNeighbours, graph.outOffsets[vertex],
+				graph.outOffsets[vertex + 1], vertex, labels, labelledNeighbours, 0);
+		if (graph.isDirected()) {
+			degree = addLabelledNeighbours(graph.inNeighbours, graph.inOffsets[vertex], graph.inOffsets[vertex + 1],
+					vertex, labels, labelledNeighbours, degree);
+		}
+		if (degree == 0) {
+			updatedLabels[vertex] = labels[vertex];
+			updatedScores[vertex] = scores[vertex];
+			return 0;
+		}
+		Arrays.sort(labelledNeighbours, 0, degree);
+
+		int bestLabel = -1;
+		double bestWeight = Double.NEGATIVE_INFINITY;
+		double bestMaxScore = 0.0;
+		int i = 0;
+		while (i < degree) {
+			int label = (int)(labelledNeighbours[i] >>> 32);
+			double weight = 0.0;
+			double maxScore = Double.NEGATIVE_INFINITY;
+			for (; i < degree && (int)(labelledNeighbours[i] >>> 32) == label; i++) {
+				int neighbour = (int)labelledNeighbours[i];
+				weight += scores[neighbour] * degreeWeights[neighbour];
+				maxScore = Math.max(maxScore, scores[neighbour]);
+			}
+			// Labels are visited in increasing order, so a strict comparison keeps the smallest label on ties
+			if (weight > bestWeight) {
+				bestLabel = label;
+				bestWeight = weight;
+				bestMaxScore = maxScore;
+			}
+		}
+
+		if (bestLabel == labels[vertex]) {
+			updatedLabels[vertex] = labels[vertex];
+			updatedScores[vertex] = scores[vertex];
+			return 0;
+		}
+		updatedLabels[vertex] = bestLabel;
+		updatedScores[vertex] = bestMaxScore - hopAttenuation;
+		return 1;
+	}
+
+	private static int addLabelledNeighbours(int[] neighbours, int from, int to, int vertex, int[] labels,
+			long[] labelledNeighbours, int size) {
+		for (int i = from; i < to; i++) {
+			int neighbour = neighbours[i];
+			if (neighbour != vertex) {
+				labelledNeighbours[size++] = ((long)labels[neighbour] << 32) | neighbour;
+			}
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.TimingContext;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel weakly connected components using min-label propagation. Every vertex repeatedly adopts the smallest label
+ * among itself and its incoming and outgoing neighbours, followed by a pointer-jumping step that shortcuts chains of
+ * labels. Because vertex indices follow the order of vertex ids, the final label of a component is the index of the
+ * vertex with the smallest id.
+ *
+ * @author Tim Hegeman
+ */
+final class ConnectedComponents {
+
+	private ConnectedComponents() {
+	}
+
+	/**
+	 * @param pool   the pool to execute the algorithm on
+	 * @param graph  the graph to find the components of
+	 * @param timing the context to record the duration of each iteration in
+	 * @return the component id of each vertex, i.e., the smallest vertex id in its component
+	 */
+	static long[] execute(ForkJoinPool pool, final CsrGraph graph, TimingContext timing) {
+		final int numberOfVertices = graph.getNumberOfVertices();
+		// Labels only decrease and each entry has a single writer per pass, so racy reads of neighbouring labels
+		// observe either the old or the new (smaller) label, both of which are in the same component
+		final int[] labels = new int[numberOfVertices];
+		for (int i = 0; i < numberOfVertices; i++) {
+			labels[i] = i;
+		}
+
+		long changed;
+		int iteration = 0;
+		do {
+			timing.startPhase(TimingContext.superstep(iteration++));
+			changed = ParallelLoops.sum(pool, numberOfVertices, new ParallelLoops.RangeBody() {
+				@Override
+				public long execute(int from, int to) {
+					long updated = 0;
+					for (int vertex = from; vertex < to; vertex++) {
+						int label = labels[vertex];
+						for (int e = graph.outOffsets[vertex]; e < graph.outOffsets[vertex + 1]; e++) {
+							label = Math.min(label, labels[graph.outNeighbours[e]]);
+						}
+						if (graph.isDirected()) {
+							for (int e = graph.inOffsets[vertex]; e < graph.inOffsets[vertex + 1]; e++) {
+								label = Math.min(label, labels[graph.inNeighbours[e]]);
+							}
+						}
+						label = labels[label];
+						if (label < labels[vertex]) {
+							labels[vertex] = label;
+							updated++;
+						}
+					}
+					return updated;
+				}
+			});
+			timing.endPhase();
+		} while (changed > 0);
+
+		long[] result = new long[numberOfVertices];
+		for (int i = 0; i < numberOfVertices; i++) {
+			result[i] = graph.getVertexId(labels[i]);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.util.LongArrayList;
+
+import java.util.Arrays;
+
+/**
+ * In-memory graph in compressed sparse row (CSR) format. Vertices are identified by their index in the sorted array
+ * of vertex ids, and the outgoing and incoming neighbours of each vertex are stored as sorted arrays of vertex
+ * indices. For undirected graphs, every edge is stored in both directions and the incoming neighbours are the same as
+ * the outgoing neighbours.
+ *
+ * @author Tim Hegeman
+ */
+public final class CsrGraph {
+
+	private final boolean directed;
+	private final long[] vertexIds;
+	final int[] outOffsets;
+	final int[] outNeighbours;
+	final int[] inOffsets;
+	final int[] inNeighbours;
+
+	private CsrGraph(boolean directed, long[] vertexIds, int[] outOffsets, int[] outNeighbours, int[] inOffsets,
+			int[] inNeighbours) {
+		this.directed = directed;
+		this.vertexIds = vertexIds;
+		this.outOffsets = outOffsets;
+		this.outNeighbours = outNeighbours;
+		this.inOffsets = inOffsets;
+		this.inNeighbours = inNeighbours;
+	}
+
+	/**
+	 * @return true iff the graph is directed
+	 */
+	public boolean isDirected() {
+		return directed;
+	}
+
+	/**
+	 * @return the number of vertices in the graph
+	 */
+	public int getNumberOfVertices() {
+		return vertexIds.length;
+	}
+
+	/**
+	 * @return the number of stored (outgoing) edges, counting undirected edges twice
+	 */
+	public long getNumberOfStoredEdges() {
+		return outNeighbours.length;
+	}
+
+	/**
+	 * @param index the index of a vertex
+	 * @return the id of the vertex
+	 */
+	public long getVertexId(int index) {
+		return vertexIds[index];
+	}
+
+	/**
+	 * @param vertexId the id of a vertex
+	 * @return the index of the vertex, or -1 if the vertex does not exist
+	 */
+	public int getVertexIndex(long vertexId) {
+		int index = Arrays.binarySearch(vertexIds, vertexId);
+		return index >= 0 ? index : -1;
+	}
+
+	/**
+	 * @return the highest vertex id in the graph, or -1 if the graph is empty
+	 */
+	public long getMaxVertexId() {
+		return vertexIds.length > 0 ? vertexIds[vertexIds.length - 1] : -1L;
+	}
+
+	/**
+	 * @param index the index of a vertex
+	 * @return the number of outgoing edges of the vertex
+	 */
+	public int getOutDegree(int index) {
+		return outOffsets[index + 1] - outOffsets[index];
+	}
+
+	/**
+	 * @param index the index of a vertex
+	 * @return the number of incoming edges of the vertex
+	 */
+	public int getInDegree(int index) {
+		return inOffsets[index + 1] - inOffsets[index];
+	}
+
+	/**
+	 * Copies the sorted union of the outgoing and incoming neighbours of a vertex, excluding the vertex itself, into a
+	 * buffer.
+	 *
+	 * @param index  the index of a vertex
+	 * @param buffer a buffer of at least the sum of the in- and out-degree of the vertex
+	 * @return the number of neighbours copied into the buffer
+	 */
+	int copyNeighbourhood(int index, int[] buffer) {
+		int size = 0;
+		int out = outOffsets[index];
+		int outEnd = outOffsets[index + 1];
+		if (!directed) {
+			for (; out < outEnd; out++) {
+				if (outNeighbours[out] != index) {
+					buffer[size++] = outNeighbours[out];
+				}
+			}
+			return size;
+		}
+
+		int in = inOffsets[index];
+		int inEnd = inOffsets[index + 1];
+		while (out < outEnd || in < inEnd) {
+			int next;
+			if (in == inEnd || (out < outEnd && outNeighbours[out] < inNeighbours[in])) {
+				next = outNeighbours[out++];
+			} else if (out == outEnd || inNeighbours[in] < outNeighbours[out]) {
+				next = inNeighbours[in++];
+			} else {
+				next = outNeighbours[out++];
+				in++;
+			}
+			if (next != index) {
+				buffer[size++] = next;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the highest sum of in- and out-degree of any vertex
+	 */
+	int getMaxTotalDegree() {
+		int maxDegree = 0;
+		for (int i = 0; i < vertexIds.length; i++) {
+			maxDegree = Math.max(maxDegree, getOutDegree(i) + (directed ? getInDegree(i) : 0));
+		}
+		return maxDegree;
+	}
+
+	/**
+	 * Builder for CsrGraph objects. Vertices and edges may be added in any order; duplicate edges are removed.
+	 */
+	public static final class Builder {
+
+		private final boolean directed;
+		private final LongArrayList vertexIds = new LongArrayList();
+		private final LongArrayList edges = new LongArrayList();
+
+		/**
+		 * @param directed true iff the graph to build is directed
+		 */
+		public Builder(boolean directed) {
+			this.directed = directed;
+		}
+
+		/**
+		 * @param vertexId the id of a vertex to add, which may or may not have edges
+		 * @return this builder
+		 */
+		public Builder addVertex(long vertexId) {
+			vertexIds.add(vertexId);
+			return this;
+		}
+
+		/**
+		 * @param sourceId      the source of the edge to add
+		 * @param destinationId the destination of the edge to add
+		 * @return this builder
+		 */
+		public Builder addEdge(long sourceId, long destinationId) {
+			edges.add(sourceId);
+			edges.add(destinationId);
+			return this;
+		}
+
+		/**
+		 * @return the built graph
+		 */
+		public CsrGraph build() {
+			for (int i = 0; i < edges.size(); i++) {
+				vertexIds.add(edges.get(i));
+			}
+			vertexIds.sortAndRemoveDuplicates();
+			long[] sortedVertexIds = vertexIds.toArray();
+			int numberOfVertices = sortedVertexIds.length;
+
+			int numberOfEdges = edges.size() / 2;
+			int storedEdges = directed ? numberOfEdges : 2 * numberOfEdges;
+			int[] sources = new int[storedEdges];
+			int[] destinations = new int[storedEdges];
+			for (int i = 0; i < numberOfEdges; i++) {
+				int sourceIndex = Arrays.binarySearch(sortedVertexIds, edges.get(2 * i));
+				int destinationIndex = Arrays.binarySearch(sortedVertexIds, edges.get(2 * i + 1));
+				sources[i] = sourceIndex;
+				destinations[i] = destinationIndex;
+				if (!directed) {
+					sources[numberOfEdges + i] = destinationIndex;
+					destinations[numberOfEdges + i] = sourceIndex;
+				}
+			}
+
+			int[] outOffsets = new int[numberOfVertices + 1];
+			int[] outNeighbours = groupBySource(numberOfVertices, sources, destinations, outOffsets);
+			if (!directed) {
+				return new CsrGraph(false, sortedVertexIds, outOffsets, outNeighbours, outOffsets, outNeighbours);
+			}
+
+			// Build the incoming edges by transposing the outgoing edges, which are already deduplicated
+			int[] transposedSources = new int[outNeighbours.length];
+			int[] transposedDestinations = new int[outNeighbours.length];
+			for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+				for (int i = outOffsets[vertex]; i < outOffsets[vertex + 1]; i++) {
+					transposedSources[i] = outNeighbours[i];
+					transposedDestinations[i] = vertex;
+				}
+			}
+			int[] inOffsets = new int[numberOfVertices + 1];
+			int[] inNeighbours = groupBySource(numberOfVertices, transposedSources, transposedDestinations, inOffsets);
+			return new CsrGraph(true, sortedVertexIds, outOffsets, outNeighbours, inOffsets, inNeighbours);
+		}
+
+		/**
+		 * Groups edges by source using a counting sort, sorts the destinations of each source and removes duplicates.
+		 *
+		 * @return the neighbour array, with the offset of each source stored in the offsets array
+		 */
+		private static int[] groupBySource(int numberOfVertices, int[] sources, int[] destinations, int[] offsets) {
+			for (int source : sources) {
+				offsets[source + 1]++;
+			}
+			for (int i = 0; i < numberOfVertices; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+			int[] neighbours = new int[sources.length];
+			int[] nextPosition = Arrays.copyOf(offsets, numberOfVertices);
+			for (int i = 0; i < sources.length; i++) {
+				neighbours[nextPosition[sources[i]]++] = destinations[i];
+			}
+
+			int writePosition = 0;
+			for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+				int start = offsets[vertex];
+				int end = offsets[vertex + 1];
+				Arrays.sort(neighbours, start, end);
+				offsets[vertex] = writePosition;
+				for (int i = start; i < end; i++) {
+					if (i == start || neighbours[i] != neighbours[i - 1]) {
+						neighbours[writePosition++] = neighbours[i];
+					}
+				}
+			}
+			offsets[numberOfVertices] = writePosition;
+			return writePosition == neighbours.length ? neighbours : Arrays.copyOf(neighbours, writePosition);
+		}
+
+	}
+
+}
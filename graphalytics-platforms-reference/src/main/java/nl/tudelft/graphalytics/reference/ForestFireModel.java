@@ -0,0 +1,141 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel forest fire model. Every new vertex picks a uniformly random ambassador among the existing vertices and
+ * starts a fire from it. Each burning vertex spreads the fire to a geometrically distributed number of unburned
+ * outgoing (forward burning ratio) and incoming (backward burning ratio) neighbours, for at most the given number of
+ * iterations. The new vertex receives an edge to every burned vertex. New vertices only burn vertices of the original
+ * graph, so all new vertices are created independently and in parallel, each with its own deterministic random number
+ * generator.
+ *
+ * @author Tim Hegeman
+ */
+final class ForestFireModel {
+
+	private ForestFireModel() {
+	}
+
+	/**
+	 * @param pool                the pool to execute the algorithm on
+	 * @param graph               the graph to extend
+	 * @param numberOfNewVertices the number of vertices to create
+	 * @param forwardRatio        the forward burning ratio
+	 * @param backwardRatio       the backward burning ratio
+	 * @param maxIterations       the maximum number of hops a fire may spread from its ambassador
+	 * @param seed                the seed of the random number generators
+	 * @return for each new vertex, the ids of the vertices it is connected to (in increasing order)
+	 */
+	static long[][] execute(ForkJoinPool pool, final CsrGraph graph, int numberOfNewVertices,
+			final float forwardRatio, final float backwardRatio, final int maxIterations, final long seed) {
+		final long[][] result = new long[numberOfNewVertices][];
+		if (graph.getNumberOfVertices() == 0) {
+			for (int i = 0; i < numberOfNewVertices; i++) {
+				result[i] = new long[0];
+			}
+			return result;
+		}
+
+		ParallelLoops.sum(pool, numberOfNewVertices, new ParallelLoops.RangeBody() {
+			@Override
+			public long execute(int from, int to) {
+				for (int i = from; i < to; i++) {
+					Random random = new Random(seed * 0x9E3779B97F4A7C15L + i);
+					result[i] = burn(graph, random, forwardRatio, backwardRatio, maxIterations);
+				}
+				return 0;
+			}
+		});
+		return result;
+	}
+
+	private static long[] burn(CsrGraph graph, Random random, float forwardRatio, float backwardRatio,
+			int maxIterations) {
+		int ambassador = random.nextInt(graph.getNumberOfVertices());
+		Set<Integer> burned = new HashSet<>();
+		burned.add(ambassador);
+
+		List<Integer> burning = new ArrayList<>();
+		burning.add(ambassador);
+		for (int iteration = 0; iteration < maxIterations && !burning.isEmpty(); iteration++) {
+			List<Integer> nextBurning = new ArrayList<>();
+			for (int vertex : burning) {
+				spread(graph.outNeighbours, graph.outOffsets[vertex], graph.outOffsets[vertex + 1],
+						geometric(random, forwardRatio), random, burned, nextBurning);
+				if (graph.isDirected()) {
+					spread(graph.inNeighbours, graph.inOffsets[vertex], graph.inOffsets[vertex + 1],
+							geometric(random, backwardRatio), random, burned, nextBurning);
+				}
+			}
+			burning = nextBurning;
+		}
+
+		long[] destinations = new long[burned.size()];
+		int index = 0;
+		for (int vertex : burned) {
+			destinations[index++] = graph.getVertexId(vertex);
+		}
+		Arrays.sort(destinations);
+		return destinations;
+	}
+
+	/**
+	 * Burns up to the given number of randomly selected, unburned vertices from a range of neighbours.
+	 */
+	private static void spread(int[] neighbours, int from, int to, int count, Random random, Set<Integer> burned,
+			List<Integer> nextBurning) {
+		if (count == 0) {
+			return;
+		}
+		List<Integer> candidates = new ArrayList<>();
+		for (int i = from; i < to; i++) {
+			if (!burned.contains(neighbours[i])) {
+				candidates.add(neighbours[i]);
+			}
+		}
+		for (int i = 0; i < count && i < candidates.size(); i++) {
+			int selected = i + random.nextInt(candidates.size() - i);
+			int vertex = candidates.get(selected);
+			candidates.set(selected, candidates.get(i));
+			burned.add(vertex);
+			nextBurning.add(vertex);
+		}
+	}
+
+	/**
+	 * @return the number of successes before the first failure in trials with the given success probability
+	 */
+	private static int geometric(Random random, float probability) {
+		if (probability >= 1.0f) {
+			return Integer.MAX_VALUE;
+		}
+		int count = 0;
+		while (random.nextFloat() < probability) {
+			count++;
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel local clustering coefficient. The neighbourhood of a vertex is the set of vertices connected to it by an
+ * incoming or outgoing edge. The coefficient is the number of edges between neighbours, divided by the number of
+ * possible (directed) edges between them.
+ *
+ * @author Tim Hegeman
+ */
+final class LocalClusteringCoefficient {
+
+	private LocalClusteringCoefficient() {
+	}
+
+	/**
+	 * @param pool   the pool to execute the algorithm on
+	 * @param graph  the graph to compute the local clustering coefficients for
+	 * @param result an array to store the local clustering coefficient of each vertex in
+	 * @return the mean local clustering coefficient
+	 */
+	static double execute(ForkJoinPool pool, final CsrGraph graph, final double[] result) {
+		final int maxDegree = graph.getMaxTotalDegree();
+		ParallelLoops.sum(pool, graph.getNumberOfVertices(), new ParallelLoops.RangeBody() {
+			@Override
+			public long execute(int from, int to) {
+				int[] neighbourhood = new int[maxDegree];
+				for (int vertex = from; vertex < to; vertex++) {
+					result[vertex] = computeForVertex(graph, vertex, neighbourhood);
+				}
+				return 0;
+			}
+		});
+
+		double sum = 0.0;
+		for (double value : result) {
+			sum += value;
+		}
+		return result.length > 0 ? sum / result.length : 0.0;
+	}
+
+	private static double computeForVertex(CsrGraph graph, int vertex, int[] neighbourhood) {
+		int degree = graph.copyNeighbourhood(vertex, neighbourhood);
+		if (degree < 2) {
+			return 0.0;
+		}
+
+		long edges = 0;
+		for (int i = 0; i < degree; i++) {
+			int neighbour = neighbourhood[i];
+			edges += countIntersection(graph.outNeighbours, graph.outOffsets[neighbour],
+					graph.outOffsets[neighbour + 1], neighbourhood, degree, neighbour);
+		}
+		return (double)edges / ((long)degree * (degree - 1));
+	}
+
+	/**
+	 * Counts the elements shared by two sorted ranges, ignoring the given (self-loop) element.
+	 */
+	private static long countIntersection(int[] first, int firstFrom, int firstTo, int[] second, int secondTo,
+			int ignored) {
+		long count = 0;
+		int i = firstFrom;
+		int j = 0;
+		while (i < firstTo && j < secondTo) {
+			if (first[i] < second[j]) {
+				i++;
+			} else if (first[i] > second[j]) {
+				j++;
+			} else {
+				if (first[i] != ignored) {
+					count++;
+				}
+				i++;
+				j++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Helper for executing loops over a range of vertices in parallel on a fork-join pool. The range is split recursively
+ * into chunks, and the results of the chunks are summed.
+ *
+ * @author Tim Hegeman
+ */
+final class ParallelLoops {
+
+	private static final int MIN_CHUNK_SIZE = 256;
+	private static final int CHUNKS_PER_THREAD = 16;
+
+	private ParallelLoops() {
+	}
+
+	/**
+	 * Body of a parallel loop, executed for a contiguous range of indices.
+	 */
+	interface RangeBody {
+		/**
+		 * @param from the first index of the range (inclusive)
+		 * @param to   the last index of the range (exclusive)
+		 * @return a value to sum over all ranges, e.g., the number of vertices updated
+		 */
+		long execute(int from, int to);
+	}
+
+	/**
+	 * Executes a loop body for all indices in [0, size) in parallel.
+	 *
+	 * @param pool the pool to execute the loop on
+	 * @param size the number of indices
+	 * @param body the loop body
+	 * @return the sum of the values returned by the loop body for each chunk
+	 */
+	static long sum(ForkJoinPool pool, int size, RangeBody body) {
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+		return pool.invoke(new RangeTask(body, 0, size, chunkSize));
+	}
+
+	private static final class RangeTask extends RecursiveTask<Long> {
+
+		private final RangeBody body;
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+
+		private RangeTask(RangeBody body, int from, int to, int chunkSize) {
+			this.body = body;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected Long compute() {
+			if (to - from <= chunkSize) {
+				return body.execute(from, to);
+			}
+			int middle = (from + to) >>> 1;
+			RangeTask left = new RangeTask(body, from, middle, chunkSize);
+			left.fork();
+			long right = new RangeTask(body, middle, to, chunkSize).compute();
+			return right + left.join();
+		}
+
+	}
+
+}
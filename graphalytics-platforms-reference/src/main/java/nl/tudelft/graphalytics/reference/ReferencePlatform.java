@@ -0,0 +1,384 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.CancellablePlatform;
+import nl.tudelft.graphalytics.ConcurrentUploadPlatform;
+import nl.tudelft.graphalytics.CoreAllocationPlatform;
+import nl.tudelft.graphalytics.PlatformExecutionException;
+import nl.tudelft.graphalytics.QueryPlatform;
+import nl.tudelft.graphalytics.ScalablePlatform;
+import nl.tudelft.graphalytics.TimingContext;
+import nl.tudelft.graphalytics.domain.Algorithm;
+import nl.tudelft.graphalytics.domain.CoreAllocation;
+import nl.tudelft.graphalytics.domain.Graph;
+import nl.tudelft.graphalytics.domain.GraphFormat;
+import nl.tudelft.graphalytics.domain.NestedConfiguration;
+import nl.tudelft.graphalytics.domain.PlatformBenchmarkResult;
+import nl.tudelft.graphalytics.domain.algorithms.BreadthFirstSearchParameters;
+import nl.tudelft.graphalytics.domain.algorithms.CommunityDetectionParameters;
+import nl.tudelft.graphalytics.domain.algorithms.ForestFireModelParameters;
+import nl.tudelft.graphalytics.io.EdgeStream;
+import nl.tudelft.graphalytics.io.GraphStreams;
+import nl.tudelft.graphalytics.io.VertexStream;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reference implementation of the Graphalytics benchmark suite. Graphs are loaded into memory in compressed sparse
+ * row format and all algorithms are executed in the benchmark driver's JVM, in parallel on a fork-join pool. The
+ * platform requires no external system, which makes it suitable for validating the benchmark setup and as a baseline
+ * for comparing other platforms. Running algorithms are cancelled by shutting down the fork-join pool, which is
+ * replaced by a new pool for the next algorithm. Graphs can be loaded while algorithms are executed on another graph.
+ * Unless the number of threads is configured explicitly, the pool is sized to the number of cores assigned to the
+ * platform when multiple instances execute benchmarks concurrently. In a scaling sweep, the number of workers is the
+ * number of threads. Queries are executed like algorithms, but without writing their output, and may run concurrently
+ * on the shared fork-join pool.
+ *
+ * @author Tim Hegeman
+ */
+public class ReferencePlatform implements CancellablePlatform, ConcurrentUploadPlatform, CoreAllocationPlatform,
+		QueryPlatform, ScalablePlatform {
+
+	private static final Logger LOG = LogManager.getLogger();
+
+	/**
+	 * Default file name for the file storing reference platform properties.
+	 */
+	public static final String REFERENCE_PROPERTIES_FILE = "reference.properties";
+	/**
+	 * Property key for the number of threads to execute algorithms with.
+	 */
+	public static final String NUM_THREADS_KEY = "reference.num-threads";
+	/**
+	 * Property key for the directory to write algorithm output to (optional).
+	 */
+	public static final String OUTPUT_DIRECTORY_KEY = "reference.output-directory";
+	/**
+	 * Property key for the seed of the forest fire model's random number generators.
+	 */
+	public static final String EVO_SEED_KEY = "reference.evo.seed";
+	/**
+	 * Property key for the maximum combined size in bytes of the graph files loaded into memory at once.
+	 */
+	public static final String STORAGE_BUDGET_KEY = "reference.upload.storage-budget";
+
+	private final Configuration referenceConfiguration;
+	private int numberOfThreads;
+	private volatile ForkJoinPool pool;
+	private final Map<String, CsrGraph> loadedGraphs = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor used by the benchmark driver, which reads the platform configuration from the
+	 * "reference.properties" file.
+	 */
+	public ReferencePlatform() {
+		this(loadConfiguration());
+	}
+
+	/**
+	 * @param referenceConfiguration the configuration of the reference platform
+	 */
+	public ReferencePlatform(Configuration referenceConfiguration) {
+		this.referenceConfiguration = referenceConfiguration;
+		this.numberOfThreads = referenceConfiguration.getInt(NUM_THREADS_KEY,
+				Runtime.getRuntime().availableProcessors());
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Property \"" + NUM_THREADS_KEY + "\" must be positive.");
+		}
+		this.pool = new ForkJoinPool(numberOfThreads);
+	}
+
+	private static Configuration loadConfiguration() {
+		try {
+			return new PropertiesConfiguration(REFERENCE_PROPERTIES_FILE);
+		} catch (ConfigurationException ex) {
+			LOG.warn("Could not find or load \"" + REFERENCE_PROPERTIES_FILE + "\", using default configuration.");
+			return new PropertiesConfiguration();
+		}
+	}
+
+	@Override
+	public void uploadGraph(Graph graph, String graphFilePath) throws Exception {
+		LOG.info("Loading graph \"" + graph.getName() + "\" into memory.");
+		CsrGraph csrGraph = loadGraph(Paths.get(graphFilePath), graph.getGraphFormat());
+		loadedGraphs.put(graph.getName(), csrGraph);
+		LOG.info("Loaded graph \"" + graph.getName() + "\" with " + csrGraph.getNumberOfVertices() + " vertices and " +
+				csrGraph.getNumberOfStoredEdges() + " stored edges.");
+	}
+
+	/**
+	 * Reads a graph from a file in any of the supported formats.
+	 *
+	 * @param graphFilePath the path of the graph data
+	 * @param graphFormat   the format of the graph data
+	 * @return the graph in compressed sparse row format
+	 * @throws IOException if the graph could not be read
+	 */
+	static CsrGraph loadGraph(Path graphFilePath, GraphFormat graphFormat) throws IOException {
+		CsrGraph.Builder builder = new CsrGraph.Builder(graphFormat.isDirected());
+		if (graphFormat.isEdgeBased()) {
+			try (EdgeStream edges = GraphStreams.openEdgeStream(graphFilePath, graphFormat)) {
+				while (edges.next()) {
+					builder.addEdge(edges.getSourceId(), edges.getDestinationId());
+				}
+			}
+		} else {
+			try (VertexStream vertices = GraphStreams.openVertexStream(graphFilePath, graphFormat)) {
+				while (vertices.nextVertex()) {
+					long vertexId = vertices.getVertexId();
+					builder.addVertex(vertexId);
+					while (vertices.hasNextNeighbour()) {
+						builder.addEdge(vertexId, vertices.nextNeighbour());
+					}
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	@Override
+	public PlatformBenchmarkResult executeAlgorithmOnGraph(Algorithm algorithm, Graph graph, Object parameters)
+			throws PlatformExecutionException {
+		return execute(algorithm, graph, parameters, true);
+	}
+
+	@Override
+	public void executeQueryOnGraph(Algorithm algorithm, Graph graph, Object parameters)
+			throws PlatformExecutionException {
+		execute(algorithm, graph, parameters, false);
+	}
+
+	private PlatformBenchmarkResult execute(Algorithm algorithm, Graph graph, Object parameters, boolean writeOutput)
+			throws PlatformExecutionException {
+		CsrGraph csrGraph = loadedGraphs.get(graph.getName());
+		if (csrGraph == null) {
+			throw new PlatformExecutionException("Graph \"" + graph.getName() + "\" has not been uploaded.");
+		}
+
+		ForkJoinPool pool = getPool();
+		TimingContext timing = new TimingContext();
+		try {
+			switch (algorithm) {
+				case BFS:
+					BreadthFirstSearchParameters bfsParameters = (BreadthFirstSearchParameters)parameters;
+					timing.startPhase(TimingContext.COMPUTE);
+					long[] depths = BreadthFirstSearch.execute(pool, csrGraph,
+							csrGraph.getVertexIndex(bfsParameters.getSourceVertex()), timing);
+					timing.endPhase();
+					if (writeOutput) {
+						writeVertexValues(graph, algorithm, csrGraph, depths, timing);
+					}
+					break;
+				case CD:
+					CommunityDetectionParameters cdParameters = (CommunityDetectionParameters)parameters;
+					timing.startPhase(TimingContext.COMPUTE);
+					long[] communities = CommunityDetection.execute(pool, csrGraph, cdParameters.getNodePreference(),
+							cdParameters.getHopAttenuation(), cdParameters.getMaxIterations(), timing);
+					timing.endPhase();
+					if (writeOutput) {
+						writeVertexValues(graph, algorithm, csrGraph, communities, timing);
+					}
+					break;
+				case CONN:
+					timing.startPhase(TimingContext.COMPUTE);
+					long[] components = ConnectedComponents.execute(pool, csrGraph, timing);
+					timing.endPhase();
+					if (writeOutput) {
+						writeVertexValues(graph, algorithm, csrGraph, components, timing);
+					}
+					break;
+				case EVO:
+					ForestFireModelParameters evoParameters = (ForestFireModelParameters)parameters;
+					timing.startPhase(TimingContext.COMPUTE);
+					long[][] newEdges = ForestFireModel.execute(pool, csrGraph, evoParameters.getNumNewVertices(),
+							evoParameters.getPRatio(), evoParameters.getRRatio(), evoParameters.getMaxIterations(),
+							referenceConfiguration.getLong(EVO_SEED_KEY, 0L));
+					timing.endPhase();
+					if (writeOutput) {
+						writeNewVertices(graph, evoParameters.getMaxId(), newEdges, timing);
+					}
+					break;
+				case STATS:
+					double[] coefficients = new double[csrGraph.getNumberOfVertices()];
+					timing.startPhase(TimingContext.COMPUTE);
+					double mean = LocalClusteringCoefficient.execute(pool, csrGraph, coefficients);
+					timing.endPhase();
+					LOG.info("Mean local clustering coefficient of graph \"" + graph.getName() + "\": " + mean);
+					if (writeOutput) {
+						writeVertexValues(graph, algorithm, csrGraph, coefficients, timing);
+					}
+					break;
+				default:
+					throw new PlatformExecutionException("Unsupported algorithm: " + algorithm);
+			}
+		} catch (PlatformExecutionException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new PlatformExecutionException("Algorithm \"" + algorithm.getName() + "\" failed on graph \"" +
+					graph.getName() + "\".", ex);
+		}
+
+		return new PlatformBenchmarkResult(getPlatformConfiguration(), timing.toPhaseTimings());
+	}
+
+	/**
+	 * @return the fork-join pool to execute the next algorithm on, replacing the pool if it was shut down to cancel
+	 * a previous algorithm
+	 */
+	private synchronized ForkJoinPool getPool() {
+		if (pool.isShutdown()) {
+			pool = new ForkJoinPool(numberOfThreads);
+		}
+		return pool;
+	}
+
+	@Override
+	public synchronized void setCoreAllocation(CoreAllocation coreAllocation) {
+		if (referenceConfiguration.containsKey(NUM_THREADS_KEY)) {
+			LOG.info("Using " + numberOfThreads + " threads as configured by property \"" + NUM_THREADS_KEY +
+					"\", ignoring the allocation of CPUs " + coreAllocation + ".");
+			return;
+		}
+		numberOfThreads = coreAllocation.getNumberOfCores();
+		pool.shutdown();
+		pool = new ForkJoinPool(numberOfThreads);
+		LOG.info("Using " + numberOfThreads + " threads for the allocation of CPUs " + coreAllocation + ".");
+	}
+
+	@Override
+	public synchronized void setNumberOfWorkers(int numberOfWorkers) {
+		if (numberOfWorkers < 1) {
+			throw new IllegalArgumentException("Parameter \"numberOfWorkers\" must be positive.");
+		}
+		// Record the number of threads in the configuration, so it is reported as part of the platform configuration
+		referenceConfiguration.setProperty(NUM_THREADS_KEY, String.valueOf(numberOfWorkers));
+		numberOfThreads = numberOfWorkers;
+		pool.shutdown();
+		pool = new ForkJoinPool(numberOfThreads);
+	}
+
+	@Override
+	public void cancelAlgorithmOnGraph(Algorithm algorithm, Graph graph) {
+		LOG.info("Cancelling algorithm \"" + algorithm.getName() + "\" on graph \"" + graph.getName() + "\".");
+		pool.shutdownNow();
+	}
+
+	@Override
+	public boolean supportsConcurrentUpload() {
+		return true;
+	}
+
+	@Override
+	public long getUploadStorageBudgetInBytes() {
+		// Graph files in the text formats are typically larger than their in-memory representation
+		return referenceConfiguration.getLong(STORAGE_BUDGET_KEY, Runtime.getRuntime().maxMemory() / 2);
+	}
+
+	private Path getOutputPath(Graph graph, Algorithm algorithm) throws IOException {
+		String outputDirectory = referenceConfiguration.getString(OUTPUT_DIRECTORY_KEY, null);
+		if (outputDirectory == null) {
+			return null;
+		}
+		Path directory = Paths.get(outputDirectory);
+		Files.createDirectories(directory);
+		return directory.resolve(graph.getName() + "-" + algorithm.getAcronym());
+	}
+
+	private void writeVertexValues(Graph graph, Algorithm algorithm, CsrGraph csrGraph, long[] values,
+			TimingContext timing) throws IOException {
+		Path outputPath = getOutputPath(graph, algorithm);
+		if (outputPath == null) {
+			return;
+		}
+		timing.startPhase(TimingContext.WRITE_BACK);
+		try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < values.length; i++) {
+				writer.write(csrGraph.getVertexId(i) + " " + values[i]);
+				writer.newLine();
+			}
+		}
+		timing.endPhase();
+	}
+
+	private void writeVertexValues(Graph graph, Algorithm algorithm, CsrGraph csrGraph, double[] values,
+			TimingContext timing) throws IOException {
+		Path outputPath = getOutputPath(graph, algorithm);
+		if (outputPath == null) {
+			return;
+		}
+		timing.startPhase(TimingContext.WRITE_BACK);
+		try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < values.length; i++) {
+				writer.write(csrGraph.getVertexId(i) + " " + values[i]);
+				writer.newLine();
+			}
+		}
+		timing.endPhase();
+	}
+
+	/**
+	 * Writes the vertices created by the forest fire model in vertex-based format, i.e., the id of each new vertex
+	 * followed by the ids of the vertices it is connected to.
+	 */
+	private void writeNewVertices(Graph graph, long maxId, long[][] newEdges, TimingContext timing)
+			throws IOException {
+		Path outputPath = getOutputPath(graph, Algorithm.EVO);
+		if (outputPath == null) {
+			return;
+		}
+		timing.startPhase(TimingContext.WRITE_BACK);
+		try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < newEdges.length; i++) {
+				writer.write(Long.toString(maxId + 1 + i));
+				for (long destination : newEdges[i]) {
+					writer.write(" " + destination);
+				}
+				writer.newLine();
+			}
+		}
+		timing.endPhase();
+	}
+
+	@Override
+	public void deleteGraph(String graphName) {
+		loadedGraphs.remove(graphName);
+	}
+
+	@Override
+	public String getName() {
+		return "reference";
+	}
+
+	@Override
+	public NestedConfiguration getPlatformConfiguration() {
+		return NestedConfiguration.fromExternalConfiguration(referenceConfiguration, REFERENCE_PROPERTIES_FILE);
+	}
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.TimingContext;
+import nl.tudelft.graphalytics.domain.algorithms.BreadthFirstSearchParameters;
+import nl.tudelft.graphalytics.validation.GraphStructure;
+import nl.tudelft.graphalytics.validation.LongGraphValues;
+import nl.tudelft.graphalytics.validation.bfs.BreadthFirstSearchOutput;
+import nl.tudelft.graphalytics.validation.bfs.BreadthFirstSearchValidationTest;
+
+/**
+ * Validation tests for the reference implementation of breadth-first search.
+ *
+ * @author Tim Hegeman
+ */
+public class ReferenceBreadthFirstSearchTest extends BreadthFirstSearchValidationTest {
+
+	@Override
+	public BreadthFirstSearchOutput executeDirectedBreadthFirstSearch(GraphStructure graph,
+			BreadthFirstSearchParameters parameters) throws Exception {
+		return execute(ValidationGraphs.toCsrGraph(graph, true), parameters);
+	}
+
+	@Override
+	public BreadthFirstSearchOutput executeUndirectedBreadthFirstSearch(GraphStructure graph,
+			BreadthFirstSearchParameters parameters) throws Exception {
+		return execute(ValidationGraphs.toCsrGraph(graph, false), parameters);
+	}
+
+	private static BreadthFirstSearchOutput execute(CsrGraph graph, BreadthFirstSearchParameters parameters) {
+		long[] depths = BreadthFirstSearch.execute(ValidationGraphs.POOL, graph,
+				graph.getVertexIndex(parameters.getSourceVertex()), new TimingContext());
+		return new BreadthFirstSearchOutput(new LongGraphValues(ValidationGraphs.getVertexIds(graph), depths));
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.domain.algorithms.ForestFireModelParameters;
+import nl.tudelft.graphalytics.validation.GraphStructure;
+import nl.tudelft.graphalytics.validation.evo.ForestFireModelValidationTest;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validation tests for the reference implementation of the forest fire model.
+ *
+ * @author Tim Hegeman
+ */
+public class ReferenceForestFireModelTest extends ForestFireModelValidationTest {
+
+	private static final long SEED = 42L;
+
+	@Override
+	public GraphStructure executeDirectedForestFireModel(GraphStructure graph, ForestFireModelParameters parameters)
+			throws Exception {
+		return execute(graph, true, parameters);
+	}
+
+	@Override
+	public GraphStructure executeUndirectedForestFireModel(GraphStructure graph, ForestFireModelParameters parameters)
+			throws Exception {
+		return execute(graph, false, parameters);
+	}
+
+	private static GraphStructure execute(GraphStructure graph, boolean directed,
+			ForestFireModelParameters parameters) {
+		CsrGraph csrGraph = ValidationGraphs.toCsrGraph(graph, directed);
+		long[][] newEdges = ForestFireModel.execute(ValidationGraphs.POOL, csrGraph,
+				parameters.getNumNewVertices(), parameters.getPRatio(), parameters.getRRatio(),
+				parameters.getMaxIterations(), SEED);
+
+		Map<Long, Set<Long>> edges = new HashMap<>();
+		for (long vertexId : graph.getVertices()) {
+			edges.put(vertexId, new HashSet<>(graph.getEdgesForVertex(vertexId)));
+		}
+		for (int i = 0; i < newEdges.length; i++) {
+			long newVertexId = parameters.getMaxId() + 1 + i;
+			Set<Long> destinations = new HashSet<>();
+			for (long destination : newEdges[i]) {
+				destinations.add(destination);
+				if (!directed) {
+					edges.get(destination).add(newVertexId);
+				}
+			}
+			edges.put(newVertexId, destinations);
+		}
+		return new GraphStructure(edges);
+	}
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.validation.DoubleGraphValues;
+import nl.tudelft.graphalytics.validation.GraphStructure;
+import nl.tudelft.graphalytics.validation.stats.LocalClusteringCoefficientOutput;
+import nl.tudelft.graphalytics.validation.stats.LocalClusteringCoefficientValidationTest;
+
+/**
+ * Validation tests for the reference implementation of the local clustering coefficient.
+ *
+ * @author Tim Hegeman
+ */
+public class ReferenceLocalClusteringCoefficientTest extends LocalClusteringCoefficientValidationTest {
+
+	@Override
+	public LocalClusteringCoefficientOutput executeDirectedLocalClusteringCoefficient(GraphStructure graph)
+			throws Exception {
+		return execute(ValidationGraphs.toCsrGraph(graph, true));
+	}
+
+	@Override
+	public LocalClusteringCoefficientOutput executeUndirectedLocalClusteringCoefficient(GraphStructure graph)
+			throws Exception {
+		return execute(ValidationGraphs.toCsrGraph(graph, false));
+	}
+
+	private static LocalClusteringCoefficientOutput execute(CsrGraph graph) {
+		double[] coefficients = new double[graph.getNumberOfVertices()];
+		double mean = LocalClusteringCoefficient.execute(ValidationGraphs.POOL, graph, coefficients);
+		return new LocalClusteringCoefficientOutput(
+				new DoubleGraphValues(ValidationGraphs.getVertexIds(graph), coefficients), mean);
+	}
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.reference;
+
+import nl.tudelft.graphalytics.util.LongCursor;
+import nl.tudelft.graphalytics.validation.GraphStructure;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Helper for running the reference algorithms on the in-memory graphs of the validation tests.
+ *
+ * @author Tim Hegeman
+ */
+final class ValidationGraphs {
+
+	/**
+	 * Pool with more than one thread, so the validation tests exercise the parallel code paths.
+	 */
+	static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	private ValidationGraphs() {
+	}
+
+	/**
+	 * @param graph    the graph structure of a validation graph
+	 * @param directed true iff the graph is directed
+	 * @return the graph in compressed sparse row format
+	 */
+	static CsrGraph toCsrGraph(GraphStructure graph, boolean directed) {
+		CsrGraph.Builder builder = new CsrGraph.Builder(directed);
+		LongCursor vertices = graph.getVertexCursor();
+		while (vertices.hasNext()) {
+			long vertexId = vertices.next();
+			builder.addVertex(vertexId);
+			LongCursor edges = graph.getEdgeCursorForVertex(vertexId);
+			while (edges.hasNext()) {
+				builder.addEdge(vertexId, edges.next());
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * @param graph the graph an algorithm was executed on
+	 * @return the ids of all vertices in the graph, in the order of the algorithm output
+	 */
+	static long[] getVertexIds(CsrGraph graph) {
+		long[] vertexIds = new long[graph.getNumberOfVertices()];
+		for (int i = 0; i < vertexIds.length; i++) {
+			vertexIds[i] = graph.getVertexId(i);
+		}
+		return vertexIds;
+	}
+
+}
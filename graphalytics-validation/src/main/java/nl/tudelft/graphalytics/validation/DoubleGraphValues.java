@@ -0,0 +1,158 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.validation;
+
+import nl.tudelft.graphalytics.util.LongCursor;
+import nl.tudelft.graphalytics.util.LongIntHashMap;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Implementation of GraphValues for double values, stored in a primitive column alongside a primitive column of vertex
+ * ids. Vertex ids are mapped to positions in the columns by an open-addressing hash map.
+ *
+ * @author Tim Hegeman
+ */
+public final class DoubleGraphValues extends GraphValues<Double> {
+
+	private final long[] vertexIds;
+	private final double[] values;
+	private final int size;
+	private final LongIntHashMap vertexIndices;
+
+	/**
+	 * Creates a DoubleGraphValues object backed by the given arrays, which must not be modified afterwards. If a vertex
+	 * id occurs more than once, the last corresponding value is used.
+	 *
+	 * @param vertexIds an array of vertex ids
+	 * @param values    an array containing the value of each vertex in vertexIds
+	 */
+	public DoubleGraphValues(long[] vertexIds, double[] values) {
+		if (vertexIds.length != values.length)
+			throw new IllegalArgumentException("Parameters \"vertexIds\" and \"values\" must have equal length.");
+
+		// Compact the columns in place, overwriting the values of duplicate vertices
+		LongIntHashMap vertexIndices = new LongIntHashMap(vertexIds.length);
+		int size = 0;
+		for (int i = 0; i < vertexIds.length; i++) {
+			int index = vertexIndices.get(vertexIds[i], -1);
+			if (index < 0) {
+				vertexIndices.put(vertexIds[i], size);
+				vertexIds[size] = vertexIds[i];
+				values[size] = values[i];
+				size++;
+			} else {
+				values[index] = values[i];
+			}
+		}
+
+		this.vertexIds = vertexIds;
+		this.values = values;
+		this.size = size;
+		this.vertexIndices = vertexIndices;
+	}
+
+	/**
+	 * @param vertexValues a map containing a vertex value for each vertex
+	 * @return a DoubleGraphValues object containing the same vertices and values
+	 */
+	public static DoubleGraphValues fromMap(Map<Long, Double> vertexValues) {
+		long[] vertexIds = new long[vertexValues.size()];
+		double[] values = new double[vertexValues.size()];
+		int i = 0;
+		for (Map.Entry<Long, Double> vertexValue : vertexValues.entrySet()) {
+			vertexIds[i] = vertexValue.getKey();
+			values[i] = vertexValue.getValue();
+			i++;
+		}
+		return new DoubleGraphValues(vertexIds, values);
+	}
+
+	@Override
+	public Set<Long> getVertices() {
+		return new LongCursorSet() {
+			@Override
+			LongCursor cursor() {
+				return getVertexCursor();
+			}
+
+			@Override
+			boolean containsLong(long value) {
+				return vertexIndices.containsKey(value);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public Double getVertexValue(long vertexId) {
+		int index = vertexIndices.get(vertexId, -1);
+		return index >= 0 ? values[index] : null;
+	}
+
+	/**
+	 * @param vertexId the id of a vertex in the graph
+	 * @return the corresponding vertex value
+	 * @throws NoSuchElementException iff the vertex does not have a value
+	 */
+	public double getDoubleValue(long vertexId) {
+		int index = vertexIndices.get(vertexId, -1);
+		if (index < 0) {
+			throw new NoSuchElementException("Vertex " + vertexId + " does not have a value.");
+		}
+		return values[index];
+	}
+
+	/**
+	 * @param position a position in the range [0, number of vertices)
+	 * @return the value at the given position, in the same order as {@link #getVertexCursor()}
+	 */
+	public double getDoubleValueAt(int position) {
+		return values[position];
+	}
+
+	@Override
+	public int getNumberOfVertices() {
+		return size;
+	}
+
+	@Override
+	public LongCursor getVertexCursor() {
+		return new LongCursor() {
+			private int position = 0;
+
+			@Override
+			public boolean hasNext() {
+				return position < size;
+			}
+
+			@Override
+			public long next() {
+				if (position >= size) {
+					throw new NoSuchElementException();
+				}
+				return vertexIds[position++];
+			}
+		};
+	}
+
+}
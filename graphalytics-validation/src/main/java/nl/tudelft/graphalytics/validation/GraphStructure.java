@@ -15,16 +15,23 @@
  */
 package nl.tudelft.graphalytics.validation;
 
+import nl.tudelft.graphalytics.util.LongCursor;
+
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * In-memory representation of the graph structure of a graph, i.e. a set of outgoing edges for each vertex.
+ * Subclasses may provide alternative storage for the graph, e.g. a memory-mapped file (see
+ * {@link MappedGraphStructure}); the primitive cursors returned by {@link #getVertexCursor()} and
+ * {@link #getEdgeCursorForVertex(long)} allow such implementations to be traversed without boxing.
  *
  * @author Tim Hegeman
  */
-public final class GraphStructure {
+public class GraphStructure {
 
 	private final Map<Long, Set<Long>> edgeLists;
 
@@ -35,10 +42,17 @@ public final class GraphStructure {
 		this.edgeLists = new HashMap<>(edgeLists);
 	}
 
+	/**
+	 * Constructor for subclasses that provide their own storage for the graph structure.
+	 */
+	protected GraphStructure() {
+		this.edgeLists = Collections.emptyMap();
+	}
+
 	/**
 	 * @return a set of vertex ids in the graph
 	 */
-	public final Set<Long> getVertices() {
+	public Set<Long> getVertices() {
 		return edgeLists.keySet();
 	}
 
@@ -46,8 +60,54 @@ public final class GraphStructure {
 	 * @param vertexId the id of a vertex in the graph
 	 * @return the corresponding set of outgoing edges
 	 */
-	public final Set<Long> getEdgesForVertex(long vertexId) {
+	public Set<Long> getEdgesForVertex(long vertexId) {
 		return edgeLists.get(vertexId);
 	}
 
+	/**
+	 * @return the number of vertices in the graph
+	 */
+	public int getNumberOfVertices() {
+		return getVertices().size();
+	}
+
+	/**
+	 * @return a cursor over the vertex ids in the graph
+	 */
+	public LongCursor getVertexCursor() {
+		return new IteratorCursor(getVertices().iterator());
+	}
+
+	/**
+	 * @param vertexId the id of a vertex in the graph
+	 * @return a cursor over the destinations of the outgoing edges of the vertex, or null if the vertex does not exist
+	 */
+	public LongCursor getEdgeCursorForVertex(long vertexId) {
+		Set<Long> edges = getEdgesForVertex(vertexId);
+		return edges != null ? new IteratorCursor(edges.iterator()) : null;
+	}
+
+	/**
+	 * Adapter from an Iterator over boxed longs to a LongCursor.
+	 */
+	private static final class IteratorCursor implements LongCursor {
+
+		private final Iterator<Long> iterator;
+
+		private IteratorCursor(Iterator<Long> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public long next() {
+			return iterator.next();
+		}
+
+	}
+
 }
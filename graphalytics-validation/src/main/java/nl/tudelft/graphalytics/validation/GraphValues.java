@@ -15,12 +15,17 @@
  */
 package nl.tudelft.graphalytics.validation;
 
+import nl.tudelft.graphalytics.util.LongCursor;
+
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * In-memory representation of the values of a graph, i.e. a value for each vertex.
+ * In-memory representation of the values of a graph, i.e. a value for each vertex. See {@link LongGraphValues} and
+ * {@link DoubleGraphValues} for implementations that store values in primitive arrays.
  *
  * @author Tim Hegeman
  */
@@ -35,6 +40,13 @@ public class GraphValues<ValueType> {
 		this.vertexValues = new HashMap<>(vertexValues);
 	}
 
+	/**
+	 * Constructor for subclasses that provide their own storage for the vertex values.
+	 */
+	protected GraphValues() {
+		this.vertexValues = Collections.emptyMap();
+	}
+
 	/**
 	 * @return a set of vertex ids in the graph
 	 */
@@ -50,4 +62,29 @@ public class GraphValues<ValueType> {
 		return vertexValues.get(vertexId);
 	}
 
+	/**
+	 * @return the number of vertices with a value
+	 */
+	public int getNumberOfVertices() {
+		return getVertices().size();
+	}
+
+	/**
+	 * @return a cursor over the vertex ids in the graph
+	 */
+	public LongCursor getVertexCursor() {
+		final Iterator<Long> vertices = getVertices().iterator();
+		return new LongCursor() {
+			@Override
+			public boolean hasNext() {
+				return vertices.hasNext();
+			}
+
+			@Override
+			public long next() {
+				return vertices.next();
+			}
+		};
+	}
+
 }
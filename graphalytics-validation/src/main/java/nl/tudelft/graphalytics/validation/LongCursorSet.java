@@ -0,0 +1,68 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.validation;
+
+import nl.tudelft.graphalytics.util.LongCursor;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * Read-only set of vertex ids backed by a primitive data structure. Used by the primitive GraphStructure and
+ * GraphValues implementations to expose their contents through the Set-based API without copying.
+ *
+ * @author Tim Hegeman
+ */
+abstract class LongCursorSet extends AbstractSet<Long> {
+
+	/**
+	 * @return a cursor over the elements of the set
+	 */
+	abstract LongCursor cursor();
+
+	/**
+	 * @param value a value
+	 * @return true iff the set contains the value
+	 */
+	abstract boolean containsLong(long value);
+
+	@Override
+	public final boolean contains(Object o) {
+		return o instanceof Long && containsLong((Long)o);
+	}
+
+	@Override
+	public final Iterator<Long> iterator() {
+		final LongCursor cursor = cursor();
+		return new Iterator<Long>() {
+			@Override
+			public boolean hasNext() {
+				return cursor.hasNext();
+			}
+
+			@Override
+			public Long next() {
+				return cursor.next();
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("Set is read-only.");
+			}
+		};
+	}
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.validation;
+
+import nl.tudelft.graphalytics.io.MappedCsrGraph;
+import nl.tudelft.graphalytics.util.LongCursor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Implementation of GraphStructure backed by a memory-mapped graph in the binary CSR format. The graph is never
+ * copied to the Java heap, so graphs much larger than the available heap can be validated. The sets returned by
+ * {@link #getVertices()} and {@link #getEdgesForVertex(long)} are read-only views of the mapped file; the primitive
+ * cursors should be preferred for traversing large graphs.
+ *
+ * @author Tim Hegeman
+ */
+public final class MappedGraphStructure extends GraphStructure {
+
+	private final MappedCsrGraph graph;
+
+	/**
+	 * @param graph the memory-mapped graph to expose
+	 */
+	public MappedGraphStructure(MappedCsrGraph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * @param path the path of a graph in the binary CSR format
+	 * @return a GraphStructure backed by the memory-mapped file
+	 * @throws IOException iff the file could not be mapped
+	 */
+	public static MappedGraphStructure map(Path path) throws IOException {
+		return new MappedGraphStructure(MappedCsrGraph.map(path));
+	}
+
+	@Override
+	public Set<Long> getVertices() {
+		return new VertexSet();
+	}
+
+	@Override
+	public Set<Long> getEdgesForVertex(long vertexId) {
+		int vertexIndex = graph.getVertexIndex(vertexId);
+		return vertexIndex >= 0 ? new EdgeSet(vertexIndex) : null;
+	}
+
+	@Override
+	public int getNumberOfVertices() {
+		return graph.getNumberOfVertices();
+	}
+
+	@Override
+	public LongCursor getVertexCursor() {
+		return new VertexCursor();
+	}
+
+	@Override
+	public LongCursor getEdgeCursorForVertex(long vertexId) {
+		int vertexIndex = graph.getVertexIndex(vertexId);
+		return vertexIndex >= 0 ? new EdgeCursor(vertexIndex) : null;
+	}
+
+	private final class VertexCursor implements LongCursor {
+
+		private int nextIndex = 0;
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < graph.getNumberOfVertices();
+		}
+
+		@Override
+		public long next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return graph.getVertexId(nextIndex++);
+		}
+
+	}
+
+	private final class EdgeCursor implements LongCursor {
+
+		private long nextPosition;
+		private final long endPosition;
+
+		private EdgeCursor(int vertexIndex) {
+			this.nextPosition = graph.getFirstNeighbourPosition(vertexIndex);
+			this.endPosition = nextPosition + graph.getDegree(vertexIndex);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextPosition < endPosition;
+		}
+
+		@Override
+		public long next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return graph.getVertexId(graph.getNeighbour(nextPosition++));
+		}
+
+	}
+
+	private final class VertexSet extends LongCursorSet {
+
+		@Override
+		LongCursor cursor() {
+			return new VertexCursor();
+		}
+
+		@Override
+		boolean containsLong(long value) {
+			return graph.getVertexIndex(value) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return graph.getNumberOfVertices();
+		}
+
+	}
+
+	private final class EdgeSet extends LongCursorSet {
+
+		private final int vertexIndex;
+
+		private EdgeSet(int vertexIndex) {
+			this.vertexIndex = vertexIndex;
+		}
+
+		@Override
+		LongCursor cursor() {
+			return new EdgeCursor(vertexIndex);
+		}
+
+		@Override
+		boolean containsLong(long value) {
+			int neighbourIndex = graph.getVertexIndex(value);
+			if (neighbourIndex < 0) {
+				return false;
+			}
+
+			// Neighbours are sorted by index, so a binary search suffices
+			long low = graph.getFirstNeighbourPosition(vertexIndex);
+			long high = low + graph.getDegree(vertexIndex) - 1;
+			while (low <= high) {
+				long middle = (low + high) >>> 1;
+				int middleIndex = graph.getNeighbour(middle);
+				if (middleIndex < neighbourIndex) {
+					low = middle + 1;
+				} else if (middleIndex > neighbourIndex) {
+					high = middle - 1;
+				} else {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int size() {
+			return graph.getDegree(vertexIndex);
+		}
+
+	}
+
+}
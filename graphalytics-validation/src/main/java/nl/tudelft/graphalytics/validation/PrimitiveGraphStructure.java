@@ -0,0 +1,284 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.validation;
+
+import nl.tudelft.graphalytics.util.LongArrayList;
+import nl.tudelft.graphalytics.util.LongCursor;
+import nl.tudelft.graphalytics.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Implementation of GraphStructure using primitive arrays. Vertex ids are mapped to dense indices by an
+ * open-addressing hash map, and the outgoing edges of all vertices are stored in a single array of sorted vertex ids.
+ * Compared to the map-based GraphStructure, this representation needs roughly 8 bytes per edge instead of upwards of
+ * 80 bytes.
+ *
+ * @author Tim Hegeman
+ */
+public final class PrimitiveGraphStructure extends GraphStructure {
+
+	private final long[] vertexIds;
+	private final LongIntHashMap vertexIndices;
+	private final int[] offsets;
+	private final long[] neighbours;
+
+	private PrimitiveGraphStructure(long[] vertexIds, LongIntHashMap vertexIndices, int[] offsets,
+			long[] neighbours) {
+		this.vertexIds = vertexIds;
+		this.vertexIndices = vertexIndices;
+		this.offsets = offsets;
+		this.neighbours = neighbours;
+	}
+
+	/**
+	 * @param graph a graph structure
+	 * @return a copy of the graph structure using primitive arrays
+	 */
+	public static PrimitiveGraphStructure copyOf(GraphStructure graph) {
+		if (graph instanceof PrimitiveGraphStructure) {
+			return (PrimitiveGraphStructure)graph;
+		}
+
+		Builder builder = new Builder(true);
+		for (LongCursor vertices = graph.getVertexCursor(); vertices.hasNext(); ) {
+			long vertexId = vertices.next();
+			builder.addVertex(vertexId);
+			for (LongCursor edges = graph.getEdgeCursorForVertex(vertexId); edges.hasNext(); ) {
+				builder.addEdge(vertexId, edges.next());
+			}
+		}
+		return builder.build();
+	}
+
+	@Override
+	public Set<Long> getVertices() {
+		return new LongCursorSet() {
+			@Override
+			LongCursor cursor() {
+				return getVertexCursor();
+			}
+
+			@Override
+			boolean containsLong(long value) {
+				return vertexIndices.containsKey(value);
+			}
+
+			@Override
+			public int size() {
+				return vertexIds.length;
+			}
+		};
+	}
+
+	@Override
+	public Set<Long> getEdgesForVertex(long vertexId) {
+		final int vertexIndex = vertexIndices.get(vertexId, -1);
+		if (vertexIndex < 0) {
+			return null;
+		}
+		return new LongCursorSet() {
+			@Override
+			LongCursor cursor() {
+				return new ArrayCursor(neighbours, offsets[vertexIndex], offsets[vertexIndex + 1]);
+			}
+
+			@Override
+			boolean containsLong(long value) {
+				return Arrays.binarySearch(neighbours, offsets[vertexIndex], offsets[vertexIndex + 1], value) >= 0;
+			}
+
+			@Override
+			public int size() {
+				return offsets[vertexIndex + 1] - offsets[vertexIndex];
+			}
+		};
+	}
+
+	@Override
+	public int getNumberOfVertices() {
+		return vertexIds.length;
+	}
+
+	@Override
+	public LongCursor getVertexCursor() {
+		return new ArrayCursor(vertexIds, 0, vertexIds.length);
+	}
+
+	@Override
+	public LongCursor getEdgeCursorForVertex(long vertexId) {
+		int vertexIndex = vertexIndices.get(vertexId, -1);
+		return vertexIndex >= 0 ? new ArrayCursor(neighbours, offsets[vertexIndex], offsets[vertexIndex + 1]) : null;
+	}
+
+	/**
+	 * Cursor over a range of a long array.
+	 */
+	private static final class ArrayCursor implements LongCursor {
+
+		private final long[] array;
+		private int position;
+		private final int end;
+
+		private ArrayCursor(long[] array, int start, int end) {
+			this.array = array;
+			this.position = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < end;
+		}
+
+		@Override
+		public long next() {
+			if (position >= end) {
+				throw new NoSuchElementException();
+			}
+			return array[position++];
+		}
+
+	}
+
+	/**
+	 * Builder for PrimitiveGraphStructure. Collects vertices and edges in primitive buffers, and constructs the
+	 * compact representation in {@link #build()}. Vertices that only occur as the destination of an edge are added
+	 * automatically, and duplicate edges are removed.
+	 */
+	public static final class Builder {
+
+		private final boolean directed;
+		private final LongArrayList vertices = new LongArrayList();
+		private final LongArrayList sources = new LongArrayList();
+		private final LongArrayList destinations = new LongArrayList();
+
+		/**
+		 * @param directed true iff the graph is directed; if false, each edge is added in both directions
+		 */
+		public Builder(boolean directed) {
+			this.directed = directed;
+		}
+
+		/**
+		 * @param vertexId the id of a vertex to add to the graph
+		 * @return a reference to this
+		 */
+		public Builder addVertex(long vertexId) {
+			vertices.add(vertexId);
+			return this;
+		}
+
+		/**
+		 * @param sourceId      the id of the source of the edge
+		 * @param destinationId the id of the destination of the edge
+		 * @return a reference to this
+		 */
+		public Builder addEdge(long sourceId, long destinationId) {
+			sources.add(sourceId);
+			destinations.add(destinationId);
+			return this;
+		}
+
+		/**
+		 * @param vertexIds the ids of the vertices to add to the graph
+		 * @return a reference to this
+		 */
+		public Builder addVertices(LongArrayList vertexIds) {
+			vertices.addAll(vertexIds);
+			return this;
+		}
+
+		/**
+		 * @param sourceIds      the ids of the sources of the edges
+		 * @param destinationIds the ids of the destinations of the edges, in the same order as the sources
+		 * @return a reference to this
+		 */
+		public Builder addEdges(LongArrayList sourceIds, LongArrayList destinationIds) {
+			if (sourceIds.size() != destinationIds.size()) {
+				throw new IllegalArgumentException("Number of sources and destinations must be equal.");
+			}
+			sources.addAll(sourceIds);
+			destinations.addAll(destinationIds);
+			return this;
+		}
+
+		/**
+		 * @return a new PrimitiveGraphStructure containing the added vertices and edges
+		 */
+		public PrimitiveGraphStructure build() {
+			// Collect the sorted set of vertex ids and map them to indices
+			LongArrayList allVertices = new LongArrayList(vertices.size() + 2 * sources.size());
+			for (int i = 0; i < vertices.size(); i++) {
+				allVertices.add(vertices.get(i));
+			}
+			for (int i = 0; i < sources.size(); i++) {
+				allVertices.add(sources.get(i));
+				allVertices.add(destinations.get(i));
+			}
+			allVertices.sortAndRemoveDuplicates();
+			long[] vertexIds = allVertices.toArray();
+			LongIntHashMap vertexIndices = new LongIntHashMap(vertexIds.length);
+			for (int i = 0; i < vertexIds.length; i++) {
+				vertexIndices.put(vertexIds[i], i);
+			}
+
+			// Count the degree of each vertex and compute offsets
+			int[] offsets = new int[vertexIds.length + 1];
+			for (int i = 0; i < sources.size(); i++) {
+				offsets[vertexIndices.get(sources.get(i), -1) + 1]++;
+				if (!directed) {
+					offsets[vertexIndices.get(destinations.get(i), -1) + 1]++;
+				}
+			}
+			for (int i = 0; i < vertexIds.length; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+
+			// Fill the neighbour array
+			long[] neighbours = new long[offsets[vertexIds.length]];
+			int[] nextPosition = Arrays.copyOf(offsets, vertexIds.length);
+			for (int i = 0; i < sources.size(); i++) {
+				long sourceId = sources.get(i);
+				long destinationId = destinations.get(i);
+				neighbours[nextPosition[vertexIndices.get(sourceId, -1)]++] = destinationId;
+				if (!directed) {
+					neighbours[nextPosition[vertexIndices.get(destinationId, -1)]++] = sourceId;
+				}
+			}
+
+			// Sort the neighbours of each vertex and remove duplicate edges
+			int writePosition = 0;
+			for (int vertex = 0; vertex < vertexIds.length; vertex++) {
+				int start = offsets[vertex];
+				int end = offsets[vertex + 1];
+				Arrays.sort(neighbours, start, end);
+				int uniqueNeighbours = LongArrayList.removeSortedDuplicates(neighbours, start, end);
+				System.arraycopy(neighbours, start, neighbours, writePosition, uniqueNeighbours);
+				offsets[vertex] = writePosition;
+				writePosition += uniqueNeighbours;
+			}
+			offsets[vertexIds.length] = writePosition;
+
+			return new PrimitiveGraphStructure(vertexIds, vertexIndices, offsets,
+					Arrays.copyOf(neighbours, writePosition));
+		}
+
+	}
+
+}
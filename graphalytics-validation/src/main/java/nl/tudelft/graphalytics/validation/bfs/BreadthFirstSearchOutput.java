@@ -15,7 +15,8 @@
  */
 package nl.tudelft.graphalytics.validation.bfs;
 
-import java.util.HashMap;
+import nl.tudelft.graphalytics.validation.LongGraphValues;
+
 import java.util.Map;
 import java.util.Set;
 
@@ -27,20 +28,27 @@ import java.util.Set;
  */
 public class BreadthFirstSearchOutput {
 
-	private final Map<Long, Long> pathLengths;
+	private final LongGraphValues pathLengths;
 
 	/**
 	 * @param pathLengths a map containing the shortest path length to each vertex
 	 */
 	public BreadthFirstSearchOutput(Map<Long, Long> pathLengths) {
-		this.pathLengths = new HashMap<>(pathLengths);
+		this(LongGraphValues.fromMap(pathLengths));
+	}
+
+	/**
+	 * @param pathLengths the shortest path length to each vertex
+	 */
+	public BreadthFirstSearchOutput(LongGraphValues pathLengths) {
+		this.pathLengths = pathLengths;
 	}
 
 	/**
 	 * @return a set of vertex ids for which the shortest path length is known
 	 */
 	public Set<Long> getVertices() {
-		return pathLengths.keySet();
+		return pathLengths.getVertices();
 	}
 
 	/**
@@ -48,7 +56,7 @@ public class BreadthFirstSearchOutput {
 	 * @return the corresponding shortest path length
 	 */
 	public long getPathLengthForVertex(long vertexId) {
-		return pathLengths.get(vertexId);
+		return pathLengths.getLongValue(vertexId);
 	}
 
 }
@@ -15,7 +15,9 @@
  */
 package nl.tudelft.graphalytics.validation.cd;
 
-import java.util.HashMap;
+import nl.tudelft.graphalytics.util.LongCursor;
+import nl.tudelft.graphalytics.validation.LongGraphValues;
+
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -28,27 +30,38 @@ import java.util.Set;
  */
 public class CommunityDetectionOutput {
 
-	private final Map<Long, Long> communityIds;
+	private final LongGraphValues communityIds;
 
 	/**
 	 * @param communityIds a map containing the community id of each vertex
 	 */
 	public CommunityDetectionOutput(Map<Long, Long> communityIds) {
-		this.communityIds = new HashMap<>(communityIds);
+		this(LongGraphValues.fromMap(communityIds));
+	}
+
+	/**
+	 * @param communityIds the community id of each vertex
+	 */
+	public CommunityDetectionOutput(LongGraphValues communityIds) {
+		this.communityIds = communityIds;
 	}
 
 	/**
 	 * @return a set of vertex ids for which the community id is known
 	 */
 	public Set<Long> getVertices() {
-		return communityIds.keySet();
+		return communityIds.getVertices();
 	}
 
 	/**
 	 * @return a set of community ids that belong to at least one vertex
 	 */
 	public Set<Long> getCommunities() {
-		return new HashSet<>(communityIds.values());
+		Set<Long> communities = new HashSet<>();
+		for (int i = 0; i < communityIds.getNumberOfVertices(); i++) {
+			communities.add(communityIds.getLongValueAt(i));
+		}
+		return communities;
 	}
 
 	/**
@@ -56,7 +69,7 @@ public class CommunityDetectionOutput {
 	 * @return the corresponding community id
 	 */
 	public long getCommunityIdForVertex(long vertexId) {
-		return communityIds.get(vertexId);
+		return communityIds.getLongValue(vertexId);
 	}
 
 	/**
@@ -65,9 +78,11 @@ public class CommunityDetectionOutput {
 	 */
 	public Set<Long> getVerticesInCommunity(long communityId) {
 		Set<Long> verticesInCommunity = new HashSet<>();
-		for (Map.Entry<Long, Long> vertex : communityIds.entrySet()) {
-			if (vertex.getValue() == communityId) {
-				verticesInCommunity.add(vertex.getKey());
+		LongCursor vertices = communityIds.getVertexCursor();
+		for (int i = 0; vertices.hasNext(); i++) {
+			long vertexId = vertices.next();
+			if (communityIds.getLongValueAt(i) == communityId) {
+				verticesInCommunity.add(vertexId);
 			}
 		}
 		return verticesInCommunity;
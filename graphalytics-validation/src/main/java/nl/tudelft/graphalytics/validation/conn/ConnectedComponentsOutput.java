@@ -15,7 +15,8 @@
  */
 package nl.tudelft.graphalytics.validation.conn;
 
-import java.util.HashMap;
+import nl.tudelft.graphalytics.validation.LongGraphValues;
+
 import java.util.Map;
 import java.util.Set;
 
@@ -27,20 +28,27 @@ import java.util.Set;
  */
 public class ConnectedComponentsOutput {
 
-	private final Map<Long, Long> componentIds;
+	private final LongGraphValues componentIds;
 
 	/**
 	 * @param componentIds a map containing the component id of each vertex
 	 */
 	public ConnectedComponentsOutput(Map<Long, Long> componentIds) {
-		this.componentIds = new HashMap<>(componentIds);
+		this(LongGraphValues.fromMap(componentIds));
+	}
+
+	/**
+	 * @param componentIds the component id of each vertex
+	 */
+	public ConnectedComponentsOutput(LongGraphValues componentIds) {
+		this.componentIds = componentIds;
 	}
 
 	/**
 	 * @return a set of vertex ids for which the component id is known
 	 */
 	public Set<Long> getVertices() {
-		return componentIds.keySet();
+		return componentIds.getVertices();
 	}
 
 	/**
@@ -48,7 +56,7 @@ public class ConnectedComponentsOutput {
 	 * @return the corresponding component id
 	 */
 	public long getComponentIdForVertex(long vertexId) {
-		return componentIds.get(vertexId);
+		return componentIds.getLongValue(vertexId);
 	}
 
 }
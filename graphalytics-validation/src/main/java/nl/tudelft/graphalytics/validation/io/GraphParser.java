@@ -17,11 +17,13 @@ package nl.tudelft.graphalytics.validation.io;
 
 import nl.tudelft.graphalytics.validation.GraphStructure;
 import nl.tudelft.graphalytics.validation.GraphValues;
+import nl.tudelft.graphalytics.validation.MappedGraphStructure;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -37,7 +39,8 @@ public class GraphParser {
 	/**
 	 * Parses a graph structure (vertices and edges without values) from an input stream. The input is assumed to be in
 	 * vertex-based format; each line of the input contains a vertex id followed by zero or more vertex ids, one for
-	 * each outgoing edge, separated by spaces.
+	 * each outgoing edge, separated by spaces. For undirected graphs, each edge is added in both directions; edges
+	 * added to a vertex before its own line is read are kept.
 	 *
 	 * @param dataset  the input stream containing the vertex-based dataset representation
 	 * @param directed true iff the dataset is a directed graph
@@ -56,7 +59,9 @@ public class GraphParser {
 
 				String tokens[] = line.split(" ");
 				long sourceVertex = Long.parseLong(tokens[0]);
-				edges.put(sourceVertex, new HashSet<Long>());
+				if (!edges.containsKey(sourceVertex)) {
+					edges.put(sourceVertex, new HashSet<Long>());
+				}
 
 				for (int i = 1; i < tokens.length; i++) {
 					long destinationVertex = Long.parseLong(tokens[i]);
@@ -74,6 +79,34 @@ public class GraphParser {
 		}
 	}
 
+	/**
+	 * Parses a graph structure from a file in vertex-based format, using one thread per available processor. See
+	 * {@link #parseGraphStructureFromVertexBasedDataset(InputStream, boolean)} for a description of the format.
+	 *
+	 * @param dataset  the path of the vertex-based dataset
+	 * @param directed true iff the dataset is a directed graph
+	 * @return the parsed graph
+	 * @throws IOException iff the dataset could not be read
+	 * @see ParallelGraphParser
+	 */
+	public static GraphStructure parseGraphStructureFromVertexBasedDataset(Path dataset, boolean directed)
+			throws IOException {
+		return new ParallelGraphParser().parseGraphStructureFromVertexBasedDataset(dataset, directed);
+	}
+
+	/**
+	 * Loads a graph structure from a file in the binary CSR format by mapping it into memory. The graph data is not
+	 * copied to the Java heap, so this method returns almost immediately regardless of the size of the graph.
+	 *
+	 * @param dataset the path of the binary CSR file
+	 * @return the memory-mapped graph
+	 * @throws IOException iff the dataset could not be mapped
+	 * @see nl.tudelft.graphalytics.preprocessing.BinaryGraphConverter
+	 */
+	public static GraphStructure mapGraphStructureFromBinaryDataset(Path dataset) throws IOException {
+		return MappedGraphStructure.map(dataset);
+	}
+
 	/**
 	 * Parses a set of vertices and corresponding values from an input stream. The input format is a single line per
 	 * vertex. Each line contains a vertex id followed by a space and the vertex value as a string. The string
@@ -103,4 +136,19 @@ public class GraphParser {
 		}
 	}
 
+	/**
+	 * Parses a set of vertices and corresponding values from a file, using one thread per available processor. See
+	 * {@link #parseGraphValuesFromDataset(InputStream, GraphValueParser)} for a description of the format.
+	 *
+	 * @param dataset     the path of the dataset
+	 * @param valueParser a parser for string representations of vertex values
+	 * @return the parsed vertices and values
+	 * @throws IOException iff the dataset could not be read
+	 * @see ParallelGraphParser
+	 */
+	public static <ValueType> GraphValues<ValueType> parseGraphValuesFromDataset(
+			Path dataset, GraphValueParser<ValueType> valueParser) throws IOException {
+		return new ParallelGraphParser().parseGraphValuesFromDataset(dataset, valueParser);
+	}
+
 }
@@ -0,0 +1,412 @@
+/**
+ * Copyright 2015 Delft University of Technology
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nl.tudelft.graphalytics.validation.io;
+
+import nl.tudelft.graphalytics.io.GraphTextTokenizer;
+import nl.tudelft.graphalytics.util.LongArrayList;
+import nl.tudelft.graphalytics.validation.DoubleGraphValues;
+import nl.tudelft.graphalytics.validation.GraphStructure;
+import nl.tudelft.graphalytics.validation.GraphValues;
+import nl.tudelft.graphalytics.validation.LongGraphValues;
+import nl.tudelft.graphalytics.validation.PrimitiveGraphStructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Multi-threaded parser for the text-based graph and vertex value formats also supported by {@link GraphParser}. The
+ * input file is split into chunks of roughly equal size, aligned on line boundaries. Each chunk is memory-mapped and
+ * parsed directly from its raw bytes on a fork-join pool. The per-chunk results are merged once all chunks have been
+ * parsed; graph structures are merged in bulk into primitive arrays, without boxing vertex ids.
+ *
+ * @author Tim Hegeman
+ */
+public final class ParallelGraphParser {
+
+	private static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+	private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+	private final int parallelism;
+	private final long chunkSize;
+
+	/**
+	 * Creates a parser that uses one thread per available processor.
+	 */
+	public ParallelGraphParser() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param parallelism the number of threads to parse with
+	 * @param chunkSize   the target size of each chunk in bytes
+	 */
+	public ParallelGraphParser(int parallelism, long chunkSize) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Parameter \"parallelism\" must be positive.");
+		if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE / 2)
+			throw new IllegalArgumentException("Parameter \"chunkSize\" must be between 1 and " +
+					Integer.MAX_VALUE / 2 + ".");
+
+		this.parallelism = parallelism;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Parses a graph structure from a file in vertex-based format. See
+	 * {@link GraphParser#parseGraphStructureFromVertexBasedDataset(java.io.InputStream, boolean)} for a description
+	 * of the format. The graph is returned as a {@link PrimitiveGraphStructure}, so its vertex and edge sets are
+	 * read-only.
+	 *
+	 * @param dataset  the path of the vertex-based dataset
+	 * @param directed true iff the dataset is a directed graph
+	 * @return the parsed graph
+	 * @throws IOException iff the dataset could not be read
+	 */
+	public GraphStructure parseGraphStructureFromVertexBasedDataset(Path dataset, boolean directed)
+			throws IOException {
+		return parsePrimitiveGraphStructureFromVertexBasedDataset(dataset, directed);
+	}
+
+	/**
+	 * Parses a graph structure from a file in vertex-based format into a {@link PrimitiveGraphStructure}, which needs
+	 * an order of magnitude less memory than the map-based GraphStructure.
+	 *
+	 * @param dataset  the path of the vertex-based dataset
+	 * @param directed true iff the dataset is a directed graph
+	 * @return the parsed graph
+	 * @throws IOException iff the dataset could not be read
+	 */
+	public PrimitiveGraphStructure parsePrimitiveGraphStructureFromVertexBasedDataset(Path dataset, boolean directed)
+			throws IOException {
+		List<StructureChunk> chunks = parseChunks(dataset, new ChunkParserFactory<StructureChunk>() {
+			@Override
+			public StructureChunk parse(GraphTextTokenizer tokenizer) throws IOException {
+				return StructureChunk.parse(tokenizer);
+			}
+		});
+
+		PrimitiveGraphStructure.Builder builder = new PrimitiveGraphStructure.Builder(directed);
+		for (StructureChunk chunk : chunks) {
+			builder.addVertices(chunk.vertices).addEdges(chunk.sources, chunk.destinations);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Parses a set of vertices and corresponding values from a file. See
+	 * {@link GraphParser#parseGraphValuesFromDataset(java.io.InputStream, GraphValueParser)} for a description of the
+	 * format. Vertex ids are always parsed from raw bytes; values are parsed from raw bytes if the value parser is a
+	 * {@link LongParser}, or from a string containing only the value otherwise.
+	 *
+	 * @param dataset     the path of the dataset
+	 * @param valueParser a parser for string representations of vertex values
+	 * @return the parsed vertices and values
+	 * @throws IOException iff the dataset could not be read
+	 */
+	public <ValueType> GraphValues<ValueType> parseGraphValuesFromDataset(Path dataset,
+			final GraphValueParser<ValueType> valueParser) throws IOException {
+		List<ValuesChunk<ValueType>> chunks = parseChunks(dataset, new ChunkParserFactory<ValuesChunk<ValueType>>() {
+			@Override
+			public ValuesChunk<ValueType> parse(GraphTextTokenizer tokenizer) throws IOException {
+				return ValuesChunk.parse(tokenizer, valueParser);
+			}
+		});
+
+		long numberOfVertices = 0;
+		for (ValuesChunk<ValueType> chunk : chunks) {
+			numberOfVertices += chunk.vertices.size();
+		}
+		Map<Long, ValueType> values = new HashMap<>((int)Math.min(numberOfVertices * 4 / 3 + 1, Integer.MAX_VALUE));
+		for (ValuesChunk<ValueType> chunk : chunks) {
+			for (int i = 0; i < chunk.vertices.size(); i++) {
+				values.put(chunk.vertices.get(i), chunk.values.get(i));
+			}
+		}
+		return new GraphValues<>(values);
+	}
+
+	/**
+	 * Parses a set of vertices and corresponding long values from a file into a {@link LongGraphValues} object.
+	 *
+	 * @param dataset the path of the dataset
+	 * @return the parsed vertices and values
+	 * @throws IOException iff the dataset could not be read
+	 */
+	public LongGraphValues parseLongGraphValuesFromDataset(Path dataset) throws IOException {
+		List<LongValuesChunk> chunks = parseChunks(dataset, new ChunkParserFactory<LongValuesChunk>() {
+			@Override
+			public LongValuesChunk parse(GraphTextTokenizer tokenizer) throws IOException {
+				return LongValuesChunk.parse(tokenizer);
+			}
+		});
+
+		LongArrayList vertexIds = new LongArrayList();
+		LongArrayList values = new LongArrayList();
+		for (LongValuesChunk chunk : chunks) {
+			for (int i = 0; i < chunk.vertices.size(); i++) {
+				vertexIds.add(chunk.vertices.get(i));
+				values.add(chunk.values.get(i));
+			}
+		}
+		return new LongGraphValues(vertexIds.toArray(), values.toArray());
+	}
+
+	/**
+	 * Parses a set of vertices and corresponding double values from a file into a {@link DoubleGraphValues} object.
+	 *
+	 * @param dataset the path of the dataset
+	 * @return the parsed vertices and values
+	 * @throws IOException iff the dataset could not be read
+	 */
+	public DoubleGraphValues parseDoubleGraphValuesFromDataset(Path dataset) throws IOException {
+		final DoubleParser valueParser = new DoubleParser();
+		List<ValuesChunk<Double>> chunks = parseChunks(dataset, new ChunkParserFactory<ValuesChunk<Double>>() {
+			@Override
+			public ValuesChunk<Double> parse(GraphTextTokenizer tokenizer) throws IOException {
+				return ValuesChunk.parse(tokenizer, valueParser);
+			}
+		});
+
+		int numberOfVertices = 0;
+		for (ValuesChunk<Double> chunk : chunks) {
+			numberOfVertices += chunk.vertices.size();
+		}
+		long[] vertexIds = new long[numberOfVertices];
+		double[] values = new double[numberOfVertices];
+		int position = 0;
+		for (ValuesChunk<Double> chunk : chunks) {
+			for (int i = 0; i < chunk.vertices.size(); i++, position++) {
+				vertexIds[position] = chunk.vertices.get(i);
+				values[position] = chunk.values.get(i);
+			}
+		}
+		return new DoubleGraphValues(vertexIds, values);
+	}
+
+	/**
+	 * Splits a file into chunks and parses each chunk on a fork-join pool.
+	 *
+	 * @return the parsed chunks, in file order
+	 */
+	private <T> List<T> parseChunks(Path dataset, ChunkParserFactory<T> parserFactory) throws IOException {
+		try (FileChannel channel = FileChannel.open(dataset, StandardOpenOption.READ)) {
+			List<Long> boundaries = findChunkBoundaries(channel);
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				return pool.invoke(new ParseTask<>(channel, boundaries, 0, boundaries.size() - 1, parserFactory));
+			} catch (ChunkParseException ex) {
+				throw ex.getCause();
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * @return a list of chunk start positions, followed by the size of the file
+	 */
+	private List<Long> findChunkBoundaries(FileChannel channel) throws IOException {
+		long fileSize = channel.size();
+		List<Long> boundaries = new ArrayList<>();
+		boundaries.add(0L);
+
+		ByteBuffer scanBuffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+		long nominalBoundary = chunkSize;
+		while (nominalBoundary < fileSize) {
+			long boundary = findNextLineStart(channel, nominalBoundary, scanBuffer);
+			if (boundary >= fileSize) {
+				break;
+			}
+			boundaries.add(boundary);
+			nominalBoundary = boundary + chunkSize;
+		}
+
+		boundaries.add(fileSize);
+		return boundaries;
+	}
+
+	/**
+	 * @return the position directly following the first newline at or after the given position
+	 */
+	private static long findNextLineStart(FileChannel channel, long position, ByteBuffer scanBuffer)
+			throws IOException {
+		while (true) {
+			scanBuffer.clear();
+			int bytesRead = channel.read(scanBuffer, position);
+			if (bytesRead <= 0) {
+				return channel.size();
+			}
+			for (int i = 0; i < bytesRead; i++) {
+				if (scanBuffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += bytesRead;
+		}
+	}
+
+	/**
+	 * Factory for parsing a single chunk of a file.
+	 */
+	private interface ChunkParserFactory<T> {
+		T parse(GraphTextTokenizer tokenizer) throws IOException;
+	}
+
+	/**
+	 * Fork-join task that recursively splits a range of chunks and parses each chunk.
+	 */
+	private static final class ParseTask<T> extends RecursiveTask<List<T>> {
+		private static final long serialVersionUID = 5190376424155927417L;
+
+		private final FileChannel channel;
+		private final List<Long> boundaries;
+		private final int firstChunk;
+		private final int endChunk;
+		private final ChunkParserFactory<T> parserFactory;
+
+		private ParseTask(FileChannel channel, List<Long> boundaries, int firstChunk, int endChunk,
+				ChunkParserFactory<T> parserFactory) {
+			this.channel = channel;
+			this.boundaries = boundaries;
+			this.firstChunk = firstChunk;
+			this.endChunk = endChunk;
+			this.parserFactory = parserFactory;
+		}
+
+		@Override
+		protected List<T> compute() {
+			if (endChunk - firstChunk > 1) {
+				int middleChunk = (firstChunk + endChunk) >>> 1;
+				ParseTask<T> left = new ParseTask<>(channel, boundaries, firstChunk, middleChunk, parserFactory);
+				ParseTask<T> right = new ParseTask<>(channel, boundaries, middleChunk, endChunk, parserFactory);
+				right.fork();
+				List<T> results = new ArrayList<>(left.compute());
+				results.addAll(right.join());
+				return results;
+			}
+
+			List<T> results = new ArrayList<>(1);
+			if (endChunk > firstChunk) {
+				long start = boundaries.get(firstChunk);
+				long end = boundaries.get(endChunk);
+				try {
+					ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+					results.add(parserFactory.parse(new GraphTextTokenizer(chunk)));
+				} catch (IOException ex) {
+					throw new ChunkParseException(ex);
+				}
+			}
+			return results;
+		}
+
+	}
+
+	/**
+	 * Unchecked wrapper used to propagate an IOException out of the fork-join pool.
+	 */
+	private static final class ChunkParseException extends RuntimeException {
+		private static final long serialVersionUID = -3158710375294562034L;
+
+		private ChunkParseException(IOException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized IOException getCause() {
+			return (IOException)super.getCause();
+		}
+
+	}
+
+	/**
+	 * Vertices and edges parsed from a single chunk of a vertex-based dataset.
+	 */
+	private static final class StructureChunk {
+
+		private final LongArrayList vertices = new LongArrayList();
+		private final LongArrayList sources = new LongArrayList();
+		private final LongArrayList destinations = new LongArrayList();
+
+		private static StructureChunk parse(GraphTextTokenizer tokenizer) throws IOException {
+			StructureChunk chunk = new StructureChunk();
+			while (tokenizer.nextLine()) {
+				long sourceVertex = tokenizer.nextLong();
+				chunk.vertices.add(sourceVertex);
+				while (tokenizer.hasNextToken()) {
+					chunk.sources.add(sourceVertex);
+					chunk.destinations.add(tokenizer.nextLong());
+				}
+			}
+			return chunk;
+		}
+
+	}
+
+	/**
+	 * Vertices and long values parsed from a single chunk of a vertex value dataset.
+	 */
+	private static final class LongValuesChunk {
+
+		private final LongArrayList vertices = new LongArrayList();
+		private final LongArrayList values = new LongArrayList();
+
+		private static LongValuesChunk parse(GraphTextTokenizer tokenizer) throws IOException {
+			LongValuesChunk chunk = new LongValuesChunk();
+			while (tokenizer.nextLine()) {
+				chunk.vertices.add(tokenizer.nextLong());
+				chunk.values.add(tokenizer.nextLong());
+			}
+			return chunk;
+		}
+
+	}
+
+	/**
+	 * Vertices and values parsed from a single chunk of a vertex value dataset.
+	 */
+	private static final class ValuesChunk<ValueType> {
+
+		private final LongArrayList vertices = new LongArrayList();
+		private final List<ValueType> values = new ArrayList<>();
+
+		@SuppressWarnings("unchecked")
+		private static <ValueType> ValuesChunk<ValueType> parse(GraphTextTokenizer tokenizer,
+				GraphValueParser<ValueType> valueParser) throws IOException {
+			boolean parseLongValues = valueParser instanceof LongParser;
+			ValuesChunk<ValueType> chunk = new ValuesChunk<>();
+			while (tokenizer.nextLine()) {
+				chunk.vertices.add(tokenizer.nextLong());
+				if (parseLongValues) {
+					chunk.values.add((ValueType)Long.valueOf(tokenizer.nextLong()));
+				} else {
+					chunk.values.add(valueParser.parseValue(tokenizer.remainderOfLine()));
+				}
+			}
+			return chunk;
+		}
+
+	}
+
+}
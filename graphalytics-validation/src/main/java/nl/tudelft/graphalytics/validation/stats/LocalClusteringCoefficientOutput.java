@@ -15,7 +15,8 @@
  */
 package nl.tudelft.graphalytics.validation.stats;
 
-import java.util.HashMap;
+import nl.tudelft.graphalytics.validation.DoubleGraphValues;
+
 import java.util.Map;
 import java.util.Set;
 
@@ -27,7 +28,7 @@ import java.util.Set;
  */
 public class LocalClusteringCoefficientOutput {
 
-	private final Map<Long, Double> localClusteringCoefficients;
+	private final DoubleGraphValues localClusteringCoefficients;
 	private final double meanLocalClusteringCoefficient;
 
 	/**
@@ -36,7 +37,16 @@ public class LocalClusteringCoefficientOutput {
 	 */
 	public LocalClusteringCoefficientOutput(Map<Long, Double> localClusteringCoefficients,
 	                                        double meanLocalClusteringCoefficient) {
-		this.localClusteringCoefficients = new HashMap<>(localClusteringCoefficients);
+		this(DoubleGraphValues.fromMap(localClusteringCoefficients), meanLocalClusteringCoefficient);
+	}
+
+	/**
+	 * @param localClusteringCoefficients    the local clustering coefficient of each vertex
+	 * @param meanLocalClusteringCoefficient the mean local clustering coefficient
+	 */
+	public LocalClusteringCoefficientOutput(DoubleGraphValues localClusteringCoefficients,
+	                                        double meanLocalClusteringCoefficient) {
+		this.localClusteringCoefficients = localClusteringCoefficients;
 		this.meanLocalClusteringCoefficient = meanLocalClusteringCoefficient;
 	}
 
@@ -44,7 +54,7 @@ public class LocalClusteringCoefficientOutput {
 	 * @return a set of vertex ids for which the component id is known
 	 */
 	public Set<Long> getVertices() {
-		return localClusteringCoefficients.keySet();
+		return localClusteringCoefficients.getVertices();
 	}
 
 	/**
@@ -52,7 +62,7 @@ public class LocalClusteringCoefficientOutput {
 	 * @return the corresponding local clustering coefficient
 	 */
 	public double getLocalClusteringCoefficientForVertex(long vertexId) {
-		return localClusteringCoefficients.get(vertexId);
+		return localClusteringCoefficients.getDoubleValue(vertexId);
 	}
 
 	/**
@@ -20,9 +20,10 @@ set -e
 
 rootdir=$(dirname $(readlink -f ${BASH_SOURCE[0]}))
 config="${rootdir}/config/"
+graphalytics_opts=()
 
 function print-usage() {
-	echo "Usage: ${BASH_SOURCE[0]} [--config <dir>]" >&2
+	echo "Usage: ${BASH_SOURCE[0]} [--config <dir>] [--resume <report dir>]" >&2
 }
 
 # Parse the command-line arguments
@@ -34,6 +35,11 @@ do
 			echo "Using config: $config"
 			shift 2
 			;;
+		--resume)                      # Resume an interrupted benchmark in an existing report directory
+			graphalytics_opts=(--resume "$(readlink -f "$2")")
+			echo "Resuming: $2"
+			shift 2
+			;;
 		--)                            # End of options
 			shift
 			break
@@ -65,5 +71,5 @@ fi
 
 # Run the benchmark
 export CLASSPATH=$config:$(find $(pwd)/lib/graphalytics-platforms-$platform*.jar):$platform_classpath
-java -cp $CLASSPATH $java_opts nl.tudelft.graphalytics.Graphalytics $platform $platform_opts
+java -cp $CLASSPATH $java_opts nl.tudelft.graphalytics.Graphalytics $platform "${graphalytics_opts[@]}" $platform_opts
 